@@ -8,16 +8,21 @@ import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadArchiveRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
 import io.airbyte.workload.api.domain.WorkloadDepthResponse
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchResponse
 import io.airbyte.workload.api.domain.WorkloadHeartbeatRequest
 import io.airbyte.workload.api.domain.WorkloadLaunchedRequest
 import io.airbyte.workload.api.domain.WorkloadListRequest
 import io.airbyte.workload.api.domain.WorkloadListResponse
+import io.airbyte.workload.api.domain.WorkloadQueueClaimRequest
 import io.airbyte.workload.api.domain.WorkloadQueueCleanLimit
+import io.airbyte.workload.api.domain.WorkloadQueueLongPollRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
 import io.airbyte.workload.api.domain.WorkloadQueueQueryRequest
 import io.airbyte.workload.api.domain.WorkloadQueueStatsResponse
@@ -81,6 +86,11 @@ interface WorkloadApi {
     @Body workloadHeartbeatRequest: WorkloadHeartbeatRequest,
   ): Call<Unit>
 
+  @PUT("heartbeat/batch")
+  fun workloadHeartbeatBatch(
+    @Body workloadHeartbeatBatchRequest: WorkloadHeartbeatBatchRequest,
+  ): Call<WorkloadHeartbeatBatchResponse>
+
   @POST("list")
   fun workloadList(
     @Body workloadListRequest: WorkloadListRequest,
@@ -106,6 +116,16 @@ interface WorkloadApi {
     @Body req: WorkloadQueuePollRequest,
   ): Call<WorkloadListResponse>
 
+  @POST("queue/long-poll")
+  fun longPollWorkloadQueue(
+    @Body req: WorkloadQueueLongPollRequest,
+  ): Call<WorkloadListResponse>
+
+  @POST("queue/claim")
+  fun claimWorkloadQueue(
+    @Body req: WorkloadQueueClaimRequest,
+  ): Call<WorkloadListResponse>
+
   @POST("queue/depth")
   fun countWorkloadQueueDepth(
     @Body req: WorkloadQueueQueryRequest,
@@ -118,4 +138,9 @@ interface WorkloadApi {
   fun workloadQueueClean(
     @Body req: WorkloadQueueCleanLimit,
   ): Call<Unit>
+
+  @POST("archive")
+  fun workloadArchive(
+    @Body req: WorkloadArchiveRequest,
+  ): Call<Unit>
 }
@@ -15,16 +15,21 @@ import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadArchiveRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
 import io.airbyte.workload.api.domain.WorkloadDepthResponse
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchResponse
 import io.airbyte.workload.api.domain.WorkloadHeartbeatRequest
 import io.airbyte.workload.api.domain.WorkloadLaunchedRequest
 import io.airbyte.workload.api.domain.WorkloadListRequest
 import io.airbyte.workload.api.domain.WorkloadListResponse
+import io.airbyte.workload.api.domain.WorkloadQueueClaimRequest
 import io.airbyte.workload.api.domain.WorkloadQueueCleanLimit
+import io.airbyte.workload.api.domain.WorkloadQueueLongPollRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
 import io.airbyte.workload.api.domain.WorkloadQueueQueryRequest
 import io.airbyte.workload.api.domain.WorkloadQueueStatsResponse
@@ -65,6 +70,9 @@ class WorkloadApiClient internal constructor(
 
   fun workloadHeartbeat(workloadHeartbeatRequest: WorkloadHeartbeatRequest) = api.workloadHeartbeat(workloadHeartbeatRequest).unit()
 
+  fun workloadHeartbeatBatch(workloadHeartbeatBatchRequest: WorkloadHeartbeatBatchRequest): WorkloadHeartbeatBatchResponse =
+    api.workloadHeartbeatBatch(workloadHeartbeatBatchRequest).body()
+
   fun workloadList(workloadListRequest: WorkloadListRequest): WorkloadListResponse = api.workloadList(workloadListRequest).body()
 
   fun workloadListWithExpiredDeadline(expiredDeadlineWorkloadListRequest: ExpiredDeadlineWorkloadListRequest): WorkloadListResponse =
@@ -78,12 +86,18 @@ class WorkloadApiClient internal constructor(
 
   fun pollWorkloadQueue(req: WorkloadQueuePollRequest): WorkloadListResponse = api.pollWorkloadQueue(req).body()
 
+  fun longPollWorkloadQueue(req: WorkloadQueueLongPollRequest): WorkloadListResponse = api.longPollWorkloadQueue(req).body()
+
+  fun claimWorkloadQueue(req: WorkloadQueueClaimRequest): WorkloadListResponse = api.claimWorkloadQueue(req).body()
+
   fun countWorkloadQueueDepth(req: WorkloadQueueQueryRequest): WorkloadDepthResponse = api.countWorkloadQueueDepth(req).body()
 
   fun getWorkloadQueueStats(): WorkloadQueueStatsResponse = api.getWorkloadQueueStats().body()
 
   fun workloadQueueClean(req: WorkloadQueueCleanLimit) = api.workloadQueueClean(req).unit()
 
+  fun workloadArchive(req: WorkloadArchiveRequest) = api.workloadArchive(req).unit()
+
   /**
    * Helper method for [retrofit2.Retrofit] clients.
    *
@@ -0,0 +1,14 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.api.domain
+
+/**
+ * The workloads of a [WorkloadHeartbeatBatchRequest] that should stop, because they are no longer expected to be
+ * running or don't exist. The other workloads were heartbeated.
+ */
+data class WorkloadHeartbeatBatchResponse(
+  var goneWorkloadIds: List<String> = listOf(),
+  var notFoundWorkloadIds: List<String> = listOf(),
+)
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.api.domain
+
+import io.airbyte.config.WorkloadPriority
+import io.swagger.v3.oas.annotations.media.Schema
+import java.time.OffsetDateTime
+
+/**
+ * Polls the queue like [WorkloadQueuePollRequest], and claims the polled workloads for [dataplaneId] in the same
+ * transaction, like a [WorkloadClaimRequest] per workload would.
+ */
+data class WorkloadQueueClaimRequest(
+  var dataplaneGroup: String? = null,
+  var priority: WorkloadPriority? = null,
+  @Schema(required = true)
+  var dataplaneId: String = "",
+  var quantity: Int,
+  var deadline: OffsetDateTime? = null,
+)
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.api.domain
+
+import io.airbyte.config.WorkloadPriority
+
+/**
+ * Polls the queue like [WorkloadQueuePollRequest], but waits up to [timeoutSeconds] for workloads to be enqueued when
+ * there is none to poll.
+ */
+data class WorkloadQueueLongPollRequest(
+  var dataplaneGroup: String? = null,
+  var priority: WorkloadPriority? = null,
+  var quantity: Int,
+  var timeoutSeconds: Long,
+)
@@ -11,6 +11,7 @@ import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.workload.api.domain.ClaimResponse
 import io.airbyte.workload.api.domain.Workload
 import io.airbyte.workload.api.domain.WorkloadDepthResponse
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchResponse
 import io.airbyte.workload.api.domain.WorkloadListResponse
 import io.airbyte.workload.api.domain.WorkloadQueueStatsResponse
 import io.micronaut.http.HttpStatus
@@ -37,14 +38,18 @@ class WorkloadApiClientTest {
         every { workloadLaunched(any()) } returns Calls.response(Unit)
         every { workloadHeartbeat(any()) } returns Calls.response(Unit)
         every { workloadQueueClean(any()) } returns Calls.response(Unit)
+        every { workloadArchive(any()) } returns Calls.response(Unit)
 
         every { workloadClaim(any()) } returns Calls.response(mockk<ClaimResponse>())
         every { workloadGet(any()) } returns Calls.response(mockk<Workload>())
+        every { workloadHeartbeatBatch(any()) } returns Calls.response(mockk<WorkloadHeartbeatBatchResponse>())
         every { workloadList(any()) } returns Calls.response(mockk<WorkloadListResponse>())
         every { workloadListWithExpiredDeadline(any()) } returns Calls.response(mockk<WorkloadListResponse>())
         every { workloadListOldNonSync(any()) } returns Calls.response(mockk<WorkloadListResponse>())
         every { workloadListOldSync(any()) } returns Calls.response(mockk<WorkloadListResponse>())
         every { pollWorkloadQueue(any()) } returns Calls.response(mockk<WorkloadListResponse>())
+        every { longPollWorkloadQueue(any()) } returns Calls.response(mockk<WorkloadListResponse>())
+        every { claimWorkloadQueue(any()) } returns Calls.response(mockk<WorkloadListResponse>())
         every { countWorkloadQueueDepth(any()) } returns Calls.response(mockk<WorkloadDepthResponse>())
         every { getWorkloadQueueStats() } returns Calls.response(mockk<WorkloadQueueStatsResponse>())
       }
@@ -67,14 +72,18 @@ class WorkloadApiClientTest {
       workloadLaunched(mockk())
       workloadHeartbeat(mockk())
       workloadQueueClean(mockk())
+      workloadArchive(mockk())
 
       workloadClaim(mockk())
       workloadGet("dummy")
+      workloadHeartbeatBatch(mockk())
       workloadList(mockk())
       workloadListWithExpiredDeadline(mockk())
       workloadListOldNonSync(mockk())
       workloadListOldSync(mockk())
       pollWorkloadQueue(mockk())
+      longPollWorkloadQueue(mockk())
+      claimWorkloadQueue(mockk())
       countWorkloadQueueDepth(mockk())
       getWorkloadQueueStats()
     }
@@ -89,14 +98,18 @@ class WorkloadApiClientTest {
         workloadLaunched(any())
         workloadHeartbeat(any())
         workloadQueueClean(any())
+        workloadArchive(any())
 
         workloadClaim(any())
         workloadGet(any())
+        workloadHeartbeatBatch(any())
         workloadList(any())
         workloadListWithExpiredDeadline(any())
         workloadListOldNonSync(any())
         workloadListOldSync(any())
         pollWorkloadQueue(any())
+        longPollWorkloadQueue(any())
+        claimWorkloadQueue(any())
         countWorkloadQueueDepth(any())
         getWorkloadQueueStats()
       }
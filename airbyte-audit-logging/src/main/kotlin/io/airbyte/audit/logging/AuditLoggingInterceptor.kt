@@ -13,6 +13,7 @@ import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.storage.AUDIT_LOGGING
 import io.airbyte.commons.storage.AirbyteCloudStorageBulkUploader
 import io.airbyte.commons.storage.DocumentType
+import io.airbyte.commons.storage.OverflowPolicy
 import io.airbyte.commons.storage.StorageClientFactory
 import io.airbyte.featureflag.ANONYMOUS
 import io.airbyte.featureflag.FeatureFlagClient
@@ -48,10 +49,13 @@ class AuditLoggingInterceptor(
   private val featureFlagClient: FeatureFlagClient,
   storageClientFactory: StorageClientFactory,
 ) : MethodInterceptor<Any, Any> {
+  // Audit log entries must not be dropped to make room for others: once the buffer is full, which an upload is
+  // triggered well before, the requests wait for it to be drained instead
   private val appender =
     AirbyteCloudStorageBulkUploader<AuditLogEntry>(
-      AUDIT_LOGGING,
-      storageClientFactory.create(DocumentType.AUDIT_LOGS),
+      baseStorageId = AUDIT_LOGGING,
+      storageClient = storageClientFactory.create(DocumentType.AUDIT_LOGS),
+      overflowPolicy = OverflowPolicy.BLOCK,
     )
 
   @EventListener
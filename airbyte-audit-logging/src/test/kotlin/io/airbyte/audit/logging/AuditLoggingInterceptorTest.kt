@@ -13,6 +13,7 @@ import io.airbyte.commons.annotation.AuditLogging
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.StorageClient
 import io.airbyte.commons.storage.StorageClientFactory
+import io.airbyte.commons.storage.StorageOutputStream
 import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.featureflag.StoreAuditLogs
 import io.micronaut.aop.MethodInvocationContext
@@ -23,9 +24,7 @@ import io.micronaut.http.HttpHeaders
 import io.micronaut.http.context.ServerRequestContext
 import io.micronaut.http.server.netty.NettyHttpRequest
 import io.micronaut.inject.qualifiers.Qualifiers
-import io.mockk.Runs
 import io.mockk.every
-import io.mockk.just
 import io.mockk.mockk
 import io.mockk.mockkStatic
 import io.mockk.spyk
@@ -110,7 +109,7 @@ class AuditLoggingInterceptorTest {
     every { auditLoggingHelper.buildActor(headers) } returns Actor("userId", "email", null, "userAgent")
 
     val storageClient = mockk<StorageClient>()
-    every { storageClient.write(any(), any()) } just Runs
+    every { storageClient.writeStream(any()) } returns mockk<StorageOutputStream>(relaxed = true)
     every { storageClientFactory.create(DocumentType.AUDIT_LOGS) } returns storageClient
     every { featureFlagClient.boolVariation(StoreAuditLogs, any()) } returns true
 
@@ -0,0 +1,39 @@
+plugins {
+  id("io.airbyte.gradle.jvm.lib")
+  alias(libs.plugins.me.champeau.jmh)
+}
+
+dependencies {
+  jmhImplementation(platform(libs.micronaut.platform))
+  jmhImplementation(libs.bundles.micronaut)
+  jmhImplementation(libs.bundles.jackson)
+  jmhImplementation(libs.guava)
+  jmhImplementation(libs.kotlin.logging)
+  jmhImplementation(libs.mockk)
+  jmhImplementation(libs.airbyte.protocol)
+  jmhImplementation(libs.bundles.logback)
+
+  jmhImplementation(project(":oss:airbyte-analytics"))
+  jmhImplementation(project(":oss:airbyte-api:server-api"))
+  jmhImplementation(project(":oss:airbyte-commons"))
+  jmhImplementation(project(":oss:airbyte-commons-protocol"))
+  jmhImplementation(project(":oss:airbyte-commons-storage"))
+  jmhImplementation(project(":oss:airbyte-commons-worker"))
+  jmhImplementation(project(":oss:airbyte-config:config-models"))
+  jmhImplementation(project(":oss:airbyte-container-orchestrator"))
+  jmhImplementation(project(":oss:airbyte-featureflag"))
+  jmhImplementation(project(":oss:airbyte-json-validation"))
+  jmhImplementation(project(":oss:airbyte-mappers"))
+  jmhImplementation(project(":oss:airbyte-metrics:metrics-lib"))
+  jmhImplementation(project(":oss:airbyte-persistence:job-persistence"))
+  jmhImplementation(project(":oss:airbyte-worker-models"))
+}
+
+jmh {
+  jmhVersion = libs.versions.jmh.get()
+  // Allocations per record are reported by the gc profiler as gc.alloc.rate.norm (bytes/op).
+  profilers = listOf("gc")
+  resultFormat = "JSON"
+  // e.g. ./gradlew :oss:airbyte-benchmarks:jmh -PjmhIncludes=StreamFactoryBenchmark
+  project.findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+}
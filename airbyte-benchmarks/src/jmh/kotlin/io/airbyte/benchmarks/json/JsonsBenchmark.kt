@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.json
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.benchmarks.replication.RecordShape
+import io.airbyte.benchmarks.replication.SyntheticRecordGenerator
+import io.airbyte.commons.json.Jsons
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures [Jsons.getEstimatedByteSize], which is called for every record by the stats tracker, and [Jsons.clone],
+ * in operations per second, against serializing to a string they were implemented with.
+ * <p />
+ * The gc profiler enabled for the benchmarks reports how much garbage each of them creates per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class JsonsBenchmark {
+  @Param("NARROW", "WIDE", "NESTED")
+  lateinit var shape: RecordShape
+
+  private lateinit var record: AirbyteRecordMessage
+  private lateinit var data: JsonNode
+
+  @Setup
+  fun setup() {
+    record = SyntheticRecordGenerator(shape).record(0).record
+    data = record.data
+  }
+
+  @Benchmark
+  fun estimatedByteSize(): Int = Jsons.getEstimatedByteSize(data)
+
+  @Benchmark
+  fun serializedLength(): Int = Jsons.serialize(data).length
+
+  @Benchmark
+  fun cloneJsonNode(): JsonNode = Jsons.clone(data)
+
+  @Benchmark
+  fun cloneRecord(): AirbyteRecordMessage = Jsons.clone(record)
+
+  @Benchmark
+  fun cloneRecordBySerialization(): AirbyteRecordMessage = Jsons.deserialize(Jsons.serialize(record), AirbyteRecordMessage::class.java)
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.logging
+
+import ch.qos.logback.classic.Level
+import ch.qos.logback.classic.spi.LoggingEvent
+import com.fasterxml.jackson.core.type.TypeReference
+import io.airbyte.commons.constants.AirbyteCatalogConstants.LOCAL_SECRETS_MASKS_PATH
+import io.airbyte.commons.constants.AirbyteSecretConstants
+import io.airbyte.commons.logging.logback.MaskedDataConverter
+import io.airbyte.commons.yaml.Yamls
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+import java.util.regex.Matcher
+import java.util.regex.Pattern
+
+/**
+ * Shapes of the log messages masked by the benchmark.
+ */
+enum class LogMessageShape {
+  /** A plain text message, as most of the platform messages are. */
+  PLAIN_TEXT,
+
+  /** A short JSON message without any maskable property. */
+  JSON,
+
+  /** A short JSON message with maskable properties. */
+  JSON_WITH_SECRETS,
+
+  /** A long JSON message, e.g. a logged connector configuration or record, with a few maskable properties. */
+  LONG_JSON,
+}
+
+/**
+ * Measures [MaskedDataConverter.convert], which is called for every platform and connector log message, in messages
+ * per second, against the regular expressions it used to apply.
+ * <p />
+ * Both use the maskable properties of the spec mask file shipped with the platform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class MaskedDataConverterBenchmark {
+  @Param("PLAIN_TEXT", "JSON", "JSON_WITH_SECRETS", "LONG_JSON")
+  lateinit var shape: LogMessageShape
+
+  private lateinit var event: LoggingEvent
+  private lateinit var converter: MaskedDataConverter
+  private lateinit var regexMasker: RegexMasker
+
+  @Setup
+  fun setup() {
+    event =
+      LoggingEvent().apply {
+        level = Level.INFO
+        message = logMessage(shape)
+        mdcPropertyMap = emptyMap()
+      }
+    converter = MaskedDataConverter()
+    regexMasker = RegexMasker(maskableProperties())
+  }
+
+  @Benchmark
+  fun singlePass(): String = converter.convert(event)
+
+  @Benchmark
+  fun regex(): String = regexMasker.mask(event.formattedMessage)
+
+  private fun maskableProperties(): Set<String> {
+    val contents = javaClass.getResourceAsStream(LOCAL_SECRETS_MASKS_PATH)!!.readBytes().toString(Charsets.UTF_8)
+    return Yamls.deserialize(contents, object : TypeReference<Map<String, Set<String>>>() {}).getValue("properties")
+  }
+
+  private fun logMessage(shape: LogMessageShape): String =
+    when (shape) {
+      LogMessageShape.PLAIN_TEXT ->
+        "Records read: 5000 (1 MB) for stream users in namespace public, last record emitted at 2025-01-01T00:00:00Z"
+      LogMessageShape.JSON -> "{\"type\":\"RECORD\",\"stream\":\"users\",\"id\":42,\"name\":\"Jane\",\"tags\":[\"a\",\"b\"]}"
+      LogMessageShape.JSON_WITH_SECRETS ->
+        "{\"host\":\"localhost\",\"port\":5432,\"username\":\"airbyte\",\"password\":\"secret\",\"api_key\":\"key\"}"
+      LogMessageShape.LONG_JSON ->
+        buildString {
+          append("{")
+          repeat(200) { append("\"property_$it\":\"value of the property number $it\",") }
+          append("\"credentials\":{\"client_id\":\"id\",\"client_secret\":\"secret\",\"refresh_token\":\"token\"},")
+          repeat(200) { append("\"other_property_$it\":[1,2,3],") }
+          append("\"access_token\":\"token\"}")
+        }
+    }
+}
+
+/**
+ * The regular expressions [MaskedDataConverter] used to mask the maskable properties and API keys with.
+ */
+class RegexMasker(
+  properties: Set<String>,
+) {
+  private val propertyPattern: Pattern =
+    "(?i)\"(${properties.joinToString("|")})\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|\\[[^]\\[]*]|\\d+)".toPattern()
+  private val apiKeyPattern: Pattern = "apikey=[\\w\\-]*".toPattern()
+
+  fun mask(message: String): String {
+    val masked = propertyPattern.matcher(message).replaceAll("\"$1\":\"${Matcher.quoteReplacement(AirbyteSecretConstants.SECRETS_MASK)}\"")
+    return apiKeyPattern.matcher(masked).replaceAll(Matcher.quoteReplacement("apikey=${AirbyteSecretConstants.SECRETS_MASK}"))
+  }
+}
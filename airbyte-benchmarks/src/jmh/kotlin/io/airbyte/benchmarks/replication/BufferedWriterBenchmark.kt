@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.protocol.AirbyteMessageMigrator
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer
+import io.airbyte.commons.version.AirbyteProtocolVersion
+import io.airbyte.container.orchestrator.worker.io.AirbyteMessageBufferedWriter
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.workers.internal.RawLineAirbyteMessage
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.io.BufferedWriter
+import java.io.Writer
+import java.util.Optional
+import java.util.concurrent.TimeUnit
+
+private const val MESSAGE_POOL_SIZE = 1_024
+
+/**
+ * Measures [AirbyteMessageBufferedWriter.write], i.e. sending a message to the destination, in messages per second.
+ * <p />
+ * With [passthroughRawLines], records carry the line they were read from, as they do when the source lines are
+ * retained, and are written without being serialized again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class BufferedWriterBenchmark {
+  @Param("NARROW", "WIDE", "NESTED")
+  lateinit var shape: RecordShape
+
+  @Param("false", "true")
+  var passthroughRawLines: Boolean = false
+
+  private lateinit var messages: Array<AirbyteMessage>
+  private lateinit var writer: AirbyteMessageBufferedWriter<AirbyteMessage>
+  private var position = 0
+
+  @Setup
+  fun setup() {
+    val generator = SyntheticRecordGenerator(shape, streamCount = 10)
+    messages =
+      Array(MESSAGE_POOL_SIZE) {
+        val message = generator.record(it.toLong())
+        if (passthroughRawLines) RawLineAirbyteMessage(Jsons.serialize(message), message) else message
+      }
+
+    val migratorFactory =
+      AirbyteProtocolVersionedMigratorFactory(
+        AirbyteMessageMigrator(mutableListOf()).also { it.initialize() },
+        ConfiguredAirbyteCatalogMigrator(mutableListOf()).also { it.initialize() },
+      )
+    writer =
+      AirbyteMessageBufferedWriter(
+        writer = BufferedWriter(Writer.nullWriter()),
+        serializer = AirbyteMessageV0Serializer(),
+        migrator = migratorFactory.getAirbyteMessageMigrator(AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION),
+        configuredAirbyteCatalog = Optional.empty(),
+        passthroughRawLines = passthroughRawLines,
+      )
+  }
+
+  @Benchmark
+  fun write() {
+    position = (position + 1) and (MESSAGE_POOL_SIZE - 1)
+    writer.write(messages[position])
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import io.airbyte.config.JobSyncConfig
+import io.airbyte.container.orchestrator.worker.RecordSchemaValidator
+import io.airbyte.container.orchestrator.worker.filter.FieldSelector
+import io.airbyte.container.orchestrator.worker.model.adapter.AirbyteJsonRecordAdapter
+import io.airbyte.mappers.application.MapperPlan
+import io.airbyte.mappers.application.RecordMapper
+import io.airbyte.metrics.MetricClient
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.workers.internal.NamespacingMapper
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Measures the per record transformations applied by the orchestrator, in records per second.
+ * <p />
+ * These transformations mutate the record in place, so every operation works on a newly generated record. The cost
+ * of generating it is measured by [generateRecord] and must be subtracted from the other benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class MessageTransformationBenchmark {
+  @Param("NARROW", "WIDE", "NESTED")
+  lateinit var shape: RecordShape
+
+  private lateinit var generator: SyntheticRecordGenerator
+  private lateinit var namespacingMapper: NamespacingMapper
+  private lateinit var fieldSelector: FieldSelector
+  private lateinit var schemaValidator: RecordSchemaValidator
+  private lateinit var recordMapper: RecordMapper
+  private lateinit var mapperPlan: MapperPlan
+  private var index = 0L
+
+  @Setup
+  fun setup() {
+    generator = SyntheticRecordGenerator(shape, streamCount = 10)
+    namespacingMapper =
+      NamespacingMapper(JobSyncConfig.NamespaceDefinitionType.CUSTOMFORMAT, "benchmark_\${SOURCE_NAMESPACE}", "prefix_")
+    val replicationInput = benchmarkReplicationInput(generator.catalog())
+    benchmarkFieldSelector(replicationInput, MetricClient(null)).let { (selector, validator) ->
+      fieldSelector = selector
+      schemaValidator = validator
+    }
+    recordMapper = RecordMapper(BENCHMARK_MAPPERS)
+    mapperPlan = recordMapper.compile(BENCHMARK_MAPPER_CONFIGS)
+  }
+
+  @TearDown
+  fun tearDown() {
+    schemaValidator.close()
+  }
+
+  @Benchmark
+  fun generateRecord(): AirbyteMessage = generator.record(index++)
+
+  @Benchmark
+  fun namespacingMapper(): AirbyteMessage = namespacingMapper.mapMessage(generator.record(index++))
+
+  @Benchmark
+  fun filterSelectedFields(): AirbyteMessage = generator.record(index++).also { fieldSelector.filterSelectedFields(it) }
+
+  @Benchmark
+  fun validateSchema(): AirbyteMessage = generator.record(index++).also { fieldSelector.validateSchema(it) }
+
+  @Benchmark
+  fun applyMappers(): AirbyteMessage =
+    generator.record(index++).also { recordMapper.applyMappers(AirbyteJsonRecordAdapter(it), mapperPlan) }
+}
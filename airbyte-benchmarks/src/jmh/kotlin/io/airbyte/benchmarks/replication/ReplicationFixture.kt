@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import com.google.common.util.concurrent.MoreExecutors
+import io.airbyte.api.client.AirbyteApiClient
+import io.airbyte.commons.jackson.MoreMappers
+import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.config.ConnectionContext
+import io.airbyte.config.JobSyncConfig
+import io.airbyte.config.MapperConfig
+import io.airbyte.config.mapper.configs.FieldRenamingConfig
+import io.airbyte.config.mapper.configs.FieldRenamingMapperConfig
+import io.airbyte.config.mapper.configs.HashingConfig
+import io.airbyte.config.mapper.configs.HashingMapperConfig
+import io.airbyte.config.mapper.configs.HashingMethods
+import io.airbyte.container.orchestrator.RateLimitedMessageHelper
+import io.airbyte.container.orchestrator.bookkeeping.AirbyteMessageTracker
+import io.airbyte.container.orchestrator.bookkeeping.ParallelStreamStatsTracker
+import io.airbyte.container.orchestrator.bookkeeping.StateCheckSumCountEventHandler
+import io.airbyte.container.orchestrator.bookkeeping.events.ReplicationAirbyteMessageEventPublishingHelper
+import io.airbyte.container.orchestrator.bookkeeping.state.DefaultStateAggregator
+import io.airbyte.container.orchestrator.bookkeeping.state.SingleStateAggregator
+import io.airbyte.container.orchestrator.bookkeeping.state.StreamStateAggregator
+import io.airbyte.container.orchestrator.bookkeeping.streamstatus.StreamStatusStateStore
+import io.airbyte.container.orchestrator.bookkeeping.streamstatus.StreamStatusTracker
+import io.airbyte.container.orchestrator.persistence.SyncPersistenceImpl
+import io.airbyte.container.orchestrator.tracker.AnalyticsMessageTracker
+import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
+import io.airbyte.container.orchestrator.tracker.ThreadedTimeTracker
+import io.airbyte.container.orchestrator.worker.RecordSchemaValidator
+import io.airbyte.container.orchestrator.worker.ReplicationContextProvider
+import io.airbyte.container.orchestrator.worker.ReplicationWorkerHelper
+import io.airbyte.container.orchestrator.worker.ReplicationWorkerState
+import io.airbyte.container.orchestrator.worker.SchemaValidationConfiguration
+import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
+import io.airbyte.container.orchestrator.worker.filter.FieldSelector
+import io.airbyte.container.orchestrator.worker.util.AirbyteMessageDataExtractor
+import io.airbyte.container.orchestrator.worker.util.ReplicationMetricReporter
+import io.airbyte.featureflag.FieldSelectionEnabled
+import io.airbyte.mappers.application.RecordMapper
+import io.airbyte.mappers.transformations.DestinationCatalogGenerator
+import io.airbyte.mappers.transformations.FieldRenamingMapper
+import io.airbyte.mappers.transformations.HashingMapper
+import io.airbyte.mappers.transformations.Mapper
+import io.airbyte.metrics.MetricClient
+import io.airbyte.persistence.job.models.IntegrationLauncherConfig
+import io.airbyte.persistence.job.models.ReplicationInput
+import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
+import io.airbyte.validation.json.JsonSchemaValidator
+import io.airbyte.workers.internal.NamespacingMapper
+import io.airbyte.workers.models.ArchitectureConstants
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.mockk.mockk
+import java.time.Clock
+import java.util.UUID
+import java.util.concurrent.Executors
+
+private const val JOB_ID = 1L
+private const val ATTEMPT_NUMBER = 0
+
+// Large enough for the background state flush to never run during a benchmark.
+private const val STATE_FLUSH_PERIOD_SECONDS = 3600L
+
+/**
+ * Mappers supported by the benchmarks, applied to every stream of the catalog.
+ */
+val BENCHMARK_MAPPERS: List<Mapper<out MapperConfig>> =
+  listOf(HashingMapper(MoreMappers.initMapper()), FieldRenamingMapper(MoreMappers.initMapper()))
+
+val BENCHMARK_MAPPER_CONFIGS: List<MapperConfig> =
+  listOf(
+    HashingMapperConfig(config = HashingConfig(targetField = NAME_FIELD, method = HashingMethods.SHA256, fieldNameSuffix = "_hashed")),
+    FieldRenamingMapperConfig(config = FieldRenamingConfig(originalFieldName = ID_FIELD, newFieldName = "record_id")),
+  )
+
+fun benchmarkReplicationInput(
+  catalog: ConfiguredAirbyteCatalog,
+  featureFlags: Map<String, Any?> = mapOf(FieldSelectionEnabled.key to true),
+): ReplicationInput =
+  ReplicationInput()
+    .withWorkspaceId(UUID.randomUUID())
+    .withConnectionId(UUID.randomUUID())
+    .withSourceId(UUID.randomUUID())
+    .withDestinationId(UUID.randomUUID())
+    .withConnectionContext(
+      ConnectionContext()
+        .withSourceDefinitionId(UUID.randomUUID())
+        .withDestinationDefinitionId(UUID.randomUUID()),
+    ).withCatalog(catalog)
+    .withSourceLauncherConfig(IntegrationLauncherConfig().withDockerImage("airbyte/source-benchmark:dev"))
+    .withDestinationLauncherConfig(IntegrationLauncherConfig().withDockerImage("airbyte/destination-benchmark:dev"))
+    .withFeatureFlags(featureFlags)
+
+/**
+ * Builds a [FieldSelector] with a real [RecordSchemaValidator] that validates records on the calling thread, so that
+ * the cost of the validation is attributed to the message being processed.
+ */
+fun benchmarkFieldSelector(
+  replicationInput: ReplicationInput,
+  metricClient: MetricClient,
+): Pair<FieldSelector, RecordSchemaValidator> {
+  val schemaValidator =
+    RecordSchemaValidator(
+      JsonSchemaValidator(),
+      MoreExecutors.newDirectExecutorService(),
+      replicationInput.catalog.streams
+        .associate { AirbyteStreamNameNamespacePair(it.stream.name, it.stream.namespace) to it.stream.jsonSchema }
+        .toMutableMap(),
+      SchemaValidationConfiguration(maxBacklog = 0),
+    ).also { it.initializeSchemaValidator() }
+  val fieldSelector =
+    FieldSelector(
+      schemaValidator,
+      ReplicationMetricReporter(metricClient, replicationInput),
+      replicationInput,
+      ReplicationInputFeatureFlagReader(replicationInput),
+    ).also { it.populateFields(replicationInput.catalog) }
+  return fieldSelector to schemaValidator
+}
+
+/**
+ * Wires a [ReplicationWorkerHelper] the way the orchestrator does for a sync of the catalog generated by [generator].
+ * <p />
+ * Everything that lives in the orchestrator is real. Collaborators that talk to the outside world (Airbyte API,
+ * analytics, state checksum events) are relaxed mocks: they are either not called for RECORD and STATE messages or
+ * only called once per sync.
+ */
+class ReplicationFixture(
+  generator: SyntheticRecordGenerator,
+  mapperConfigs: List<MapperConfig> = listOf(),
+) : AutoCloseable {
+  val catalog: ConfiguredAirbyteCatalog = generator.catalog(mapperConfigs)
+  val replicationInput: ReplicationInput = benchmarkReplicationInput(catalog)
+  val metricClient = MetricClient(null)
+  val syncStatsTracker =
+    ParallelStreamStatsTracker(
+      metricClient = metricClient,
+      stateCheckSumEventHandler = mockk<StateCheckSumCountEventHandler>(relaxed = true),
+      platformMode = ArchitectureConstants.ORCHESTRATOR,
+    )
+
+  private val stateFlushExecutorService = Executors.newSingleThreadScheduledExecutor()
+  private val syncPersistence =
+    SyncPersistenceImpl(
+      airbyteApiClient = mockk<AirbyteApiClient>(relaxed = true),
+      stateBuffer = DefaultStateAggregator(StreamStateAggregator(), SingleStateAggregator()),
+      stateFlushExecutorService = stateFlushExecutorService,
+      stateFlushPeriodInSeconds = STATE_FLUSH_PERIOD_SECONDS,
+      metricClient = metricClient,
+      syncStatsTracker = syncStatsTracker,
+      connectionId = replicationInput.connectionId,
+      jobId = JOB_ID,
+      attemptNumber = ATTEMPT_NUMBER,
+    )
+  private val fieldSelectorAndValidator = benchmarkFieldSelector(replicationInput, metricClient)
+  private val context = ReplicationContextProvider(attempt = ATTEMPT_NUMBER, jobId = JOB_ID).provideContext(replicationInput)
+
+  val helper =
+    ReplicationWorkerHelper(
+      fieldSelector = fieldSelectorAndValidator.first,
+      mapper = NamespacingMapper(JobSyncConfig.NamespaceDefinitionType.SOURCE, namespaceFormat = null, streamPrefix = null),
+      messageTracker =
+        AirbyteMessageTracker(
+          ReplicationInputFeatureFlagReader(replicationInput),
+          replicationInput,
+          syncPersistence,
+          platformMode = ArchitectureConstants.ORCHESTRATOR,
+        ),
+      eventPublisher = ReplicationAirbyteMessageEventPublishingHelper(ApplicationEventPublisher.noOp()),
+      timeTracker = ThreadedTimeTracker(),
+      analyticsTracker = AnalyticsMessageTracker(mockk(relaxed = true)),
+      streamStatusCompletionTracker = StreamStatusCompletionTracker(Clock.systemUTC()),
+      syncStatsTracker = syncStatsTracker,
+      streamStatusTracker =
+        StreamStatusTracker(
+          AirbyteMessageDataExtractor(),
+          StreamStatusStateStore(),
+          ApplicationEventPublisher.noOp(),
+          context,
+          RateLimitedMessageHelper(),
+        ),
+      recordMapper = RecordMapper(BENCHMARK_MAPPERS),
+      replicationWorkerState = ReplicationWorkerState(),
+      context = context,
+      destinationCatalogGenerator = DestinationCatalogGenerator(BENCHMARK_MAPPERS, MoreMappers.initMapper()),
+      metricClient = metricClient,
+    )
+
+  override fun close() {
+    syncPersistence.close()
+    fieldSelectorAndValidator.second.close()
+    stateFlushExecutorService.shutdownNow()
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import io.airbyte.commons.protocol.AirbyteMessageMigrator
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer
+import io.airbyte.commons.version.AirbyteProtocolVersion
+import io.airbyte.container.orchestrator.worker.io.AirbyteMessageBufferedWriter
+import io.airbyte.container.orchestrator.worker.io.InMemoryDummyAirbyteDestination
+import io.airbyte.container.orchestrator.worker.io.InMemoryDummyAirbyteSource
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.io.BufferedWriter
+import java.io.Writer
+import java.util.Optional
+import java.util.concurrent.TimeUnit
+
+private const val MESSAGES_PER_INVOCATION = 10_000
+
+/**
+ * Measures the processing of a sync on a single thread, from the [InMemoryDummyAirbyteSource] through
+ * [io.airbyte.container.orchestrator.worker.ReplicationWorkerHelper.processMessageFromSource] (stats, field selection,
+ * schema validation, mappers, namespacing) to the [InMemoryDummyAirbyteDestination], in messages per second.
+ * <p />
+ * This leaves out the hand-off between the reader, processor and writer tasks so that the numbers only reflect the
+ * work done for every message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+open class ReplicationPipelineBenchmark {
+  @Param("NARROW", "WIDE", "NESTED")
+  lateinit var shape: RecordShape
+
+  @Param("1", "50")
+  var streamCount: Int = 1
+
+  @Param("0", "1000")
+  var stateEvery: Int = 0
+
+  @Param("false", "true")
+  var withMappers: Boolean = false
+
+  private lateinit var generator: SyntheticRecordGenerator
+  private lateinit var fixture: ReplicationFixture
+  private lateinit var destinationWriter: AirbyteMessageBufferedWriter<AirbyteMessage>
+
+  @Setup
+  fun setup() {
+    generator = SyntheticRecordGenerator(shape, streamCount = streamCount, stateEvery = stateEvery)
+    fixture = ReplicationFixture(generator, if (withMappers) BENCHMARK_MAPPER_CONFIGS else listOf())
+
+    val migratorFactory =
+      AirbyteProtocolVersionedMigratorFactory(
+        AirbyteMessageMigrator(mutableListOf()).also { it.initialize() },
+        ConfiguredAirbyteCatalogMigrator(mutableListOf()).also { it.initialize() },
+      )
+    destinationWriter =
+      AirbyteMessageBufferedWriter(
+        writer = BufferedWriter(Writer.nullWriter()),
+        serializer = AirbyteMessageV0Serializer(),
+        migrator = migratorFactory.getAirbyteMessageMigrator(AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION),
+        configuredAirbyteCatalog = Optional.empty(),
+      )
+  }
+
+  @TearDown
+  fun tearDown() {
+    fixture.close()
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+  fun processMessages(): Long {
+    val source = InMemoryDummyAirbyteSource(maxRecords = MESSAGES_PER_INVOCATION - 1L, messageGenerator = generator::message)
+    val destination = InMemoryDummyAirbyteDestination(maxRecords = MESSAGES_PER_INVOCATION - 1L, messageWriter = destinationWriter)
+    while (!source.isFinished) {
+      source.attemptRead().ifPresent { message ->
+        fixture.helper.processMessageFromSource(message).ifPresent(destination::accept)
+      }
+    }
+    destination.notifyEndOfInput()
+    return destination.counter.get()
+  }
+}
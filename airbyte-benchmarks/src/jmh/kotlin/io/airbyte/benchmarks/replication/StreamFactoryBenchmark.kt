@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import io.airbyte.commons.protocol.AirbyteMessageMigrator
+import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider
+import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory
+import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0StreamingDeserializer
+import io.airbyte.commons.version.AirbyteProtocolVersion
+import io.airbyte.metrics.MetricClient
+import io.airbyte.workers.helper.GsonPksExtractor
+import io.airbyte.workers.internal.MessageOrigin
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory.InvalidLineFailureConfiguration
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import org.openjdk.jmh.infra.Blackhole
+import java.io.BufferedReader
+import java.io.StringReader
+import java.util.concurrent.TimeUnit
+
+private const val MESSAGES_PER_INVOCATION = 10_000
+
+/**
+ * Measures [VersionedAirbyteStreamFactory.create], i.e. turning the lines emitted by a source into messages, in
+ * messages per second.
+ * <p />
+ * With the streaming deserializer, the data of the records is only parsed when it is read, which [readData] forces
+ * so that both deserializers can be compared for syncs that do and do not need the data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class StreamFactoryBenchmark {
+  @Param("NARROW", "WIDE", "NESTED")
+  lateinit var shape: RecordShape
+
+  @Param("false", "true")
+  var streamingDeserializer: Boolean = false
+
+  @Param("false", "true")
+  var retainRawLines: Boolean = false
+
+  @Param("false", "true")
+  var readData: Boolean = false
+
+  private lateinit var lines: String
+  private lateinit var streamFactory: VersionedAirbyteStreamFactory<Any>
+
+  @Setup
+  fun setup() {
+    lines = SyntheticRecordGenerator(shape, streamCount = 10, stateEvery = 1_000).lines(MESSAGES_PER_INVOCATION)
+
+    val serDeProvider =
+      AirbyteMessageSerDeProvider(
+        listOf(AirbyteMessageV0Deserializer(), AirbyteMessageV0StreamingDeserializer()),
+        listOf(AirbyteMessageV0Serializer()),
+      ).also { it.initialize() }
+    val migratorFactory =
+      AirbyteProtocolVersionedMigratorFactory(
+        AirbyteMessageMigrator(mutableListOf()).also { it.initialize() },
+        ConfiguredAirbyteCatalogMigrator(mutableListOf()).also { it.initialize() },
+      )
+    streamFactory =
+      VersionedAirbyteStreamFactory(
+        serDeProvider = serDeProvider,
+        migratorFactory = migratorFactory,
+        protocolVersion = AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+        invalidLineFailureConfiguration = InvalidLineFailureConfiguration(false),
+        gsonPksExtractor = GsonPksExtractor(),
+        metricClient = MetricClient(null),
+        retainRawRecordLines = retainRawLines,
+        useStreamingDeserializer = streamingDeserializer,
+      )
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES_PER_INVOCATION)
+  fun create(blackhole: Blackhole) {
+    streamFactory.create(BufferedReader(StringReader(lines)), MessageOrigin.SOURCE).forEach { message ->
+      blackhole.consume(message)
+      if (readData) {
+        blackhole.consume(message.record?.data)
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import io.airbyte.container.orchestrator.bookkeeping.ParallelStreamStatsTracker
+import io.airbyte.container.orchestrator.bookkeeping.StateCheckSumCountEventHandler
+import io.airbyte.metrics.MetricClient
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.airbyte.workers.models.ArchitectureConstants
+import io.mockk.mockk
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Threads
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+private const val RECORD_POOL_SIZE = 1_024
+
+/**
+ * Measures [ParallelStreamStatsTracker.updateStats], which is called for every record read from the source, in
+ * records per second.
+ * <p />
+ * Records are spread over [streamCount] streams and are not modified by the tracker, so a pool of pre-generated
+ * records is cycled through. The tracker is shared by the benchmark threads to surface contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(2)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+open class StreamStatsTrackerBenchmark {
+  @Param("NARROW", "WIDE", "NESTED")
+  lateinit var shape: RecordShape
+
+  @Param("1", "100")
+  var streamCount: Int = 1
+
+  private lateinit var records: Array<AirbyteRecordMessage>
+  private lateinit var statsTracker: ParallelStreamStatsTracker
+
+  @Setup
+  fun setup() {
+    val generator = SyntheticRecordGenerator(shape, streamCount = streamCount)
+    records = Array(RECORD_POOL_SIZE) { generator.record(it.toLong()).record }
+    statsTracker =
+      ParallelStreamStatsTracker(
+        metricClient = MetricClient(null),
+        stateCheckSumEventHandler = mockk<StateCheckSumCountEventHandler>(relaxed = true),
+        platformMode = ArchitectureConstants.ORCHESTRATOR,
+      )
+  }
+
+  @Benchmark
+  fun updateStats(cursor: RecordCursor) {
+    statsTracker.updateStats(records[cursor.next()])
+  }
+
+  /**
+   * Position of a benchmark thread in the record pool.
+   */
+  @State(Scope.Thread)
+  open class RecordCursor {
+    private var position = 0
+
+    fun next(): Int {
+      position = (position + 1) and (RECORD_POOL_SIZE - 1)
+      return position
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.benchmarks.replication
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import com.fasterxml.jackson.databind.node.ObjectNode
+import io.airbyte.commons.json.Jsons
+import io.airbyte.config.AirbyteStream
+import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.config.ConfiguredAirbyteStream
+import io.airbyte.config.Field
+import io.airbyte.config.FieldType
+import io.airbyte.config.MapperConfig
+import io.airbyte.config.SyncMode
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.airbyte.protocol.models.v0.AirbyteStateMessage
+import io.airbyte.protocol.models.v0.AirbyteStreamState
+import io.airbyte.protocol.models.v0.StreamDescriptor
+
+const val ID_FIELD = "id"
+const val NAME_FIELD = "name"
+
+/**
+ * Field that is present in every generated record but not declared in the catalog, so that field selection has
+ * something to remove.
+ */
+const val UNDECLARED_FIELD = "undeclared"
+
+private const val WIDE_FIELD_COUNT = 100
+private const val EMITTED_AT = 1_700_000_000_000L
+
+/**
+ * Shape of the `data` of the generated records.
+ */
+enum class RecordShape {
+  /** A handful of short top level fields. */
+  NARROW,
+
+  /** A hundred top level fields of mixed types. */
+  WIDE,
+
+  /** A few top level fields holding objects and arrays. */
+  NESTED,
+}
+
+/**
+ * Generates the messages of a synthetic sync: records of the given [shape] spread round-robin over [streamCount]
+ * streams, with a STREAM state for the stream of the previous record every [stateEvery] messages (never when 0).
+ * <p />
+ * Records are built from a per stream template so that generating them is cheap compared to what is being measured,
+ * and every call returns a new message that can be mutated by the code under test.
+ */
+class SyntheticRecordGenerator(
+  val shape: RecordShape,
+  val streamCount: Int = 1,
+  val stateEvery: Int = 0,
+) {
+  val streamNames: List<String> = List(streamCount) { "stream_$it" }
+  val fields: List<Field> = fieldsFor(shape)
+
+  private val template: ObjectNode = templateFor(shape)
+
+  fun message(index: Long): AirbyteMessage =
+    if (stateEvery > 0 && index > 0 && index % stateEvery == 0L) {
+      state(index)
+    } else {
+      record(index)
+    }
+
+  fun record(index: Long): AirbyteMessage {
+    val data = template.deepCopy()
+    data.put(ID_FIELD, index)
+    return AirbyteMessage()
+      .withType(AirbyteMessage.Type.RECORD)
+      .withRecord(
+        AirbyteRecordMessage()
+          .withStream(streamName(index))
+          .withEmittedAt(EMITTED_AT)
+          .withData(data),
+      )
+  }
+
+  fun state(index: Long): AirbyteMessage =
+    AirbyteMessage()
+      .withType(AirbyteMessage.Type.STATE)
+      .withState(
+        AirbyteStateMessage()
+          .withType(AirbyteStateMessage.AirbyteStateType.STREAM)
+          .withStream(
+            AirbyteStreamState()
+              .withStreamDescriptor(StreamDescriptor().withName(streamName(index - 1)))
+              .withStreamState(Jsons.jsonNode(mapOf("cursor" to index))),
+          ),
+      )
+
+  /**
+   * Serialized messages, one per line, as a source would emit them.
+   */
+  fun lines(count: Int): String =
+    buildString {
+      for (i in 0 until count) {
+        append(Jsons.serialize(message(i.toLong())))
+        append('\n')
+      }
+    }
+
+  fun catalog(mappers: List<MapperConfig> = listOf()): ConfiguredAirbyteCatalog =
+    ConfiguredAirbyteCatalog().withStreams(
+      streamNames.map { streamName ->
+        ConfiguredAirbyteStream(
+          stream =
+            AirbyteStream(
+              name = streamName,
+              jsonSchema = jsonSchema(),
+              supportedSyncModes = listOf(SyncMode.FULL_REFRESH, SyncMode.INCREMENTAL),
+            ),
+          fields = fields,
+          mappers = mappers,
+        )
+      },
+    )
+
+  private fun streamName(index: Long): String = streamNames[(index % streamCount).toInt()]
+
+  private fun jsonSchema(): ObjectNode {
+    val schema = JsonNodeFactory.instance.objectNode()
+    schema.put("type", "object")
+    val properties = schema.putObject("properties")
+    fields.forEach { field -> properties.set<ObjectNode>(field.name, Jsons.jsonNode(field.type.toMap())) }
+    return schema
+  }
+}
+
+private fun fieldsFor(shape: RecordShape): List<Field> =
+  buildList {
+    add(Field(ID_FIELD, FieldType.INTEGER))
+    add(Field(NAME_FIELD, FieldType.STRING))
+    when (shape) {
+      RecordShape.NARROW -> (1..4).forEach { add(Field("field$it", FieldType.STRING)) }
+      RecordShape.WIDE -> (1..WIDE_FIELD_COUNT).forEach { add(Field("field$it", wideFieldType(it))) }
+      RecordShape.NESTED -> {
+        add(Field("address", FieldType.OBJECT))
+        add(Field("tags", FieldType.ARRAY))
+        add(Field("items", FieldType.ARRAY))
+      }
+    }
+  }
+
+private fun wideFieldType(position: Int): FieldType =
+  when (position % 4) {
+    0 -> FieldType.STRING
+    1 -> FieldType.INTEGER
+    2 -> FieldType.NUMBER
+    else -> FieldType.BOOLEAN
+  }
+
+private fun templateFor(shape: RecordShape): ObjectNode {
+  val data = JsonNodeFactory.instance.objectNode()
+  data.put(ID_FIELD, 0L)
+  data.put(NAME_FIELD, "valuevaluevaluevaluevalue1")
+  when (shape) {
+    RecordShape.NARROW -> (1..4).forEach { data.put("field$it", "valuevaluevaluevaluevalue$it") }
+    RecordShape.WIDE ->
+      (1..WIDE_FIELD_COUNT).forEach {
+        when (wideFieldType(it)) {
+          FieldType.STRING -> data.put("field$it", "value$it")
+          FieldType.INTEGER -> data.put("field$it", it * 1_000L)
+          FieldType.NUMBER -> data.put("field$it", it * 1.5)
+          else -> data.put("field$it", it % 2 == 0)
+        }
+      }
+    RecordShape.NESTED -> {
+      val address = data.putObject("address")
+      address.put("street", "1 Main Street")
+      address.put("city", "Springfield")
+      address.putObject("geo").put("lat", 39.78).put("lng", -89.65)
+      val tags = data.putArray("tags")
+      (1..5).forEach { tags.add("tag$it") }
+      val items = data.putArray("items")
+      (1..3).forEach { items.addObject().put("sku", "sku-$it").put("quantity", it).put("price", it * 9.99) }
+    }
+  }
+  data.put(UNDECLARED_FIELD, "not in the catalog")
+  return data
+}
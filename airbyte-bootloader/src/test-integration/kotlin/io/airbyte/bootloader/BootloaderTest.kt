@@ -46,10 +46,10 @@ import io.airbyte.db.factory.FlywayFactory
 import io.airbyte.db.instance.DatabaseConstants
 import io.airbyte.db.instance.configs.ConfigsDatabaseMigrator
 import io.airbyte.db.instance.configs.ConfigsDatabaseTestProvider
-import io.airbyte.db.instance.configs.migrations.V1_6_0_024__CreateOrchestrationTaskTable
+import io.airbyte.db.instance.configs.migrations.V1_6_0_025__AddWorkloadArchiveTable
 import io.airbyte.db.instance.jobs.JobsDatabaseMigrator
 import io.airbyte.db.instance.jobs.JobsDatabaseTestProvider
-import io.airbyte.db.instance.jobs.migrations.V1_1_0_004__AddRejectedRecordStats
+import io.airbyte.db.instance.jobs.migrations.V1_1_0_005__AddJobCatalogs
 import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.featureflag.TestClient
 import io.airbyte.metrics.MetricClient
@@ -789,8 +789,8 @@ internal class BootloaderTest {
 
     // ⚠️ This line should change with every new migration to show that you meant to make a new
     // migration to the prod database
-    private val CURRENT_CONFIGS_MIGRATION = V1_6_0_024__CreateOrchestrationTaskTable::class.java
-    private val CURRENT_JOBS_MIGRATION = V1_1_0_004__AddRejectedRecordStats::class.java
+    private val CURRENT_CONFIGS_MIGRATION = V1_6_0_025__AddWorkloadArchiveTable::class.java
+    private val CURRENT_JOBS_MIGRATION = V1_1_0_005__AddJobCatalogs::class.java
 
     private fun getMigrationVersion(cls: Class<*>): String =
       cls.simpleName
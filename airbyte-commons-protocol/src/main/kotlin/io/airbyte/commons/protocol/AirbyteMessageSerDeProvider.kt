@@ -7,6 +7,7 @@ package io.airbyte.commons.protocol
 import com.google.common.annotations.VisibleForTesting
 import io.airbyte.commons.protocol.serde.AirbyteMessageDeserializer
 import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer
+import io.airbyte.commons.protocol.serde.AirbyteMessageStreamingDeserializer
 import io.airbyte.commons.version.Version
 import jakarta.annotation.PostConstruct
 import jakarta.inject.Singleton
@@ -17,6 +18,9 @@ import java.util.function.Consumer
  *
  * This class is intended to help access the serializer/deserializer for a given version of the
  * Airbyte Protocol.
+ *
+ * [AirbyteMessageStreamingDeserializer]s are registered separately from the default deserializers, so
+ * that callers can choose between both implementations of a version.
  */
 @Singleton
 class AirbyteMessageSerDeProvider
@@ -26,11 +30,20 @@ class AirbyteMessageSerDeProvider
     private val serializersToRegister: List<AirbyteMessageSerializer<*>> = emptyList(),
   ) {
     private val deserializers: MutableMap<String, AirbyteMessageDeserializer<*>> = HashMap()
+    private val streamingDeserializers: MutableMap<String, AirbyteMessageDeserializer<*>> = HashMap()
     private val serializers: MutableMap<String, AirbyteMessageSerializer<*>> = HashMap()
 
     @PostConstruct
     fun initialize() {
-      deserializersToRegister.forEach(Consumer { deserializer: AirbyteMessageDeserializer<*> -> this.registerDeserializer(deserializer) })
+      deserializersToRegister.forEach(
+        Consumer { deserializer: AirbyteMessageDeserializer<*> ->
+          if (deserializer is AirbyteMessageStreamingDeserializer<*>) {
+            this.registerStreamingDeserializer(deserializer)
+          } else {
+            this.registerDeserializer(deserializer)
+          }
+        },
+      )
       serializersToRegister.forEach(Consumer { serializer: AirbyteMessageSerializer<*> -> this.registerSerializer(serializer) })
     }
 
@@ -39,6 +52,20 @@ class AirbyteMessageSerDeProvider
      */
     fun getDeserializer(version: Version): AirbyteMessageDeserializer<*>? = deserializers[version.getMajorVersion()]
 
+    /**
+     * Returns the streaming Deserializer for the version if [streaming] is set and one is known, else
+     * the default Deserializer for the version if known, else empty.
+     */
+    fun getDeserializer(
+      version: Version,
+      streaming: Boolean,
+    ): AirbyteMessageDeserializer<*>? =
+      if (streaming) {
+        streamingDeserializers[version.getMajorVersion()] ?: getDeserializer(version)
+      } else {
+        getDeserializer(version)
+      }
+
     /**
      * Returns the Serializer for the version if known else empty.
      */
@@ -60,6 +87,19 @@ class AirbyteMessageSerDeProvider
       }
     }
 
+    @VisibleForTesting
+    fun registerStreamingDeserializer(deserializer: AirbyteMessageStreamingDeserializer<*>) {
+      val key = deserializer.getTargetVersion().getMajorVersion()!!
+      if (!streamingDeserializers.containsKey(key)) {
+        streamingDeserializers[key] = deserializer
+      } else {
+        throw RuntimeException(
+          "Trying to register a streaming deserializer for protocol version ${deserializer.getTargetVersion().serialize()} " +
+            "when ${streamingDeserializers[key]!!.getTargetVersion().serialize()} already exists",
+        )
+      }
+    }
+
     @VisibleForTesting
     fun registerSerializer(serializer: AirbyteMessageSerializer<*>) {
       val key = serializer.getTargetVersion()!!.getMajorVersion()!!
@@ -81,6 +121,11 @@ class AirbyteMessageSerDeProvider
       // Used for inspection of the injection
       get() = deserializers.keys
 
+    @get:VisibleForTesting
+    val streamingDeserializerKeys: Set<String>
+      // Used for inspection of the injection
+      get() = streamingDeserializers.keys
+
     @get:VisibleForTesting
     val serializerKeys: Set<String>
       // Used for inspection of the injection
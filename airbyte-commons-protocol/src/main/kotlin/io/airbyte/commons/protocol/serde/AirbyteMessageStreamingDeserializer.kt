@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.serde
+
+/**
+ * [AirbyteMessageDeserializer] that parses messages with a streaming parser rather than through a full object graph.
+ * <p />
+ * Streaming deserializers are registered next to the default deserializer of their protocol version and are only
+ * used when explicitly requested, see [io.airbyte.commons.protocol.AirbyteMessageSerDeProvider.getDeserializer].
+ *
+ * @param <T> object type
+</T> */
+interface AirbyteMessageStreamingDeserializer<T : Any> : AirbyteMessageDeserializer<T>
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.serde
+
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.version.AirbyteProtocolVersion
+import io.airbyte.commons.version.Version
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessageMeta
+import jakarta.inject.Singleton
+import java.util.Optional
+
+private const val TYPE_FIELD = "type"
+private const val RECORD_FIELD = "record"
+private const val STREAM_FIELD = "stream"
+private const val NAMESPACE_FIELD = "namespace"
+private const val EMITTED_AT_FIELD = "emitted_at"
+private const val DATA_FIELD = "data"
+private const val META_FIELD = "meta"
+
+/**
+ * Streaming deserializer for the V0 protocol.
+ * <p />
+ * RECORD messages are read with a [JsonParser] directly from the line: the envelope and the record header (stream,
+ * namespace, emitted_at and meta) are filled as they are read, while the `data` object is only tokenized to validate
+ * it and find its bounds. It is kept as a slice of the line in a [LazyAirbyteRecordMessage] and parsed on first
+ * access.
+ * <p />
+ * Every other message, as well as records with fields the fast path doesn't know about, is deserialized by the
+ * default [AirbyteMessageV0Deserializer], so that both deserializers always produce the same messages.
+ */
+@Singleton
+class AirbyteMessageV0StreamingDeserializer : AirbyteMessageStreamingDeserializer<AirbyteMessage> {
+  private val fallback = AirbyteMessageV0Deserializer()
+
+  override fun deserializeExact(json: String): Optional<AirbyteMessage> {
+    val record =
+      try {
+        readRecordMessage(json)
+      } catch (e: Exception) {
+        // Let the default deserializer decide what to do with lines the fast path can't read.
+        null
+      }
+    return if (record != null) Optional.of(record) else fallback.deserializeExact(json)
+  }
+
+  override fun getTargetVersion(): Version = AirbyteProtocolVersion.V0
+
+  /**
+   * Reads a RECORD message, or returns null if the line is anything else.
+   */
+  private fun readRecordMessage(json: String): AirbyteMessage? {
+    Jsons.createExactParser(json).use { parser ->
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null
+      }
+      var type: String? = null
+      var record: AirbyteRecordMessage? = null
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        val fieldName = parser.currentName()
+        val token = parser.nextToken()
+        when (fieldName) {
+          TYPE_FIELD -> type = if (token == JsonToken.VALUE_STRING) parser.text else return null
+          RECORD_FIELD -> record = readRecord(json, parser) ?: return null
+          else -> return null
+        }
+      }
+      if (type != AirbyteMessage.Type.RECORD.value() || record == null) {
+        return null
+      }
+      return AirbyteMessage().withType(AirbyteMessage.Type.RECORD).withRecord(record)
+    }
+  }
+
+  /**
+   * Reads the record the parser is positioned on, or returns null if it has a shape the fast path doesn't handle.
+   */
+  private fun readRecord(
+    json: String,
+    parser: JsonParser,
+  ): AirbyteRecordMessage? {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      return null
+    }
+    var stream: String? = null
+    var namespace: String? = null
+    var emittedAt: Long? = null
+    var meta: AirbyteRecordMessageMeta? = null
+    var dataStart = -1
+    var dataEnd = -1
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      val fieldName = parser.currentName()
+      val token = parser.nextToken()
+      when (fieldName) {
+        STREAM_FIELD -> stream = if (token == JsonToken.VALUE_STRING) parser.text else return null
+        NAMESPACE_FIELD ->
+          namespace =
+            when (token) {
+              JsonToken.VALUE_STRING -> parser.text
+              JsonToken.VALUE_NULL -> null
+              else -> return null
+            }
+        EMITTED_AT_FIELD -> emittedAt = if (token == JsonToken.VALUE_NUMBER_INT) parser.longValue else return null
+        DATA_FIELD -> {
+          if (token != JsonToken.START_OBJECT) {
+            return null
+          }
+          dataStart = parser.currentTokenLocation().charOffset.toInt()
+          parser.skipChildren()
+          dataEnd = parser.currentTokenLocation().charOffset.toInt() + 1
+        }
+        META_FIELD -> meta = parser.readValueAs(AirbyteRecordMessageMeta::class.java)
+        else -> return null
+      }
+    }
+    if (dataStart < 0) {
+      return null
+    }
+    return LazyAirbyteRecordMessage(json, dataStart, dataEnd, isEmptyObject(json, dataStart, dataEnd))
+      .withStream(stream)
+      .withNamespace(namespace)
+      .withEmittedAt(emittedAt)
+      .withMeta(meta)
+  }
+
+  private fun isEmptyObject(
+    json: String,
+    start: Int,
+    end: Int,
+  ): Boolean {
+    for (i in start + 1 until end - 1) {
+      if (!json[i].isWhitespace()) {
+        return false
+      }
+    }
+    return true
+  }
+}
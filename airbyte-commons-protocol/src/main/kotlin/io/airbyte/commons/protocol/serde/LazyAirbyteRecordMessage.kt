@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.serde
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.commons.json.Jsons
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+
+/**
+ * [AirbyteRecordMessage] whose `data` is kept as a slice of the line it was read from until it is first accessed.
+ * <p />
+ * The slice is parsed with the exact ObjectMapper on the first call to [getData] (or to any method that needs the
+ * data, such as [equals] and [hashCode]), after which the record behaves like a regular [AirbyteRecordMessage].
+ * <p />
+ * Note that the generated [AirbyteRecordMessage.equals] reads the fields of the other record directly, so a regular
+ * record is only equal to a lazy one once the data of the latter has been materialized.
+ * <p />
+ * The data can be materialized from several threads: it is parsed once, and is never parsed over data that was set.
+ */
+class LazyAirbyteRecordMessage() : AirbyteRecordMessage() {
+  @Volatile
+  private var source: String? = null
+  private var dataStart: Int = 0
+  private var dataEnd: Int = 0
+  private var emptyData: Boolean = false
+
+  constructor(source: String, dataStart: Int, dataEnd: Int, emptyData: Boolean) : this() {
+    this.source = source
+    this.dataStart = dataStart
+    this.dataEnd = dataEnd
+    this.emptyData = emptyData
+  }
+
+  /**
+   * Whether the data has been parsed (or set) already.
+   */
+  fun dataMaterialized(): Boolean = source == null
+
+  /**
+   * Length in characters of the serialized data, which is available without materializing it.
+   */
+  fun rawDataLength(): Int = if (dataMaterialized()) Jsons.getEstimatedByteSize(super.getData()) else dataEnd - dataStart
+
+  /**
+   * Whether the data is an empty object, which is available without materializing it.
+   */
+  fun hasEmptyData(): Boolean =
+    if (dataMaterialized()) {
+      super.getData()?.isEmpty ?: true
+    } else {
+      emptyData
+    }
+
+  /**
+   * Parses a copy of the data from the line it was read from, which can be called from another thread, or null once the
+   * data has been materialized (or set).
+   */
+  fun rawDataParser(): (() -> JsonNode)? {
+    val line = source ?: return null
+    val start = dataStart
+    val end = dataEnd
+    return { Jsons.deserializeExact(line, start, end) }
+  }
+
+  override fun getData(): JsonNode? {
+    materializeData()
+    return super.getData()
+  }
+
+  override fun setData(data: JsonNode?) {
+    synchronized(this) {
+      super.setData(data)
+      source = null
+    }
+  }
+
+  override fun withData(data: JsonNode?): AirbyteRecordMessage {
+    setData(data)
+    return this
+  }
+
+  override fun equals(other: Any?): Boolean {
+    materializeData()
+    (other as? LazyAirbyteRecordMessage)?.materializeData()
+    return super.equals(other)
+  }
+
+  override fun hashCode(): Int {
+    materializeData()
+    return super.hashCode()
+  }
+
+  override fun toString(): String {
+    materializeData()
+    return super.toString()
+  }
+
+  private fun materializeData() {
+    if (source == null) {
+      return
+    }
+    synchronized(this) {
+      val line = source ?: return
+      super.setData(Jsons.deserializeExact(line, dataStart, dataEnd))
+      source = null
+    }
+  }
+}
@@ -21,5 +21,6 @@ internal class AirbyteMessageSerDeProviderMicronautTest {
 
     Assertions.assertEquals(expectedVersions, serDeProvider!!.deserializerKeys)
     Assertions.assertEquals(expectedVersions, serDeProvider!!.serializerKeys)
+    Assertions.assertEquals(expectedVersions, serDeProvider!!.streamingDeserializerKeys)
   }
 }
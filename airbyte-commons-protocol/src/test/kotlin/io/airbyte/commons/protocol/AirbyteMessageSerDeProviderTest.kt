@@ -6,6 +6,7 @@ package io.airbyte.commons.protocol
 
 import io.airbyte.commons.protocol.serde.AirbyteMessageDeserializer
 import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer
+import io.airbyte.commons.protocol.serde.AirbyteMessageStreamingDeserializer
 import io.airbyte.commons.version.Version
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.BeforeEach
@@ -43,6 +44,28 @@ internal class AirbyteMessageSerDeProviderTest {
     Assertions.assertNull(serDeProvider!!.getDeserializer(Version("2.0.0")))
   }
 
+  @Test
+  fun testGetStreamingDeserializer() {
+    val streamingDeserV0 = buildStreamingDeserializer<String>(Version("0.1.0"))
+    serDeProvider!!.registerStreamingDeserializer(streamingDeserV0)
+
+    Assertions.assertEquals(streamingDeserV0, serDeProvider!!.getDeserializer(Version("0.2.0"), true))
+    Assertions.assertEquals(deserV0!!, serDeProvider!!.getDeserializer(Version("0.2.0"), false))
+    // Versions without a streaming deserializer fall back to the default one
+    Assertions.assertEquals(deserV1!!, serDeProvider!!.getDeserializer(Version("1.1.0"), true))
+  }
+
+  @Test
+  fun testInitializeRegistersStreamingDeserializersSeparately() {
+    val streamingDeserV0 = buildStreamingDeserializer<String>(Version("0.1.0"))
+    val provider = AirbyteMessageSerDeProvider(listOf(buildDeserializer<String>(Version("0.1.0")), streamingDeserV0), emptyList())
+    provider.initialize()
+
+    Assertions.assertEquals(setOf("0"), provider.deserializerKeys)
+    Assertions.assertEquals(setOf("0"), provider.streamingDeserializerKeys)
+    Assertions.assertEquals(streamingDeserV0, provider.getDeserializer(Version("0.1.0"), true))
+  }
+
   @Test
   fun testGetSerializer() {
     Assertions.assertEquals(serV0!!, serDeProvider!!.getSerializer(Version("0.1.0")))
@@ -72,6 +95,12 @@ internal class AirbyteMessageSerDeProviderTest {
     return deser
   }
 
+  private fun <T : Any> buildStreamingDeserializer(version: Version): AirbyteMessageStreamingDeserializer<T> {
+    val deser: AirbyteMessageStreamingDeserializer<T> = Mockito.mock()
+    Mockito.`when`(deser.getTargetVersion()).thenReturn(version)
+    return deser
+  }
+
   private fun <T : Any> buildSerializer(version: Version): AirbyteMessageSerializer<T> {
     val ser: AirbyteMessageSerializer<T> = Mockito.mock()
     Mockito.`when`(ser.getTargetVersion()).thenReturn(version)
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol.serde
+
+import io.airbyte.commons.json.Jsons
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import java.math.BigDecimal
+
+internal class AirbyteMessageV0StreamingDeserializerTest {
+  private val streamingDeserializer = AirbyteMessageV0StreamingDeserializer()
+  private val defaultDeserializer = AirbyteMessageV0Deserializer()
+
+  @ParameterizedTest
+  @ValueSource(
+    strings = [
+      """{"type":"RECORD","record":{"namespace":"public","stream":"users","data":{"id":1,"name":"a"},"emitted_at":1695224525688}}""",
+      """{"record":{"stream":"users","emitted_at":1,"data":{"nested":{"values":[1.10,2.2e3,null]}}},"type":"RECORD"}""",
+      """{"type":"RECORD","record":{"stream":"users","data":{ },"emitted_at":1,"meta":{"changes":[]}}}""",
+      """{"type":"RECORD","record":{"stream":"users","data":{"id":1},"emitted_at":1,"unexpected":"field"}}""",
+      """{"type":"RECORD","record":{"stream":"users","data":[1,2],"emitted_at":1}}""",
+      """{"type":"STATE","state":{"type":"STREAM","stream":{"stream_descriptor":{"name":"users"},"stream_state":{"cursor":1}}}}""",
+      """{"type":"LOG","log":{"level":"INFO","message":"hello"}}""",
+      """{"type":"RECORD","record":{"stream":"users","data":{"id":1},"emitted_at":1}} trailing content""",
+    ],
+  )
+  fun `produces the same messages as the default deserializer`(line: String) {
+    val expected = defaultDeserializer.deserializeExact(line)
+    val actual = streamingDeserializer.deserializeExact(line)
+
+    Assertions.assertTrue(actual.isPresent)
+    // The lazy record is on the right-hand side so that its data is materialized before being compared.
+    Assertions.assertEquals(actual.get(), expected.get())
+    Assertions.assertEquals(Jsons.serialize(expected.get()), Jsons.serialize(actual.get()))
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+    strings = [
+      "not json",
+      """{"type":"RECORD","record":{"stream":"users","data":{"id":1""",
+      """{"type":"RECORD","record":{"stream":"users","data":{"id":},"emitted_at":1}}""",
+    ],
+  )
+  fun `rejects invalid lines`(line: String) {
+    Assertions.assertTrue(streamingDeserializer.deserializeExact(line).isEmpty)
+  }
+
+  @Test
+  fun `record data is only materialized when accessed`() {
+    val line = """{"type":"RECORD","record":{"stream":"users","data":{"amount":1.10},"emitted_at":1}}"""
+
+    val record = streamingDeserializer.deserializeExact(line).get().record as LazyAirbyteRecordMessage
+
+    Assertions.assertFalse(record.dataMaterialized())
+    Assertions.assertFalse(record.hasEmptyData())
+    Assertions.assertEquals("""{"amount":1.10}""".length, record.rawDataLength())
+    Assertions.assertEquals("users", record.stream)
+    Assertions.assertEquals(1L, record.emittedAt)
+
+    Assertions.assertEquals(BigDecimal("1.10"), record.data.get("amount").decimalValue())
+    Assertions.assertTrue(record.dataMaterialized())
+  }
+
+  @Test
+  fun `empty record data is detected without materializing it`() {
+    val line = """{"type":"RECORD","record":{"stream":"users","data":{  },"emitted_at":1}}"""
+
+    val record = streamingDeserializer.deserializeExact(line).get().record as LazyAirbyteRecordMessage
+
+    Assertions.assertTrue(record.hasEmptyData())
+    Assertions.assertFalse(record.dataMaterialized())
+  }
+
+  @Test
+  fun `setting the data discards the raw slice`() {
+    val line = """{"type":"RECORD","record":{"stream":"users","data":{"id":1},"emitted_at":1}}"""
+    val message = streamingDeserializer.deserializeExact(line).get()
+    val expected = defaultDeserializer.deserializeExact(line).get()
+
+    message.record.data = Jsons.jsonNode(mapOf("id" to 2))
+    expected.record.data = Jsons.jsonNode(mapOf("id" to 2))
+
+    Assertions.assertEquals(Jsons.serialize(expected), Jsons.serialize(message))
+  }
+
+  @Test
+  fun `the raw data is parsed to a copy until the data is materialized`() {
+    val line = """{"type":"RECORD","record":{"stream":"users","data":{"amount":1.10},"emitted_at":1}}"""
+    val record = streamingDeserializer.deserializeExact(line).get().record as LazyAirbyteRecordMessage
+
+    val parser = record.rawDataParser()!!
+
+    Assertions.assertFalse(record.dataMaterialized())
+    Assertions.assertNotSame(record.data, parser())
+    Assertions.assertEquals(record.data, parser())
+    Assertions.assertNull(record.rawDataParser())
+  }
+}
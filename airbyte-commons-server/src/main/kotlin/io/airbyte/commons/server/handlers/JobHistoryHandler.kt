@@ -60,6 +60,7 @@ import io.airbyte.featureflag.Workspace
 import io.airbyte.metrics.lib.ApmTraceUtils.addTagsToTrace
 import io.airbyte.metrics.lib.MetricTags
 import io.airbyte.persistence.job.JobPersistence
+import io.airbyte.persistence.job.JobProjection
 import io.airbyte.validation.json.JsonValidationException
 import io.micronaut.core.util.CollectionUtils
 import jakarta.inject.Singleton
@@ -201,6 +202,7 @@ class JobHistoryHandler(
           configId,
           request.includingJobId,
           pageSize,
+          JobProjection.LIGHT,
         )
       } else {
         jobPersistence.listJobsLight(
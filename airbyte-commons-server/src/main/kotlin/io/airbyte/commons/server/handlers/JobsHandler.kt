@@ -25,6 +25,7 @@ import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.persistence.job.JobNotifier
 import io.airbyte.persistence.job.JobPersistence
+import io.airbyte.persistence.job.JobProjection
 import io.airbyte.persistence.job.errorreporter.AttemptConfigReportingContext
 import io.airbyte.persistence.job.errorreporter.JobErrorReporter
 import io.airbyte.persistence.job.errorreporter.SyncJobReportingContext
@@ -240,7 +241,14 @@ open class JobsHandler(
     // This DB call is a lift-n-shift from activity code to move database access out of the worker. It
     // is knowingly brittle and awkward. By setting pageSize to 2 this should just fetch the latest and
     // preceding job, but technically can fetch a much longer list.
-    val jobs = jobPersistence.listJobsIncludingId(JobCreationAndStatusUpdateHelper.SYNC_CONFIG_SET, connectionId.toString(), jobId, 2)
+    val jobs =
+      jobPersistence.listJobsIncludingId(
+        JobCreationAndStatusUpdateHelper.SYNC_CONFIG_SET,
+        connectionId.toString(),
+        jobId,
+        2,
+        JobProjection.STATUS,
+      )
 
     val previousJobSucceeded =
       jobCreationAndStatusUpdateHelper
@@ -191,7 +191,8 @@ class JobsHandlerTest {
 
   @Test
   fun didPreviousJobSucceedReturnsFalseIfNoPreviousJob() {
-    whenever(jobPersistence.listJobsIncludingId(anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull())).thenReturn(listOf(mock(), mock(), mock()))
+    whenever(jobPersistence.listJobsIncludingId(anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull()))
+      .thenReturn(listOf(mock(), mock(), mock()))
     whenever(helper.findPreviousJob(anyOrNull(), anyOrNull())).thenReturn(Optional.empty())
     whenever(helper.didJobSucceed(anyOrNull())).thenReturn(true)
 
@@ -201,7 +202,8 @@ class JobsHandlerTest {
 
   @Test
   fun didPreviousJobSucceedReturnsTrueIfPreviousJobSucceeded() {
-    whenever(jobPersistence.listJobsIncludingId(anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull())).thenReturn(listOf(mock(), mock(), mock()))
+    whenever(jobPersistence.listJobsIncludingId(anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull()))
+      .thenReturn(listOf(mock(), mock(), mock()))
     whenever(helper.findPreviousJob(anyOrNull(), anyOrNull())).thenReturn(Optional.of(mock()))
     whenever(helper.didJobSucceed(anyOrNull())).thenReturn(true)
 
@@ -211,7 +213,8 @@ class JobsHandlerTest {
 
   @Test
   fun didPreviousJobSucceedReturnsFalseIfPreviousJobNotInSucceededState() {
-    whenever(jobPersistence.listJobsIncludingId(anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull())).thenReturn(listOf(mock(), mock(), mock()))
+    whenever(jobPersistence.listJobsIncludingId(anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull(), anyOrNull()))
+      .thenReturn(listOf(mock(), mock(), mock()))
     whenever(helper.findPreviousJob(anyOrNull(), anyOrNull())).thenReturn(Optional.of(mock()))
     whenever(helper.didJobSucceed(anyOrNull())).thenReturn(false)
 
@@ -4,9 +4,12 @@
 
 package io.airbyte.commons.logging
 
+import com.fasterxml.jackson.core.JsonToken
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.fasterxml.jackson.databind.module.SimpleModule
 import com.fasterxml.jackson.module.kotlin.readValue
+import com.google.common.io.CountingInputStream
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.storage.StorageClientFactory
@@ -16,7 +19,13 @@ import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.metrics.lib.MetricTags
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micrometer.core.instrument.Counter
+import io.micronaut.context.annotation.Value
+import jakarta.annotation.PreDestroy
 import jakarta.inject.Singleton
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
 import java.util.regex.Pattern
 
 private val logger = KotlinLogging.logger {}
@@ -28,6 +37,12 @@ private val LOG_LINE_PATTERN =
   )
 private val TIMESTAMP_PATTERN = "^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}).*".toPattern()
 
+/** The default number of log files fetched at the same time when tailing logs. */
+const val DEFAULT_LOG_FETCH_PARALLELISM = 4
+
+/** The size of the first range read from the end of an unstructured log file when tailing it, doubled on each next read. */
+private const val TAIL_RANGE_SIZE_BYTES = 1024L * 1024L
+
 /**
  * Client that retrieves operation job logs from storage.
  */
@@ -37,9 +52,17 @@ class LogClient(
   val mapper: ObjectMapper,
   private val logEventLayout: LogEventLayout,
   private val metricClient: MetricClient,
+  @Value("\${airbyte.logging.client.fetch-parallelism:$DEFAULT_LOG_FETCH_PARALLELISM}") private val fetchParallelism: Int =
+    DEFAULT_LOG_FETCH_PARALLELISM,
 ) {
   private val client = storageClientFactory.create(DocumentType.LOGS)
 
+  private val fetchExecutor =
+    Executors.newFixedThreadPool(
+      fetchParallelism.coerceAtLeast(1),
+      ThreadFactoryBuilder().setNameFormat("airbyte-log-client-%d").setDaemon(true).build(),
+    )
+
   // Copy the mapper to avoid changing deserialization for all usages in the containing application
   private val objectMapper = mapper.copy()
 
@@ -49,6 +72,11 @@ class LogClient(
     objectMapper.registerModule(structuredLogEventModule)
   }
 
+  @PreDestroy
+  fun close() {
+    fetchExecutor.shutdownNow()
+  }
+
   fun deleteLogs(logPath: String) {
     logger.debug { "Deleting logs from path '$logPath' using ${client.storageType} storage client..." }
     client.delete(id = logPath)
@@ -125,6 +153,219 @@ class LogClient(
     }
   }
 
+  /**
+   * Returns the last [numLines] structured log events found at the given path.
+   * <p />
+   * Unlike [getLogs], which reads the files from the oldest one, the files are read from the newest one and the reading
+   * stops as soon as enough events are found, so that the older files of a long log are never downloaded. See
+   * [tailFiles] for how the files are fetched.
+   */
+  fun tailLogs(
+    logPath: String,
+    numLines: Int,
+  ): LogEvents {
+    logger.debug { "Tailing $numLines line(s) from logs from path '$logPath' using ${client.storageType} storage client..." }
+    val files = client.list(id = logPath).filter { it.endsWith(STRUCTURED_LOG_FILE_EXTENSION) }
+    logger.debug { "Found ${files.size} files from path '$logPath' using ${client.storageType} storage client." }
+
+    val byteCounter = counter(metric = OssMetricsRegistry.LOG_CLIENT_FILE_LINE_BYTES_RETRIEVED)
+    val events =
+      timed(files = files) { instrumentedFiles ->
+        tailFiles(files = instrumentedFiles, numLines = numLines) { file, remaining ->
+          tailStructuredFile(file = file, numLines = remaining, byteCounter = byteCounter)
+        }.sortedBy { it.timestamp }
+      } ?: emptyList()
+    counter(metric = OssMetricsRegistry.LOG_CLIENT_FILE_LINE_COUNT_RETRIEVED)?.increment(events.size.toDouble())
+    return LogEvents(events = events)
+  }
+
+  /**
+   * Returns the last [numLines] formatted log lines found at the given path, like [tailCloudLogs] but reading the files
+   * from the newest one like [tailLogs].
+   * <p />
+   * The unstructured log files, written before the introduction of structured logs, are read backwards by ranges from
+   * their end until enough lines are found, rather than downloaded whole.
+   */
+  fun tailLogLines(
+    logPath: String,
+    numLines: Int,
+  ): List<String> {
+    logger.debug { "Tailing $numLines line(s) from logs from path '$logPath' using ${client.storageType} storage client..." }
+    val files = client.list(id = logPath)
+    logger.debug { "Found ${files.size} files from path '$logPath' using ${client.storageType} storage client." }
+
+    val byteCounter = counter(metric = OssMetricsRegistry.LOG_CLIENT_FILE_LINE_BYTES_RETRIEVED)
+    val isStructured = files.all { it.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION) }
+    val lines =
+      timed(files = files) { instrumentedFiles ->
+        if (isStructured) {
+          val events =
+            tailFiles(files = instrumentedFiles, numLines = numLines) { file, remaining ->
+              tailStructuredFile(file = file, numLines = remaining, byteCounter = byteCounter)
+            }
+          formatStructuredLogs(events = events.sortedBy { it.timestamp })
+        } else {
+          val fileLines =
+            tailFiles(files = instrumentedFiles, numLines = numLines) { file, remaining ->
+              if (file.endsWith(suffix = STRUCTURED_LOG_FILE_EXTENSION)) {
+                formatStructuredLogs(events = tailStructuredFile(file = file, numLines = remaining, byteCounter = byteCounter))
+              } else {
+                tailUnstructuredFile(file = file, numLines = remaining, byteCounter = byteCounter)
+              }
+            }
+          orderLogLines(lines = fileLines)
+        }
+      } ?: emptyList()
+    counter(metric = OssMetricsRegistry.LOG_CLIENT_FILE_LINE_COUNT_RETRIEVED)?.increment(lines.size.toDouble())
+    return lines
+  }
+
+  private fun <T> timed(
+    files: List<String>,
+    retrieve: (List<String>) -> T,
+  ): T? {
+    val instrumentedFiles =
+      metricClient.gauge(
+        metric = OssMetricsRegistry.LOG_CLIENT_FILES_RETRIEVED,
+        attributes = arrayOf(MetricAttribute(MetricTags.LOG_CLIENT_TYPE, client.storageType.name.lowercase())),
+        stateObject = files,
+        function = { _ -> files.size.toDouble() },
+      )
+    val timer =
+      metricClient.timer(
+        metric = OssMetricsRegistry.LOG_CLIENT_FILES_RETRIEVAL_TIME_MS,
+        attributes = arrayOf(MetricAttribute(MetricTags.LOG_CLIENT_TYPE, client.storageType.name.lowercase())),
+      )
+    return if (timer != null) {
+      timer.recordCallable { retrieve(instrumentedFiles) }
+    } else {
+      retrieve(instrumentedFiles)
+    }
+  }
+
+  private fun counter(metric: OssMetricsRegistry): Counter? =
+    metricClient.counter(
+      metric = metric,
+      attributes = arrayOf(MetricAttribute(MetricTags.LOG_CLIENT_TYPE, client.storageType.name.lowercase())),
+    )
+
+  /**
+   * Collects the last [numLines] items of the given files, oldest first.
+   * <p />
+   * The files are named after the time they were uploaded at, and are read from the newest one regardless of the order
+   * the storage lists them in. They are fetched [fetchParallelism] at a time, each one being asked for the number of items
+   * still missing when its window started, and no further window is fetched once [numLines] items are collected.
+   */
+  private fun <T> tailFiles(
+    files: List<String>,
+    numLines: Int,
+    tailFile: (file: String, numLines: Int) -> List<T>,
+  ): List<T> {
+    val tails = ArrayDeque<List<T>>()
+    var remaining = numLines
+
+    for (window in files.sortedDescending().chunked(fetchParallelism.coerceAtLeast(1))) {
+      if (remaining <= 0) {
+        break
+      }
+
+      val wanted = remaining
+      val windowTails =
+        window
+          .map { file -> fetchExecutor.submit(Callable { tailFile(file, wanted) }) }
+          .map { future ->
+            try {
+              future.get()
+            } catch (e: ExecutionException) {
+              throw e.cause ?: e
+            }
+          }
+
+      for (tail in windowTails) {
+        val kept = tail.takeLast(remaining.coerceAtLeast(0))
+        tails.addFirst(kept)
+        remaining -= kept.size
+      }
+    }
+
+    return tails.flatten()
+  }
+
+  /**
+   * Returns the last [numLines] events of a structured log file. The file is streamed through the parser one event at a
+   * time, only keeping the events that may still be part of the tail instead of materializing the whole file.
+   */
+  private fun tailStructuredFile(
+    file: String,
+    numLines: Int,
+    byteCounter: Counter?,
+  ): List<LogEvent> {
+    if (numLines <= 0) {
+      return emptyList()
+    }
+
+    val tail = ArrayDeque<LogEvent>()
+
+    client.readStream(id = file)?.let { CountingInputStream(it) }?.use { stream ->
+      objectMapper.factory.createParser(stream).use { parser ->
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            val field = parser.currentName()
+            if (parser.nextToken() == JsonToken.START_ARRAY && field == LogEvents::events.name) {
+              while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (tail.size == numLines) {
+                  tail.removeFirst()
+                }
+                tail.addLast(objectMapper.readValue<LogEvent>(parser))
+              }
+            } else {
+              parser.skipChildren()
+            }
+          }
+        }
+      }
+      byteCounter?.increment(stream.count.toDouble())
+    }
+
+    return tail.toList()
+  }
+
+  /**
+   * Returns the last [numLines] lines of an unstructured log file, reading it backwards by ranges of growing size until
+   * enough lines are found or the start of the file is reached.
+   */
+  private fun tailUnstructuredFile(
+    file: String,
+    numLines: Int,
+    byteCounter: Counter?,
+  ): List<String> {
+    var offset = client.size(id = file) ?: return emptyList()
+    var rangeSize = TAIL_RANGE_SIZE_BYTES
+    var contents = ByteArray(0)
+    var lines = emptyList<String>()
+
+    while (offset > 0 && lines.size < numLines) {
+      val start = (offset - rangeSize).coerceAtLeast(0)
+      val range = client.readRange(id = file, offset = start, length = offset - start) ?: break
+      byteCounter?.increment(range.size.toDouble())
+      contents = range + contents
+      offset = start
+      rangeSize *= 2
+
+      // Unless the start of the file was reached, the first line read may be cut, so it is left out until the previous
+      // range is read. A new line byte is never part of a multibyte UTF-8 character, so it is safe to split on.
+      val firstLine = if (offset == 0L) 0 else contents.indexOf('\n'.code.toByte()) + 1
+      lines =
+        if (offset > 0 && firstLine == 0) {
+          emptyList()
+        } else {
+          extractLogLines(fileContents = String(contents, firstLine, contents.size - firstLine, StandardCharsets.UTF_8))
+        }
+    }
+
+    return lines.takeLast(numLines)
+  }
+
   private fun retrieveFiles(
     files: List<String>,
     numLines: Int,
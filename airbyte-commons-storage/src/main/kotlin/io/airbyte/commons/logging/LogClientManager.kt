@@ -17,12 +17,15 @@ val EMPTY_PATH = Path.of("")
 /**
  * Airbyte's logging layer entrypoint. Handles logs written to local disk as well as logs written to
  * cloud storages.
+ * <p />
+ * Unless [tailFirst] is disabled, the logs are read from their end, returning their last [logTailSize] lines.
  */
 @Singleton
 class LogClientManager(
   private val logClient: LogClient,
   private val logMdcHelper: LogMdcHelper,
   @Value("\${airbyte.logging.client.log-tail-size:$DEFAULT_LOG_TAIL_SIZE}") private val logTailSize: Int,
+  @Value("\${airbyte.logging.client.tail-first:true}") private val tailFirst: Boolean = true,
 ) {
   /**
    * Tail log file.
@@ -35,6 +38,7 @@ class LogClientManager(
   fun getJobLogFile(logPath: Path?): List<String> =
     when {
       logPath == null || logPath == EMPTY_PATH -> emptyList()
+      tailFirst -> logClient.tailLogLines(logPath = logPath.toString(), numLines = logTailSize)
       else -> logClient.tailCloudLogs(logPath = logPath.toString(), numLines = logTailSize)
     }
 
@@ -47,6 +51,7 @@ class LogClientManager(
   fun getLogs(logPath: Path?): LogEvents =
     when {
       logPath == null || logPath == EMPTY_PATH -> LogEvents(events = emptyList())
+      tailFirst -> logClient.tailLogs(logPath = logPath.toString(), numLines = logTailSize)
       else -> logClient.getLogs(logPath = logPath.toString(), numLines = logTailSize)
     }
 
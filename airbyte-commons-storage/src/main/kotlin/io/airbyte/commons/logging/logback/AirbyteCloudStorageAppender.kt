@@ -5,10 +5,12 @@
 package io.airbyte.commons.logging.logback
 
 import ch.qos.logback.classic.spi.ILoggingEvent
-import ch.qos.logback.core.AppenderBase
+import ch.qos.logback.core.UnsynchronizedAppenderBase
 import io.airbyte.commons.envvar.EnvVar
 import io.airbyte.commons.storage.AzureStorageClient
 import io.airbyte.commons.storage.AzureStorageConfig
+import io.airbyte.commons.storage.DEFAULT_UPLOADER_FLUSH_BUFFER_BYTES
+import io.airbyte.commons.storage.DEFAULT_UPLOADER_MAX_BUFFER_BYTES
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.GcsStorageClient
 import io.airbyte.commons.storage.GcsStorageConfig
@@ -16,16 +18,28 @@ import io.airbyte.commons.storage.LocalStorageClient
 import io.airbyte.commons.storage.LocalStorageConfig
 import io.airbyte.commons.storage.MinioStorageClient
 import io.airbyte.commons.storage.MinioStorageConfig
+import io.airbyte.commons.storage.OverflowPolicy
 import io.airbyte.commons.storage.S3StorageClient
 import io.airbyte.commons.storage.S3StorageConfig
 import io.airbyte.commons.storage.StorageBucketConfig
 import io.airbyte.commons.storage.StorageClient
+import io.airbyte.commons.storage.StorageCompression
 import java.util.concurrent.TimeUnit
 
 /**
- * Custom Logback [AppenderBase] that uploads log events to remove storage.  Log data
+ * Custom Logback [UnsynchronizedAppenderBase] that uploads log events to remove storage.  Log data
  * is uploaded on a scheduled cadence that produces a new remote storage file each time.
  * This is necessary because most cloud storage systems do not support an append mode.
+ * <p />
+ * The log events waiting to be uploaded are held in a buffer bounded by their estimated size, so that
+ * a burst of log events can't exhaust the memory of the process. Its size, the size past which an upload
+ * is triggered without waiting for the next period and what happens to the log events once it is full
+ * are configured by the [EnvVar.CLOUD_STORAGE_APPENDER_BUFFER_MAX_BYTES], [EnvVar.CLOUD_STORAGE_APPENDER_FLUSH_BYTES]
+ * and [EnvVar.CLOUD_STORAGE_APPENDER_OVERFLOW_POLICY] env-vars.
+ * <p />
+ * The buffer being thread safe, the appender doesn't serialize the logging threads. [OverflowPolicy.BLOCK] is
+ * rejected in favor of [OverflowPolicy.DROP_OLDEST]: the storage clients log while uploading, and a logging thread
+ * blocked until the buffer is drained would either stall the uploads it waits for or the whole process.
  */
 class AirbyteCloudStorageAppender(
   val baseStorageId: String,
@@ -33,7 +47,13 @@ class AirbyteCloudStorageAppender(
   val storageClient: StorageClient = buildStorageClient(storageConfig = buildStorageConfig(), documentType = documentType),
   val period: Long = 60L,
   val unit: TimeUnit = TimeUnit.SECONDS,
-) : AppenderBase<ILoggingEvent>() {
+  val maxBufferBytes: Long =
+    EnvVar.CLOUD_STORAGE_APPENDER_BUFFER_MAX_BYTES.fetch(default = DEFAULT_UPLOADER_MAX_BUFFER_BYTES.toString())!!.toLong(),
+  val flushBufferBytes: Long =
+    EnvVar.CLOUD_STORAGE_APPENDER_FLUSH_BYTES.fetch(default = DEFAULT_UPLOADER_FLUSH_BUFFER_BYTES.toString())!!.toLong(),
+  val overflowPolicy: OverflowPolicy =
+    OverflowPolicy.valueOf(EnvVar.CLOUD_STORAGE_APPENDER_OVERFLOW_POLICY.fetch(default = OverflowPolicy.DROP_OLDEST.name)!!.uppercase()),
+) : UnsynchronizedAppenderBase<ILoggingEvent>() {
   private val encoder = AirbyteLogEventEncoder()
 
   private val uploader =
@@ -42,11 +62,17 @@ class AirbyteCloudStorageAppender(
       storageClient = storageClient,
       period = period,
       unit = unit,
+      maxBufferBytes = maxBufferBytes,
+      flushBufferBytes = flushBufferBytes,
+      overflowPolicy = if (overflowPolicy == OverflowPolicy.BLOCK) OverflowPolicy.DROP_OLDEST else overflowPolicy,
       encoder = encoder,
       addStatus = this::addStatus,
     )
 
   override fun start() {
+    if (overflowPolicy == OverflowPolicy.BLOCK) {
+      addWarn("The ${OverflowPolicy.BLOCK} overflow policy is not supported by the appender, using ${OverflowPolicy.DROP_OLDEST} instead.")
+    }
     super.start()
     encoder.start()
     uploader.start()
@@ -69,6 +95,7 @@ internal fun buildStorageClient(
 ): StorageClient {
   val storageType = storageConfig[EnvVar.STORAGE_TYPE] ?: ""
   val bucketConfig = buildBucketConfig(storageConfig = storageConfig)
+  val compression = buildCompression(storageConfig = storageConfig)
 
   return when (storageType.lowercase()) {
     "azure" ->
@@ -79,6 +106,7 @@ internal fun buildStorageClient(
             connectionString = storageConfig[EnvVar.AZURE_STORAGE_CONNECTION_STRING]!!,
           ),
         type = documentType,
+        compression = compression,
       )
     "gcs" ->
       GcsStorageClient(
@@ -88,6 +116,7 @@ internal fun buildStorageClient(
             applicationCredentials = storageConfig[EnvVar.GOOGLE_APPLICATION_CREDENTIALS]!!,
           ),
         type = documentType,
+        compression = compression,
       )
     "minio" ->
       MinioStorageClient(
@@ -99,6 +128,7 @@ internal fun buildStorageClient(
             endpoint = storageConfig[EnvVar.MINIO_ENDPOINT]!!,
           ),
         type = documentType,
+        compression = compression,
       )
     "s3" ->
       S3StorageClient(
@@ -110,6 +140,7 @@ internal fun buildStorageClient(
             region = storageConfig[EnvVar.AWS_DEFAULT_REGION]!!,
           ),
         type = documentType,
+        compression = compression,
       )
     else ->
       LocalStorageClient(
@@ -118,6 +149,7 @@ internal fun buildStorageClient(
             buckets = bucketConfig,
           ),
         type = documentType,
+        compression = compression,
       )
   }
 }
@@ -133,11 +165,18 @@ internal fun buildBucketConfig(storageConfig: Map<EnvVar, String>): StorageBucke
     replicationDump = "",
   )
 
+internal fun buildCompression(storageConfig: Map<EnvVar, String>): StorageCompression =
+  storageConfig[EnvVar.STORAGE_COMPRESSION]
+    ?.takeIf { it.isNotBlank() }
+    ?.let { StorageCompression.valueOf(it.uppercase()) }
+    ?: StorageCompression.NONE
+
 private fun buildStorageConfig(): Map<EnvVar, String> =
   mapOf(
     EnvVar.STORAGE_TYPE to EnvVar.STORAGE_TYPE.fetchNotNull(),
     EnvVar.STORAGE_BUCKET_LOG to EnvVar.STORAGE_BUCKET_LOG.fetchNotNull(),
     EnvVar.STORAGE_BUCKET_AUDIT_LOGGING to EnvVar.STORAGE_BUCKET_AUDIT_LOGGING.fetchNotNull(),
+    EnvVar.STORAGE_COMPRESSION to EnvVar.STORAGE_COMPRESSION.fetchNotNull(),
     EnvVar.AZURE_STORAGE_CONNECTION_STRING to EnvVar.AZURE_STORAGE_CONNECTION_STRING.fetchNotNull(),
     EnvVar.GOOGLE_APPLICATION_CREDENTIALS to EnvVar.GOOGLE_APPLICATION_CREDENTIALS.fetchNotNull(),
     EnvVar.AWS_ACCESS_KEY_ID to EnvVar.AWS_ACCESS_KEY_ID.fetchNotNull(),
@@ -6,13 +6,16 @@ package io.airbyte.commons.logging.logback
 
 import ch.qos.logback.classic.spi.ILoggingEvent
 import ch.qos.logback.core.encoder.EncoderBase
+import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.databind.module.SimpleModule
 import io.airbyte.commons.jackson.MoreMappers
 import io.airbyte.commons.logging.CancellationExceptionSerializer
+import io.airbyte.commons.logging.LOG_EVENT_SCHEMA_VERSION
 import io.airbyte.commons.logging.LogEvents
 import io.airbyte.commons.logging.StackTraceElementSerializer
 import io.airbyte.commons.logging.toLogEvent
 import kotlinx.coroutines.CancellationException
+import java.io.OutputStream
 
 val EMPTY_BYTES: ByteArray = ByteArray(0)
 val NEW_LINE = "\n".toByteArray()
@@ -37,6 +40,28 @@ class AirbyteLogEventEncoder : EncoderBase<ILoggingEvent>() {
   fun bulkEncode(loggingEvents: List<ILoggingEvent>): String =
     objectMapper.writeValueAsString(LogEvents(events = loggingEvents.map(ILoggingEvent::toLogEvent)))
 
+  /**
+   * Streams the list of [ILoggingEvent] events as a [io.airbyte.commons.logging.LogEvents] document, without
+   * building the whole document in memory first.
+   *
+   * @param loggingEvents A list of [ILoggingEvent] events.
+   * @param output The stream the document is written to, which is left open.
+   */
+  fun bulkEncode(
+    loggingEvents: List<ILoggingEvent>,
+    output: OutputStream,
+  ) {
+    objectMapper.createGenerator(output).use { generator ->
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+      generator.writeStartObject()
+      generator.writeArrayFieldStart("events")
+      loggingEvents.forEach { objectMapper.writeValue(generator, it.toLogEvent()) }
+      generator.writeEndArray()
+      generator.writeStringField("version", LOG_EVENT_SCHEMA_VERSION)
+      generator.writeEndObject()
+    }
+  }
+
   override fun encode(loggingEvent: ILoggingEvent): ByteArray = objectMapper.writeValueAsBytes(loggingEvent.toLogEvent()) + NEW_LINE
 
   override fun start() {
@@ -8,44 +8,62 @@ import ch.qos.logback.classic.spi.ILoggingEvent
 import ch.qos.logback.core.status.ErrorStatus
 import ch.qos.logback.core.status.Status
 import io.airbyte.commons.storage.AirbyteCloudStorageBulkUploader
+import io.airbyte.commons.storage.DEFAULT_UPLOADER_FLUSH_BUFFER_BYTES
+import io.airbyte.commons.storage.DEFAULT_UPLOADER_MAX_BUFFER_BYTES
+import io.airbyte.commons.storage.OverflowPolicy
 import io.airbyte.commons.storage.StorageClient
-import io.airbyte.commons.storage.createFileId
+import java.io.OutputStream
 import java.util.concurrent.TimeUnit
 
+/** The estimated size of the fields of a structured log event other than its message and stack trace. */
+private const val LOG_EVENT_OVERHEAD_BYTES = 128L
+
+/** The estimated size of a serialized stack trace element. */
+private const val STACK_TRACE_ELEMENT_BYTES = 128L
+
 /**
- * A subclass of [AirbyteCloudStorageBulkUploader] so that we can override the upload() method
+ * A subclass of [AirbyteCloudStorageBulkUploader] so that we can override the serialize() method
  * and use the bulkEncode method to handle converting the log events to strings (in the default
- * implementation we use [Jsons]).
+ * implementation we use [io.airbyte.commons.json.Jsons]), and report the upload failures as
+ * Logback statuses.
  */
 class AirbyteLogbackBulkUploader(
   baseStorageId: String,
   storageClient: StorageClient,
   period: Long = 60L,
   unit: TimeUnit = TimeUnit.SECONDS,
+  maxBufferBytes: Long = DEFAULT_UPLOADER_MAX_BUFFER_BYTES,
+  flushBufferBytes: Long = DEFAULT_UPLOADER_FLUSH_BUFFER_BYTES,
+  overflowPolicy: OverflowPolicy = OverflowPolicy.DROP_OLDEST,
   private val encoder: AirbyteLogEventEncoder,
   private val addStatus: (Status) -> Unit,
 ) : AirbyteCloudStorageBulkUploader<ILoggingEvent>(
-    baseStorageId,
-    storageClient,
-    period,
-    unit,
+    baseStorageId = baseStorageId,
+    storageClient = storageClient,
+    period = period,
+    unit = unit,
+    maxBufferBytes = maxBufferBytes,
+    flushBufferBytes = flushBufferBytes,
+    overflowPolicy = overflowPolicy,
   ) {
-  override fun upload() {
-    try {
-      synchronized(uploadLock) {
-        val events = mutableListOf<ILoggingEvent>()
-        buffer.drainTo(events)
+  override fun sizeOf(t: ILoggingEvent): Long {
+    var bytes = LOG_EVENT_OVERHEAD_BYTES + (t.formattedMessage?.length ?: 0)
+    var throwable = t.throwableProxy
+    while (throwable != null) {
+      bytes += (throwable.message?.length ?: 0) + (throwable.stackTraceElementProxyArray?.size ?: 0) * STACK_TRACE_ELEMENT_BYTES
+      throwable = throwable.cause
+    }
+    return bytes
+  }
 
-        if (events.isNotEmpty()) {
-          val document = encoder.bulkEncode(loggingEvents = events)
-          storageClient.write(id = currentStorageId, document = document)
+  override fun serialize(
+    events: List<ILoggingEvent>,
+    output: OutputStream,
+  ) {
+    encoder.bulkEncode(loggingEvents = events, output = output)
+  }
 
-          // Move to next file to avoid overwriting in log storage that doesn't support append mode
-          this.currentStorageId = createFileId(baseId = baseStorageId)
-        }
-      }
-    } catch (t: Throwable) {
-      addStatus(ErrorStatus("Failed to upload logs to cloud storage location $currentStorageId.", this, t))
-    }
+  override fun onUploadFailure(e: Exception) {
+    addStatus(ErrorStatus("Failed to upload logs to cloud storage location $currentStorageId.", this, e))
   }
 }
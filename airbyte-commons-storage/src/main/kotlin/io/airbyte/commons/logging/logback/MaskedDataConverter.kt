@@ -14,7 +14,6 @@ import io.airbyte.commons.logging.LOG_SOURCE_MDC_KEY
 import io.airbyte.commons.logging.LogSource
 import io.airbyte.commons.yaml.Yamls
 import java.nio.charset.Charset
-import java.util.regex.Pattern
 
 /**
  * Custom [ClassicConverter] used to intercept all log messages and mask any JSON
@@ -24,14 +23,15 @@ import java.util.regex.Pattern
  * {@code :oss:airbyte-config:specs} project. The file is named {@code specs_secrets_mask.yaml} and
  * is located in the {@code src/main/resources/seed} directory of the
  * {@code :oss:airbyte-config:init} project.
+ * <p>
+ * The maskable properties and API keys are masked by a [SecretMasker], which scans each message once.
  */
 class MaskedDataConverter(
   specMaskFile: String = LOCAL_SECRETS_MASKS_PATH,
 ) : ClassicConverter() {
-  private val pattern: Pattern? = buildPattern(specMaskFile = specMaskFile)
-  private val replacePattern = API_KEY_PATTERN.toPattern()
+  private val secretMasker = SecretMasker(properties = getMaskableProperties(specMaskFile))
 
-  override fun convert(event: ILoggingEvent): String = replace(message = applyMask(event = event))
+  override fun convert(event: ILoggingEvent): String = applyMask(event = event)
 
   /**
    * Applies the mask to the message, if necessary.
@@ -41,34 +41,9 @@ class MaskedDataConverter(
    */
   private fun applyMask(event: ILoggingEvent): String {
     val piiScrubbedMessage = removeKnownPii(event = event)
-    return pattern?.matcher(piiScrubbedMessage)?.replaceAll(REPLACEMENT_PATTERN) ?: piiScrubbedMessage
+    return secretMasker.mask(message = piiScrubbedMessage)
   }
 
-  /**
-   * Builds the maskable property matching pattern.
-   *
-   * @param specMaskFile The spec mask file.
-   * @return The regular expression pattern used to find maskable properties.
-   */
-  private fun buildPattern(specMaskFile: String): Pattern? =
-    getMaskableProperties(specMaskFile).takeIf { it.isNotEmpty() }?.let {
-      generatePattern(it).toPattern()
-    }
-
-  /**
-   * Generates the property matching pattern string from the provided set of properties.
-   *
-   * @param properties The set of properties to match.
-   * @return The generated regular expression pattern used to match the maskable properties.
-   */
-  private fun generatePattern(properties: Set<String>): String =
-    buildString {
-      append(CASE_INSENSITIVE_FLAG)
-      append(PROPERTY_MATCHING_PATTERN_PREFIX)
-      append(properties.joinToString("|"))
-      append(PROPERTY_MATCHING_PATTERN_SUFFIX)
-    }
-
   /**
    * Loads the maskable properties from the provided file.
    *
@@ -87,36 +62,8 @@ class MaskedDataConverter(
       properties.getOrDefault(PROPERTIES_KEY, setOf())
     }.getOrDefault(setOf())
   }
-
-  /**
-   * Code-based implementation of the `replace(message){r, t}` macro in Logback/Log4j configuration.
-   *
-   * @param message The message to apply replacement to.
-   * @return The potentially modified message with any specific patterns replaced.
-   */
-  private fun replace(message: String): String = replacePattern.matcher(message).replaceAll(API_KEY_REPLACEMENT)
 }
 
-/**
- * Name of the field that contains an API key.
- */
-private const val API_KEY_FIELD = "apikey"
-
-/**
- * Regular expression to match api keys in strings.  Ported from previous Log4j2 configuration.
- */
-private const val API_KEY_PATTERN = "$API_KEY_FIELD=[\\w\\-]*"
-
-/**
- * Replacement pattern for matches using the [API_KEY_PATTERN] regular expression.
- */
-private const val API_KEY_REPLACEMENT = "$API_KEY_FIELD=${AirbyteSecretConstants.SECRETS_MASK}"
-
-/**
- * Regular expression pattern flag that enables case in-sensitive matching.
- */
-private const val CASE_INSENSITIVE_FLAG: String = "(?i)"
-
 /**
  * Capture group name for the portion of a log message that contains the log information.
  */
@@ -159,25 +106,19 @@ private val DESTINATION_KNOWN_PII_PATTERN =
   }.toPattern()
 
 /**
- * Name of the key in the mask YAML file that contains the list of maskable properties.
+ * Literal parts of the [DESTINATION_PII_MESSAGES], one of which must be found in a message for the
+ * [DESTINATION_KNOWN_PII_PATTERN] to match it.
  */
-private const val PROPERTIES_KEY: String = "properties"
-
-/**
- * Regular expression pattern prefix for applying the mask to property values.
- */
-private const val PROPERTY_MATCHING_PATTERN_PREFIX: String = "\"("
-
-/**
- * Regular expression pattern suffix for applying the mask to property values.
- */
-private const val PROPERTY_MATCHING_PATTERN_SUFFIX: String = ")\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|\\[[^]\\[]*]|\\d+)"
+private val DESTINATION_PII_MESSAGE_MARKERS =
+  listOf(
+    "Received",
+    "org.jooq.exception.DataAccessException: SQL",
+  )
 
 /**
- * Regular expression pattern used to replace a key/value property with a masked value while
- * maintaining the property key/name.
+ * Name of the key in the mask YAML file that contains the list of maskable properties.
  */
-private const val REPLACEMENT_PATTERN: String = "\"\$1\":\"${AirbyteSecretConstants.SECRETS_MASK}\""
+private const val PROPERTIES_KEY: String = "properties"
 
 /**
  * Removes known PII from the log message for messages produced by destinations.
@@ -190,9 +131,22 @@ private fun removeKnownPii(event: ILoggingEvent): String {
    * Only apply the PII replacement to messages from the destination to avoid performance
    * hit in other scenarios.
    */
-  return if (event.mdcPropertyMap.getOrDefault(LOG_SOURCE_MDC_KEY, LogSource.PLATFORM.displayName) == LogSource.DESTINATION.displayName) {
-    DESTINATION_KNOWN_PII_PATTERN.matcher(event.formattedMessage).replaceAll(KNOWN_PII_LOG_MESSAGE_REPLACEMENT_PATTERN)
+  val message = event.formattedMessage
+  val isDestinationMessage =
+    event.mdcPropertyMap.getOrDefault(LOG_SOURCE_MDC_KEY, LogSource.PLATFORM.displayName) == LogSource.DESTINATION.displayName
+  return if (isDestinationMessage && mayContainKnownPii(message = message)) {
+    DESTINATION_KNOWN_PII_PATTERN.matcher(message).replaceAll(KNOWN_PII_LOG_MESSAGE_REPLACEMENT_PATTERN)
   } else {
-    event.formattedMessage
+    message
   }
 }
+
+/**
+ * Cheap check of whether the [DESTINATION_KNOWN_PII_PATTERN] may match the message, to avoid running it
+ * on every destination message.
+ *
+ * @param message The log message
+ * @return false if the message can't contain any of the known PII messages
+ */
+private fun mayContainKnownPii(message: String): Boolean =
+  message.startsWith(Level.ERROR.toString()) && DESTINATION_PII_MESSAGE_MARKERS.any { message.contains(it) }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.logging.logback
+
+import io.airbyte.commons.constants.AirbyteSecretConstants
+
+/**
+ * Name of the field that contains an API key.
+ */
+private const val API_KEY_FIELD = "apikey="
+
+/**
+ * Replacement for the value of API keys found in strings.  Ported from previous Log4j2 configuration.
+ */
+private const val API_KEY_REPLACEMENT = "$API_KEY_FIELD${AirbyteSecretConstants.SECRETS_MASK}"
+
+/**
+ * Replacement for the value of maskable JSON properties, following the property name.
+ */
+private const val PROPERTY_VALUE_REPLACEMENT = ":\"${AirbyteSecretConstants.SECRETS_MASK}\""
+
+/**
+ * Masks the values of the maskable JSON properties and of the API keys found in a log message, scanning it once.
+ * <p />
+ * This is equivalent to replacing, in this order, the matches of the case-insensitive
+ * {@code "(name1|name2|...)"\s*:\s*("(?:[^"\\]|\\.)*"|\[[^]\[]*]|\d+)} and {@code apikey=[\w\-]*} regular expressions,
+ * without their cost: the alternation of the hundreds of maskable property names is tried at every position of the
+ * message by the regular expression engine, and backtracks on long JSON messages.
+ * <p />
+ * Property names are instead matched by walking a case-folded trie of the maskable property names from every double
+ * quote, which is the goto function of an Aho-Corasick automaton: the failure links are not needed as a match must
+ * start right after the quote. The value is then matched by a targeted scanner. As the property names are matched
+ * literally, they are expected to be plain names, as found in the spec mask file.
+ *
+ * @param properties The names of the maskable properties, matched regardless of the case of their ASCII letters.
+ */
+internal class SecretMasker(
+  properties: Collection<String>,
+) {
+  /** Index in the alphabet of the maskable property names of each case-folded character, or -1. */
+  private val alphabet: IntArray
+
+  /** Number of distinct case-folded characters of the maskable property names. */
+  private val alphabetSize: Int
+
+  /** Transitions of the trie, by state then alphabet index, to the next state or -1. */
+  private val transitions: IntArray
+
+  /** Whether a state of the trie is the end of a maskable property name. */
+  private val terminal: BooleanArray
+
+  init {
+    val names = properties.filter { it.isNotEmpty() && !it.contains('"') }.map { name -> name.map(::fold) }
+    val chars = names.flatten().distinct()
+    alphabet = IntArray((chars.maxOfOrNull { it.code } ?: -1) + 1) { -1 }
+    chars.forEachIndexed { index, char -> alphabet[char.code] = index }
+    alphabetSize = chars.size
+
+    val states = names.sumOf { it.size } + 1
+    val next = IntArray(states * alphabetSize) { -1 }
+    val ends = BooleanArray(states)
+    var stateCount = 1
+    names.forEach { name ->
+      var state = 0
+      name.forEach { char ->
+        val transition = state * alphabetSize + alphabet[char.code]
+        if (next[transition] < 0) {
+          next[transition] = stateCount++
+        }
+        state = next[transition]
+      }
+      ends[state] = true
+    }
+    transitions = next.copyOf(stateCount * alphabetSize)
+    terminal = ends.copyOf(stateCount)
+  }
+
+  /**
+   * Masks the values of the maskable properties and of the API keys found in [message].
+   *
+   * @param message The log message.
+   * @return The masked log message, or [message] itself if nothing had to be masked.
+   */
+  fun mask(message: String): String {
+    // Both property names and API keys are followed by a delimiter that most plain text messages don't contain
+    if (message.indexOf('"') < 0 && message.indexOf('=') < 0) {
+      return message
+    }
+
+    var masked: StringBuilder? = null
+    var copied = 0
+    var position = 0
+    while (position < message.length) {
+      val char = message[position]
+      val end =
+        when (char) {
+          '"' -> matchProperty(message, position)
+          API_KEY_FIELD[0] -> matchApiKey(message, position)
+          else -> -1
+        }
+      if (end < 0) {
+        position++
+        continue
+      }
+
+      val builder = masked ?: StringBuilder(message.length + AirbyteSecretConstants.SECRETS_MASK.length).also { masked = it }
+      builder.append(message, copied, position)
+      if (char == '"') {
+        // Keeps the property name as is, up to its closing quote
+        builder.append(message, position, message.indexOf('"', position + 1) + 1).append(PROPERTY_VALUE_REPLACEMENT)
+      } else {
+        builder.append(API_KEY_REPLACEMENT)
+      }
+      copied = end
+      position = end
+    }
+
+    return masked?.append(message, copied, message.length)?.toString() ?: message
+  }
+
+  /**
+   * Matches a maskable property, name and value, starting at the double quote at [start].
+   *
+   * @return The end of the value of the property, or -1 if there is no maskable property at [start].
+   */
+  private fun matchProperty(
+    message: String,
+    start: Int,
+  ): Int {
+    var position = start + 1
+    var state = 0
+    while (position < message.length && message[position] != '"') {
+      val char = fold(message[position])
+      val index = if (char.code < alphabet.size) alphabet[char.code] else -1
+      if (index < 0) {
+        return -1
+      }
+      state = transitions[state * alphabetSize + index]
+      if (state < 0) {
+        return -1
+      }
+      position++
+    }
+    if (position >= message.length || !terminal[state]) {
+      return -1
+    }
+
+    position = skipWhitespaces(message, position + 1)
+    if (position >= message.length || message[position] != ':') {
+      return -1
+    }
+    position = skipWhitespaces(message, position + 1)
+    if (position >= message.length) {
+      return -1
+    }
+
+    return when (message[position]) {
+      '"' -> matchString(message, position)
+      '[' -> matchArray(message, position)
+      in '0'..'9' -> matchDigits(message, position)
+      else -> -1
+    }
+  }
+
+  /**
+   * Matches a JSON string, in which escaped characters can be anything but a line terminator.
+   */
+  private fun matchString(
+    message: String,
+    start: Int,
+  ): Int {
+    var position = start + 1
+    while (position < message.length) {
+      when (message[position]) {
+        '"' -> return position + 1
+        '\\' -> {
+          if (position + 1 >= message.length || isLineTerminator(message[position + 1])) {
+            return -1
+          }
+          position += 2
+        }
+        else -> position++
+      }
+    }
+    return -1
+  }
+
+  /**
+   * Matches a JSON array that holds no nested array.
+   */
+  private fun matchArray(
+    message: String,
+    start: Int,
+  ): Int {
+    var position = start + 1
+    while (position < message.length) {
+      when (message[position]) {
+        ']' -> return position + 1
+        '[' -> return -1
+        else -> position++
+      }
+    }
+    return -1
+  }
+
+  /**
+   * Matches the digits of a number. A decimal part is left as is, as it was by the regular expression.
+   */
+  private fun matchDigits(
+    message: String,
+    start: Int,
+  ): Int {
+    var position = start
+    while (position < message.length && message[position] in '0'..'9') {
+      position++
+    }
+    return position
+  }
+
+  /**
+   * Matches an API key, made of word characters and dashes, starting at [start].
+   *
+   * @return The end of the API key, or -1 if there is no API key at [start].
+   */
+  private fun matchApiKey(
+    message: String,
+    start: Int,
+  ): Int {
+    if (!message.startsWith(API_KEY_FIELD, start)) {
+      return -1
+    }
+    var position = start + API_KEY_FIELD.length
+    while (position < message.length && isApiKeyChar(message[position])) {
+      position++
+    }
+    return position
+  }
+
+  private fun skipWhitespaces(
+    message: String,
+    start: Int,
+  ): Int {
+    var position = start
+    while (position < message.length && isWhitespace(message[position])) {
+      position++
+    }
+    return position
+  }
+}
+
+/**
+ * Folds the case of ASCII letters only, as case-insensitive regular expressions do by default.
+ */
+private fun fold(char: Char): Char = if (char in 'A'..'Z') char + ('a' - 'A') else char
+
+/**
+ * Whether the character matches {@code \s} in a regular expression.
+ */
+private fun isWhitespace(char: Char): Boolean = char == ' ' || char in '\t'..'\r'
+
+/**
+ * Whether the character is a line terminator, which {@code .} doesn't match in a regular expression.
+ */
+private fun isLineTerminator(char: Char): Boolean =
+  char == '\n' || char == '\r' || char == '\u0085' || char == '\u2028' || char == '\u2029'
+
+/**
+ * Whether the character matches {@code [\w\-]} in a regular expression.
+ */
+private fun isApiKeyChar(char: Char): Boolean = char in 'a'..'z' || char in 'A'..'Z' || char in '0'..'9' || char == '_' || char == '-'
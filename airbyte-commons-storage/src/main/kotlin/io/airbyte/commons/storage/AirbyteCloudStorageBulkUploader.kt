@@ -4,20 +4,39 @@
 
 package io.airbyte.commons.storage
 
-import io.airbyte.commons.json.Jsons
-import java.util.concurrent.LinkedBlockingQueue
+import com.fasterxml.jackson.core.JsonGenerator
+import com.fasterxml.jackson.databind.ObjectWriter
+import io.airbyte.commons.jackson.MoreMappers
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.micrometer.core.instrument.Metrics
+import java.io.OutputStream
+import java.util.concurrent.RejectedExecutionException
 import java.util.concurrent.ScheduledFuture
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+
+/** The default maximum estimated size of the events buffered by an uploader, past which its overflow policy applies. */
+const val DEFAULT_UPLOADER_MAX_BUFFER_BYTES = 64L * 1024 * 1024
+
+/** The default estimated size of the buffered events past which an upload is triggered without waiting for the next period. */
+const val DEFAULT_UPLOADER_FLUSH_BUFFER_BYTES = 8L * 1024 * 1024
 
 /**
  * A generic storage uploader class that is intended to upload items to a
  * configured storage bucket, passed in through the StorageClient configuration.
  *
  * This class is open and intended to be subclassed whenever the default
- * method implementations are insufficient. Mostly, this will apply to the [upload]
- * method, which handles the logic for actually calling [StorageClient.write]. The
- * default implementations here should be sufficient for building a list and converting it
- * to JSON before uploading.
+ * method implementations are insufficient. Mostly, this will apply to the [sizeOf]
+ * and [serialize] methods, which estimate the size of the buffered items and write
+ * them to the stream returned by [StorageClient.writeStream]. The default implementations
+ * here should be sufficient for building a list and converting it to JSON before uploading.
+ *
+ * The items are buffered in a [BoundedEventBuffer], so that a burst of items can't exhaust the
+ * memory: once [maxBufferBytes] are buffered, the [overflowPolicy] decides which items are dropped.
+ * An upload is triggered on the shared executor as soon as [flushBufferBytes] are buffered, on top
+ * of the periodic ones, so that the callers of [append] never upload themselves.
  *
  * To use this class, hook into the bean lifecycle methods (@PostConstruct/@PreDestroy,
  * or the Micronaut provided @EventListener) to call [start] and [stop], respectively. To
@@ -29,9 +48,21 @@ open class AirbyteCloudStorageBulkUploader<T>(
   val storageClient: StorageClient,
   val period: Long = 60L,
   val unit: TimeUnit = TimeUnit.SECONDS,
+  val maxBufferBytes: Long = DEFAULT_UPLOADER_MAX_BUFFER_BYTES,
+  val flushBufferBytes: Long = DEFAULT_UPLOADER_FLUSH_BUFFER_BYTES,
+  val overflowPolicy: OverflowPolicy = OverflowPolicy.DROP_OLDEST,
+  private val metricClient: MetricClient = defaultMetricClient,
 ) {
-  /** @property buffer A threadsafe queue to store items of T */
-  val buffer = LinkedBlockingQueue<T>()
+  /** @property buffer A threadsafe buffer, bounded by the estimated size of the items of T it stores */
+  val buffer =
+    BoundedEventBuffer<T>(
+      maxBytes = maxBufferBytes,
+      overflowPolicy = overflowPolicy,
+      sizeOf = { sizeOf(it) },
+      onFull = this::requestUpload,
+      onDropped = { metricClient.count(metric = OssMetricsRegistry.CLOUD_STORAGE_UPLOADER_EVENTS_DROPPED, value = it.toLong()) },
+      onBytesChanged = { bufferedBytes.addAndGet(it) },
+    )
 
   /** @property currentStorageId represents the id of the storage file */
   var currentStorageId: String = createFileId(baseStorageId)
@@ -39,6 +70,16 @@ open class AirbyteCloudStorageBulkUploader<T>(
   val uploadLock = Any()
   lateinit var uploadTask: ScheduledFuture<*>
 
+  private val uploadRequested = AtomicBoolean(false)
+
+  init {
+    metricClient.gauge(
+      metric = OssMetricsRegistry.CLOUD_STORAGE_UPLOADER_BUFFER_BYTES,
+      stateObject = bufferedBytes,
+      function = { it.toDouble() },
+    )
+  }
+
   /**
    * Starts the upload task using the executor helper.
    */
@@ -56,16 +97,43 @@ open class AirbyteCloudStorageBulkUploader<T>(
   }
 
   /**
-   * Add a message to the buffer.
+   * Add a message to the buffer, triggering an upload if enough messages are buffered.
    */
   open fun append(t: T) {
     buffer.add(t)
+    if (buffer.bytes >= flushBufferBytes) {
+      requestUpload()
+    }
+  }
+
+  /**
+   * Estimates the size in bytes of an item once uploaded, to bound the buffer.
+   */
+  open fun sizeOf(t: T): Long = t.toString().length.toLong()
+
+  /**
+   * Serializes the items to the [output] stream, which must be left open.
+   */
+  open fun serialize(
+    events: List<T>,
+    output: OutputStream,
+  ) {
+    objectWriter.writeValue(output, events)
   }
 
   /**
-   * Uploads all the items in the current buffer to cloud storage. This is done by first
-   * combining all the buffered items and then converting to a JSON string.
-   * The fileID is then updated to reflect a new timestamp of logs.
+   * Handles a failure to serialize or upload the buffered items.
+   */
+  open fun onUploadFailure(e: Exception) {
+    // Log any failures to serialize or upload to cloud storage for debugging purposes
+    e.printStackTrace()
+  }
+
+  /**
+   * Uploads all the items in the current buffer to cloud storage. This is done by
+   * streaming the serialized items to the storage, which compresses them if configured to.
+   * The fileID is then updated to reflect a new timestamp of logs, unless the upload failed
+   * and was aborted.
    */
   open fun upload() {
     synchronized(uploadLock) {
@@ -73,15 +141,47 @@ open class AirbyteCloudStorageBulkUploader<T>(
       buffer.drainTo(events)
 
       if (events.isNotEmpty()) {
+        val start = System.nanoTime()
         try {
-          val logs = Jsons.serialize(events)
-          storageClient.write(currentStorageId, logs)
+          // The document is only stored once all the items are serialized: a failure aborts it, so that it neither
+          // leaves a truncated document behind nor holds on to a pending upload
+          storageClient.writeStream(currentStorageId).useOrAbort { serialize(events, it) }
           this.currentStorageId = createFileId(baseStorageId)
         } catch (e: Exception) {
-          // Log any failures to serialize or upload to cloud storage for debugging purposes
-          e.printStackTrace()
+          onUploadFailure(e)
+        } finally {
+          metricClient
+            .timer(metric = OssMetricsRegistry.CLOUD_STORAGE_UPLOADER_UPLOAD_TIME_MS)
+            ?.record(System.nanoTime() - start, TimeUnit.NANOSECONDS)
         }
       }
     }
   }
+
+  private fun requestUpload() {
+    if (uploadRequested.compareAndSet(false, true)) {
+      try {
+        CloudStorageBulkUploaderExecutor.submitTask {
+          try {
+            upload()
+          } finally {
+            uploadRequested.set(false)
+          }
+        }
+      } catch (e: RejectedExecutionException) {
+        // The executor is shutting down, the final upload is performed by stop()
+        uploadRequested.set(false)
+      }
+    }
+  }
+
+  companion object {
+    /** The appenders are built before the application context, so they report to the global registry. */
+    private val defaultMetricClient = MetricClient(Metrics.globalRegistry)
+
+    /** The estimated size of the events buffered by all the uploaders of the process. */
+    private val bufferedBytes = AtomicLong()
+
+    private val objectWriter: ObjectWriter = MoreMappers.initMapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+  }
 }
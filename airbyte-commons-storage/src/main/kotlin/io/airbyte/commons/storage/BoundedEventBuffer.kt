@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import java.time.Duration
+import java.util.concurrent.locks.ReentrantLock
+import kotlin.concurrent.withLock
+
+/**
+ * What a [BoundedEventBuffer] does with the events added to it once it is full.
+ */
+enum class OverflowPolicy {
+  /** The oldest events are dropped to make room for the new ones. */
+  DROP_OLDEST,
+
+  /** Only one out of [BoundedEventBuffer.sampleRate] new events is kept, dropping the oldest events to make room for it. */
+  SAMPLE,
+
+  /** The caller waits for the buffer to be drained, up to [BoundedEventBuffer.blockTimeout], before the event is dropped. */
+  BLOCK,
+}
+
+/**
+ * Thread safe buffer of events, bounded by the estimated size of the events it holds rather than by their number, so
+ * that bursts of large events can't exhaust the memory.
+ * <p />
+ * An event is always accepted by an empty buffer, whatever its size, so that a single large event isn't lost.
+ *
+ * @param maxBytes the maximum estimated size of the events held
+ * @param overflowPolicy what to do with the events added once full
+ * @param sizeOf estimates the size in bytes of an event
+ * @param sampleRate with [OverflowPolicy.SAMPLE], one out of this number of events added once full is kept
+ * @param blockTimeout with [OverflowPolicy.BLOCK], how long to wait for room before dropping an event
+ * @param onFull called when an event is added to a full buffer, e.g. to drain it
+ * @param onDropped called with the number of events dropped
+ * @param onBytesChanged called with the change of the estimated size of the events held
+ */
+class BoundedEventBuffer<T>(
+  val maxBytes: Long,
+  val overflowPolicy: OverflowPolicy = OverflowPolicy.DROP_OLDEST,
+  private val sizeOf: (T) -> Long,
+  val sampleRate: Int = DEFAULT_SAMPLE_RATE,
+  val blockTimeout: Duration = DEFAULT_BLOCK_TIMEOUT,
+  private val onFull: () -> Unit = {},
+  private val onDropped: (Int) -> Unit = {},
+  private val onBytesChanged: (Long) -> Unit = {},
+) {
+  private class Entry<T>(
+    val event: T,
+    val bytes: Long,
+  )
+
+  private val lock = ReentrantLock()
+  private val notFull = lock.newCondition()
+  private val entries = ArrayDeque<Entry<T>>()
+  private var bufferedBytes = 0L
+  private var overflowCount = 0L
+
+  /** @property bytes the estimated size of the events held */
+  val bytes: Long
+    get() = lock.withLock { bufferedBytes }
+
+  /** @property size the number of events held */
+  val size: Int
+    get() = lock.withLock { entries.size }
+
+  /**
+   * Adds [event] to the buffer, applying the [overflowPolicy] if it doesn't fit.
+   *
+   * @return true if the event was added, false if it was dropped
+   */
+  fun add(event: T): Boolean {
+    val eventBytes = sizeOf(event)
+    var dropped = 0
+
+    val added =
+      lock.withLock {
+        val fits =
+          when {
+            fits(eventBytes) -> true
+            overflowPolicy == OverflowPolicy.DROP_OLDEST -> true.also { dropped += evict(eventBytes) }
+            overflowPolicy == OverflowPolicy.SAMPLE -> (overflowCount++ % sampleRate == 0L).also { if (it) dropped += evict(eventBytes) }
+            else -> awaitRoom(eventBytes)
+          }
+        if (fits) {
+          entries.addLast(Entry(event, eventBytes))
+          updateBytes(eventBytes)
+        }
+        fits
+      }
+
+    if (!added) {
+      dropped++
+    }
+    if (dropped > 0) {
+      onDropped(dropped)
+    }
+    return added
+  }
+
+  /**
+   * Removes all the events of the buffer, adding them to [events] in the order they were added.
+   *
+   * @return the number of events removed
+   */
+  fun drainTo(events: MutableCollection<in T>): Int =
+    lock.withLock {
+      val count = entries.size
+      entries.forEach { events.add(it.event) }
+      entries.clear()
+      updateBytes(-bufferedBytes)
+      overflowCount = 0
+      notFull.signalAll()
+      count
+    }
+
+  private fun fits(eventBytes: Long): Boolean = entries.isEmpty() || bufferedBytes + eventBytes <= maxBytes
+
+  private fun evict(eventBytes: Long): Int {
+    var evicted = 0
+    while (!fits(eventBytes)) {
+      updateBytes(-entries.removeFirst().bytes)
+      evicted++
+    }
+    return evicted
+  }
+
+  private fun awaitRoom(eventBytes: Long): Boolean {
+    onFull()
+    var remaining = blockTimeout.toNanos()
+    while (!fits(eventBytes)) {
+      if (remaining <= 0) {
+        return false
+      }
+      remaining = notFull.awaitNanos(remaining)
+    }
+    return true
+  }
+
+  private fun updateBytes(delta: Long) {
+    bufferedBytes += delta
+    onBytesChanged(delta)
+  }
+
+  companion object {
+    const val DEFAULT_SAMPLE_RATE = 10
+    val DEFAULT_BLOCK_TIMEOUT: Duration = Duration.ofSeconds(5)
+  }
+}
@@ -40,6 +40,16 @@ object CloudStorageBulkUploaderExecutor {
     unit: TimeUnit,
   ): ScheduledFuture<*> = executorService.scheduleAtFixedRate(runnable, initDelay, period, unit)
 
+  /**
+   * Submits a one-off runnable task to the underlying executor service.
+   *
+   * @param runnable The task to be executed.
+   * @throws java.util.concurrent.RejectedExecutionException if the executor service is shut down.
+   */
+  fun submitTask(runnable: Runnable) {
+    executorService.execute(runnable)
+  }
+
   /**
    * Stops the shared executor service.  This method should be called from a JVM shutdown hook
    * to ensure that the thread pool is stopped prior to exit/stopping the appenders.
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload
+import software.amazon.awssdk.services.s3.model.CompletedPart
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import java.io.ByteArrayOutputStream
+
+/** The size of the parts of a multipart upload, S3 requires all of them but the last to be at least 5 MiB. */
+internal const val S3_MULTIPART_PART_SIZE_BYTES = 8 * 1024 * 1024
+
+/**
+ * [StorageOutputStream] uploading what is written to it to an S3 object, holding at most one part in memory.
+ * <p />
+ * Documents smaller than a part are uploaded with a single put once the stream is closed. Larger ones are uploaded by
+ * parts as they are written, and the multipart upload is completed when the stream is closed, or aborted if the stream
+ * is aborted or any of the uploads fails, so that no part is left behind.
+ */
+internal class S3MultipartOutputStream(
+  private val s3Client: S3Client,
+  private val bucketName: String,
+  private val key: String,
+  private val contentEncoding: String?,
+  private val partSize: Int = S3_MULTIPART_PART_SIZE_BYTES,
+) : StorageOutputStream() {
+  private val buffer = ByteArrayOutputStream()
+  private val completedParts = mutableListOf<CompletedPart>()
+  private var uploadId: String? = null
+  private var failed = false
+
+  override fun write(b: Int) {
+    buffer.write(b)
+    if (buffer.size() >= partSize) {
+      uploadPart()
+    }
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    var written = 0
+    while (written < len) {
+      val chunk = minOf(len - written, partSize - buffer.size())
+      buffer.write(b, off + written, chunk)
+      written += chunk
+      if (buffer.size() >= partSize) {
+        uploadPart()
+      }
+    }
+  }
+
+  override fun commit() {
+    if (failed) {
+      return
+    }
+
+    if (uploadId == null) {
+      s3Client.putObject(
+        PutObjectRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key)
+          .contentEncoding(contentEncoding)
+          .build(),
+        RequestBody.fromBytes(buffer.toByteArray()),
+      )
+      return
+    }
+
+    abortOnFailure {
+      if (buffer.size() > 0) {
+        uploadPart()
+      }
+      s3Client.completeMultipartUpload(
+        CompleteMultipartUploadRequest
+          .builder()
+          .bucket(bucketName)
+          .key(key)
+          .uploadId(uploadId)
+          .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+          .build(),
+      )
+    }
+  }
+
+  override fun discard() {
+    buffer.reset()
+    if (!failed && uploadId != null) {
+      failed = true
+      abortMultipartUpload()
+    }
+  }
+
+  private fun uploadPart() {
+    if (uploadId == null) {
+      uploadId =
+        s3Client
+          .createMultipartUpload(
+            CreateMultipartUploadRequest
+              .builder()
+              .bucket(bucketName)
+              .key(key)
+              .contentEncoding(contentEncoding)
+              .build(),
+          ).uploadId()
+    }
+
+    abortOnFailure {
+      val partNumber = completedParts.size + 1
+      val response =
+        s3Client.uploadPart(
+          UploadPartRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key)
+            .uploadId(uploadId)
+            .partNumber(partNumber)
+            .build(),
+          RequestBody.fromBytes(buffer.toByteArray()),
+        )
+      completedParts.add(
+        CompletedPart
+          .builder()
+          .partNumber(partNumber)
+          .eTag(response.eTag())
+          .build(),
+      )
+      buffer.reset()
+    }
+  }
+
+  private fun abortOnFailure(block: () -> Unit) {
+    try {
+      block()
+    } catch (e: Exception) {
+      failed = true
+      runCatching { abortMultipartUpload() }
+      throw e
+    }
+  }
+
+  private fun abortMultipartUpload() {
+    s3Client.abortMultipartUpload(
+      AbortMultipartUploadRequest
+        .builder()
+        .bucket(bucketName)
+        .key(key)
+        .uploadId(uploadId)
+        .build(),
+    )
+  }
+}
@@ -6,6 +6,9 @@ package io.airbyte.commons.storage
 
 import com.azure.storage.blob.BlobServiceClient
 import com.azure.storage.blob.BlobServiceClientBuilder
+import com.azure.storage.blob.models.BlobHttpHeaders
+import com.azure.storage.blob.models.BlobRange
+import com.azure.storage.blob.options.BlockBlobOutputStreamOptions
 import com.google.auth.oauth2.ServiceAccountCredentials
 import com.google.cloud.storage.BlobId
 import com.google.cloud.storage.BlobInfo
@@ -34,16 +37,29 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException
 import software.amazon.awssdk.services.s3.model.PutObjectRequest
 import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.FilterOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.io.RandomAccessFile
 import java.net.URI
+import java.nio.channels.Channels
 import java.nio.charset.StandardCharsets
+import java.nio.file.AtomicMoveNotSupportedException
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import kotlin.io.path.createDirectories
 import kotlin.io.path.createParentDirectories
 import kotlin.io.path.deleteIfExists
 import kotlin.io.path.exists
+import kotlin.io.path.fileSize
+import kotlin.io.path.inputStream
 import kotlin.io.path.isDirectory
 import kotlin.io.path.listDirectoryEntries
+import kotlin.io.path.outputStream
 import kotlin.io.path.pathString
+import kotlin.io.path.readBytes
 import kotlin.io.path.relativeTo
 
 private fun prependIfMissing(
@@ -135,6 +151,39 @@ interface StorageClient {
     document: String,
   )
 
+  /**
+   * Opens a stream writing a document with a given id, to write it without holding it whole in memory. If a document
+   * already exists at this id it will be overwritten once the stream is closed. A document that could not be written
+   * whole must be aborted rather than closed, so that it is not stored truncated, see [useOrAbort].
+   *
+   * @param id of the document to write
+   * @return a stream writing the document, to be closed or aborted by the caller
+   */
+  fun writeStream(id: String): StorageOutputStream {
+    val buffer = ByteArrayOutputStream()
+    return CommitOnCloseOutputStream(
+      target =
+        object : OutputStream() {
+          override fun write(b: Int) {
+            buffer.write(b)
+          }
+
+          override fun write(
+            b: ByteArray,
+            off: Int,
+            len: Int,
+          ) {
+            buffer.write(b, off, len)
+          }
+
+          override fun close() {
+            this@StorageClient.write(id = id, document = buffer.toString(StandardCharsets.UTF_8))
+          }
+        },
+      onAbort = { buffer.reset() },
+    )
+  }
+
   /**
    * Reads document with a given id.
    *
@@ -143,6 +192,45 @@ interface StorageClient {
    */
   fun read(id: String): String?
 
+  /**
+   * Opens a stream over the document with a given id, to read it without holding it whole in memory.
+   *
+   * @param id of the document to read.
+   * @return a stream over the document, to be closed by the caller, or null if the document doesn't exist
+   */
+  fun readStream(id: String): InputStream? = read(id)?.byteInputStream(StandardCharsets.UTF_8)
+
+  /**
+   * Returns the size of the document with a given id, as stored, so compressed if it was written compressed.
+   * <p />
+   * The default implementation reads the whole document, which is only the document as stored when documents are
+   * stored as they are written: implementations that compress documents must override it, as well as [readRange].
+   *
+   * @param id of the document.
+   * @return the size of the document in bytes, or null if the document doesn't exist
+   */
+  fun size(id: String): Long? = read(id)?.toByteArray(StandardCharsets.UTF_8)?.size?.toLong()
+
+  /**
+   * Reads a range of the document with a given id, without downloading the rest of it. The range is read from the
+   * document as stored, so it is not decompressed if the document was written compressed.
+   * <p />
+   * The default implementation reads the whole document, with the same limits as the default implementation of [size].
+   *
+   * @param id of the document to read.
+   * @param offset of the first byte to read
+   * @param length number of bytes to read, fewer are returned if the range goes past the end of the document
+   * @return the bytes read, or null if the document doesn't exist
+   */
+  fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): ByteArray? =
+    read(id)?.toByteArray(StandardCharsets.UTF_8)?.let {
+      it.copyOfRange(offset.coerceAtMost(it.size.toLong()).toInt(), (offset + length).coerceAtMost(it.size.toLong()).toInt())
+    }
+
   /**
    * Deletes the document with provided id.
    *
@@ -172,6 +260,7 @@ class AzureStorageClient(
   config: AzureStorageConfig,
   private val type: DocumentType,
   private val azureClient: BlobServiceClient,
+  private val compression: StorageCompression = StorageCompression.NONE,
 ) : StorageClient {
   override val storageType = StorageType.AZURE
   override val documentType = type
@@ -181,7 +270,8 @@ class AzureStorageClient(
   constructor(
     config: AzureStorageConfig,
     @Parameter type: DocumentType,
-  ) : this(config = config, type = type, azureClient = config.azureClient())
+    @Value("\${$STORAGE_COMPRESSION:NONE}") compression: StorageCompression,
+  ) : this(config = config, type = type, azureClient = config.azureClient(), compression = compression)
 
   init {
     runCatching { createBucketIfNotExists() }
@@ -202,12 +292,32 @@ class AzureStorageClient(
     id: String,
     document: String,
   ) {
+    if (compression != StorageCompression.NONE) {
+      writeStream(id).useOrAbort { it.write(document.toByteArray(StandardCharsets.UTF_8)) }
+      return
+    }
+
     azureClient
       .getBlobContainerClient(bucketName)
       .getBlobClient(key(id))
       .upload(document.byteInputStream(StandardCharsets.UTF_8))
   }
 
+  override fun writeStream(id: String): StorageOutputStream =
+    compression.compress(
+      CommitOnCloseOutputStream(
+        azureClient
+          .getBlobContainerClient(bucketName)
+          .getBlobClient(key(id))
+          .blockBlobClient
+          // blocks are staged as they are written, and committed once the stream is closed. The blocks of an aborted
+          // document are never committed, and are garbage collected by Azure.
+          .getBlobOutputStream(
+            BlockBlobOutputStreamOptions().setHeaders(BlobHttpHeaders().setContentEncoding(compression.contentEncoding)),
+          ),
+      ),
+    )
+
   override fun read(id: String): String? =
     azureClient
       .getBlobContainerClient(bucketName)
@@ -215,7 +325,37 @@ class AzureStorageClient(
       // ensure the blob exists before downloading it
       .takeIf { it.exists() }
       ?.downloadContent()
-      ?.toString()
+      ?.toBytes()
+      ?.let { decompress(it).toString(StandardCharsets.UTF_8) }
+
+  override fun readStream(id: String): InputStream? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .takeIf { it.exists() }
+      ?.openInputStream()
+      ?.let { decompress(it) }
+
+  override fun size(id: String): Long? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .takeIf { it.exists() }
+      ?.properties
+      ?.blobSize
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): ByteArray? =
+    azureClient
+      .getBlobContainerClient(bucketName)
+      .getBlobClient(key(id))
+      .takeIf { it.exists() }
+      ?.let { blob ->
+        if (length <= 0) ByteArray(0) else blob.openInputStream(BlobRange(offset, length), null).use { it.readAllBytes() }
+      }
 
   override fun delete(id: String): Boolean =
     azureClient
@@ -243,6 +383,7 @@ class GcsStorageClient(
   config: GcsStorageConfig,
   private val type: DocumentType,
   private val gcsClient: Storage,
+  private val compression: StorageCompression = StorageCompression.NONE,
 ) : StorageClient {
   override val storageType = StorageType.GCS
   override val documentType = type
@@ -252,7 +393,8 @@ class GcsStorageClient(
   constructor(
     config: GcsStorageConfig,
     @Parameter type: DocumentType,
-  ) : this(config = config, type = type, gcsClient = config.gcsClient())
+    @Value("\${$STORAGE_COMPRESSION:NONE}") compression: StorageCompression,
+  ) : this(config = config, type = type, gcsClient = config.gcsClient(), compression = compression)
 
   init {
     runCatching { createBucketIfNotExists() }
@@ -270,19 +412,67 @@ class GcsStorageClient(
     id: String,
     document: String,
   ) {
+    if (compression != StorageCompression.NONE) {
+      writeStream(id).useOrAbort { it.write(document.toByteArray(StandardCharsets.UTF_8)) }
+      return
+    }
+
     val blobInfo = BlobInfo.newBuilder(blobId(id)).build()
     gcsClient.create(blobInfo, document.toByteArray(StandardCharsets.UTF_8))
   }
 
+  override fun writeStream(id: String): StorageOutputStream {
+    val blobInfo =
+      BlobInfo
+        .newBuilder(blobId(id))
+        .setContentEncoding(compression.contentEncoding)
+        .build()
+    // the writer uploads by chunks as they are written, and finalizes the upload once the stream is closed. The upload
+    // of an aborted document is never finalized, so no object is created, and its session expires.
+    return compression.compress(CommitOnCloseOutputStream(Channels.newOutputStream(gcsClient.writer(blobInfo))))
+  }
+
   override fun read(id: String): String? {
     val blobId = blobId(key(id))
 
     return gcsClient
       .get(blobId)
       ?.takeIf { it.exists() }
-      ?.let { gcsClient.readAllBytes(it.blobId).toString(StandardCharsets.UTF_8) }
+      ?.let { decompress(gcsClient.readAllBytes(it.blobId)).toString(StandardCharsets.UTF_8) }
   }
 
+  override fun readStream(id: String): InputStream? =
+    gcsClient
+      .get(blobId(id))
+      ?.takeIf { it.exists() }
+      ?.let { decompress(Channels.newInputStream(gcsClient.reader(it.blobId))) }
+
+  override fun size(id: String): Long? =
+    gcsClient
+      .get(blobId(id))
+      ?.takeIf { it.exists() }
+      ?.size
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): ByteArray? =
+    gcsClient
+      .get(blobId(id))
+      ?.takeIf { it.exists() }
+      ?.let { blob ->
+        if (length <= 0) {
+          ByteArray(0)
+        } else {
+          gcsClient.reader(blob.blobId).use { reader ->
+            reader.seek(offset)
+            reader.limit(offset + length)
+            Channels.newInputStream(reader).readAllBytes()
+          }
+        }
+      }
+
   override fun delete(id: String): Boolean = gcsClient.delete(BlobId.of(bucketName, key(id)))
 
   @VisibleForTesting
@@ -305,6 +495,7 @@ class GcsStorageClient(
 class LocalStorageClient(
   private val config: LocalStorageConfig,
   @Parameter private val type: DocumentType,
+  @Value("\${$STORAGE_COMPRESSION:NONE}") private val compression: StorageCompression = StorageCompression.NONE,
 ) : StorageClient {
   override val storageType = StorageType.LOCAL
   override val documentType = type
@@ -325,20 +516,101 @@ class LocalStorageClient(
     id: String,
     document: String,
   ) {
+    if (compression != StorageCompression.NONE) {
+      writeStream(id).useOrAbort { it.write(document.toByteArray(StandardCharsets.UTF_8)) }
+      return
+    }
+
     val path =
       toPath(id).also { it.createParentDirectories() }
     IOs.writeFile(path, document)
   }
 
+  override fun writeStream(id: String): StorageOutputStream {
+    val path = toPath(id).also { it.createParentDirectories() }
+    // The document is written to a temporary file, outside of the documents so that it is never listed, and moved in
+    // place once complete.
+    val temporaryPath = Files.createTempFile(Path.of(config.root).createDirectories(), ".${path.fileName}", ".tmp")
+    val output = temporaryPath.outputStream()
+    return compression.compress(
+      CommitOnCloseOutputStream(
+        target =
+          object : FilterOutputStream(output) {
+            override fun write(
+              b: ByteArray,
+              off: Int,
+              len: Int,
+            ) {
+              out.write(b, off, len)
+            }
+
+            override fun close() {
+              try {
+                out.close()
+                moveInPlace(temporaryPath, path)
+              } finally {
+                temporaryPath.deleteIfExists()
+              }
+            }
+          },
+        onAbort = {
+          try {
+            output.close()
+          } finally {
+            temporaryPath.deleteIfExists()
+          }
+        },
+      ),
+    )
+  }
+
   override fun read(id: String): String? =
     toPath(id)
       .takeIf { it.exists() }
-      ?.let { IOs.readFile(it) }
+      ?.let { decompress(it.readBytes()).toString(StandardCharsets.UTF_8) }
+
+  override fun readStream(id: String): InputStream? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.inputStream()
+      ?.let { decompress(it) }
+
+  override fun size(id: String): Long? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.fileSize()
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): ByteArray? =
+    toPath(id)
+      .takeIf { it.exists() }
+      ?.let { path ->
+        RandomAccessFile(path.toFile(), "r").use { file ->
+          val bytes = ByteArray((offset + length).coerceAtMost(file.length()).minus(offset).coerceAtLeast(0).toInt())
+          file.seek(offset)
+          file.readFully(bytes)
+          bytes
+        }
+      }
 
   override fun delete(id: String): Boolean =
     toPath(id)
       .deleteIfExists()
 
+  private fun moveInPlace(
+    source: Path,
+    target: Path,
+  ) {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE)
+    } catch (e: AtomicMoveNotSupportedException) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING)
+    }
+  }
+
   /** Converts an ID [String] to an absolute [Path]. */
   internal fun toPath(id: String): Path = Path.of(config.root, type.prefix.toString(), id)
 
@@ -358,14 +630,16 @@ class MinioStorageClient(
   config: MinioStorageConfig,
   type: DocumentType,
   s3Client: S3Client = config.s3Client(),
-) : AbstractS3StorageClient(config = config, type = type, s3Client = s3Client) {
+  compression: StorageCompression = StorageCompression.NONE,
+) : AbstractS3StorageClient(config = config, type = type, s3Client = s3Client, compression = compression) {
   override val storageType = StorageType.MINIO
 
   @Inject
   constructor(
     config: MinioStorageConfig,
     @Parameter type: DocumentType,
-  ) : this(config = config, type = type, s3Client = config.s3Client())
+    @Value("\${$STORAGE_COMPRESSION:NONE}") compression: StorageCompression,
+  ) : this(config = config, type = type, s3Client = config.s3Client(), compression = compression)
 }
 
 /**
@@ -380,12 +654,14 @@ class S3StorageClient(
   config: S3StorageConfig,
   type: DocumentType,
   s3Client: S3Client = config.s3Client(),
-) : AbstractS3StorageClient(config = config, type = type, s3Client = s3Client) {
+  compression: StorageCompression = StorageCompression.NONE,
+) : AbstractS3StorageClient(config = config, type = type, s3Client = s3Client, compression = compression) {
   @Inject
   constructor(
     config: S3StorageConfig,
     @Parameter type: DocumentType,
-  ) : this(config = config, type = type, s3Client = config.s3Client())
+    @Value("\${$STORAGE_COMPRESSION:NONE}") compression: StorageCompression,
+  ) : this(config = config, type = type, s3Client = config.s3Client(), compression = compression)
 
   override val storageType = StorageType.S3
 }
@@ -398,11 +674,13 @@ class S3StorageClient(
  * @param config The [StorageConfig] for configuring this [StorageClient]
  * @param type which [DocumentType] this client represents
  * @param s3Client the [S3Client] client, should only be specified for testing purposes
+ * @param compression the [StorageCompression] of the documents written
  */
 abstract class AbstractS3StorageClient internal constructor(
   config: StorageConfig,
   private val type: DocumentType,
   private val s3Client: S3Client,
+  private val compression: StorageCompression = StorageCompression.NONE,
 ) : StorageClient {
   override val documentType: DocumentType = type
   override val bucketName = config.bucketName(type)
@@ -431,6 +709,11 @@ abstract class AbstractS3StorageClient internal constructor(
     id: String,
     document: String,
   ) {
+    if (compression != StorageCompression.NONE) {
+      writeStream(id).useOrAbort { it.write(document.toByteArray(StandardCharsets.UTF_8)) }
+      return
+    }
+
     val request =
       PutObjectRequest
         .builder()
@@ -441,6 +724,16 @@ abstract class AbstractS3StorageClient internal constructor(
     s3Client.putObject(request, RequestBody.fromString(document))
   }
 
+  override fun writeStream(id: String): StorageOutputStream =
+    compression.compress(
+      S3MultipartOutputStream(
+        s3Client = s3Client,
+        bucketName = bucketName,
+        key = key(id),
+        contentEncoding = compression.contentEncoding,
+      ),
+    )
+
   override fun read(id: String): String? =
     try {
       s3Client
@@ -450,11 +743,66 @@ abstract class AbstractS3StorageClient internal constructor(
             .bucket(bucketName)
             .key(key(id))
             .build(),
-        ).asString(StandardCharsets.UTF_8)
+        ).asByteArray()
+        .let { decompress(it).toString(StandardCharsets.UTF_8) }
     } catch (e: NoSuchKeyException) {
       null
     }
 
+  override fun readStream(id: String): InputStream? =
+    try {
+      decompress(
+        s3Client.getObject(
+          GetObjectRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key(id))
+            .build(),
+        ),
+      )
+    } catch (e: NoSuchKeyException) {
+      null
+    }
+
+  override fun size(id: String): Long? =
+    try {
+      s3Client
+        .headObject(
+          HeadObjectRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key(id))
+            .build(),
+        ).contentLength()
+    } catch (e: NoSuchKeyException) {
+      null
+    }
+
+  override fun readRange(
+    id: String,
+    offset: Long,
+    length: Long,
+  ): ByteArray? {
+    if (length <= 0) {
+      return size(id)?.let { ByteArray(0) }
+    }
+
+    return try {
+      s3Client
+        .getObjectAsBytes(
+          GetObjectRequest
+            .builder()
+            .bucket(bucketName)
+            .key(key(id))
+            // The end of a byte range is inclusive, and capped to the size of the object.
+            .range("bytes=$offset-${offset + length - 1}")
+            .build(),
+        ).asByteArray()
+    } catch (e: NoSuchKeyException) {
+      null
+    }
+  }
+
   override fun delete(id: String): Boolean {
     val exists =
       try {
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import java.io.BufferedInputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+private const val GZIP_MAGIC_FIRST_BYTE = 0x1f
+private const val GZIP_MAGIC_SECOND_BYTE = 0x8b
+private const val GZIP_BUFFER_SIZE_BYTES = 64 * 1024
+
+/**
+ * Compression applied to the documents written by a [StorageClient].
+ * <p />
+ * The documents are always decompressed when read, whatever this setting, so that it can be changed without breaking
+ * the reads of the documents already written. Compressed documents are recognized by their content rather than by
+ * their content encoding, as some storages (e.g. GCS) may already decompress them when they are downloaded.
+ *
+ * @param contentEncoding the content encoding set on the compressed documents, if any
+ */
+enum class StorageCompression(
+  val contentEncoding: String?,
+) {
+  NONE(contentEncoding = null),
+  GZIP(contentEncoding = "gzip"),
+  ;
+
+  /**
+   * Wraps [stream] so that what is written to it is compressed. Closing or aborting the returned stream closes or
+   * aborts [stream].
+   */
+  fun compress(stream: StorageOutputStream): StorageOutputStream =
+    when (this) {
+      NONE -> stream
+      GZIP -> GzipStorageOutputStream(stream)
+    }
+}
+
+/**
+ * [StorageOutputStream] compressing what is written to it with gzip to [target].
+ */
+private class GzipStorageOutputStream(
+  private val target: StorageOutputStream,
+) : StorageOutputStream() {
+  private val gzip = DiscardableGzipOutputStream(target)
+
+  override fun write(b: Int) {
+    gzip.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    gzip.write(b, off, len)
+  }
+
+  override fun flush() {
+    gzip.flush()
+  }
+
+  override fun commit() {
+    gzip.close()
+  }
+
+  override fun discard() {
+    try {
+      gzip.discard()
+    } finally {
+      target.abort()
+    }
+  }
+}
+
+/**
+ * [GZIPOutputStream] that can release its deflater without finishing the compressed document nor closing its stream.
+ */
+private class DiscardableGzipOutputStream(
+  stream: OutputStream,
+) : GZIPOutputStream(stream, GZIP_BUFFER_SIZE_BYTES) {
+  fun discard() {
+    def.end()
+  }
+}
+
+/**
+ * Wraps [stream] so that it is decompressed if it holds a compressed document, or returns its content as is otherwise.
+ */
+internal fun decompress(stream: InputStream): InputStream {
+  val buffered = BufferedInputStream(stream, GZIP_BUFFER_SIZE_BYTES)
+  buffered.mark(2)
+  val isGzip = buffered.read() == GZIP_MAGIC_FIRST_BYTE && buffered.read() == GZIP_MAGIC_SECOND_BYTE
+  buffered.reset()
+  return if (isGzip) GZIPInputStream(buffered, GZIP_BUFFER_SIZE_BYTES) else buffered
+}
+
+/**
+ * Decompresses [bytes] if they hold a compressed document, or returns them as is otherwise.
+ */
+internal fun decompress(bytes: ByteArray): ByteArray =
+  if (bytes.size >= 2 && bytes[0] == GZIP_MAGIC_FIRST_BYTE.toByte() && bytes[1] == GZIP_MAGIC_SECOND_BYTE.toByte()) {
+    GZIPInputStream(bytes.inputStream(), GZIP_BUFFER_SIZE_BYTES).use { it.readAllBytes() }
+  } else {
+    bytes
+  }
@@ -53,6 +53,9 @@ const val STORAGE_BUCKET_REPLICATION_DUMP = "${STORAGE_BUCKET}.${REPLICATION_DUM
 /** The setting that contains what storage type the client represents. */
 const val STORAGE_TYPE = "$STORAGE_ROOT.type"
 
+/** The setting that contains the [StorageCompression] of the documents written by the client. */
+const val STORAGE_COMPRESSION = "$STORAGE_ROOT.compression"
+
 /** The mount point used for local storage. */
 const val STORAGE_MOUNT = "/storage"
 
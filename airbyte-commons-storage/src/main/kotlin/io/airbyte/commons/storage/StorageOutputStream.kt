@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import java.io.OutputStream
+
+/**
+ * [OutputStream] writing a document to a [StorageClient].
+ * <p />
+ * The document is only stored, replacing any existing document with the same id, once the stream is closed. A document
+ * that could not be written whole must be aborted instead, which discards what was written so far and leaves any
+ * existing document as it is: [useOrAbort] does both. Once closed or aborted, closing or aborting the stream again has
+ * no effect.
+ */
+abstract class StorageOutputStream : OutputStream() {
+  private var done = false
+
+  /**
+   * Stores the document written to the stream.
+   */
+  final override fun close() {
+    if (!done) {
+      done = true
+      commit()
+    }
+  }
+
+  /**
+   * Discards the document written to the stream, without storing any of it.
+   */
+  fun abort() {
+    if (!done) {
+      done = true
+      discard()
+    }
+  }
+
+  /**
+   * Stores the document written to the stream, called once when the stream is closed.
+   */
+  protected abstract fun commit()
+
+  /**
+   * Discards the document written to the stream, called once when the stream is aborted.
+   */
+  protected abstract fun discard()
+}
+
+/**
+ * Writes a document to this stream with [block], then closes the stream to store the document, or aborts it if [block]
+ * throws.
+ */
+inline fun <T> StorageOutputStream.useOrAbort(block: (OutputStream) -> T): T {
+  val result =
+    try {
+      block(this)
+    } catch (e: Throwable) {
+      runCatching { abort() }.exceptionOrNull()?.let { e.addSuppressed(it) }
+      throw e
+    }
+  close()
+  return result
+}
+
+/**
+ * [StorageOutputStream] writing to a stream that stores the document once it is closed.
+ *
+ * @param target the stream the document is written to
+ * @param onAbort discards what was written to [target], which is never closed when the document is aborted
+ */
+internal class CommitOnCloseOutputStream(
+  private val target: OutputStream,
+  private val onAbort: () -> Unit = {},
+) : StorageOutputStream() {
+  override fun write(b: Int) {
+    target.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    target.write(b, off, len)
+  }
+
+  override fun flush() {
+    target.flush()
+  }
+
+  override fun commit() {
+    target.close()
+  }
+
+  override fun discard() {
+    onAbort()
+  }
+}
@@ -16,6 +16,25 @@ import java.nio.file.Path
 internal class LogClientManagerTest {
   @Test
   fun testGetJobLog() {
+    val logLines = listOf("log line 1", "log line 2", "log line 3", "log line 4", "log line 5")
+    val logClient =
+      mockk<LogClient> {
+        every { tailLogLines(any(), any()) } returns logLines
+      }
+    val logMdcHelper = mockk<LogMdcHelper> {}
+    val logClientManager =
+      LogClientManager(
+        logClient = logClient,
+        logMdcHelper = logMdcHelper,
+        logTailSize = 100,
+      )
+    val lines = logClientManager.getJobLogFile(logPath = Path.of("log-path"))
+    assertEquals(logLines, lines)
+    verify(exactly = 1) { logClient.tailLogLines(logPath = "log-path", numLines = 100) }
+  }
+
+  @Test
+  fun testGetJobLogFromStart() {
     val logLines = listOf("log line 1", "log line 2", "log line 3", "log line 4", "log line 5")
     val logClient =
       mockk<LogClient> {
@@ -27,6 +46,7 @@ internal class LogClientManagerTest {
         logClient = logClient,
         logMdcHelper = logMdcHelper,
         logTailSize = 100,
+        tailFirst = false,
       )
     val lines = logClientManager.getJobLogFile(logPath = Path.of("log-path"))
     assertEquals(logLines, lines)
@@ -75,6 +95,7 @@ internal class LogClientManagerTest {
     val logEvents = LogEvents(events = events)
     val logClient =
       mockk<LogClient> {
+        every { tailLogs(any(), any()) } returns logEvents
         every { getLogs(any(), any()) } returns logEvents
       }
     val logMdcHelper = mockk<LogMdcHelper> {}
@@ -86,6 +107,17 @@ internal class LogClientManagerTest {
       )
     val result = logClientManager.getLogs(logPath = Path.of("log-path"))
     assertEquals(logEvents, result)
+    verify(exactly = 1) { logClient.tailLogs(logPath = "log-path", numLines = logTailSize) }
+
+    val logClientManagerFromStart =
+      LogClientManager(
+        logClient = logClient,
+        logMdcHelper = logMdcHelper,
+        logTailSize = logTailSize,
+        tailFirst = false,
+      )
+    assertEquals(logEvents, logClientManagerFromStart.getLogs(logPath = Path.of("log-path")))
+    verify(exactly = 1) { logClient.getLogs(logPath = "log-path", numLines = logTailSize) }
   }
 
   @Test
@@ -658,6 +658,117 @@ internal class LogClientTest {
     verify(exactly = 1) { storageClient.list(logPath) }
   }
 
+  @Test
+  fun testTailLogsReadsNewestFilesFirst() {
+    val logPath = "log-path"
+    val startingInstant = Instant.now()
+    val files = (1..4).map { "file$it$STRUCTURED_LOG_FILE_EXTENSION" }
+    val logEvents = files.indices.map { buildLogEvents(numLines = 4, startingTimestamp = startingInstant.toEpochMilli() + (it * 300 * 1000)) }
+
+    val storageClient =
+      mockk<StorageClient> {
+        every { list(any()) } returns files
+        files.forEachIndexed { index, file ->
+          every { readStream(file) } answers { objectMapper.writeValueAsString(logEvents[index]).byteInputStream() }
+        }
+        every { storageType } returns StorageType.S3
+      }
+    val storageClientFactory =
+      mockk<StorageClientFactory> {
+        every { create(DocumentType.LOGS) } returns storageClient
+      }
+    val logClient =
+      LogClient(
+        storageClientFactory = storageClientFactory,
+        mapper = objectMapper,
+        logEventLayout = logEventLayout,
+        metricClient = metricClient,
+        fetchParallelism = 1,
+      )
+
+    val result = logClient.tailLogs(logPath = logPath, numLines = 6)
+    assertEquals(logEvents[2].events.takeLast(2) + logEvents[3].events, result.events)
+    verify(exactly = 1) { storageClient.readStream(files[3]) }
+    verify(exactly = 1) { storageClient.readStream(files[2]) }
+    verify(exactly = 0) { storageClient.readStream(files[1]) }
+    verify(exactly = 0) { storageClient.readStream(files[0]) }
+    verify(exactly = 0) { storageClient.read(any()) }
+  }
+
+  @Test
+  fun testTailLogsFetchesFilesInParallel() {
+    val logPath = "log-path"
+    val numLines = 100
+    val startingInstant = Instant.now()
+    val files = (1..8).map { "file$it$STRUCTURED_LOG_FILE_EXTENSION" }
+    val logEvents = files.indices.map { buildLogEvents(numLines = 10, startingTimestamp = startingInstant.toEpochMilli() + (it * 300 * 1000)) }
+
+    val storageClient =
+      mockk<StorageClient> {
+        // GCS client returns the list of files in descending order
+        every { list(any()) } returns files.reversed()
+        files.forEachIndexed { index, file ->
+          every { readStream(file) } answers { objectMapper.writeValueAsString(logEvents[index]).byteInputStream() }
+        }
+        every { storageType } returns StorageType.GCS
+      }
+    val storageClientFactory =
+      mockk<StorageClientFactory> {
+        every { create(DocumentType.LOGS) } returns storageClient
+      }
+    val logClient =
+      LogClient(
+        storageClientFactory = storageClientFactory,
+        mapper = objectMapper,
+        logEventLayout = logEventLayout,
+        metricClient = metricClient,
+        fetchParallelism = 3,
+      )
+
+    val logs = logClient.tailLogLines(logPath = logPath, numLines = numLines)
+    assertEquals(logEvents.flatMap { it.events }.map { logEventLayout.doLayout(it) }, logs)
+    files.forEach { verify(exactly = 1) { storageClient.readStream(it) } }
+  }
+
+  @Test
+  fun testTailUnstructuredLogsReadsRangesFromTheEnd() {
+    val logPath = "log-path"
+    val file = "file1.log"
+    val totalLines = 40000
+    val numLines = 35000
+    val formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+    val lines = (1..totalLines).map { "${Instant.ofEpochMilli(it.toLong() * 1000).atZone(ZoneId.of("UTC")).format(formatter)} log line $it" }
+    val contents = lines.joinToString(separator = "\n").toByteArray()
+
+    val storageClient =
+      mockk<StorageClient> {
+        every { list(any()) } returns listOf(file)
+        every { size(file) } returns contents.size.toLong()
+        every { readRange(file, any(), any()) } answers {
+          val offset = secondArg<Long>().toInt()
+          contents.copyOfRange(offset, offset + thirdArg<Long>().toInt())
+        }
+        every { storageType } returns StorageType.S3
+      }
+    val storageClientFactory =
+      mockk<StorageClientFactory> {
+        every { create(DocumentType.LOGS) } returns storageClient
+      }
+    val logClient =
+      LogClient(
+        storageClientFactory = storageClientFactory,
+        mapper = objectMapper,
+        logEventLayout = logEventLayout,
+        metricClient = metricClient,
+      )
+
+    val logs = logClient.tailLogLines(logPath = logPath, numLines = numLines)
+    assertEquals(lines.takeLast(numLines), logs)
+    // The tail is larger than the first range read, but smaller than the file.
+    verify(exactly = 2) { storageClient.readRange(file, any(), any()) }
+    verify(exactly = 0) { storageClient.read(any()) }
+  }
+
   private fun buildLogEvents(
     numLines: Int,
     startingTimestamp: Long,
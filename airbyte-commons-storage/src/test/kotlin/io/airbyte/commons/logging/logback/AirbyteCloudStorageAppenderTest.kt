@@ -11,16 +11,22 @@ import ch.qos.logback.core.Context
 import ch.qos.logback.core.status.ErrorStatus
 import ch.qos.logback.core.status.Status
 import ch.qos.logback.core.status.StatusManager
+import ch.qos.logback.core.status.WarnStatus
 import io.airbyte.commons.envvar.EnvVar
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.logging.LOG_EVENT_SCHEMA_VERSION
 import io.airbyte.commons.resources.Resources
 import io.airbyte.commons.storage.AzureStorageClient
 import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.GcsStorageClient
+import io.airbyte.commons.storage.InMemoryStorageOutputStream
 import io.airbyte.commons.storage.LocalStorageClient
 import io.airbyte.commons.storage.MinioStorageClient
+import io.airbyte.commons.storage.OverflowPolicy
 import io.airbyte.commons.storage.S3StorageClient
 import io.airbyte.commons.storage.STRUCTURED_LOG_FILE_EXTENSION
 import io.airbyte.commons.storage.StorageClient
+import io.airbyte.commons.storage.StorageCompression
 import io.airbyte.commons.storage.createFileId
 import io.mockk.every
 import io.mockk.mockk
@@ -162,7 +168,11 @@ private class AirbyteCloudStorageAppenderTest {
   @Test
   fun testStorageUpload() {
     val baseStorageId = "/path/to/logs"
-    val storageClient = mockk<StorageClient>()
+    val output = InMemoryStorageOutputStream()
+    val storageClient =
+      mockk<StorageClient> {
+        every { writeStream(any<String>()) } returns output
+      }
     val className = "io.airbyte.TestClass"
     val context = emptyMap<String, String>()
     val methodName = "testMethod"
@@ -209,7 +219,10 @@ private class AirbyteCloudStorageAppenderTest {
 
     Thread.sleep(TimeUnit.SECONDS.toMillis(period * 2))
 
-    verify(exactly = 1) { storageClient.write(any<String>(), any<String>()) }
+    verify(exactly = 1) { storageClient.writeStream(any<String>()) }
+    val document = Jsons.deserialize(output.toString(Charsets.UTF_8))
+    assertEquals(listOf(logMessage), document["events"].map { it["message"].asText() })
+    assertEquals(LOG_EVENT_SCHEMA_VERSION, document["version"].asText())
   }
 
   @Test
@@ -217,7 +230,7 @@ private class AirbyteCloudStorageAppenderTest {
     val baseStorageId = "/path/to/logs"
     val storageClient =
       mockk<StorageClient> {
-        every { write(any<String>(), any<String>()) } throws IOException("test")
+        every { writeStream(any<String>()) } throws IOException("test")
       }
     val className = "io.airbyte.TestClass"
     val context = emptyMap<String, String>()
@@ -265,10 +278,42 @@ private class AirbyteCloudStorageAppenderTest {
 
     Thread.sleep(TimeUnit.SECONDS.toMillis(period * 2))
 
-    verify(exactly = 1) { storageClient.write(any<String>(), any<String>()) }
+    verify(exactly = 1) { storageClient.writeStream(any<String>()) }
     verify(exactly = 1) { statusManager.add(any<ErrorStatus>()) }
   }
 
+  @Test
+  fun testBlockOverflowPolicyIsRejected() {
+    val statusManager =
+      mockk<StatusManager> {
+        every { add(any<Status>()) } returns Unit
+      }
+    val loggingContext =
+      mockk<Context> {
+        every { getStatusManager() } returns statusManager
+      }
+
+    val appender =
+      AirbyteCloudStorageAppender(
+        documentType = DocumentType.LOGS,
+        storageClient = mockk<StorageClient>(),
+        baseStorageId = "/path/to/logs",
+        overflowPolicy = OverflowPolicy.BLOCK,
+      )
+    appender.context = loggingContext
+    appender.start()
+    appender.stop()
+
+    verify(exactly = 1) { statusManager.add(any<WarnStatus>()) }
+  }
+
+  @Test
+  fun testBuildCompression() {
+    assertEquals(StorageCompression.NONE, buildCompression(storageConfig = emptyMap()))
+    assertEquals(StorageCompression.NONE, buildCompression(storageConfig = mapOf(EnvVar.STORAGE_COMPRESSION to "")))
+    assertEquals(StorageCompression.GZIP, buildCompression(storageConfig = mapOf(EnvVar.STORAGE_COMPRESSION to "gzip")))
+  }
+
   @Test
   fun testIdScrubbing() {
     val baseStorageId = "/path/to/logs/"
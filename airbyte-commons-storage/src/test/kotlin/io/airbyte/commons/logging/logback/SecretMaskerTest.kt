@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.logging.logback
+
+import io.airbyte.commons.constants.AirbyteSecretConstants.SECRETS_MASK
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import java.util.regex.Matcher
+
+private val PROPERTIES = listOf("foo", "bar", "api_key", "X-Postmark-Token", "pass", "password")
+
+/**
+ * The regular expressions the [SecretMasker] replaces, which it must stay equivalent to.
+ */
+private val PROPERTY_PATTERN =
+  "(?i)\"(${PROPERTIES.joinToString("|")})\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|\\[[^]\\[]*]|\\d+)".toPattern()
+private val API_KEY_PATTERN = "apikey=[\\w\\-]*".toPattern()
+
+internal class SecretMaskerTest {
+  private val secretMasker = SecretMasker(properties = PROPERTIES)
+
+  @ParameterizedTest
+  @ValueSource(
+    strings = [
+      "{\"foo\":\"test\",\"other\":{\"prop\":\"value\",\"bar\":\"1234\"}}",
+      "{\"FOO\" : \"test\", \"Bar\"\t:\n1234.5, \"pass\": [\"a\", \"b\"], \"password\": [[\"nested\"]]}",
+      "{\"foo\":\"\\\"quoted\\\" and \\\\ escaped\",\"foobar\":\"kept\",\"fo\":\"kept\",\"api_key\":\"unterminated",
+      "{\"x-postmark-token\":\"secret\",\"prop\":\"\",\"pass\":\"\",\"pass\":true,\"bar\":null}",
+      "{\"prop\":\"bar\",\"bar\":\"value\"}\"foo\":1",
+      "GET https://localhost/api?limit=100&hapikey=secret-key_1&apikey=&other=apikey=x",
+      "{\"foo\":\"line\\\nbreak\",\"bar\":\"é\"}",
+      "no quotes or equal signs here",
+    ],
+  )
+  fun `masks as the regular expressions did`(message: String) {
+    val expected =
+      API_KEY_PATTERN
+        .matcher(PROPERTY_PATTERN.matcher(message).replaceAll("\"$1\":\"${Matcher.quoteReplacement(SECRETS_MASK)}\""))
+        .replaceAll(Matcher.quoteReplacement("apikey=$SECRETS_MASK"))
+
+    assertEquals(expected, secretMasker.mask(message = message))
+  }
+
+  @Test
+  fun `masks the values of the maskable properties`() {
+    assertEquals(
+      "{\"Foo\":\"$SECRETS_MASK\",\"prop\":\"value\",\"password\":\"$SECRETS_MASK\"} apikey=$SECRETS_MASK",
+      secretMasker.mask(message = "{\"Foo\" : \"test\",\"prop\":\"value\",\"password\":[1,2]} apikey=abc-123"),
+    )
+  }
+
+  @Test
+  fun `messages without anything to mask are returned as is`() {
+    val message = "{\"prop\":\"value\",\"foobar\":\"value\"} key=value"
+
+    assertSame(message, secretMasker.mask(message = message))
+  }
+
+  @Test
+  fun `only api keys are masked without maskable properties`() {
+    val message = "{\"foo\":\"test\"} apikey=abc"
+
+    assertEquals("{\"foo\":\"test\"} apikey=$SECRETS_MASK", SecretMasker(properties = emptyList()).mask(message = message))
+  }
+}
@@ -9,8 +9,13 @@ import io.mockk.mockk
 import io.mockk.unmockkAll
 import io.mockk.verify
 import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import java.io.IOException
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
 
 class AirbyteCloudStorageBulkUploaderTest {
@@ -27,12 +32,13 @@ class AirbyteCloudStorageBulkUploaderTest {
   }
 
   @Test
-  fun `upload converts the buffer to json and calls write from the storage client`() {
+  fun `upload converts the buffer to json and streams it to the storage client`() {
     val baseStorageId = "/objects"
     val period = 1L
     val unit = TimeUnit.SECONDS
+    val output = InMemoryStorageOutputStream()
 
-    every { storageClient.write(any(), any()) } returns Unit
+    every { storageClient.writeStream(any()) } returns output
 
     val uploader =
       AirbyteCloudStorageBulkUploader<String>(
@@ -47,6 +53,93 @@ class AirbyteCloudStorageBulkUploaderTest {
     Thread.sleep(TimeUnit.SECONDS.toMillis(period * 2))
     uploader.stop()
 
-    verify(exactly = 1) { storageClient.write(any(), eq("[\"message-1\"]")) }
+    verify(exactly = 1) { storageClient.writeStream(any()) }
+    assertEquals("[\"message-1\"]", output.toString(Charsets.UTF_8))
+  }
+
+  @Test
+  fun `upload is triggered once enough messages are buffered`() {
+    val uploaded = CountDownLatch(1)
+    val output =
+      object : InMemoryStorageOutputStream() {
+        override fun commit() {
+          super.commit()
+          uploaded.countDown()
+        }
+      }
+
+    every { storageClient.writeStream(any()) } returns output
+
+    val uploader =
+      AirbyteCloudStorageBulkUploader<String>(
+        baseStorageId = "/objects",
+        storageClient = storageClient,
+        period = 1L,
+        unit = TimeUnit.HOURS,
+        flushBufferBytes = 20L,
+      )
+
+    uploader.start()
+    uploader.append("message-1")
+    uploader.append("message-2")
+    uploader.append("message-3")
+
+    assertTrue(uploaded.await(10, TimeUnit.SECONDS))
+    uploader.stop()
+
+    assertEquals("[\"message-1\",\"message-2\",\"message-3\"]", output.toString(Charsets.UTF_8))
+  }
+
+  @Test
+  fun `the oldest messages are dropped once the buffer is full`() {
+    val output = InMemoryStorageOutputStream()
+
+    every { storageClient.writeStream(any()) } returns output
+
+    val uploader =
+      AirbyteCloudStorageBulkUploader<String>(
+        baseStorageId = "/objects",
+        storageClient = storageClient,
+        period = 1L,
+        unit = TimeUnit.HOURS,
+        maxBufferBytes = 20L,
+        flushBufferBytes = Long.MAX_VALUE,
+      )
+
+    uploader.append("message-1")
+    uploader.append("message-2")
+    uploader.append("message-3")
+    uploader.upload()
+
+    assertEquals("[\"message-2\",\"message-3\"]", output.toString(Charsets.UTF_8))
+  }
+
+  @Test
+  fun `failed uploads abort the document`() {
+    val output =
+      object : InMemoryStorageOutputStream() {
+        override fun write(
+          b: ByteArray,
+          off: Int,
+          len: Int,
+        ): Unit = throw IOException("test")
+      }
+
+    every { storageClient.writeStream(any()) } returns output
+
+    val uploader =
+      AirbyteCloudStorageBulkUploader<String>(
+        baseStorageId = "/objects",
+        storageClient = storageClient,
+      )
+    val storageId = uploader.currentStorageId
+
+    uploader.append("message-1")
+    uploader.upload()
+
+    assertTrue(output.aborted)
+    assertFalse(output.committed)
+    assertEquals(storageId, uploader.currentStorageId)
+    assertEquals(0L, uploader.buffer.bytes)
   }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+
+internal class BoundedEventBufferTest {
+  private var dropped = 0
+  private var bytes = 0L
+
+  private fun buffer(
+    overflowPolicy: OverflowPolicy,
+    onFull: () -> Unit = {},
+  ): BoundedEventBuffer<String> =
+    BoundedEventBuffer(
+      maxBytes = 10,
+      overflowPolicy = overflowPolicy,
+      sizeOf = { it.length.toLong() },
+      sampleRate = 2,
+      blockTimeout = Duration.ofMillis(100),
+      onFull = onFull,
+      onDropped = { dropped += it },
+      onBytesChanged = { bytes += it },
+    )
+
+  @Test
+  fun `events are drained in order`() {
+    val buffer = buffer(OverflowPolicy.DROP_OLDEST)
+
+    assertTrue(buffer.add("abc"))
+    assertTrue(buffer.add("def"))
+    assertEquals(6L, buffer.bytes)
+
+    val events = mutableListOf<String>()
+    assertEquals(2, buffer.drainTo(events))
+
+    assertEquals(listOf("abc", "def"), events)
+    assertEquals(0L, buffer.bytes)
+    assertEquals(0L, bytes)
+  }
+
+  @Test
+  fun `events larger than the buffer are accepted when it is empty`() {
+    val buffer = buffer(OverflowPolicy.BLOCK)
+
+    assertTrue(buffer.add("abcdefghijkl"))
+    assertEquals(12L, buffer.bytes)
+  }
+
+  @Test
+  fun `the oldest events are dropped to make room`() {
+    val buffer = buffer(OverflowPolicy.DROP_OLDEST)
+
+    listOf("abcd", "efgh", "ijkl").forEach { assertTrue(buffer.add(it)) }
+
+    val events = mutableListOf<String>()
+    buffer.drainTo(events)
+    assertEquals(listOf("efgh", "ijkl"), events)
+    assertEquals(1, dropped)
+  }
+
+  @Test
+  fun `only a sample of the events is kept once full`() {
+    val buffer = buffer(OverflowPolicy.SAMPLE)
+
+    val added = listOf("abcd", "efgh", "ijkl", "mnop", "qrst").map { buffer.add(it) }
+
+    assertEquals(listOf(true, true, true, false, true), added)
+    val events = mutableListOf<String>()
+    buffer.drainTo(events)
+    assertEquals(listOf("ijkl", "qrst"), events)
+    assertEquals(3, dropped)
+    assertEquals(0L, bytes)
+  }
+
+  @Test
+  fun `events are dropped once the block timeout is over`() {
+    var full = 0
+    val buffer = buffer(OverflowPolicy.BLOCK) { full++ }
+
+    assertTrue(buffer.add("abcdef"))
+    assertFalse(buffer.add("ghijkl"))
+
+    assertEquals(1, full)
+    assertEquals(1, dropped)
+    assertEquals(6L, buffer.bytes)
+  }
+
+  @Test
+  fun `blocked events are added once the buffer is drained`() {
+    val drained = CountDownLatch(1)
+    val buffer =
+      BoundedEventBuffer<String>(
+        maxBytes = 10,
+        overflowPolicy = OverflowPolicy.BLOCK,
+        sizeOf = { it.length.toLong() },
+        blockTimeout = Duration.ofSeconds(10),
+        onFull = { drained.countDown() },
+      )
+    buffer.add("abcdef")
+
+    val drainer = thread { if (drained.await(10, TimeUnit.SECONDS)) buffer.drainTo(mutableListOf()) }
+
+    assertTrue(buffer.add("ghijkl"))
+    drainer.join()
+    assertEquals(6L, buffer.bytes)
+  }
+}
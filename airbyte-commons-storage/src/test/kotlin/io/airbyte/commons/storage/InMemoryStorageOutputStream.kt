@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import java.io.ByteArrayOutputStream
+import java.nio.charset.Charset
+
+/**
+ * [StorageOutputStream] keeping the document written to it in memory, for tests.
+ */
+internal open class InMemoryStorageOutputStream : StorageOutputStream() {
+  private val bytes = ByteArrayOutputStream()
+
+  var committed = false
+    private set
+
+  var aborted = false
+    private set
+
+  override fun write(b: Int) {
+    bytes.write(b)
+  }
+
+  override fun write(
+    b: ByteArray,
+    off: Int,
+    len: Int,
+  ) {
+    bytes.write(b, off, len)
+  }
+
+  override fun commit() {
+    committed = true
+  }
+
+  override fun discard() {
+    aborted = true
+  }
+
+  fun toString(charset: Charset): String = bytes.toString(charset)
+}
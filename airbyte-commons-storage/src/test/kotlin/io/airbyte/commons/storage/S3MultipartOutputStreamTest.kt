@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.storage
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.PutObjectRequest
+import software.amazon.awssdk.services.s3.model.S3Exception
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import software.amazon.awssdk.services.s3.model.UploadPartResponse
+
+private const val BUCKET = "bucket"
+private const val KEY = "key"
+private const val UPLOAD_ID = "upload-id"
+
+internal class S3MultipartOutputStreamTest {
+  private val parts = mutableListOf<String>()
+  private val s3Client: S3Client =
+    mockk {
+      every { putObject(any<PutObjectRequest>(), any<RequestBody>()) } returns mockk()
+      every { createMultipartUpload(any<CreateMultipartUploadRequest>()) } returns
+        CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build()
+      every { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } answers {
+        parts.add(secondArg<RequestBody>().contentStreamProvider().newStream().readAllBytes().toString(Charsets.UTF_8))
+        UploadPartResponse.builder().eTag("etag-${parts.size}").build()
+      }
+      every { completeMultipartUpload(any<CompleteMultipartUploadRequest>()) } returns mockk()
+      every { abortMultipartUpload(any<AbortMultipartUploadRequest>()) } returns mockk()
+    }
+
+  @Test
+  fun `documents smaller than a part are put at once`() {
+    val request = slot<PutObjectRequest>()
+    every { s3Client.putObject(capture(request), any<RequestBody>()) } returns mockk()
+
+    S3MultipartOutputStream(s3Client, BUCKET, KEY, "gzip", partSize = 10).use { it.write("hello".toByteArray()) }
+
+    assertEquals(KEY, request.captured.key())
+    assertEquals("gzip", request.captured.contentEncoding())
+    verify(exactly = 0) { s3Client.createMultipartUpload(any<CreateMultipartUploadRequest>()) }
+  }
+
+  @Test
+  fun `larger documents are uploaded by parts`() {
+    val request = slot<CompleteMultipartUploadRequest>()
+    every { s3Client.completeMultipartUpload(capture(request)) } returns mockk()
+
+    S3MultipartOutputStream(s3Client, BUCKET, KEY, null, partSize = 4).use {
+      it.write("hello ".toByteArray())
+      it.write('w'.code)
+      it.write("orld".toByteArray())
+    }
+
+    assertEquals(listOf("hell", "o wo", "rld"), parts)
+    assertEquals(UPLOAD_ID, request.captured.uploadId())
+    assertEquals(listOf(1, 2, 3), request.captured.multipartUpload().parts().map { it.partNumber() })
+    assertEquals(listOf("etag-1", "etag-2", "etag-3"), request.captured.multipartUpload().parts().map { it.eTag() })
+    verify(exactly = 0) { s3Client.putObject(any<PutObjectRequest>(), any<RequestBody>()) }
+  }
+
+  @Test
+  fun `failed uploads are aborted`() {
+    every { s3Client.uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } throws S3Exception.builder().build()
+
+    val stream = S3MultipartOutputStream(s3Client, BUCKET, KEY, null, partSize = 4)
+    assertThrows<S3Exception> { stream.write("hello".toByteArray()) }
+    stream.close()
+
+    verify(exactly = 1) { s3Client.abortMultipartUpload(any<AbortMultipartUploadRequest>()) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+  }
+
+  @Test
+  fun `aborted uploads are not completed`() {
+    val stream = S3MultipartOutputStream(s3Client, BUCKET, KEY, null, partSize = 4)
+    stream.write("hello".toByteArray())
+    stream.abort()
+    stream.close()
+
+    assertEquals(listOf("hell"), parts)
+    verify(exactly = 1) { s3Client.abortMultipartUpload(any<AbortMultipartUploadRequest>()) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+    verify(exactly = 0) { s3Client.putObject(any<PutObjectRequest>(), any<RequestBody>()) }
+  }
+
+  @Test
+  fun `compressed uploads are aborted when the document fails to be written`() {
+    assertThrows<IllegalStateException> {
+      StorageCompression.GZIP.compress(S3MultipartOutputStream(s3Client, BUCKET, KEY, "gzip", partSize = 4)).useOrAbort {
+        it.write(ByteArray(1024) { index -> index.toByte() })
+        it.flush()
+        throw IllegalStateException("test")
+      }
+    }
+
+    verify(exactly = 1) { s3Client.abortMultipartUpload(any<AbortMultipartUploadRequest>()) }
+    verify(exactly = 0) { s3Client.completeMultipartUpload(any<CompleteMultipartUploadRequest>()) }
+  }
+}
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Assertions.assertNotNull
 import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.api.io.TempDir
 import software.amazon.awssdk.core.ResponseBytes
 import software.amazon.awssdk.core.sync.RequestBody
@@ -45,6 +46,7 @@ import software.amazon.awssdk.services.s3.model.S3Object
 import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable
 import java.io.InputStream
 import java.nio.charset.StandardCharsets
+import java.nio.file.Files
 import java.nio.file.Files.createDirectory
 import java.nio.file.Path
 import kotlin.io.path.createTempDirectory
@@ -136,8 +138,8 @@ internal class AzureStorageClientTest {
           mockk {
             every { exists() } returns true
             every { downloadContent() } returns
-              mockk<BinaryData> BinaryData@{
-                every { this@BinaryData.toString() } returns DOC1
+              mockk<BinaryData> {
+                every { toBytes() } returns DOC1.toByteArray()
               }
           }
       }
@@ -200,6 +202,26 @@ internal class AzureStorageClientTest {
     assertTrue(client.delete(KEY))
   }
 
+  @Test
+  fun `aborted writes leave the existing document`(
+    @TempDir tempDir: Path,
+  ) {
+    val config = LocalStorageConfig(buckets = buckets, root = tempDir.toString())
+    val client = LocalStorageClient(config = config, type = DocumentType.STATE, compression = StorageCompression.GZIP)
+
+    client.write(KEY, DOC1)
+    assertThrows<IllegalStateException> {
+      client.writeStream(KEY).useOrAbort {
+        it.write(DOC2.toByteArray())
+        throw IllegalStateException("test")
+      }
+    }
+
+    assertEquals(DOC1, client.read(KEY))
+    // nothing is left behind by the aborted write
+    assertEquals(listOf(client.toPath(KEY)), Files.walk(tempDir).use { paths -> paths.filter { Files.isRegularFile(it) }.toList() })
+  }
+
   @Test
   fun `list docs`() {
     val files = listOf("file1", "file2", "file3")
@@ -387,6 +409,51 @@ internal class LocalStorageClientTest {
     }
   }
 
+  @Test
+  fun `streamed and ranged reads`(
+    @TempDir tempDir: Path,
+  ) {
+    val config = LocalStorageConfig(buckets = buckets, root = tempDir.toString())
+    val client = LocalStorageClient(config = config, type = DocumentType.STATE)
+
+    assertNull(client.readStream(KEY))
+    assertNull(client.size(KEY))
+    assertNull(client.readRange(KEY, 0, 1))
+
+    client.write(KEY, DOC1)
+    assertEquals(DOC1, client.readStream(KEY)?.use { it.readAllBytes().toString(StandardCharsets.UTF_8) })
+    assertEquals(DOC1.length.toLong(), client.size(KEY))
+    assertEquals("ell", client.readRange(KEY, 1, 3)?.toString(StandardCharsets.UTF_8))
+    // the range is capped to the end of the document
+    assertEquals("lo", client.readRange(KEY, 3, 10)?.toString(StandardCharsets.UTF_8))
+  }
+
+  @Test
+  fun `compressed writes and reads`(
+    @TempDir tempDir: Path,
+  ) {
+    val config = LocalStorageConfig(buckets = buckets, root = tempDir.toString())
+    val client = LocalStorageClient(config = config, type = DocumentType.STATE, compression = StorageCompression.GZIP)
+    val uncompressedClient = LocalStorageClient(config = config, type = DocumentType.STATE)
+
+    client.write(KEY, DOC1)
+    val stored = client.toPath(KEY).toFile().readBytes()
+    assertEquals(0x1f.toByte(), stored[0])
+    assertEquals(0x8b.toByte(), stored[1])
+    assertEquals(stored.size.toLong(), client.size(KEY))
+    assertEquals(DOC1, client.read(KEY))
+    // documents are decompressed when read whatever the compression of the client
+    assertEquals(DOC1, uncompressedClient.read(KEY))
+
+    val document = (1..10000).joinToString(separator = "\n") { "line $it" }
+    client.writeStream(KEY).use { output -> document.byteInputStream().copyTo(output) }
+    assertEquals(document, uncompressedClient.readStream(KEY)?.use { it.readAllBytes().toString(StandardCharsets.UTF_8) })
+
+    uncompressedClient.writeStream(KEY).use { it.write(DOC2.toByteArray()) }
+    assertEquals(DOC2, client.read(KEY))
+    assertEquals(DOC2, client.readStream(KEY)?.use { it.readAllBytes().toString(StandardCharsets.UTF_8) })
+  }
+
   @Test
   fun `list docs`() {
     val root = createTempDirectory(prefix = "local-test")
@@ -545,7 +612,7 @@ internal class MinioStorageClientTest {
 
     every { s3Client.getObjectAsBytes(request) } returns
       mockk<ResponseBytes<GetObjectResponse>> {
-        every { asString(StandardCharsets.UTF_8) } returns DOC1
+        every { asByteArray() } returns DOC1.toByteArray()
       }
 
     with(client.read(KEY)) {
@@ -698,7 +765,7 @@ internal class S3StorageClientTest {
 
     every { s3Client.getObjectAsBytes(request) } returns
       mockk<ResponseBytes<GetObjectResponse>> {
-        every { asString(StandardCharsets.UTF_8) } returns DOC1
+        every { asByteArray() } returns DOC1.toByteArray()
       }
 
     with(client.read(KEY)) {
@@ -707,6 +774,35 @@ internal class S3StorageClientTest {
     }
   }
 
+  @Test
+  fun `read range of doc`() {
+    val s3Client: S3Client =
+      mockk {
+        every { createBucket(any<CreateBucketRequest>()) } returns mockk<CreateBucketResponse>()
+        every { headBucket(any<HeadBucketRequest>()) } throws NoSuchBucketException.builder().build()
+      }
+    val client = S3StorageClient(config = config, type = DocumentType.STATE, s3Client = s3Client)
+
+    val request =
+      GetObjectRequest
+        .builder()
+        .bucket(buckets.state)
+        .key(client.key(KEY))
+        .range("bytes=1-3")
+        .build()
+
+    every { s3Client.getObjectAsBytes(request) } returns
+      mockk<ResponseBytes<GetObjectResponse>> {
+        every { asByteArray() } returns "ell".toByteArray()
+      }
+
+    assertEquals("ell", client.readRange(KEY, 1, 3)?.toString(StandardCharsets.UTF_8))
+
+    // verify no doc is returned
+    every { s3Client.getObjectAsBytes(request) } throws NoSuchKeyException.builder().build()
+    assertNull(client.readRange(KEY, 1, 3), "key $KEY should be null")
+  }
+
   @Test
   fun `write doc`() {
     val s3Client: S3Client =
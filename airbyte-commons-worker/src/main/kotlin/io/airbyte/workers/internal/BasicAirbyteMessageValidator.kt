@@ -6,9 +6,11 @@ package io.airbyte.workers.internal
 
 import com.google.common.collect.Iterables
 import io.airbyte.commons.protocol.CatalogDiffHelpers.isDedup
+import io.airbyte.commons.protocol.serde.LazyAirbyteRecordMessage
 import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.config.SyncMode
 import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.workers.helper.AirbyteMessageExtractor.containsNonNullPK
 import io.airbyte.workers.helper.AirbyteMessageExtractor.getCatalogStreamFromMessage
 import io.airbyte.workers.helper.AirbyteMessageExtractor.getPks
@@ -62,7 +64,7 @@ object BasicAirbyteMessageValidator {
         }
         // required fields
         val record = message.record
-        if (record.stream == null || record.data == null || record.data.isNull || record.data.isEmpty) {
+        if (record.stream == null || hasNoData(record)) {
           return Optional.empty()
         }
         if (catalog.isPresent) {
@@ -181,4 +183,14 @@ object BasicAirbyteMessageValidator {
 
     return Optional.of(message)
   }
+
+  /**
+   * Lazy records know whether their data is empty without materializing it.
+   */
+  private fun hasNoData(record: AirbyteRecordMessage): Boolean =
+    if (record is LazyAirbyteRecordMessage) {
+      record.hasEmptyData()
+    } else {
+      record.data == null || record.data.isNull || record.data.isEmpty
+    }
 }
@@ -72,8 +72,13 @@ class NamespacingMapper(
     when (message.type) {
       Type.RECORD ->
         with(message.record) {
+          val sourceNamespace = this.namespace
+          val sourceStreamName = this.stream
           this.withNamespace(transformNamespace(message.record.namespace))
           this.stream = transformStreamName(message.record.stream, streamPrefix)
+          if (message is RawLineAirbyteMessage && (this.namespace != sourceNamespace || this.stream != sourceStreamName)) {
+            message.discardRawLine()
+          }
         }
       Type.STATE ->
         with(message.state) {
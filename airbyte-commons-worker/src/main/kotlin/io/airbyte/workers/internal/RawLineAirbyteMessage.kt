@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal
+
+import com.fasterxml.jackson.annotation.JsonIgnore
+import io.airbyte.protocol.models.v0.AirbyteMessage
+
+/**
+ * RECORD [AirbyteMessage] that remembers the line it was read from.
+ * <p />
+ * When a record goes through the platform untouched, the raw line can be written as is to the destination instead of
+ * serializing the message again. Whoever modifies the message in a way that must be visible to the destination (mappers,
+ * field selection, namespace rewrite...) is responsible for calling [discardRawLine], after which the message behaves
+ * like a regular [AirbyteMessage].
+ */
+class RawLineAirbyteMessage(
+  rawLine: String,
+  message: AirbyteMessage,
+) : AirbyteMessage() {
+  @get:JsonIgnore
+  var rawLine: String? = rawLine
+    private set
+
+  init {
+    type = message.type
+    record = message.record
+    message.additionalProperties.forEach { (name, value) -> setAdditionalProperty(name, value) }
+  }
+
+  fun discardRawLine() {
+    rawLine = null
+  }
+}
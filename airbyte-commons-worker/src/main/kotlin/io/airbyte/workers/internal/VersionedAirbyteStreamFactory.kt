@@ -74,6 +74,13 @@ private const val BUFFER_READ_AHEAD_LIMIT: Int = 2 * 1024 * 1024 // 2 megabytes
  *
  * Handles parsing and validation from a specific version of the Airbyte Protocol as well as
  * upgrading messages to the current version.
+ *
+ * When [retainRawRecordLines] is set and the messages do not need to be upgraded, RECORD messages are
+ * emitted as [RawLineAirbyteMessage] so that they can be passed through to the destination without
+ * being serialized again.
+ *
+ * When [useStreamingDeserializer] is set, lines are read with the streaming deserializer of the protocol
+ * version, if there is one, instead of the default one.
  */
 class VersionedAirbyteStreamFactory<T>(
   private val serDeProvider: AirbyteMessageSerDeProvider =
@@ -87,6 +94,8 @@ class VersionedAirbyteStreamFactory<T>(
   private val gsonPksExtractor: GsonPksExtractor,
   private val metricClient: MetricClient,
   private val logger: KLogger = KotlinLogging.logger { },
+  private val retainRawRecordLines: Boolean = false,
+  private val useStreamingDeserializer: Boolean = false,
 ) : AirbyteStreamFactory {
   @JvmRecord
   data class InvalidLineFailureConfiguration(
@@ -96,6 +105,7 @@ class VersionedAirbyteStreamFactory<T>(
   private lateinit var deserializer: AirbyteMessageDeserializer<AirbyteMessage>
   private var shouldDetectVersion = false
   private lateinit var migrator: AirbyteMessageVersionedMigrator<AirbyteMessage>
+  private var shouldRetainRawLines = false
 
   init {
     initializeForProtocolVersion(protocolVersion)
@@ -208,9 +218,12 @@ class VersionedAirbyteStreamFactory<T>(
 
   @Suppress("UNCHECKED_CAST")
   internal fun initializeForProtocolVersion(protocolVersion: Version) {
-    this.deserializer = serDeProvider.getDeserializer(protocolVersion) as AirbyteMessageDeserializer<AirbyteMessage>
+    this.deserializer = serDeProvider.getDeserializer(protocolVersion, useStreamingDeserializer) as AirbyteMessageDeserializer<AirbyteMessage>
     this.migrator = migratorFactory.getAirbyteMessageMigrator(protocolVersion)
     this.protocolVersion = protocolVersion
+    // Upgraded messages no longer match the line they were read from.
+    this.shouldRetainRawLines =
+      retainRawRecordLines && protocolVersion.getMajorVersion() == migratorFactory.mostRecentVersion.getMajorVersion()
   }
 
   private suspend fun filterLog(message: AirbyteMessage): Boolean {
@@ -259,7 +272,8 @@ class VersionedAirbyteStreamFactory<T>(
    * 2. validate the message.
    *
    *
-   * 3. upgrade the message to the platform version, if needed.
+   * 3. upgrade the message to the platform version, if needed, or keep the raw line of records that do
+   * not need to be upgraded when [retainRawRecordLines] is set.
    */
   internal fun toAirbyteMessage(
     line: String,
@@ -276,6 +290,11 @@ class VersionedAirbyteStreamFactory<T>(
         return m.stream()
       }
 
+      // Lines with trailing content after the message are re-serialized so that only the message reaches the destination.
+      if (shouldRetainRawLines && m.get().type == AirbyteMessage.Type.RECORD && line.trimEnd().endsWith('}')) {
+        return Stream.of(RawLineAirbyteMessage(line, m.get()))
+      }
+
       return upgradeMessage(m.get())
     }
 
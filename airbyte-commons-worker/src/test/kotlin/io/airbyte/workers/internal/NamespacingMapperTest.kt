@@ -17,6 +17,8 @@ import io.airbyte.protocol.models.v0.Field
 import io.airbyte.protocol.models.v0.StreamDescriptor
 import io.airbyte.workers.testutils.AirbyteMessageUtils
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 
@@ -385,6 +387,28 @@ internal class NamespacingMapperTest {
     assertEquals(expectedMessage, actualMessage)
   }
 
+  @Test
+  fun testRawLineIsDiscardedWhenRecordIsRenamed() {
+    val mapper =
+      NamespacingMapper(JobSyncConfig.NamespaceDefinitionType.SOURCE, null, OUTPUT_PREFIX, destinationToSourceNamespaceAndStreamName)
+    val rawLineMessage = RawLineAirbyteMessage(Jsons.serialize(recordMessage), recordMessage)
+
+    mapper.mapMessage(rawLineMessage)
+
+    assertNull(rawLineMessage.rawLine)
+  }
+
+  @Test
+  fun testRawLineIsKeptWhenRecordIsUnchanged() {
+    val mapper =
+      NamespacingMapper(JobSyncConfig.NamespaceDefinitionType.SOURCE, null, null, destinationToSourceNamespaceAndStreamName)
+    val rawLineMessage = RawLineAirbyteMessage(Jsons.serialize(recordMessage), recordMessage)
+
+    mapper.mapMessage(rawLineMessage)
+
+    assertNotNull(rawLineMessage.rawLine)
+  }
+
   @Test
   fun testRevertMapStateMessage() {
     val mapper =
@@ -11,6 +11,8 @@ import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory
 import io.airbyte.commons.protocol.ConfiguredAirbyteCatalogMigrator
 import io.airbyte.commons.protocol.serde.AirbyteMessageV0Deserializer
 import io.airbyte.commons.protocol.serde.AirbyteMessageV0Serializer
+import io.airbyte.commons.protocol.serde.AirbyteMessageV0StreamingDeserializer
+import io.airbyte.commons.protocol.serde.LazyAirbyteRecordMessage
 import io.airbyte.commons.version.AirbyteProtocolVersion
 import io.airbyte.commons.version.Version
 import io.airbyte.protocol.models.v0.AirbyteLogMessage
@@ -27,6 +29,7 @@ import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -238,6 +241,72 @@ internal class VersionedAirbyteStreamFactoryTest {
     )
   }
 
+  @Test
+  fun testToAirbyteMessageRetainsRawRecordLine() {
+    val streamFactory = rawLineRetainingStreamFactory()
+    val messageLine = String.format(VALID_MESSAGE_TEMPLATE, "hello").trim()
+
+    val messages = streamFactory.toAirbyteMessage(messageLine, MessageOrigin.SOURCE).toList()
+
+    assertEquals(1, messages.size)
+    val message = messages[0]
+    assertTrue(message is RawLineAirbyteMessage)
+    assertEquals(messageLine, (message as RawLineAirbyteMessage).rawLine)
+    assertEquals(Jsons.deserialize(messageLine, AirbyteMessage::class.java), message)
+  }
+
+  @Test
+  fun testToAirbyteMessageDoesNotRetainRawLineWithTrailingContent() {
+    val streamFactory = rawLineRetainingStreamFactory()
+    val messageLine = "${String.format(VALID_MESSAGE_TEMPLATE, "hello").trim()} trailing"
+
+    val messages = streamFactory.toAirbyteMessage(messageLine, MessageOrigin.SOURCE).toList()
+
+    assertEquals(1, messages.size)
+    assertFalse(messages[0] is RawLineAirbyteMessage)
+  }
+
+  @Test
+  fun testToAirbyteMessageDoesNotRetainRawLineOfNonRecord() {
+    val streamFactory = rawLineRetainingStreamFactory()
+    val messageLine = Jsons.serialize(AirbyteMessageUtils.createStateMessage(STREAM_NAME, FIELD_NAME, "green"))
+
+    val messages = streamFactory.toAirbyteMessage(messageLine, MessageOrigin.SOURCE).toList()
+
+    assertEquals(1, messages.size)
+    assertFalse(messages[0] is RawLineAirbyteMessage)
+  }
+
+  @Test
+  fun testToAirbyteMessageWithStreamingDeserializer() {
+    val streamingSerDeProvider =
+      AirbyteMessageSerDeProvider(
+        listOf(AirbyteMessageV0Deserializer(), AirbyteMessageV0StreamingDeserializer()),
+        listOf(AirbyteMessageV0Serializer()),
+      )
+    streamingSerDeProvider.initialize()
+    val streamFactory =
+      VersionedAirbyteStreamFactory<Any>(
+        serDeProvider = streamingSerDeProvider,
+        migratorFactory = migratorFactory,
+        gsonPksExtractor = gsonPksExtractor,
+        invalidLineFailureConfiguration = InvalidLineFailureConfiguration(false),
+        logger = mockLogger,
+        metricClient = mockk(relaxed = true),
+        protocolVersion = AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+        useStreamingDeserializer = true,
+      )
+    val messageLine = String.format(VALID_MESSAGE_TEMPLATE, "hello").trim()
+
+    val messages = streamFactory.toAirbyteMessage(messageLine, MessageOrigin.SOURCE).toList()
+
+    assertEquals(1, messages.size)
+    val record = messages[0]!!.record
+    assertTrue(record is LazyAirbyteRecordMessage)
+    assertFalse((record as LazyAirbyteRecordMessage).dataMaterialized())
+    assertEquals("hello", record.data.get("value").asText())
+  }
+
   @Test
   fun testToAirbyteMessageRandomLog() {
     val randomLog = "I should not be sent on the same channel than the airbyte messages"
@@ -388,6 +457,18 @@ internal class VersionedAirbyteStreamFactoryTest {
     assertEquals(2, messageCount)
   }
 
+  private fun rawLineRetainingStreamFactory(): VersionedAirbyteStreamFactory<Any> =
+    VersionedAirbyteStreamFactory(
+      serDeProvider = serDeProvider,
+      migratorFactory = migratorFactory,
+      gsonPksExtractor = gsonPksExtractor,
+      invalidLineFailureConfiguration = InvalidLineFailureConfiguration(false),
+      logger = mockLogger,
+      metricClient = mockk(relaxed = true),
+      protocolVersion = AirbyteProtocolVersion.DEFAULT_AIRBYTE_PROTOCOL_VERSION,
+      retainRawRecordLines = true,
+    )
+
   private fun getBufferedReader(resourceFile: String?): BufferedReader =
     BufferedReader(
       InputStreamReader(
@@ -24,6 +24,7 @@ import java.util.UUID
 open class WorkloadQueueService(
   private val metricClient: MetricClient,
   private val workloadQueueRepository: WorkloadQueueRepository,
+  private val workloadQueueSignal: WorkloadQueueSignal,
 ) {
   companion object {
     const val WORKLOAD_PUBLISHER_OPERATION_NAME: String = "workload_publisher"
@@ -46,6 +47,7 @@ open class WorkloadQueueService(
     // TODO dataplaneGroup should not be nullable
     if (dataplaneGroup != null) {
       workloadQueueRepository.enqueueWorkload(dataplaneGroup = dataplaneGroup, priority = priority.toInt(), workloadId = workloadId)
+      workloadQueueSignal.signal(dataplaneGroup, priority)
 
       metricClient.count(
         metric = OssMetricsRegistry.WORKLOAD_MESSAGE_PUBLISHED,
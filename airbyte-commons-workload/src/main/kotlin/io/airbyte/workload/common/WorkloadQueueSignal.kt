@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.common
+
+import io.airbyte.config.WorkloadPriority
+import jakarta.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * In-memory notification of the workloads enqueued by this instance, so that long polls of the queue return as soon as
+ * there is something to poll rather than at their next check of the database.
+ * <p />
+ * Waiters subscribe to a dataplane group and priority, null meaning any. The signal is only a hint: enqueues made by
+ * other instances are not seen, and a woken up waiter may find nothing to poll, so waiters must still check the queue
+ * periodically.
+ */
+@Singleton
+class WorkloadQueueSignal {
+  private data class QueueKey(
+    val dataplaneGroup: String?,
+    val priority: Int?,
+  )
+
+  private val waiters = ConcurrentHashMap<QueueKey, MutableSet<CompletableFuture<Unit>>>()
+
+  /**
+   * Returns a future completed at the next enqueue matching [dataplaneGroup] and [priority]. Callers that stop waiting
+   * before it completes should cancel it.
+   */
+  fun nextEnqueue(
+    dataplaneGroup: String?,
+    priority: WorkloadPriority?,
+  ): CompletableFuture<Unit> {
+    val key = QueueKey(dataplaneGroup, priority?.toInt())
+    val future = CompletableFuture<Unit>()
+    waiters.computeIfAbsent(key) { ConcurrentHashMap.newKeySet() }.add(future)
+    future.whenComplete { _, _ -> waiters[key]?.remove(future) }
+    return future
+  }
+
+  /**
+   * Wakes up the waiters of the queue a workload was enqueued in.
+   */
+  fun signal(
+    dataplaneGroup: String,
+    priority: WorkloadPriority,
+  ) {
+    listOf(
+      QueueKey(dataplaneGroup, priority.toInt()),
+      QueueKey(dataplaneGroup, null),
+      QueueKey(null, priority.toInt()),
+      QueueKey(null, null),
+    ).forEach { key ->
+      waiters[key]?.toList()?.forEach { it.complete(Unit) }
+    }
+  }
+
+  internal fun waiterCount(): Int = waiters.values.sumOf { it.size }
+}
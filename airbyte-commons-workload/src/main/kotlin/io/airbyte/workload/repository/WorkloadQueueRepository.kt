@@ -13,6 +13,7 @@ import io.micronaut.data.annotation.Query
 import io.micronaut.data.jdbc.annotation.JdbcRepository
 import io.micronaut.data.model.query.builder.sql.Dialect
 import io.micronaut.data.repository.PageableRepository
+import java.time.OffsetDateTime
 import java.util.UUID
 
 @JdbcRepository(dialect = Dialect.POSTGRES, dataSource = "config")
@@ -93,6 +94,80 @@ interface WorkloadQueueRepository : PageableRepository<WorkloadQueueItem, UUID>
     redeliveryWindowSecs: Int = 300,
   ): List<Workload>
 
+  /**
+   * Polls the queue like [pollWorkloadQueue], and claims the polled workloads for [dataplaneId] in the same statement,
+   * like [WorkloadRepository.claim] would.
+   *
+   * The `claimed` CTE claims the polled workloads that are pending or already claimed by this dataplane. The claimed
+   * items are acked, while the others are left for redelivery after the `poll_deadline`, as they would be by a poll
+   * followed by failed claims.
+   *
+   * Only the claimed workloads are returned.
+   */
+  @Join(value = "workloadLabels")
+  @Query(
+    """
+      WITH polled AS MATERIALIZED (
+         SELECT id, workload_id FROM workload_queue
+            WHERE
+              (:dataplaneGroup IS NULL OR dataplane_group = :dataplaneGroup)
+            AND
+              (:priority IS NULL OR priority = :priority)
+            AND
+              acked_at IS NULL
+            AND
+              now() > poll_deadline
+         ORDER BY created_at ASC
+         LIMIT :quantity
+         FOR UPDATE SKIP LOCKED
+      ),
+      claimed AS (
+        UPDATE workload AS w
+           SET
+              dataplane_id = :dataplaneId,
+              status = 'claimed',
+              deadline = case
+                           when w.status = 'pending' then :deadline
+                           else w.deadline
+                         end,
+              updated_at = now()
+        FROM polled
+              WHERE w.id = polled.workload_id
+              AND (w.status = 'pending' OR (w.status = 'claimed' AND w.dataplane_id = :dataplaneId))
+        RETURNING
+           w.*
+      ),
+      polled_updates AS (
+        UPDATE workload_queue AS q
+           SET
+              poll_deadline = now() + (:redeliveryWindowSecs * interval '1 second'),
+              acked_at = case
+                           when q.workload_id IN (SELECT id FROM claimed) then now()
+                           else q.acked_at
+                         end,
+              updated_at = now()
+        FROM polled
+              WHERE q.id = polled.id
+      )
+    SELECT
+        claimed.*,
+        l.id AS workload_labels_id,
+        l.key AS workload_labels_key,
+        l.value AS workload_labels_value
+    FROM claimed
+        LEFT JOIN workload_label l
+            ON l.workload_id = claimed.id;
+    """,
+  )
+  fun pollAndClaimWorkloads(
+    dataplaneGroup: String?,
+    priority: Int?,
+    dataplaneId: String,
+    deadline: OffsetDateTime,
+    quantity: Int = 1,
+    redeliveryWindowSecs: Int = 300,
+  ): List<Workload>
+
   @Query(
     """
     INSERT INTO workload_queue (
@@ -5,6 +5,7 @@
 package io.airbyte.workload.repository
 
 import io.airbyte.workload.repository.domain.Workload
+import io.airbyte.workload.repository.domain.WorkloadHeartbeatResult
 import io.airbyte.workload.repository.domain.WorkloadStatus
 import io.airbyte.workload.repository.domain.WorkloadType
 import io.micronaut.data.annotation.Expandable
@@ -16,6 +17,7 @@ import io.micronaut.data.model.query.builder.sql.Dialect
 import io.micronaut.data.repository.PageableRepository
 import java.time.OffsetDateTime
 import java.util.Optional
+import java.util.UUID
 
 @JdbcRepository(dialect = Dialect.POSTGRES, dataSource = "config")
 interface WorkloadRepository : PageableRepository<Workload, String> {
@@ -165,6 +167,123 @@ interface WorkloadRepository : PageableRepository<Workload, String> {
     deadline: OffsetDateTime,
   ): Workload?
 
+  /**
+   * Heartbeats many workloads with a single statement, [deadlines] being the new deadlines of the workloads in [ids].
+   * Returns a result for each of the workloads that exist, telling whether it was heartbeated or its status otherwise.
+   */
+  @Query(
+    """
+      WITH heartbeats AS (
+        SELECT
+          unnest(CAST(ARRAY[:ids] AS varchar[])) AS id,
+          unnest(CAST(ARRAY[:deadlines] AS timestamptz[])) AS deadline
+      ),
+      heartbeated AS (
+        UPDATE workload w
+        SET
+         status = 'running',
+         deadline = h.deadline,
+         last_heartbeat_at = now(),
+         updated_at = now()
+        FROM heartbeats h
+        WHERE w.id = h.id AND w.status in ('claimed', 'launched', 'running')
+        RETURNING w.id
+      )
+      SELECT w.id, w.status, w.id IN (SELECT id FROM heartbeated) AS heartbeated
+      FROM workload w
+      WHERE w.id IN (SELECT id FROM heartbeats)
+    """,
+  )
+  fun heartbeatAll(
+    @Expandable ids: List<String>,
+    @Expandable deadlines: List<OffsetDateTime>,
+  ): List<WorkloadHeartbeatResult>
+
+  /**
+   * The organizations of the workloads in [ids], for the ones that have one.
+   */
+  @Query(
+    """
+      SELECT DISTINCT organization_id FROM workload
+      WHERE id IN (:ids) AND organization_id IS NOT NULL
+    """,
+  )
+  fun findOrganizationIds(
+    @Expandable ids: List<String>,
+  ): List<UUID>
+
+  /**
+   * Moves up to [batchSize] of the workloads that ended before [endedBefore] to the workload_archive table, with their
+   * labels, and removes their queue entries. Workloads still referenced by a command are left in place. Returns the
+   * number of workloads archived.
+   * <p />
+   * The columns are listed explicitly: a column added to the workload table must be added to the archive table as well.
+   */
+  @Query(
+    """
+      WITH archivable AS MATERIALIZED (
+        SELECT id FROM workload w
+        WHERE w.status IN ('success', 'failure', 'cancelled')
+        AND w.updated_at < CAST(:endedBefore AS timestamptz)
+        AND NOT EXISTS (SELECT 1 FROM commands c WHERE c.workload_id = w.id)
+        ORDER BY w.updated_at ASC
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+      ),
+      deleted_labels AS (
+        DELETE FROM workload_label
+        WHERE workload_id IN (SELECT id FROM archivable)
+        RETURNING workload_id, key, value
+      ),
+      archived_labels AS (
+        SELECT workload_id, jsonb_object_agg(key, value) AS labels
+        FROM deleted_labels
+        GROUP BY workload_id
+      ),
+      deleted_queue_items AS (
+        DELETE FROM workload_queue
+        WHERE workload_id IN (SELECT id FROM archivable)
+      ),
+      deleted AS (
+        DELETE FROM workload
+        WHERE id IN (SELECT id FROM archivable)
+        RETURNING *
+      ),
+      archived AS (
+        INSERT INTO workload_archive (
+          id, dataplane_id, status, created_at, updated_at, last_heartbeat_at, input_payload, log_path, geography,
+          mutex_key, type, termination_source, termination_reason, auto_id, deadline, signal_input, dataplane_group,
+          priority, workspace_id, organization_id, labels
+        )
+        SELECT
+          d.id, d.dataplane_id, d.status, d.created_at, d.updated_at, d.last_heartbeat_at, d.input_payload, d.log_path,
+          d.geography, d.mutex_key, d.type, d.termination_source, d.termination_reason, d.auto_id, d.deadline,
+          d.signal_input, d.dataplane_group, d.priority, d.workspace_id, d.organization_id,
+          l.labels
+        FROM deleted d
+        LEFT JOIN archived_labels l ON l.workload_id = d.id
+        RETURNING id
+      )
+      SELECT count(*) FROM archived
+    """,
+  )
+  fun archiveEndedWorkloads(
+    endedBefore: OffsetDateTime,
+    batchSize: Int,
+  ): Long
+
+  /**
+   * The names of the partitions of the workload_archive table.
+   */
+  @Query(
+    """
+      SELECT c.relname FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = CAST('workload_archive' AS regclass)
+    """,
+  )
+  fun findArchivePartitions(): List<String>
+
   /**
    * Launch transitions a workload into a launched state if the workload was claimed or launched.
    * Succeed returns the workload if the status is launched.
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.repository.domain
+
+import io.micronaut.core.annotation.Introspected
+import io.micronaut.data.annotation.TypeDef
+import io.micronaut.data.model.DataType
+
+/**
+ * Outcome of the heartbeat of a workload sent in a batch. [status] is the status of the workload before the heartbeat.
+ */
+@Introspected
+data class WorkloadHeartbeatResult(
+  var id: String,
+  @field:TypeDef(type = DataType.OBJECT)
+  var status: WorkloadStatus,
+  var heartbeated: Boolean,
+)
@@ -206,6 +206,35 @@ class WorkloadService(
     }
   }
 
+  /**
+   * Heartbeats many workloads at once. Returns the error of each workload that couldn't be heartbeated, the same that
+   * [heartbeatWorkload] would have thrown.
+   */
+  fun heartbeatWorkloads(deadlines: Map<String, OffsetDateTime>): Map<String, WorkloadServiceException> {
+    if (deadlines.isEmpty()) {
+      return mapOf()
+    }
+
+    val ids = deadlines.keys.toList()
+    val results = workloadRepository.heartbeatAll(ids, ids.map { deadlines.getValue(it) }).associateBy { it.id }
+    val errors = mutableMapOf<String, WorkloadServiceException>()
+    ids.forEach { workloadId ->
+      val result = results[workloadId]
+      when {
+        result == null -> errors[workloadId] = NotFoundException("Workload $workloadId not found")
+        result.heartbeated -> {}
+        else ->
+          when (result.status) {
+            WorkloadStatus.CANCELLED, WorkloadStatus.FAILURE, WorkloadStatus.SUCCESS ->
+              errors[workloadId] = InvalidStatusTransitionException("Heartbeat a workload in a terminal state (${result.status})")
+            WorkloadStatus.PENDING -> errors[workloadId] = InvalidStatusTransitionException("Heartbeat a non claimed workload")
+            else -> logger.error { "Failed workload $workloadId failed to update its status, status is ${result.status}" }
+          }
+      }
+    }
+    return errors
+  }
+
   fun runningWorkload(
     workloadId: String,
     deadline: OffsetDateTime,
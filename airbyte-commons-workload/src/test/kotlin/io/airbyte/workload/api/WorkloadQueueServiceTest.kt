@@ -9,6 +9,7 @@ import io.airbyte.config.WorkloadType
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.workload.common.WorkloadQueueService
+import io.airbyte.workload.common.WorkloadQueueSignal
 import io.airbyte.workload.repository.WorkloadQueueRepository
 import io.airbyte.workload.repository.domain.WorkloadQueueItem
 import io.micrometer.core.instrument.Counter
@@ -26,6 +27,7 @@ import java.util.stream.Stream
 class WorkloadQueueServiceTest {
   private val metricClient: MetricClient = mockk()
   private val workloadQueueRepository: WorkloadQueueRepository = mockk()
+  private val workloadQueueSignal: WorkloadQueueSignal = mockk(relaxed = true)
 
   private val workloadId = "workloadIdea"
   private val workloadInput = "{}"
@@ -54,11 +56,12 @@ class WorkloadQueueServiceTest {
         workloadId = workloadId,
         pollDeadline = null,
       )
-    val workloadQueueService = WorkloadQueueService(metricClient, workloadQueueRepository)
+    val workloadQueueService = WorkloadQueueService(metricClient, workloadQueueRepository, workloadQueueSignal)
 
     workloadQueueService.create(workloadId, workloadInput, labels, logPath, mutexKey, workloadType, autoId, priority, expectedQueue)
 
     verify { workloadQueueRepository.enqueueWorkload(expectedQueue, priority.toInt(), workloadId) }
+    verify { workloadQueueSignal.signal(expectedQueue, priority) }
   }
 
   companion object {
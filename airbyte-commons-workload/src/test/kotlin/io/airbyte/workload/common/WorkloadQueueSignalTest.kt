@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.common
+
+import io.airbyte.config.WorkloadPriority
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class WorkloadQueueSignalTest {
+  private val signal = WorkloadQueueSignal()
+
+  @Test
+  fun `wakes up the waiters of the matching queues`() {
+    val sameQueue = signal.nextEnqueue(GROUP, WorkloadPriority.HIGH)
+    val anyPriority = signal.nextEnqueue(GROUP, null)
+    val anyGroup = signal.nextEnqueue(null, WorkloadPriority.HIGH)
+    val anyQueue = signal.nextEnqueue(null, null)
+    val otherPriority = signal.nextEnqueue(GROUP, WorkloadPriority.DEFAULT)
+    val otherGroup = signal.nextEnqueue("other-group", WorkloadPriority.HIGH)
+
+    signal.signal(GROUP, WorkloadPriority.HIGH)
+
+    assertTrue(sameQueue.isDone)
+    assertTrue(anyPriority.isDone)
+    assertTrue(anyGroup.isDone)
+    assertTrue(anyQueue.isDone)
+    assertFalse(otherPriority.isDone)
+    assertFalse(otherGroup.isDone)
+    assertEquals(2, signal.waiterCount())
+  }
+
+  @Test
+  fun `forgets the waiters that stopped waiting`() {
+    signal.nextEnqueue(GROUP, WorkloadPriority.DEFAULT).cancel(false)
+
+    assertEquals(0, signal.waiterCount())
+  }
+
+  companion object {
+    private const val GROUP = "dataplane-group"
+  }
+}
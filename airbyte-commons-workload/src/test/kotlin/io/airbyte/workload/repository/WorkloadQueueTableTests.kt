@@ -144,6 +144,63 @@ class WorkloadQueueTableTests {
     assertWorkloadsEqual(unAcked, result, "only un-acked workloads are delivered")
   }
 
+  @Test
+  fun `poll and claim claims and acks the pending workloads`() {
+    val group = "group-1"
+    val priority = 1
+    val dataplaneId = "dataplane-1"
+    val deadline = Fixtures.newTimestamp().plusMinutes(10)
+    val pending = listOf(Fixtures.workload(workloadLabels = Fixtures.labelList1()), Fixtures.workload())
+    val claimedByThisDataplane = Fixtures.workload(status = WorkloadStatus.CLAIMED, dataplaneId = dataplaneId)
+    val claimedByOtherDataplane = Fixtures.workload(status = WorkloadStatus.CLAIMED, dataplaneId = "dataplane-2")
+    val cancelled = Fixtures.workload(status = WorkloadStatus.CANCELLED)
+    (pending + claimedByThisDataplane + claimedByOtherDataplane + cancelled).forEach {
+      workloadRepo.save(it)
+      workloadQueueRepo.enqueueWorkload(group, priority, it.id)
+    }
+
+    val result = workloadQueueRepo.pollAndClaimWorkloads(group, priority, dataplaneId, deadline, quantity = 10, redeliveryWindowSecs = 0)
+
+    Assertions.assertEquals((pending + claimedByThisDataplane).map { it.id }.toSet(), result.map { it.id }.toSet())
+    result.forEach {
+      Assertions.assertEquals(WorkloadStatus.CLAIMED, it.status)
+      Assertions.assertEquals(dataplaneId, it.dataplaneId)
+    }
+    Assertions.assertEquals(
+      pending.map { it.id to deadline.toInstant() }.toSet() + (claimedByThisDataplane.id to claimedByThisDataplane.deadline!!.toInstant()),
+      result.map { it.id to it.deadline!!.toInstant() }.toSet(),
+      "only the deadlines of the pending workloads are updated",
+    )
+    Assertions.assertEquals(
+      Fixtures.labelList1().map { it.key to it.value }.toSet(),
+      result.first { it.id == pending[0].id }.workloadLabels!!.map { it.key to it.value }.toSet(),
+    )
+
+    val redelivered = workloadQueueRepo.pollWorkloadQueue(group, priority, quantity = 10)
+    Assertions.assertEquals(
+      setOf(claimedByOtherDataplane.id, cancelled.id),
+      redelivered.map { it.id }.toSet(),
+      "the workloads that could not be claimed are re-delivered, the claimed ones are acked",
+    )
+  }
+
+  @Test
+  fun `poll and claim only claims up to the quantity`() {
+    val group = "group-1"
+    val priority = 1
+    val workloads = listOf(Fixtures.workload(), Fixtures.workload(), Fixtures.workload())
+    workloads.forEach {
+      workloadRepo.save(it)
+      workloadQueueRepo.enqueueWorkload(group, priority, it.id)
+    }
+
+    val result1 = workloadQueueRepo.pollAndClaimWorkloads(group, priority, "dataplane-1", Fixtures.newTimestamp(), quantity = 2)
+    val result2 = workloadQueueRepo.pollAndClaimWorkloads(group, priority, "dataplane-1", Fixtures.newTimestamp(), quantity = 2)
+
+    Assertions.assertEquals(2, result1.size)
+    Assertions.assertEquals(workloads.map { it.id }.toSet(), (result1 + result2).map { it.id }.toSet())
+  }
+
   private fun pendingWorkloadMatrix(): List<Arguments> =
     listOf(
       Arguments.of(
@@ -20,6 +20,7 @@ import org.jooq.SQLDialect
 import org.junit.jupiter.api.AfterAll
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
 import org.junit.jupiter.api.Assertions.assertNotEquals
 import org.junit.jupiter.api.Assertions.assertNotNull
 import org.junit.jupiter.api.Assertions.assertNull
@@ -375,6 +376,54 @@ class WorkloadRepositoryTest {
     assertEquals(safeguardWorkload.status, safeguardCheck.get().status)
   }
 
+  @Test
+  fun `heartbeat many workloads only updates the ones that were claimed, launched or running`() {
+    val statuses = listOf(WorkloadStatus.CLAIMED, WorkloadStatus.LAUNCHED, WorkloadStatus.RUNNING, WorkloadStatus.PENDING, WorkloadStatus.SUCCESS)
+    val workloads =
+      statuses.map {
+        Fixtures.workload(id = Fixtures.newWorkloadId(), dataplaneId = null, status = it, deadline = OffsetDateTime.now())
+      }
+    workloads.forEach { workloadRepo.save(it) }
+    val unknownWorkloadId = Fixtures.newWorkloadId()
+
+    val ids = workloads.map { it.id } + unknownWorkloadId
+    val deadlines = ids.indices.map { OffsetDateTime.now().plusMinutes(it.toLong() + 1) }
+    val results = workloadRepo.heartbeatAll(ids, deadlines).associateBy { it.id }
+
+    assertEquals(workloads.map { it.id }.toSet(), results.keys)
+    workloads.forEachIndexed { i, workload ->
+      val result = results.getValue(workload.id)
+      val actualWorkload = workloadRepo.findById(workload.id).get()
+      assertEquals(workload.status, result.status)
+      if (i < 3) {
+        assertTrue(result.heartbeated)
+        assertEquals(WorkloadStatus.RUNNING, actualWorkload.status)
+        assertEquals(deadlines[i].truncateToTestPrecision(), actualWorkload.deadline?.truncateToTestPrecision())
+        assertNotNull(actualWorkload.lastHeartbeatAt)
+      } else {
+        assertFalse(result.heartbeated)
+        assertEquals(workload.status, actualWorkload.status)
+      }
+    }
+  }
+
+  @Test
+  fun `find the organizations of workloads`() {
+    val organizationId = UUID.randomUUID()
+    val workloads =
+      listOf(
+        Fixtures.workload(organizationId = organizationId),
+        Fixtures.workload(organizationId = organizationId),
+        Fixtures.workload(organizationId = null),
+        Fixtures.workload(),
+      )
+    workloads.forEach { workloadRepo.save(it) }
+
+    val organizationIds = workloadRepo.findOrganizationIds(workloads.take(3).map { it.id } + Fixtures.newWorkloadId())
+
+    assertEquals(listOf(organizationId), organizationIds)
+  }
+
   @ParameterizedTest
   @EnumSource(WorkloadStatus::class, names = ["CLAIMED", "LAUNCHED"])
   fun `launch a workload updates the status if the workload was previously claimed or launched`(status: WorkloadStatus) {
@@ -754,6 +803,34 @@ class WorkloadRepositoryTest {
     assertEquals(workload2.id, resultSearch[1].id)
   }
 
+  @Test
+  fun `archiveEndedWorkloads moves the ended workloads and their labels to the archive`() {
+    jooqDslContext.execute("CREATE TABLE IF NOT EXISTS workload_archive_test PARTITION OF workload_archive DEFAULT")
+    try {
+      val label = WorkloadLabel(id = null, key = "key1", value = "value1", workload = null)
+      val ended = Fixtures.workload(status = WorkloadStatus.SUCCESS, workloadLabels = listOf(label), dataplaneGroup = "group-1")
+      val running = Fixtures.workload(status = WorkloadStatus.RUNNING)
+      workloadRepo.save(ended)
+      workloadRepo.save(running)
+      workloadQueueRepo.enqueueWorkload(ended.dataplaneGroup!!, ended.priority!!, ended.id)
+
+      assertEquals(0, workloadRepo.archiveEndedWorkloads(OffsetDateTime.now().minusDays(1), 10))
+      assertEquals(1, workloadRepo.archiveEndedWorkloads(OffsetDateTime.now().plusMinutes(1), 10))
+
+      assertFalse(workloadRepo.existsById(ended.id))
+      assertTrue(workloadRepo.existsById(running.id))
+      assertTrue(workloadQueueRepo.findByDataplaneGroup("group-1").isEmpty())
+      assertEquals(
+        "{\"key1\": \"value1\"}",
+        jooqDslContext.fetchValue("SELECT CAST(labels AS text) FROM workload_archive WHERE id = ?", ended.id),
+      )
+      assertTrue(workloadRepo.findArchivePartitions().contains("workload_archive_test"))
+    } finally {
+      // Also drops the archived workloads, so that the archive is left as the other tests expect it.
+      jooqDslContext.execute("DROP TABLE IF EXISTS workload_archive_test")
+    }
+  }
+
   object Fixtures {
     fun newWorkloadId() = "${UUID.randomUUID()}_test"
 
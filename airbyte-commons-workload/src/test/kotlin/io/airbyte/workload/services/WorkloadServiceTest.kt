@@ -9,12 +9,15 @@ import io.airbyte.workload.common.DefaultDeadlineValues
 import io.airbyte.workload.repository.WorkloadQueueRepository
 import io.airbyte.workload.repository.WorkloadRepository
 import io.airbyte.workload.repository.domain.Workload
+import io.airbyte.workload.repository.domain.WorkloadHeartbeatResult
 import io.airbyte.workload.repository.domain.WorkloadStatus
 import io.airbyte.workload.repository.domain.WorkloadType
 import io.airbyte.workload.signal.SignalSender
 import io.mockk.every
 import io.mockk.mockk
 import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
@@ -157,6 +160,28 @@ class WorkloadServiceTest {
     verify(exactly = 0) { workloadQueueRepository.ackWorkloadQueueItem(defaultWorkloadId) }
   }
 
+  @Test
+  fun `heartbeat many workloads reports the ones that can't be heartbeated`() {
+    val deadline = OffsetDateTime.now().plusMinutes(5)
+    every { workloadRepository.heartbeatAll(listOf("running", "failed", "pending", "unknown"), List(4) { deadline }) } returns
+      listOf(
+        WorkloadHeartbeatResult("running", WorkloadStatus.LAUNCHED, heartbeated = true),
+        WorkloadHeartbeatResult("failed", WorkloadStatus.FAILURE, heartbeated = false),
+        WorkloadHeartbeatResult("pending", WorkloadStatus.PENDING, heartbeated = false),
+      )
+
+    val errors =
+      workloadService.heartbeatWorkloads(
+        linkedMapOf("running" to deadline, "failed" to deadline, "pending" to deadline, "unknown" to deadline),
+      )
+
+    assertEquals(setOf("failed", "pending", "unknown"), errors.keys)
+    assertTrue(errors["failed"] is InvalidStatusTransitionException)
+    assertTrue(errors["pending"] is InvalidStatusTransitionException)
+    assertTrue(errors["unknown"] is NotFoundException)
+    verify(exactly = 0) { workloadRepository.findById(any()) }
+  }
+
   @Test
   fun `setting an unknown workload to launch throws a NotFoundException`() {
     every { workloadRepository.launch(defaultWorkloadId, any()) } returns null
@@ -27,6 +27,9 @@ enum class EnvVar {
 
   CDK_ENTRYPOINT,
   CDK_PYTHON,
+  CLOUD_STORAGE_APPENDER_BUFFER_MAX_BYTES,
+  CLOUD_STORAGE_APPENDER_FLUSH_BYTES,
+  CLOUD_STORAGE_APPENDER_OVERFLOW_POLICY,
   CLOUD_STORAGE_APPENDER_THREADS,
   CONFIG_ROOT,
   CONNECTION_ID,
@@ -105,6 +108,7 @@ enum class EnvVar {
   STORAGE_BUCKET_REPLICATION_DUMP,
   STORAGE_BUCKET_STATE,
   STORAGE_BUCKET_WORKLOAD_OUTPUT,
+  STORAGE_COMPRESSION,
   STORAGE_TYPE,
   SYNC_JOB_INIT_RETRY_TIMEOUT_MINUTES,
 
@@ -4,6 +4,7 @@
 
 package io.airbyte.commons.json
 
+import com.fasterxml.jackson.core.JsonParser
 import com.fasterxml.jackson.core.JsonProcessingException
 import com.fasterxml.jackson.core.StreamReadConstraints
 import com.fasterxml.jackson.core.type.TypeReference
@@ -22,6 +23,7 @@ import com.google.common.base.Preconditions
 import io.airbyte.commons.jackson.MoreMappers.initMapper
 import java.io.File
 import java.io.IOException
+import java.io.Writer
 import java.util.Collections
 import java.util.Optional
 import java.util.Spliterator
@@ -217,6 +219,37 @@ object Jsons {
     }
   }
 
+  /**
+   * Create a streaming parser over a JSON string using the exact ObjectMapper. Trees and objects read
+   * through the parser preserve float information.
+   *
+   * @param jsonString to parse.
+   * @return parser positioned before the first token.
+   */
+  @JvmStatic
+  fun createExactParser(jsonString: String): JsonParser = OBJECT_MAPPER_EXACT.createParser(jsonString)
+
+  /**
+   * Deserialize a slice of a JSON string to a [JsonNode] using the exact ObjectMapper.
+   *
+   * @param jsonString containing the JSON value.
+   * @param start index of the first character of the value.
+   * @param end index after the last character of the value.
+   * @return JSON as JsonNode
+   */
+  @JvmStatic
+  fun deserializeExact(
+    jsonString: String,
+    start: Int,
+    end: Int,
+  ): JsonNode {
+    try {
+      return OBJECT_MAPPER_EXACT.readTree(jsonString.substring(start, end))
+    } catch (e: IOException) {
+      throw RuntimeException(e)
+    }
+  }
+
   /**
    * Convert an object to [JsonNode].
    *
@@ -328,12 +361,20 @@ object Jsons {
   /**
    * Deep clone a JSON-compatible object (i.e. JsonNode or a class generated by json2pojo.
    *
+   * JsonNodes are copied with [JsonNode.deepCopy]. Other objects are converted to their own class, which
+   * copies them structurally through a token buffer, rather than serializing them to a string and parsing it.
+   *
    * @param obj to clone
    * @param <T> type of object
    * @return cloned object
    */
   @JvmStatic
-  fun <T : Any> clone(obj: T): T = deserialize(serialize(obj), obj.javaClass)
+  @Suppress("UNCHECKED_CAST")
+  fun <T : Any> clone(obj: T): T =
+    when (obj) {
+      is JsonNode -> obj.deepCopy<JsonNode>() as T
+      else -> OBJECT_MAPPER.convertValue(obj, obj.javaClass)
+    }
 
   /**
    * Convert a [JsonNode] object to a byte array.
@@ -350,9 +391,20 @@ object Jsons {
    * the string to byte[] and use the length of the byte[]. However, this conversion is expensive in
    * memory consumption. Given that the byte size of the serialized JSON is already an estimation of
    * the actual size of the JSON object, using a cheap operation seems an acceptable compromise.
+   *
+   * As this is called for every record, the characters are counted as they are generated rather than
+   * collected in a string, so that the cost in memory doesn't grow with the size of the JSON object.
    */
   @JvmStatic
-  fun getEstimatedByteSize(jsonNode: JsonNode?): Int = serialize<JsonNode?>(jsonNode).length
+  fun getEstimatedByteSize(jsonNode: JsonNode?): Int {
+    val writer = CharCountingWriter()
+    try {
+      OBJECT_MAPPER.createGenerator(writer).use { OBJECT_MAPPER.writeValue(it, jsonNode) }
+    } catch (e: IOException) {
+      throw RuntimeException(e)
+    }
+    return writer.count.coerceAtMost(Int.MAX_VALUE.toLong()).toInt()
+  }
 
   /**
    * Get top-level keys of a [JsonNode].
@@ -792,6 +844,37 @@ object Jsons {
     return jsonNode
   }
 
+  /**
+   * Discards the characters written to it, only counting them.
+   */
+  private class CharCountingWriter : Writer() {
+    var count = 0L
+
+    override fun write(
+      cbuf: CharArray,
+      off: Int,
+      len: Int,
+    ) {
+      count += len
+    }
+
+    override fun write(c: Int) {
+      count++
+    }
+
+    override fun write(
+      str: String,
+      off: Int,
+      len: Int,
+    ) {
+      count += len
+    }
+
+    override fun flush() {}
+
+    override fun close() {}
+  }
+
   /**
    * By the Jackson DefaultPrettyPrinter prints objects with an extra space as follows: {"name" :
    * "airbyte"}. We prefer {"name": "airbyte"}.
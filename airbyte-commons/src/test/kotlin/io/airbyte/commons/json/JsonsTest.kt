@@ -7,8 +7,10 @@ package io.airbyte.commons.json
 import com.fasterxml.jackson.annotation.JsonProperty
 import com.fasterxml.jackson.core.type.TypeReference
 import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.ArrayNode
 import com.fasterxml.jackson.databind.node.BinaryNode
 import com.fasterxml.jackson.databind.node.JsonNodeFactory
+import com.fasterxml.jackson.databind.node.ObjectNode
 import com.fasterxml.jackson.databind.node.TextNode
 import com.google.common.base.Charsets
 import com.google.common.collect.ImmutableList
@@ -247,6 +249,33 @@ internal class JsonsTest {
     Assertions.assertEquals(expected, actual)
   }
 
+  @Test
+  fun testCloneJsonNode() {
+    val expected = Jsons.deserialize("{\"str\":\"abc\",\"nested\":{\"num\":1.5,\"list\":[1,2]}}")
+    val actual = clone(expected)
+    Assertions.assertNotSame(expected, actual)
+    Assertions.assertEquals(expected, actual)
+
+    (actual.get("nested").get("list") as ArrayNode).add(3)
+    Assertions.assertEquals(2, expected.get("nested").get("list").size())
+  }
+
+  @Test
+  fun testCloneIsDeep() {
+    val expected =
+      CatalogHelpers.createAirbyteCatalog(
+        "clothes",
+        Field.of("name", JsonSchemaType.STRING),
+      )
+    val actual = clone(expected)
+    Assertions.assertEquals(expected, actual)
+
+    actual.streams[0].name = "shoes"
+    (actual.streams[0].jsonSchema.get("properties") as ObjectNode).remove("name")
+    Assertions.assertEquals("clothes", expected.streams[0].name)
+    Assertions.assertTrue(expected.streams[0].jsonSchema.get("properties").has("name"))
+  }
+
   @Test
   fun testToBytes() {
     val jsonString = "{\"test\":\"abc\",\"type\":[\"object\"]}"
@@ -306,6 +335,16 @@ internal class JsonsTest {
     Assertions.assertEquals(toBytes(json).size, getEstimatedByteSize(json))
   }
 
+  @Test
+  fun testGetEstimatedByteSizeMatchesSerializedLength() {
+    val json =
+      Jsons.deserialize(
+        "{\"text\":\"caf\u00e9 \\\"quoted\\\"\\n\\u0001\",\"numbers\":[1,-2.5,1.0E300,12345678901234567890],\"null\":null,\"empty\":{}}",
+      )
+    Assertions.assertEquals(Jsons.serialize(json).length, getEstimatedByteSize(json))
+    Assertions.assertEquals(Jsons.serialize<JsonNode?>(null).length, getEstimatedByteSize(null))
+  }
+
   @Test
   fun testDeserializeToStringMap() {
     Assertions.assertEquals(Maps.newHashMap<String?, String?>("a", "b"), deserializeToStringMap(Jsons.deserialize("{ \"a\": \"b\" }")))
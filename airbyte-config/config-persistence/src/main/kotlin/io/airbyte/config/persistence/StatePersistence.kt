@@ -5,7 +5,6 @@
 package io.airbyte.config.persistence
 
 import com.fasterxml.jackson.databind.JsonNode
-import io.airbyte.commons.enums.convertTo
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.State
 import io.airbyte.config.StateWrapper
@@ -24,12 +23,10 @@ import io.airbyte.protocol.models.v0.AirbyteStateMessage.AirbyteStateType
 import io.airbyte.protocol.models.v0.AirbyteStreamState
 import org.jooq.Condition
 import org.jooq.DSLContext
-import org.jooq.JSONB
 import org.jooq.Record
 import org.jooq.RecordMapper
 import org.jooq.impl.DSL
 import java.io.IOException
-import java.time.OffsetDateTime
 import java.util.Optional
 import java.util.UUID
 import java.util.stream.Collectors
@@ -241,8 +238,8 @@ class StatePersistence(
       ctx: DSLContext,
       connectionId: UUID,
     ) {
-      val stateUpdateBatch = StateUpdateBatch()
-      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.LEGACY, null, stateUpdateBatch)
+      val stateUpdateBatch = StateUpdateBatch(connectionId)
+      stateUpdateBatch.add(null, null, io.airbyte.config.StateType.LEGACY, null)
       stateUpdateBatch.save(ctx)
     }
 
@@ -251,17 +248,14 @@ class StatePersistence(
       connectionId: UUID,
       globalState: AirbyteGlobalState,
     ) {
-      val stateUpdateBatch = StateUpdateBatch()
-      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.GLOBAL, globalState.sharedState, stateUpdateBatch)
+      val stateUpdateBatch = StateUpdateBatch(connectionId)
+      stateUpdateBatch.add(null, null, io.airbyte.config.StateType.GLOBAL, globalState.sharedState)
       for (streamState in globalState.streamStates) {
-        writeStateToDb(
-          ctx,
-          connectionId,
+        stateUpdateBatch.add(
           streamState.streamDescriptor.name,
           streamState.streamDescriptor.namespace,
           io.airbyte.config.StateType.GLOBAL,
           streamState.streamState,
-          stateUpdateBatch,
         )
       }
       stateUpdateBatch.save(ctx)
@@ -272,17 +266,14 @@ class StatePersistence(
       connectionId: UUID,
       stateMessages: List<AirbyteStateMessage>,
     ) {
-      val stateUpdateBatch = StateUpdateBatch()
+      val stateUpdateBatch = StateUpdateBatch(connectionId)
       for (stateMessage in stateMessages) {
         val streamState = stateMessage.stream
-        writeStateToDb(
-          ctx,
-          connectionId,
+        stateUpdateBatch.add(
           streamState.streamDescriptor.name,
           streamState.streamDescriptor.namespace,
           io.airbyte.config.StateType.STREAM,
           streamState.streamState,
-          stateUpdateBatch,
         )
       }
       stateUpdateBatch.save(ctx)
@@ -293,91 +284,11 @@ class StatePersistence(
       connectionId: UUID,
       state: JsonNode?,
     ) {
-      val stateUpdateBatch = StateUpdateBatch()
-      writeStateToDb(ctx, connectionId, null, null, io.airbyte.config.StateType.LEGACY, state, stateUpdateBatch)
+      val stateUpdateBatch = StateUpdateBatch(connectionId)
+      stateUpdateBatch.add(null, null, io.airbyte.config.StateType.LEGACY, state)
       stateUpdateBatch.save(ctx)
     }
 
-    /**
-     * Performs the actual SQL operation depending on the state.
-     *
-     * If the state is null, it will delete the row, otherwise do an insert or update on conflict
-     */
-    fun writeStateToDb(
-      ctx: DSLContext,
-      connectionId: UUID,
-      streamName: String?,
-      namespace: String?,
-      stateType: io.airbyte.config.StateType,
-      state: JsonNode?,
-      stateUpdateBatch: StateUpdateBatch,
-    ) {
-      if (state != null) {
-        val hasState =
-          ctx.fetchExists(
-            Tables.STATE,
-            Tables.STATE.CONNECTION_ID.eq(connectionId),
-            PersistenceHelpers.isNullOrEquals(Tables.STATE.STREAM_NAME, streamName),
-            PersistenceHelpers.isNullOrEquals(Tables.STATE.NAMESPACE, namespace),
-          )
-
-        // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
-        // the same behavior for consistency.
-        val jsonbState =
-          JSONB.valueOf(Jsons.serialize(if (stateType != io.airbyte.config.StateType.LEGACY) state else State().withState(state)))
-        val now = OffsetDateTime.now()
-
-        if (!hasState) {
-          stateUpdateBatch.createdStreamStates.add(
-            ctx
-              .insertInto(Tables.STATE)
-              .columns(
-                Tables.STATE.ID,
-                Tables.STATE.CREATED_AT,
-                Tables.STATE.UPDATED_AT,
-                Tables.STATE.CONNECTION_ID,
-                Tables.STATE.STREAM_NAME,
-                Tables.STATE.NAMESPACE,
-                Tables.STATE.STATE_,
-                Tables.STATE.TYPE,
-              ).values(
-                UUID.randomUUID(),
-                now,
-                now,
-                connectionId,
-                streamName,
-                namespace,
-                jsonbState,
-                stateType.convertTo<StateType>(),
-              ),
-          )
-        } else {
-          stateUpdateBatch.updatedStreamStates.add(
-            ctx
-              .update(Tables.STATE)
-              .set(Tables.STATE.UPDATED_AT, now)
-              .set(Tables.STATE.STATE_, jsonbState)
-              .where(
-                Tables.STATE.CONNECTION_ID.eq(connectionId),
-                PersistenceHelpers.isNullOrEquals(Tables.STATE.STREAM_NAME, streamName),
-                PersistenceHelpers.isNullOrEquals(Tables.STATE.NAMESPACE, namespace),
-              ),
-          )
-        }
-      } else {
-        // If the state is null, we remove the state instead of keeping a null row
-        stateUpdateBatch.deletedStreamStates.add(
-          ctx
-            .deleteFrom(Tables.STATE)
-            .where(
-              Tables.STATE.CONNECTION_ID.eq(connectionId),
-              PersistenceHelpers.isNullOrEquals(Tables.STATE.STREAM_NAME, streamName),
-              PersistenceHelpers.isNullOrEquals(Tables.STATE.NAMESPACE, namespace),
-            ),
-        )
-      }
-    }
-
     /**
      * Get the StateType for a given list of StateRecords.
      *
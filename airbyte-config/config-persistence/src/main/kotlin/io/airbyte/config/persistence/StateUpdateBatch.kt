@@ -4,17 +4,163 @@
 
 package io.airbyte.config.persistence
 
+import com.fasterxml.jackson.databind.JsonNode
+import io.airbyte.commons.enums.convertTo
+import io.airbyte.commons.json.Jsons
+import io.airbyte.config.State
+import io.airbyte.db.instance.configs.jooq.generated.Tables
+import io.airbyte.db.instance.configs.jooq.generated.enums.StateType
 import org.jooq.DSLContext
-import org.jooq.Query
+import org.jooq.JSONB
+import org.jooq.impl.DSL
+import java.time.OffsetDateTime
+import java.util.UUID
 
-class StateUpdateBatch {
-  val updatedStreamStates: MutableList<Query> = mutableListOf()
-  val createdStreamStates: MutableList<Query> = mutableListOf()
-  val deletedStreamStates: MutableList<Query> = mutableListOf()
+// Keeps the number of bind values of a statement well below the limit of Postgres.
+private const val MAX_ROWS_PER_STATEMENT = 1_000
+
+/**
+ * Collects the state rows of a connection to write, and writes them with a constant number of queries.
+ * <p />
+ * The existing rows of the connection are read once to tell which rows to insert, update or delete. Rows whose state
+ * did not change are left untouched. The unique constraint on the state table can't be used for an upsert as the
+ * stream name and namespace are nullable.
+ */
+class StateUpdateBatch(
+  private val connectionId: UUID,
+) {
+  private data class StreamKey(
+    val streamName: String?,
+    val namespace: String?,
+  )
+
+  private class StateRow(
+    val state: JSONB,
+    val type: StateType,
+  )
+
+  // A null row means that the row must be deleted.
+  private val rows = LinkedHashMap<StreamKey, StateRow?>()
+
+  /**
+   * Sets the state of a stream, or deletes it if [state] is null.
+   */
+  fun add(
+    streamName: String?,
+    namespace: String?,
+    stateType: io.airbyte.config.StateType,
+    state: JsonNode?,
+  ) {
+    rows[StreamKey(streamName, namespace)] =
+      state?.let {
+        // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
+        // the same behavior for consistency.
+        StateRow(
+          JSONB.valueOf(Jsons.serialize(if (stateType != io.airbyte.config.StateType.LEGACY) it else State().withState(it))),
+          stateType.convertTo<StateType>(),
+        )
+      }
+  }
 
   fun save(ctx: DSLContext) {
-    ctx.batch(updatedStreamStates).execute()
-    ctx.batch(createdStreamStates).execute()
-    ctx.batch(deletedStreamStates).execute()
+    if (rows.isEmpty()) {
+      return
+    }
+
+    val existingStates =
+      ctx
+        .select(Tables.STATE.STREAM_NAME, Tables.STATE.NAMESPACE, Tables.STATE.STATE_)
+        .from(Tables.STATE)
+        .where(Tables.STATE.CONNECTION_ID.eq(connectionId))
+        .fetch()
+        .associate { StreamKey(it.value1(), it.value2()) to it.value3() }
+
+    val inserts = mutableListOf<Pair<StreamKey, StateRow>>()
+    val updates = mutableListOf<Pair<StreamKey, StateRow>>()
+    val deletes = mutableListOf<StreamKey>()
+    rows.forEach { (key, row) ->
+      when {
+        row == null -> if (existingStates.containsKey(key)) deletes.add(key)
+        !existingStates.containsKey(key) -> inserts.add(key to row)
+        !isSameState(existingStates[key], row.state) -> updates.add(key to row)
+      }
+    }
+
+    val now = OffsetDateTime.now()
+    insert(ctx, inserts, now)
+    update(ctx, updates, now)
+    delete(ctx, deletes)
   }
+
+  private fun insert(
+    ctx: DSLContext,
+    inserts: List<Pair<StreamKey, StateRow>>,
+    now: OffsetDateTime,
+  ) {
+    inserts.chunked(MAX_ROWS_PER_STATEMENT).forEach { chunk ->
+      var insert =
+        ctx
+          .insertInto(Tables.STATE)
+          .columns(
+            Tables.STATE.ID,
+            Tables.STATE.CREATED_AT,
+            Tables.STATE.UPDATED_AT,
+            Tables.STATE.CONNECTION_ID,
+            Tables.STATE.STREAM_NAME,
+            Tables.STATE.NAMESPACE,
+            Tables.STATE.STATE_,
+            Tables.STATE.TYPE,
+          )
+      chunk.forEach { (key, row) ->
+        insert = insert.values(UUID.randomUUID(), now, now, connectionId, key.streamName, key.namespace, row.state, row.type)
+      }
+      insert.execute()
+    }
+  }
+
+  private fun update(
+    ctx: DSLContext,
+    updates: List<Pair<StreamKey, StateRow>>,
+    now: OffsetDateTime,
+  ) {
+    if (updates.isEmpty()) {
+      return
+    }
+    // Sent to the database in a single round trip.
+    ctx
+      .batch(
+        updates.map { (key, row) ->
+          ctx
+            .update(Tables.STATE)
+            .set(Tables.STATE.UPDATED_AT, now)
+            .set(Tables.STATE.STATE_, row.state)
+            .where(Tables.STATE.CONNECTION_ID.eq(connectionId), key.condition())
+        },
+      ).execute()
+  }
+
+  private fun delete(
+    ctx: DSLContext,
+    deletes: List<StreamKey>,
+  ) {
+    deletes.chunked(MAX_ROWS_PER_STATEMENT).forEach { chunk ->
+      ctx
+        .deleteFrom(Tables.STATE)
+        .where(Tables.STATE.CONNECTION_ID.eq(connectionId))
+        .and(DSL.or(chunk.map { it.condition() }))
+        .execute()
+    }
+  }
+
+  private fun StreamKey.condition() =
+    DSL.and(
+      PersistenceHelpers.isNullOrEquals(Tables.STATE.STREAM_NAME, streamName),
+      PersistenceHelpers.isNullOrEquals(Tables.STATE.NAMESPACE, namespace),
+    )
+
+  // Postgres normalizes JSONB, so the states are compared once parsed rather than as text.
+  private fun isSameState(
+    existing: JSONB?,
+    new: JSONB,
+  ): Boolean = existing != null && Jsons.deserialize(existing.data()) == Jsons.deserialize(new.data())
 }
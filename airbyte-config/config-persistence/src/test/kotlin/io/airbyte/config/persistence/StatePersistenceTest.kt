@@ -873,6 +873,60 @@ internal class StatePersistenceTest : BaseConfigDatabaseTest() {
     Assertions.assertEquals(readStates.get(0)!!.getState(), stateWrapper.getLegacyState())
   }
 
+  @Test
+  @Throws(IOException::class, SQLException::class)
+  fun testUnchangedStreamStatesAreNotRewritten() {
+    val state0 =
+      StateWrapper()
+        .withStateType(StateType.STREAM)
+        .withStateMessages(
+          Arrays.asList(
+            AirbyteStateMessage()
+              .withType(AirbyteStateType.STREAM)
+              .withStream(
+                AirbyteStreamState()
+                  .withStreamDescriptor(StreamDescriptor().withName("s1").withNamespace("n1"))
+                  .withStreamState(deserialize(STATE_WITH_NAMESPACE)),
+              ),
+            AirbyteStateMessage()
+              .withType(AirbyteStateType.STREAM)
+              .withStream(
+                AirbyteStreamState()
+                  .withStreamDescriptor(StreamDescriptor().withName("s2"))
+                  .withStreamState(deserialize(STREAM_STATE_2)),
+              ),
+          ),
+        )
+    statePersistence!!.updateOrCreateState(connectionId!!, state0)
+    val updatedAt0 = readUpdatedAtByStream()
+
+    val state1 = clone(state0)
+    state1
+      .getStateMessages()
+      .get(1)
+      .getStream()
+      .withStreamState(deserialize("\"updated state s2\""))
+    statePersistence!!.updateOrCreateState(connectionId!!, state1)
+    val updatedAt1 = readUpdatedAtByStream()
+
+    Assertions.assertEquals(state1, statePersistence!!.getCurrentState(connectionId!!).orElseThrow())
+    Assertions.assertEquals(updatedAt0["s1"], updatedAt1["s1"])
+    Assertions.assertNotEquals(updatedAt0["s2"], updatedAt1["s2"])
+  }
+
+  @Throws(SQLException::class)
+  private fun readUpdatedAtByStream(): Map<String?, java.time.OffsetDateTime?> =
+    database!!.query(
+      ContextQueryFunction { ctx: DSLContext ->
+        ctx
+          .select(DSL.field("stream_name", String::class.java), DSL.field("updated_at", java.time.OffsetDateTime::class.java))
+          .from(STATE)
+          .where(DSL.field("connection_id").eq(connectionId))
+          .fetch()
+          .associate { it.value1() to it.value2() }
+      },
+    )
+
   @Test
   @Throws(IOException::class)
   fun testBulkDeletePerStream() {
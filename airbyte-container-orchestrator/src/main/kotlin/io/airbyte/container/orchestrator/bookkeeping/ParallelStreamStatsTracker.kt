@@ -4,6 +4,7 @@
 
 package io.airbyte.container.orchestrator.bookkeeping
 
+import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.config.SyncStats
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
 import io.airbyte.featureflag.FailSyncOnInvalidChecksum
@@ -23,9 +24,19 @@ import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReferenceArray
 
 private val logger = KotlinLogging.logger { }
 
+/**
+ * Trackers of the registered streams, indexed by their [StreamIndex] id.
+ */
+private class IndexedStreamTrackers(
+  val index: StreamIndex,
+) {
+  val trackers = AtomicReferenceArray<StreamStatsTracker?>(index.size)
+}
+
 private data class SyncStatsCounters(
   val estimatedRecordCount: AtomicLong = AtomicLong(),
   val estimatedBytesCount: AtomicLong = AtomicLong(),
@@ -50,17 +61,24 @@ class ParallelStreamStatsTracker(
   @Volatile
   private var checksumValidationEnabled = true
 
+  @Volatile
+  private var indexedStreamTrackers: IndexedStreamTrackers? = null
+
+  override fun registerStreams(catalog: ConfiguredAirbyteCatalog) {
+    indexedStreamTrackers = IndexedStreamTrackers(StreamIndex(catalog))
+  }
+
   override fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage) {
-    getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage)).updateFilteredOutRecordsStats(recordMessage)
+    getOrCreateStreamStatsTracker(recordMessage).updateFilteredOutRecordsStats(recordMessage)
   }
 
   override fun updateStatsFromDestination(recordMessage: AirbyteRecordMessage) {
-    getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+    getOrCreateStreamStatsTracker(recordMessage)
       .trackRecordCountFromDestination(recordMessage)
   }
 
   override fun updateStats(recordMessage: AirbyteRecordMessage) {
-    getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+    getOrCreateStreamStatsTracker(recordMessage)
       .trackRecord(recordMessage)
   }
 
@@ -323,6 +341,25 @@ class ParallelStreamStatsTracker(
         .get()
     }
 
+  /**
+   * Get the [StreamStatsTracker] of the stream of a record.
+   * <p />
+   * This is called for every record, so the trackers of the registered streams are looked up by their id, which does
+   * not allocate a key. Records of streams that are not registered fall back to the lookup by name.
+   */
+  private fun getOrCreateStreamStatsTracker(recordMessage: AirbyteRecordMessage): StreamStatsTracker {
+    val indexed = indexedStreamTrackers ?: return getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+    val id = indexed.index.idOf(recordMessage.namespace, recordMessage.stream)
+    if (id == StreamIndex.UNKNOWN_STREAM) {
+      return getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage))
+    }
+    indexed.trackers.get(id)?.let {
+      return it
+    }
+    // The map stays the source of truth, caching the tracker it holds keeps a single tracker per stream.
+    return getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage)).also { indexed.trackers.set(id, it) }
+  }
+
   /**
    * Get the [StreamStatsTracker] for a given stream. If this tracker doesn't exist, create it.
    */
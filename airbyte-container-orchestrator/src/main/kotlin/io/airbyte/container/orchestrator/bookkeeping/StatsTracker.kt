@@ -9,6 +9,7 @@ import com.google.common.util.concurrent.AtomicDouble
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.FileTransferInformations
 import io.airbyte.container.orchestrator.worker.model.getIdFromStateMessage
+import io.airbyte.container.orchestrator.worker.util.MessageSizeEstimator
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.protocol.models.v0.AirbyteEstimateTraceMessage
@@ -23,6 +24,7 @@ import java.util.concurrent.ConcurrentLinkedQueue
 import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicLong
 import java.util.concurrent.atomic.LongAccumulator
+import java.util.concurrent.atomic.LongAdder
 
 /**
  * Track Stats for a specific stream.
@@ -37,15 +39,16 @@ import java.util.concurrent.atomic.LongAccumulator
  *
  * Data class for tracking stats of a given stream, this is also how stats are returned to the outside.
  *
- * All the counters are implemented as AtomicLong to avoid race conditions on updates.
+ * All the counters are implemented as AtomicLong to avoid race conditions on updates. The counters updated for every
+ * record are LongAdders instead, which do not contend when records of the same stream are tracked from several threads.
  *
  * TODO: Make internal when [io.airbyte.container.orchestrator.bookkeeping.ParallelStreamStatsTracker] has converted.
  */
 data class StreamStatsCounters(
-  val emittedRecordsCount: AtomicLong = AtomicLong(),
-  val filteredOutRecords: AtomicLong = AtomicLong(),
-  val filteredOutBytesCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
+  val emittedRecordsCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
   val committedRecordsCount: AtomicLong = AtomicLong(),
   val committedBytesCount: AtomicLong = AtomicLong(),
   val estimatedRecordsCount: AtomicLong = AtomicLong(),
@@ -68,10 +71,10 @@ data class StreamStatsCounters(
  * once the state is acked by the destination.
  */
 data class EmittedStatsCounters(
-  val remittedRecordsCount: AtomicLong = AtomicLong(),
-  val emittedBytesCount: AtomicLong = AtomicLong(),
-  val filteredOutRecords: AtomicLong = AtomicLong(),
-  val filteredOutBytesCount: AtomicLong = AtomicLong(),
+  val remittedRecordsCount: LongAdder = LongAdder(),
+  val emittedBytesCount: LongAdder = LongAdder(),
+  val filteredOutRecords: LongAdder = LongAdder(),
+  val filteredOutBytesCount: LongAdder = LongAdder(),
 )
 
 /**
@@ -125,14 +128,14 @@ class StreamStatsTracker(
 
   fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage) {
     val emittedStatsToUpdate = emittedStats
-    val filteredOutByteSize = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+    val filteredOutByteSize = getRecordSize(recordMessage)
     with(emittedStatsToUpdate) {
-      filteredOutRecords.incrementAndGet()
-      filteredOutBytesCount.addAndGet(filteredOutByteSize)
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
     }
     with(streamStats) {
-      filteredOutRecords.incrementAndGet()
-      filteredOutBytesCount.addAndGet(filteredOutByteSize)
+      filteredOutRecords.increment()
+      filteredOutBytesCount.add(filteredOutByteSize)
     }
   }
 
@@ -162,6 +165,15 @@ class StreamStatsTracker(
 
   private fun Any?.asLongOrZero(): Long = (this as? Number)?.toLong() ?: 0L
 
+  /**
+   * Overwrites the value of the adder. Only used in bookkeeper mode where the destination reports absolute counts,
+   * which does not race with the per record increments of the other modes.
+   */
+  private fun LongAdder.set(value: Long) {
+    reset()
+    add(value)
+  }
+
   /**
    * Bookkeeping for when a record message is read.
    *
@@ -181,14 +193,14 @@ class StreamStatsTracker(
     // acquire the write.
     val emittedStatsToUpdate = emittedStats
     with(emittedStatsToUpdate) {
-      remittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(bytesToTrack)
+      remittedRecordsCount.increment()
+      emittedBytesCount.add(bytesToTrack)
     }
 
     // Update the global stream stats
     with(streamStats) {
-      emittedRecordsCount.incrementAndGet()
-      emittedBytesCount.addAndGet(bytesToTrack)
+      emittedRecordsCount.increment()
+      emittedBytesCount.add(bytesToTrack)
     }
   }
 
@@ -206,7 +218,7 @@ class StreamStatsTracker(
       null
     }
 
-  private fun getRecordSize(recordMessage: AirbyteRecordMessage): Long = Jsons.getEstimatedByteSize(recordMessage.data).toLong()
+  private fun getRecordSize(recordMessage: AirbyteRecordMessage): Long = MessageSizeEstimator.estimateRecord(recordMessage)
 
   /**
    * Bookkeeping for when a state is read from the source.
@@ -327,10 +339,10 @@ class StreamStatsTracker(
         val (totalCommittedRecords, totalCommittedBytes, totalRejectedRecords) =
           extractBookkeeperRelatedCounts(stateMessage)
         streamStats.apply {
-          if (emittedRecordsCount.get() < totalCommittedRecords) {
+          if (emittedRecordsCount.sum() < totalCommittedRecords) {
             emittedRecordsCount.set(totalCommittedRecords)
           }
-          if (emittedBytesCount.get() < totalCommittedBytes) {
+          if (emittedBytesCount.sum() < totalCommittedBytes) {
             emittedBytesCount.set(totalCommittedBytes)
           }
           committedRecordsCount.set(totalCommittedRecords)
@@ -344,13 +356,13 @@ class StreamStatsTracker(
         // Increment committed stats as we are un-staging stats
         streamStats.committedBytesCount.addAndGet(
           stagedStats.emittedStatsCounters.emittedBytesCount
-            .get()
-            .minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.get()),
+            .sum()
+            .minus(stagedStats.emittedStatsCounters.filteredOutBytesCount.sum()),
         )
         streamStats.committedRecordsCount.addAndGet(
           stagedStats.emittedStatsCounters.remittedRecordsCount
-            .get()
-            .minus(stagedStats.emittedStatsCounters.filteredOutRecords.get()),
+            .sum()
+            .minus(stagedStats.emittedStatsCounters.filteredOutRecords.sum()),
         )
 
         // If rejected records, we should decrement the record count and increment rejected
@@ -426,7 +438,7 @@ class StreamStatsTracker(
       estimatedRecordsCount.set(msg.rowEstimate)
     }
 
-  fun getTrackedEmittedRecordsSinceLastStateMessage(): Long = previousEmittedStats.remittedRecordsCount.get()
+  fun getTrackedEmittedRecordsSinceLastStateMessage(): Long = previousEmittedStats.remittedRecordsCount.sum()
 
   fun getTrackedEmittedRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
     val stateId = stateMessage.getStateIdForStatsTracking()
@@ -434,7 +446,7 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with id $stateId in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.remittedRecordsCount?.sum() ?: 0
   }
 
   fun getTrackedFilteredOutRecordsSinceLastStateMessage(stateMessage: AirbyteStateMessage): Long {
@@ -443,7 +455,7 @@ class StreamStatsTracker(
     if (stagedStats == null) {
       logger.warn { "Could not find the state message with id $stateId in the stagedStatsList" }
     }
-    return stagedStats?.emittedStatsCounters?.filteredOutRecords?.get() ?: 0
+    return stagedStats?.emittedStatsCounters?.filteredOutRecords?.sum() ?: 0
   }
 
   fun areStreamStatsReliable(): Boolean = !streamStats.unreliableStateOperations.get()
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.bookkeeping
+
+import io.airbyte.config.ConfiguredAirbyteCatalog
+
+/**
+ * Dense integer ids for the streams of a configured catalog, assigned in catalog order from 0 to [size] - 1.
+ * <p />
+ * Looking up the id of a stream does not allocate, which lets per record bookkeeping index into arrays instead of
+ * building an [io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair] key for every record. The index is
+ * immutable once built and can be read concurrently.
+ */
+class StreamIndex(
+  catalog: ConfiguredAirbyteCatalog,
+) {
+  companion object {
+    const val UNKNOWN_STREAM = -1
+  }
+
+  // namespace (possibly null) -> stream name -> id
+  private val idsByNamespace: Map<String?, Map<String, Int>>
+  val size: Int
+
+  init {
+    val ids = HashMap<String?, HashMap<String, Int>>()
+    var nextId = 0
+    catalog.streams.forEach { configuredStream ->
+      val names = ids.getOrPut(configuredStream.stream.namespace) { HashMap() }
+      if (!names.containsKey(configuredStream.stream.name)) {
+        names[configuredStream.stream.name] = nextId++
+      }
+    }
+    idsByNamespace = ids
+    size = nextId
+  }
+
+  /**
+   * Id of the stream, or [UNKNOWN_STREAM] if it is not part of the catalog.
+   */
+  fun idOf(
+    namespace: String?,
+    name: String?,
+  ): Int {
+    if (name == null) {
+      return UNKNOWN_STREAM
+    }
+    return idsByNamespace[namespace]?.get(name) ?: UNKNOWN_STREAM
+  }
+}
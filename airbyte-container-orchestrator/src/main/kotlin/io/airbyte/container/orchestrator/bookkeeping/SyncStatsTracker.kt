@@ -4,6 +4,7 @@
 
 package io.airbyte.container.orchestrator.bookkeeping
 
+import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
 import io.airbyte.protocol.models.v0.AirbyteEstimateTraceMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
@@ -14,6 +15,12 @@ import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
  * Track stats during a sync.
  */
 interface SyncStatsTracker {
+  /**
+   * Register the streams of the catalog being synced ahead of time so that the stats of their records can be
+   * tracked without looking them up by name. Streams that are not registered are still tracked.
+   */
+  fun registerStreams(catalog: ConfiguredAirbyteCatalog)
+
   fun updateFilteredOutRecordsStats(recordMessage: AirbyteRecordMessage)
 
   /**
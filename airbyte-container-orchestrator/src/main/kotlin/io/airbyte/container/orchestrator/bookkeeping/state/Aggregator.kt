@@ -4,6 +4,7 @@
 
 package io.airbyte.container.orchestrator.bookkeeping.state
 
+import com.fasterxml.jackson.databind.JsonNode
 import datadog.trace.api.Trace
 import io.airbyte.commons.json.Jsons
 import io.airbyte.config.State
@@ -21,6 +22,17 @@ interface StateAggregator {
 
   fun getAggregated(): State
 
+  /**
+   * Aggregated states that changed since the states last passed to [acknowledge], or null if there is none. This is
+   * what needs to be persisted when the previously acknowledged states are known to be persisted already.
+   */
+  fun getChanges(): State? = if (isEmpty()) null else getAggregated()
+
+  /**
+   * Records that the states returned by the last call to [getChanges] were persisted.
+   */
+  fun acknowledge() {}
+
   fun isEmpty(): Boolean
 
   fun clear()
@@ -70,6 +82,14 @@ class DefaultStateAggregator(
 
   override fun getAggregated(): State = getStateAggregator().getAggregated()
 
+  override fun getChanges(): State? = if (stateType == null) null else getStateAggregator().getChanges()
+
+  override fun acknowledge() {
+    if (stateType != null) {
+      getStateAggregator().acknowledge()
+    }
+  }
+
   override fun isEmpty(): Boolean = stateType == null || getStateAggregator().isEmpty()
 
   override fun clear() {
@@ -143,10 +163,19 @@ class SingleStateAggregator : StateAggregator {
   }
 }
 
+/**
+ * Aggregates per stream states, keeping the latest state of each stream.
+ * <p />
+ * Sources may checkpoint every stream every time while only a few of them progressed. The stream states last
+ * acknowledged are kept so that [getChanges] only returns the streams whose state differs from what was persisted,
+ * which keeps the size of a checkpoint proportional to the activity of the sync rather than to the size of its catalog.
+ */
 @Singleton
 @Named("streamStateAggregator")
 class StreamStateAggregator : StateAggregator {
   private val aggregatedState = mutableMapOf<StreamDescriptor, AirbyteStateMessage>()
+  private val acknowledgedStreamStates = mutableMapOf<StreamDescriptor, JsonNode?>()
+  private var unacknowledgedChanges: List<AirbyteStateMessage> = listOf()
 
   @Trace(operationName = WORKER_OPERATION_NAME)
   override fun ingest(stateMessage: AirbyteStateMessage) {
@@ -169,9 +198,24 @@ class StreamStateAggregator : StateAggregator {
 
   override fun getAggregated(): State = State().withState(Jsons.jsonNode(aggregatedState.values))
 
+  override fun getChanges(): State? {
+    unacknowledgedChanges = aggregatedState.values.filterNot { isAcknowledged(it) }
+    return if (unacknowledgedChanges.isEmpty()) null else State().withState(Jsons.jsonNode(unacknowledgedChanges))
+  }
+
+  override fun acknowledge() {
+    unacknowledgedChanges.forEach { acknowledgedStreamStates[it.stream.streamDescriptor] = it.stream.streamState }
+    unacknowledgedChanges = listOf()
+  }
+
   override fun isEmpty(): Boolean = aggregatedState.isEmpty()
 
   override fun clear() {
     aggregatedState.clear()
   }
+
+  private fun isAcknowledged(stateMessage: AirbyteStateMessage): Boolean {
+    val streamDescriptor = stateMessage.stream.streamDescriptor
+    return acknowledgedStreamStates.containsKey(streamDescriptor) && acknowledgedStreamStates[streamDescriptor] == stateMessage.stream.streamState
+  }
 }
@@ -51,11 +51,31 @@ class StreamStatusTracker(
     val stream = dataExtractor.getStreamFromMessage(msg)
     if (stream == null) {
       trackGlobal(msg)
+    } else if (msg.type == AirbyteMessage.Type.RECORD) {
+      trackRecordMessage(stream, msg)
     } else {
       trackStream(stream, msg)
     }
   }
 
+  /**
+   * Records of a stream can be tracked concurrently when the message processor runs several workers. Only the first
+   * records of a stream (or the first ones after it has been rate limited) change its status, so the status update is
+   * serialized while the records of a running stream skip it altogether.
+   */
+  private fun trackRecordMessage(
+    stream: StreamDescriptor,
+    msg: AirbyteMessage,
+  ) {
+    val value = store.get(StreamStatusKey.fromProtocol(stream))
+    if (value != null && value.runState == ApiEnum.RUNNING && !value.streamEmpty) {
+      return
+    }
+    synchronized(this) {
+      trackStream(stream, msg)
+    }
+  }
+
   @VisibleForTesting
   fun trackStream(
     stream: StreamDescriptor,
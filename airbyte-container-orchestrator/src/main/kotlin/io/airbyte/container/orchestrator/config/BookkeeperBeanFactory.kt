@@ -5,14 +5,21 @@
 package io.airbyte.container.orchestrator.config
 
 import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
+import io.airbyte.container.orchestrator.worker.BatchedSourceReader
+import io.airbyte.container.orchestrator.worker.BufferConfiguration
 import io.airbyte.container.orchestrator.worker.DestinationReader
 import io.airbyte.container.orchestrator.worker.MessageProcessor
+import io.airbyte.container.orchestrator.worker.ReplicationTask
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerHelper
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerState
+import io.airbyte.container.orchestrator.worker.SOURCE_QUEUE_NAME
 import io.airbyte.container.orchestrator.worker.SourceReader
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
 import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageBatch
+import io.airbyte.container.orchestrator.worker.util.MessageBatchPool
+import io.airbyte.metrics.MetricClient
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.workers.models.ArchitectureConstants.BOOKKEEPER
 import io.airbyte.workers.models.ArchitectureConstants.PLATFORM_MODE
@@ -39,23 +46,64 @@ class BookkeeperBeanFactory {
     source: AirbyteSource,
     @Named("sourceMessageQueue") sourceMessageQueue: ClosableChannelQueue<AirbyteMessage>,
     streamStatusCompletionTracker: StreamStatusCompletionTracker,
-  ) = listOf(
-    SourceReader(
-      messagesFromSourceQueue = sourceMessageQueue,
-      replicationWorkerState = replicationWorkerState,
-      replicationWorkerHelper = replicationWorkerHelper,
-      source = source,
-      streamStatusCompletionTracker = streamStatusCompletionTracker,
-    ),
-    MessageProcessor(
-      replicationWorkerHelper = replicationWorkerHelper,
-      replicationWorkerState = replicationWorkerState,
-      sourceQueue = sourceMessageQueue,
-    ),
-    DestinationReader(
-      destination = destination,
-      replicationWorkerHelper = replicationWorkerHelper,
-      replicationWorkerState = replicationWorkerState,
-    ),
-  )
+    bufferConfiguration: BufferConfiguration,
+    metricClient: MetricClient,
+  ): List<ReplicationTask> {
+    if (bufferConfiguration.isBatchingEnabled()) {
+      val sourceBatchQueue =
+        ClosableChannelQueue<MessageBatch>(
+          capacity = bufferConfiguration.batchQueueCapacity(bufferConfiguration.sourceMaxBufferSize),
+          maxBytes = bufferConfiguration.sourceMaxBufferBytes,
+          sizeEstimator = MessageBatch::estimatedBytes,
+        ).also { it.registerMetrics(metricClient, SOURCE_QUEUE_NAME) }
+      // Enough batches to fill the queue plus the ones held by each of the two tasks.
+      val batchPool =
+        MessageBatchPool(
+          batchCapacity = bufferConfiguration.batchMaxMessages,
+          poolSize = bufferConfiguration.batchQueueCapacity(bufferConfiguration.sourceMaxBufferSize) + 2,
+        )
+      return listOf(
+        BatchedSourceReader(
+          messagesFromSourceQueue = sourceBatchQueue,
+          replicationWorkerState = replicationWorkerState,
+          replicationWorkerHelper = replicationWorkerHelper,
+          source = source,
+          streamStatusCompletionTracker = streamStatusCompletionTracker,
+          batchPool = batchPool,
+          bufferConfiguration = bufferConfiguration,
+        ),
+        batchedMessageProcessor(
+          replicationWorkerHelper = replicationWorkerHelper,
+          replicationWorkerState = replicationWorkerState,
+          sourceQueue = sourceBatchQueue,
+          batchPool = batchPool,
+          bufferConfiguration = bufferConfiguration,
+        ),
+        DestinationReader(
+          destination = destination,
+          replicationWorkerHelper = replicationWorkerHelper,
+          replicationWorkerState = replicationWorkerState,
+        ),
+      )
+    }
+    return listOf(
+      SourceReader(
+        messagesFromSourceQueue = sourceMessageQueue,
+        replicationWorkerState = replicationWorkerState,
+        replicationWorkerHelper = replicationWorkerHelper,
+        source = source,
+        streamStatusCompletionTracker = streamStatusCompletionTracker,
+      ),
+      MessageProcessor(
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+        sourceQueue = sourceMessageQueue,
+      ),
+      DestinationReader(
+        destination = destination,
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+      ),
+    )
+  }
 }
@@ -14,18 +14,30 @@ import io.airbyte.commons.storage.DocumentType
 import io.airbyte.commons.storage.StorageClient
 import io.airbyte.commons.storage.StorageClientFactory
 import io.airbyte.commons.temporal.TemporalUtils
+import io.airbyte.container.orchestrator.worker.BYTES_PER_MEGABYTE
 import io.airbyte.container.orchestrator.worker.BufferConfiguration
+import io.airbyte.container.orchestrator.worker.DEFAULT_PARALLEL_BATCH_MAX_MESSAGES
 import io.airbyte.container.orchestrator.worker.DestinationStarter
+import io.airbyte.container.orchestrator.worker.ProcessorPartitioning
 import io.airbyte.container.orchestrator.worker.ReplicationContextProvider
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerContext
+import io.airbyte.container.orchestrator.worker.SOURCE_QUEUE_NAME
 import io.airbyte.container.orchestrator.worker.SourceStarter
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
 import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageSizeEstimator
 import io.airbyte.container.orchestrator.worker.withBufferSize
 import io.airbyte.container.orchestrator.worker.withDefaultConfiguration
+import io.airbyte.container.orchestrator.worker.withMaxBufferBytes
+import io.airbyte.featureflag.ReplicationBatchMaxBytes
+import io.airbyte.featureflag.ReplicationBatchMaxMessages
+import io.airbyte.featureflag.ReplicationBufferMaxMegabytes
 import io.airbyte.featureflag.ReplicationBufferOverride
+import io.airbyte.featureflag.ReplicationProcessorParallelism
+import io.airbyte.featureflag.ReplicationProcessorPartitionByPosition
+import io.airbyte.metrics.MetricClient
 import io.airbyte.persistence.job.models.JobRunConfig
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
@@ -155,7 +167,41 @@ class CommonBeanFactory {
   @Singleton
   fun bufferConfiguration(replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader): BufferConfiguration {
     val bufferSize = replicationInputFeatureFlagReader.read(ReplicationBufferOverride)
-    return if (bufferSize > 0) withBufferSize(bufferSize) else withDefaultConfiguration()
+    val maxBufferMegabytes = replicationInputFeatureFlagReader.read(ReplicationBufferMaxMegabytes)
+    val bufferConfiguration =
+      when {
+        maxBufferMegabytes > 0 -> {
+          val byteBounded = withMaxBufferBytes(maxBufferMegabytes * BYTES_PER_MEGABYTE)
+          if (bufferSize > 0) byteBounded.copy(sourceMaxBufferSize = bufferSize, destinationMaxBufferSize = bufferSize) else byteBounded
+        }
+        bufferSize > 0 -> withBufferSize(bufferSize)
+        else -> withDefaultConfiguration()
+      }
+    val processorParallelism = replicationInputFeatureFlagReader.read(ReplicationProcessorParallelism)
+    // Parallel processing fans records out one batch at a time, so it needs batching.
+    val batchMaxMessages =
+      replicationInputFeatureFlagReader.read(ReplicationBatchMaxMessages).let {
+        if (processorParallelism > 1 && it <= 1) DEFAULT_PARALLEL_BATCH_MAX_MESSAGES else it
+      }
+    val batchMaxBytes = replicationInputFeatureFlagReader.read(ReplicationBatchMaxBytes)
+    if (batchMaxMessages <= 1) {
+      return bufferConfiguration
+    }
+    val batchedConfiguration =
+      bufferConfiguration.copy(batchMaxMessages = batchMaxMessages, batchMaxBytes = batchMaxBytes.coerceAtLeast(0).toLong())
+    return if (processorParallelism > 1) {
+      batchedConfiguration.copy(
+        processorParallelism = processorParallelism,
+        processorPartitioning =
+          if (replicationInputFeatureFlagReader.read(ReplicationProcessorPartitionByPosition)) {
+            ProcessorPartitioning.STREAM_AND_POSITION
+          } else {
+            ProcessorPartitioning.STREAM
+          },
+      )
+    } else {
+      batchedConfiguration
+    }
   }
 
   @Singleton
@@ -199,7 +245,19 @@ class CommonBeanFactory {
 
   @Singleton
   @Named("sourceMessageQueue")
-  fun sourceMessageQueue(context: ReplicationWorkerContext) = ClosableChannelQueue<AirbyteMessage>(context.bufferConfiguration.sourceMaxBufferSize)
+  fun sourceMessageQueue(
+    context: ReplicationWorkerContext,
+    metricClient: MetricClient,
+  ) = ClosableChannelQueue<AirbyteMessage>(
+    capacity = context.bufferConfiguration.sourceMaxBufferSize,
+    maxBytes = context.bufferConfiguration.sourceMaxBufferBytes,
+    sizeEstimator = MessageSizeEstimator::estimate,
+  ).also {
+    // The batched replication tasks use their own queues, registered under the same name.
+    if (!context.bufferConfiguration.isBatchingEnabled()) {
+      it.registerMetrics(metricClient, SOURCE_QUEUE_NAME)
+    }
+  }
 
   @Singleton
   @Named("replicationMdcScopeBuilder")
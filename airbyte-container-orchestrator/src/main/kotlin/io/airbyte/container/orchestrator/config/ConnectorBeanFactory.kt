@@ -25,6 +25,8 @@ import io.airbyte.container.orchestrator.worker.io.HeartbeatMonitor
 import io.airbyte.container.orchestrator.worker.io.LocalContainerAirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.LocalContainerAirbyteSource
 import io.airbyte.featureflag.PrintLongRecordPks
+import io.airbyte.featureflag.ReplicationRawRecordPassthrough
+import io.airbyte.featureflag.ReplicationStreamingDeserializer
 import io.airbyte.metrics.MetricClient
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.workers.helper.GsonPksExtractor
@@ -148,6 +150,7 @@ class ConnectorBeanFactory {
     metricClient: MetricClient,
     migratorFactory: AirbyteProtocolVersionedMigratorFactory,
     replicationInput: ReplicationInput,
+    replicationInputFeatureFlagReader: ReplicationInputFeatureFlagReader,
     serDeProvider: AirbyteMessageSerDeProvider,
   ): AirbyteStreamFactory =
     VersionedAirbyteStreamFactory<Any>(
@@ -160,5 +163,7 @@ class ConnectorBeanFactory {
       invalidLineFailureConfiguration = invalidLineFailureConfiguration,
       gsonPksExtractor = gsonPksExtractor,
       metricClient = metricClient,
+      retainRawRecordLines = replicationInputFeatureFlagReader.read(ReplicationRawRecordPassthrough),
+      useStreamingDeserializer = replicationInputFeatureFlagReader.read(ReplicationStreamingDeserializer),
     )
 }
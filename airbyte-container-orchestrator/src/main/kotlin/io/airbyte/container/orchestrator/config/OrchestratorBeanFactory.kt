@@ -6,20 +6,33 @@ package io.airbyte.container.orchestrator.config
 
 import com.fasterxml.jackson.databind.JsonNode
 import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
+import io.airbyte.container.orchestrator.worker.BatchedDestinationWriter
+import io.airbyte.container.orchestrator.worker.BatchedMessageProcessor
+import io.airbyte.container.orchestrator.worker.BatchedSourceReader
+import io.airbyte.container.orchestrator.worker.BufferConfiguration
+import io.airbyte.container.orchestrator.worker.DESTINATION_QUEUE_NAME
 import io.airbyte.container.orchestrator.worker.DestinationReader
 import io.airbyte.container.orchestrator.worker.DestinationWriter
 import io.airbyte.container.orchestrator.worker.MessageProcessor
+import io.airbyte.container.orchestrator.worker.ParallelBatchedMessageProcessor
 import io.airbyte.container.orchestrator.worker.RecordSchemaValidator
+import io.airbyte.container.orchestrator.worker.ReplicationTask
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerContext
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerHelper
 import io.airbyte.container.orchestrator.worker.ReplicationWorkerState
+import io.airbyte.container.orchestrator.worker.SOURCE_QUEUE_NAME
+import io.airbyte.container.orchestrator.worker.SchemaValidationConfiguration
 import io.airbyte.container.orchestrator.worker.SourceReader
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
 import io.airbyte.container.orchestrator.worker.filter.FieldSelector
 import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
 import io.airbyte.container.orchestrator.worker.io.AirbyteSource
 import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageBatch
+import io.airbyte.container.orchestrator.worker.util.MessageBatchPool
+import io.airbyte.container.orchestrator.worker.util.MessageSizeEstimator
 import io.airbyte.container.orchestrator.worker.util.ReplicationMetricReporter
+import io.airbyte.metrics.MetricClient
 import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
@@ -30,6 +43,7 @@ import io.airbyte.workers.models.ArchitectureConstants.ORCHESTRATOR
 import io.airbyte.workers.models.ArchitectureConstants.PLATFORM_MODE
 import io.micronaut.context.annotation.Factory
 import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.util.concurrent.ExecutorService
@@ -79,17 +93,42 @@ class OrchestratorBeanFactory {
     @Named("jsonSchemaValidator") jsonSchemaValidator: JsonSchemaValidator,
     @Named("schemaValidationExecutorService") schemaValidationExecutorService: ExecutorService,
     @Named("streamNamesToSchemas") streamNamesToSchemas: MutableMap<AirbyteStreamNameNamespacePair, JsonNode?>,
+    @Value("\${airbyte.worker.replication.schema-validation.sample-rate:1.0}") sampleRate: Double,
+    @Value("\${airbyte.worker.replication.schema-validation.copy-sample-rate:0.1}") copySampleRate: Double,
+    @Value("\${airbyte.worker.replication.schema-validation.error-budget-per-stream:1000}") errorBudgetPerStream: Int,
+    @Value("\${airbyte.worker.replication.schema-validation.max-backlog:1000}") maxBacklog: Int,
+    @Value("\${airbyte.worker.replication.schema-validation.batch-size:100}") batchSize: Int,
+    metricClient: MetricClient,
   ): RecordSchemaValidator =
     RecordSchemaValidator(
       jsonSchemaValidator = jsonSchemaValidator,
       schemaValidationExecutorService = schemaValidationExecutorService,
       streamNamesToSchemas = streamNamesToSchemas,
-    )
+      configuration =
+        SchemaValidationConfiguration(
+          sampleRate = sampleRate,
+          copySampleRate = copySampleRate,
+          errorBudgetPerStream = errorBudgetPerStream,
+          maxBacklog = maxBacklog,
+          batchSize = batchSize,
+        ),
+    ).also { it.registerMetrics(metricClient) }
 
   @Singleton
   @Named("destinationMessageQueue")
-  fun destinationMessageQueue(context: ReplicationWorkerContext) =
-    ClosableChannelQueue<AirbyteMessage>(context.bufferConfiguration.destinationMaxBufferSize)
+  fun destinationMessageQueue(
+    context: ReplicationWorkerContext,
+    metricClient: MetricClient,
+  ) = ClosableChannelQueue<AirbyteMessage>(
+    capacity = context.bufferConfiguration.destinationMaxBufferSize,
+    maxBytes = context.bufferConfiguration.destinationMaxBufferBytes,
+    sizeEstimator = MessageSizeEstimator::estimate,
+  ).also {
+    // The batched replication tasks use their own queues, registered under the same name.
+    if (!context.bufferConfiguration.isBatchingEnabled()) {
+      it.registerMetrics(metricClient, DESTINATION_QUEUE_NAME)
+    }
+  }
 
   @Singleton
   @Named("syncReplicationJobs")
@@ -101,31 +140,142 @@ class OrchestratorBeanFactory {
     source: AirbyteSource,
     @Named("sourceMessageQueue") sourceMessageQueue: ClosableChannelQueue<AirbyteMessage>,
     streamStatusCompletionTracker: StreamStatusCompletionTracker,
-  ) = listOf(
-    SourceReader(
-      messagesFromSourceQueue = sourceMessageQueue,
+    bufferConfiguration: BufferConfiguration,
+    metricClient: MetricClient,
+  ): List<ReplicationTask> {
+    if (bufferConfiguration.isBatchingEnabled()) {
+      return batchedSyncReplicationJobs(
+        destination = destination,
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+        source = source,
+        streamStatusCompletionTracker = streamStatusCompletionTracker,
+        bufferConfiguration = bufferConfiguration,
+        metricClient = metricClient,
+      )
+    }
+    return listOf(
+      SourceReader(
+        messagesFromSourceQueue = sourceMessageQueue,
+        replicationWorkerState = replicationWorkerState,
+        replicationWorkerHelper = replicationWorkerHelper,
+        source = source,
+        streamStatusCompletionTracker = streamStatusCompletionTracker,
+      ),
+      MessageProcessor(
+        destinationQueue = destinationMessageQueue,
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+        sourceQueue = sourceMessageQueue,
+      ),
+      DestinationWriter(
+        source = source,
+        destination = destination,
+        replicationWorkerState = replicationWorkerState,
+        replicationWorkerHelper = replicationWorkerHelper,
+        destinationQueue = destinationMessageQueue,
+      ),
+      DestinationReader(
+        destination = destination,
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+      ),
+    )
+  }
+
+  private fun batchedSyncReplicationJobs(
+    destination: AirbyteDestination,
+    replicationWorkerHelper: ReplicationWorkerHelper,
+    replicationWorkerState: ReplicationWorkerState,
+    source: AirbyteSource,
+    streamStatusCompletionTracker: StreamStatusCompletionTracker,
+    bufferConfiguration: BufferConfiguration,
+    metricClient: MetricClient,
+  ): List<ReplicationTask> {
+    val sourceBatchQueue =
+      ClosableChannelQueue<MessageBatch>(
+        capacity = bufferConfiguration.batchQueueCapacity(bufferConfiguration.sourceMaxBufferSize),
+        maxBytes = bufferConfiguration.sourceMaxBufferBytes,
+        sizeEstimator = MessageBatch::estimatedBytes,
+      ).also { it.registerMetrics(metricClient, SOURCE_QUEUE_NAME) }
+    val destinationBatchQueue =
+      ClosableChannelQueue<MessageBatch>(
+        capacity = bufferConfiguration.batchQueueCapacity(bufferConfiguration.destinationMaxBufferSize),
+        maxBytes = bufferConfiguration.destinationMaxBufferBytes,
+        sizeEstimator = MessageBatch::estimatedBytes,
+      ).also { it.registerMetrics(metricClient, DESTINATION_QUEUE_NAME) }
+    // Enough batches to fill both queues plus the ones held by each of the three tasks.
+    val batchPool =
+      MessageBatchPool(
+        batchCapacity = bufferConfiguration.batchMaxMessages,
+        poolSize =
+          bufferConfiguration.batchQueueCapacity(bufferConfiguration.sourceMaxBufferSize) +
+            bufferConfiguration.batchQueueCapacity(bufferConfiguration.destinationMaxBufferSize) + 3,
+      )
+    return listOf(
+      BatchedSourceReader(
+        messagesFromSourceQueue = sourceBatchQueue,
+        replicationWorkerState = replicationWorkerState,
+        replicationWorkerHelper = replicationWorkerHelper,
+        source = source,
+        streamStatusCompletionTracker = streamStatusCompletionTracker,
+        batchPool = batchPool,
+        bufferConfiguration = bufferConfiguration,
+      ),
+      batchedMessageProcessor(
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+        sourceQueue = sourceBatchQueue,
+        batchPool = batchPool,
+        bufferConfiguration = bufferConfiguration,
+        destinationQueue = destinationBatchQueue,
+      ),
+      BatchedDestinationWriter(
+        source = source,
+        destination = destination,
+        replicationWorkerState = replicationWorkerState,
+        replicationWorkerHelper = replicationWorkerHelper,
+        destinationQueue = destinationBatchQueue,
+        batchPool = batchPool,
+      ),
+      DestinationReader(
+        destination = destination,
+        replicationWorkerHelper = replicationWorkerHelper,
+        replicationWorkerState = replicationWorkerState,
+      ),
+    )
+  }
+}
+
+/**
+ * Message processor of the batched pipeline: a [ParallelBatchedMessageProcessor] with its own pool of workers when
+ * parallel processing is enabled, a [BatchedMessageProcessor] otherwise.
+ */
+internal fun batchedMessageProcessor(
+  replicationWorkerHelper: ReplicationWorkerHelper,
+  replicationWorkerState: ReplicationWorkerState,
+  sourceQueue: ClosableChannelQueue<MessageBatch>,
+  batchPool: MessageBatchPool,
+  bufferConfiguration: BufferConfiguration,
+  destinationQueue: ClosableChannelQueue<MessageBatch>? = null,
+): ReplicationTask =
+  if (bufferConfiguration.isParallelProcessingEnabled()) {
+    ParallelBatchedMessageProcessor(
       replicationWorkerState = replicationWorkerState,
       replicationWorkerHelper = replicationWorkerHelper,
-      source = source,
-      streamStatusCompletionTracker = streamStatusCompletionTracker,
-    ),
-    MessageProcessor(
-      destinationQueue = destinationMessageQueue,
-      replicationWorkerHelper = replicationWorkerHelper,
-      replicationWorkerState = replicationWorkerState,
-      sourceQueue = sourceMessageQueue,
-    ),
-    DestinationWriter(
-      source = source,
-      destination = destination,
+      sourceQueue = sourceQueue,
+      batchPool = batchPool,
+      destinationQueue = destinationQueue,
+      parallelism = bufferConfiguration.processorParallelism,
+      partitioning = bufferConfiguration.processorPartitioning,
+      workerExecutor = Executors.newFixedThreadPool(bufferConfiguration.processorParallelism),
+    )
+  } else {
+    BatchedMessageProcessor(
       replicationWorkerState = replicationWorkerState,
       replicationWorkerHelper = replicationWorkerHelper,
-      destinationQueue = destinationMessageQueue,
-    ),
-    DestinationReader(
-      destination = destination,
-      replicationWorkerHelper = replicationWorkerHelper,
-      replicationWorkerState = replicationWorkerState,
-    ),
-  )
-}
+      sourceQueue = sourceQueue,
+      batchPool = batchPool,
+      destinationQueue = destinationQueue,
+    )
+  }
@@ -232,7 +232,13 @@ class SyncPersistenceImpl(
       return
     }
 
-    val state = stateToFlush?.getAggregated() ?: return
+    // Only the states that changed since the last successful flush are sent, the others are persisted already.
+    val state = stateToFlush?.getChanges()
+    if (state == null) {
+      stateToFlush?.clear()
+      stateToFlush = null
+      return
+    }
     val maybeStateWrapper = StateMessageHelper.getTypedState(state.state).getOrNull() ?: return
 
     metricClient.count(metric = OssMetricsRegistry.STATE_COMMIT_ATTEMPT)
@@ -247,7 +253,8 @@ class SyncPersistenceImpl(
       throw e
     }
 
-    // Only clear and reset stateToFlush if the API call was successful
+    // Only acknowledge, clear and reset stateToFlush if the API call was successful
+    stateToFlush?.acknowledge()
     stateToFlush?.clear()
     stateToFlush = null
     metricClient.count(metric = OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL)
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker
+
+import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
+import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
+import io.airbyte.container.orchestrator.worker.io.AirbyteSource
+import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageBatch
+import io.airbyte.container.orchestrator.worker.util.MessageBatchPool
+import io.airbyte.container.orchestrator.worker.util.MessageSizeEstimator
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type
+import io.airbyte.protocol.models.v0.AirbyteTraceMessage
+import io.airbyte.workers.internal.exception.DestinationException
+import io.airbyte.workers.internal.exception.SourceException
+import io.github.oshai.kotlinlogging.KotlinLogging
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.yield
+import java.util.concurrent.TimeUnit
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Batched counterpart of [SourceReader].
+ * <p />
+ * Messages read from the source are accumulated into a [MessageBatch] that is handed to the next task once it holds
+ * [BufferConfiguration.batchMaxMessages] messages or [BufferConfiguration.batchMaxBytes] estimated bytes. To keep
+ * latency bounded, a partial batch is also handed off when the source has nothing to read, when the oldest message
+ * in the batch is older than [BufferConfiguration.batchFlushIntervalMillis] and after every STATE message, so that
+ * checkpoints reach the destination as soon as they would in non-batched mode.
+ */
+class BatchedSourceReader(
+  private val source: AirbyteSource,
+  private val replicationWorkerState: ReplicationWorkerState,
+  private val streamStatusCompletionTracker: StreamStatusCompletionTracker,
+  private val replicationWorkerHelper: ReplicationWorkerHelper,
+  private val messagesFromSourceQueue: ClosableChannelQueue<MessageBatch>,
+  private val batchPool: MessageBatchPool,
+  private val bufferConfiguration: BufferConfiguration,
+) : ReplicationTask {
+  private val flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(bufferConfiguration.batchFlushIntervalMillis)
+  private val shouldEstimateBytes = bufferConfiguration.batchMaxBytes > 0 || bufferConfiguration.isByteBounded()
+
+  override suspend fun run() {
+    logger.info { "BatchedSourceReader started." }
+    var batch = batchPool.acquire()
+    try {
+      while (!replicationWorkerState.shouldAbort && !messagesFromSourceQueue.isClosedForSending() && !isSourceFinished()) {
+        val messageOptional = source.attemptRead()
+        if (messageOptional.isPresent) {
+          val message = messageOptional.get()
+          if (message.type == Type.TRACE &&
+            message.trace.type == AirbyteTraceMessage.Type.STREAM_STATUS
+          ) {
+            streamStatusCompletionTracker.track(message.trace.streamStatus)
+          }
+          batch.add(message, estimateBytes(message))
+          if (isFull(batch) || message.type == Type.STATE || isExpired(batch)) {
+            messagesFromSourceQueue.send(batch)
+            batch = batchPool.acquire()
+          }
+        } else {
+          if (batch.isNotEmpty()) {
+            messagesFromSourceQueue.send(batch)
+            batch = batchPool.acquire()
+          }
+          yield()
+        }
+      }
+      if (batch.isNotEmpty() && !replicationWorkerState.shouldAbort && !messagesFromSourceQueue.isClosedForSending()) {
+        messagesFromSourceQueue.send(batch)
+      }
+      if (replicationWorkerState.shouldAbort) {
+        source.cancel()
+      }
+      val exitValue = source.exitValue
+      if (exitValue == 0) {
+        replicationWorkerHelper.endOfSource()
+      } else {
+        logger.error { "Source process exited with non-zero exit code $exitValue" }
+        throw SourceException("Source process exited with non-zero exit code $exitValue")
+      }
+    } catch (e: Exception) {
+      logger.error(e) { "BatchedSourceReader error: " }
+      if (e is SourceException) {
+        throw e
+      } else if (e !is CancellationException) {
+        throw SourceException(e.message ?: "Source process message reading failed", e)
+      }
+    } finally {
+      messagesFromSourceQueue.close()
+      logger.info { "BatchedSourceReader finished." }
+    }
+  }
+
+  private fun estimateBytes(message: AirbyteMessage): Long =
+    if (shouldEstimateBytes) {
+      MessageSizeEstimator.estimate(message)
+    } else {
+      0L
+    }
+
+  private fun isFull(batch: MessageBatch): Boolean =
+    batch.size >= bufferConfiguration.batchMaxMessages ||
+      (bufferConfiguration.batchMaxBytes > 0 && batch.estimatedBytes >= bufferConfiguration.batchMaxBytes)
+
+  private fun isExpired(batch: MessageBatch): Boolean = System.nanoTime() - batch.firstMessageNanos >= flushIntervalNanos
+
+  private fun isSourceFinished(): Boolean = source.isFinished
+}
+
+/**
+ * Batched counterpart of [MessageProcessor].
+ * <p />
+ * Every message of a batch is processed in order and the batch is compacted in place so that only the processed
+ * RECORD and STATE messages remain. The same batch is then forwarded to the destination queue (or released back to
+ * the pool when there is no destination queue or nothing is left to send).
+ */
+class BatchedMessageProcessor(
+  private val replicationWorkerState: ReplicationWorkerState,
+  private val replicationWorkerHelper: ReplicationWorkerHelper,
+  private val sourceQueue: ClosableChannelQueue<MessageBatch>,
+  private val batchPool: MessageBatchPool,
+  private val destinationQueue: ClosableChannelQueue<MessageBatch>? = null,
+) : ReplicationTask {
+  override suspend fun run() {
+    logger.info { "BatchedMessageProcessor started." }
+    try {
+      while (true) {
+        if (replicationWorkerState.shouldAbort) {
+          logger.info { "State set to abort — stopping message processor..." }
+          break
+        }
+        if (sourceQueue.isClosedForReceiving()) {
+          logger.info { "Source queue closed — stopping message processor..." }
+          break
+        }
+        if (destinationQueue?.isClosedForSending() == true) {
+          logger.info { "Destination queue closed — stopping message processor..." }
+          break
+        }
+
+        val batch = sourceQueue.receive() ?: continue
+        var kept = 0
+        for (i in 0 until batch.size) {
+          val processedMessageOpt = replicationWorkerHelper.processMessageFromSource(batch[i])
+          if (processedMessageOpt.isPresent) {
+            val processedMessage = processedMessageOpt.get()
+            if (processedMessage.type == Type.RECORD || processedMessage.type == Type.STATE) {
+              batch[kept++] = processedMessage
+            }
+          }
+        }
+        batch.truncate(kept)
+
+        if (destinationQueue != null && batch.isNotEmpty()) {
+          destinationQueue.send(batch)
+        } else {
+          batchPool.release(batch)
+        }
+      }
+    } finally {
+      sourceQueue.close()
+      destinationQueue?.close()
+      logger.info { "BatchedMessageProcessor finished." }
+    }
+  }
+}
+
+/**
+ * Batched counterpart of [DestinationWriter]. Messages of a batch are delivered to the destination in order, after
+ * which the batch is released back to the pool.
+ */
+class BatchedDestinationWriter(
+  private val source: AirbyteSource,
+  private val destination: AirbyteDestination,
+  private val replicationWorkerState: ReplicationWorkerState,
+  private val replicationWorkerHelper: ReplicationWorkerHelper,
+  private val destinationQueue: ClosableChannelQueue<MessageBatch>,
+  private val batchPool: MessageBatchPool,
+) : ReplicationTask {
+  override suspend fun run() {
+    logger.info { "BatchedDestinationWriter started." }
+    try {
+      while (!replicationWorkerState.shouldAbort && !destinationQueue.isClosedForReceiving()) {
+        val batch = destinationQueue.receive() ?: continue
+        try {
+          for (i in 0 until batch.size) {
+            destination.accept(batch[i])
+          }
+        } catch (e: Exception) {
+          throw DestinationException("Destination process message delivery failed", e)
+        }
+        batchPool.release(batch)
+      }
+      val statusMessages = replicationWorkerHelper.getStreamStatusToSend(source.exitValue)
+      for (statusMsg in statusMessages) {
+        destination.accept(statusMsg)
+      }
+    } catch (e: Exception) {
+      logger.error(e) { "BatchedDestinationWriter error: " }
+      handleException(e)
+    } finally {
+      notifyEndOfInput()
+      destinationQueue.close()
+      logger.info { "BatchedDestinationWriter finished." }
+    }
+  }
+
+  private fun notifyEndOfInput() {
+    try {
+      destination.notifyEndOfInput()
+    } catch (e: Exception) {
+      handleException(e)
+    }
+  }
+
+  private fun handleException(e: Exception) {
+    logger.error(e) { "BatchedDestinationWriter error: " }
+    if (e is DestinationException) {
+      throw e
+    } else if (e !is CancellationException) {
+      throw DestinationException(e.message ?: "Destination process message delivery failed", e)
+    }
+  }
+}
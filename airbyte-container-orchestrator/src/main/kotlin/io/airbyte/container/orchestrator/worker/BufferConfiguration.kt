@@ -10,14 +10,89 @@ const val DEFAULT_SOURCE_MAX_BUFFER_SIZE = 1000
 const val DEFAULT_DESTINATION_MAX_BUFFER_SIZE = 1000
 const val DEFAULT_POLL_TIME_OUT_DURATION_SECONDS = ClosableLinkedBlockingQueue.DEFAULT_POLL_TIME_OUT_DURATION_SECONDS
 
+/**
+ * A byte limit of 0 means that the queues are only bounded by their message count.
+ */
+const val DEFAULT_MAX_BUFFER_BYTES = 0L
+
+/**
+ * Message count bound of the queues when they are bounded by bytes. It is only a safety net: the byte limit is
+ * expected to kick in first, except for streams of very small records.
+ */
+const val DEFAULT_BYTE_BOUNDED_MAX_BUFFER_SIZE = 100_000
+const val BYTES_PER_MEGABYTE = 1_024L * 1_024L
+
+const val SOURCE_QUEUE_NAME = "source"
+const val DESTINATION_QUEUE_NAME = "destination"
+
+/**
+ * A batch size of 1 means that messages are moved one at a time between replication tasks (non-batched mode).
+ */
+const val DEFAULT_BATCH_MAX_MESSAGES = 1
+
+/**
+ * A byte limit of 0 disables the byte bound of a batch; only [DEFAULT_BATCH_MAX_MESSAGES] applies.
+ */
+const val DEFAULT_BATCH_MAX_BYTES = 0L
+const val DEFAULT_BATCH_FLUSH_INTERVAL_MILLIS = 100L
+
+/**
+ * A parallelism of 1 means that every message is processed by a single message processor.
+ */
+const val DEFAULT_PROCESSOR_PARALLELISM = 1
+
+/**
+ * Batch size used when parallel processing is enabled without batching, as records are fanned out to the workers one
+ * batch at a time.
+ */
+const val DEFAULT_PARALLEL_BATCH_MAX_MESSAGES = 1_000
+
+/**
+ * How the records of a batch are assigned to the workers of a [ParallelBatchedMessageProcessor].
+ */
+enum class ProcessorPartitioning {
+  /** Every record of a stream is processed by the same worker. */
+  STREAM,
+
+  /** Records of a stream are spread across workers, for syncs dominated by a single stream. */
+  STREAM_AND_POSITION,
+}
+
 fun withBufferSize(bufferSize: Int) = BufferConfiguration(sourceMaxBufferSize = bufferSize, destinationMaxBufferSize = bufferSize)
 
 fun withPollTimeout(pollTimeoutDuration: Int) = BufferConfiguration(pollTimeoutDuration = pollTimeoutDuration)
 
 fun withDefaultConfiguration() = BufferConfiguration()
 
+fun withMaxBufferBytes(maxBufferBytes: Long) =
+  BufferConfiguration(
+    sourceMaxBufferSize = DEFAULT_BYTE_BOUNDED_MAX_BUFFER_SIZE,
+    destinationMaxBufferSize = DEFAULT_BYTE_BOUNDED_MAX_BUFFER_SIZE,
+    sourceMaxBufferBytes = maxBufferBytes,
+    destinationMaxBufferBytes = maxBufferBytes,
+  )
+
 data class BufferConfiguration(
   val sourceMaxBufferSize: Int = DEFAULT_SOURCE_MAX_BUFFER_SIZE,
   val destinationMaxBufferSize: Int = DEFAULT_DESTINATION_MAX_BUFFER_SIZE,
   val pollTimeoutDuration: Int = DEFAULT_POLL_TIME_OUT_DURATION_SECONDS,
-)
+  val sourceMaxBufferBytes: Long = DEFAULT_MAX_BUFFER_BYTES,
+  val destinationMaxBufferBytes: Long = DEFAULT_MAX_BUFFER_BYTES,
+  val batchMaxMessages: Int = DEFAULT_BATCH_MAX_MESSAGES,
+  val batchMaxBytes: Long = DEFAULT_BATCH_MAX_BYTES,
+  val batchFlushIntervalMillis: Long = DEFAULT_BATCH_FLUSH_INTERVAL_MILLIS,
+  val processorParallelism: Int = DEFAULT_PROCESSOR_PARALLELISM,
+  val processorPartitioning: ProcessorPartitioning = ProcessorPartitioning.STREAM,
+) {
+  fun isBatchingEnabled(): Boolean = batchMaxMessages > 1
+
+  fun isParallelProcessingEnabled(): Boolean = isBatchingEnabled() && processorParallelism > 1
+
+  fun isByteBounded(): Boolean = sourceMaxBufferBytes > 0 || destinationMaxBufferBytes > 0
+
+  /**
+   * Number of batches that fit in a queue sized for [maxBufferSize] messages, so that batching does not change
+   * how many messages can be in flight.
+   */
+  fun batchQueueCapacity(maxBufferSize: Int): Int = (maxBufferSize / batchMaxMessages).coerceAtLeast(1)
+}
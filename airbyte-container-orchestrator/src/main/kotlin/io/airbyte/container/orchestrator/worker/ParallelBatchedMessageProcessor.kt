@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker
+
+import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageBatch
+import io.airbyte.container.orchestrator.worker.util.MessageBatchPool
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.github.oshai.kotlinlogging.KotlinLogging
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import java.util.concurrent.ExecutorService
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Below this number of consecutive records, fanning them out to the workers costs more than processing them inline.
+ */
+internal const val MIN_PARALLEL_RECORDS = 64
+
+/**
+ * Parallel counterpart of [BatchedMessageProcessor], for syncs where processing records (mappers, field selection,
+ * schema validation) is CPU bound.
+ * <p />
+ * The RECORD messages of a batch are fanned out to [parallelism] workers running on [workerExecutor], partitioned
+ * according to [partitioning]. Any other message acts as a barrier: it is only processed once every record read
+ * before it has been processed. A STATE message is therefore tracked after all the records it covers, which keeps
+ * the record counts of the stats tracker and of the state checksums the same as in single processor mode.
+ * <p />
+ * Processed messages are written back to the batch at the position of the message they came from, so the
+ * destination receives them in the order they were read from the source, whatever the partitioning.
+ */
+class ParallelBatchedMessageProcessor(
+  private val replicationWorkerState: ReplicationWorkerState,
+  private val replicationWorkerHelper: ReplicationWorkerHelper,
+  private val sourceQueue: ClosableChannelQueue<MessageBatch>,
+  private val batchPool: MessageBatchPool,
+  private val destinationQueue: ClosableChannelQueue<MessageBatch>? = null,
+  private val parallelism: Int,
+  private val partitioning: ProcessorPartitioning = ProcessorPartitioning.STREAM,
+  workerExecutor: ExecutorService,
+) : ReplicationTask {
+  private val workerDispatcher = workerExecutor.asCoroutineDispatcher()
+
+  // Indexed by position in the batch being processed. Only the records of the current segment are set.
+  private var processedMessages = arrayOfNulls<AirbyteMessage>(0)
+  private var partitions = IntArray(0)
+
+  override suspend fun run() {
+    logger.info { "ParallelBatchedMessageProcessor started with $parallelism workers partitioned by $partitioning." }
+    try {
+      while (true) {
+        if (replicationWorkerState.shouldAbort) {
+          logger.info { "State set to abort — stopping message processor..." }
+          break
+        }
+        if (sourceQueue.isClosedForReceiving()) {
+          logger.info { "Source queue closed — stopping message processor..." }
+          break
+        }
+        if (destinationQueue?.isClosedForSending() == true) {
+          logger.info { "Destination queue closed — stopping message processor..." }
+          break
+        }
+
+        val batch = sourceQueue.receive() ?: continue
+        processBatch(batch)
+
+        if (destinationQueue != null && batch.isNotEmpty()) {
+          destinationQueue.send(batch)
+        } else {
+          batchPool.release(batch)
+        }
+      }
+    } finally {
+      sourceQueue.close()
+      destinationQueue?.close()
+      workerDispatcher.close()
+      logger.info { "ParallelBatchedMessageProcessor finished." }
+    }
+  }
+
+  /**
+   * Processes the batch one segment of consecutive records at a time, each segment being followed by the barrier
+   * message that ended it, and compacts it in place so that only the processed RECORD and STATE messages remain.
+   */
+  private suspend fun processBatch(batch: MessageBatch) {
+    if (processedMessages.size < batch.size) {
+      processedMessages = arrayOfNulls(batch.size)
+      partitions = IntArray(batch.size)
+    }
+
+    var kept = 0
+    var segmentStart = 0
+    for (i in 0 until batch.size) {
+      val message = batch[i]
+      if (message.type != Type.RECORD) {
+        processRecords(batch, segmentStart, i)
+        kept = keepProcessedRecords(batch, segmentStart, i, kept)
+        process(message)?.let { batch[kept++] = it }
+        segmentStart = i + 1
+      }
+    }
+    processRecords(batch, segmentStart, batch.size)
+    kept = keepProcessedRecords(batch, segmentStart, batch.size, kept)
+    batch.truncate(kept)
+  }
+
+  private suspend fun processRecords(
+    batch: MessageBatch,
+    from: Int,
+    to: Int,
+  ) {
+    if (to - from < MIN_PARALLEL_RECORDS) {
+      for (i in from until to) {
+        processedMessages[i] = process(batch[i])
+      }
+      return
+    }
+
+    for (i in from until to) {
+      partitions[i] = partitionOf(batch[i].record, i)
+    }
+    coroutineScope {
+      for (worker in 0 until parallelism) {
+        launch(workerDispatcher) {
+          for (i in from until to) {
+            if (partitions[i] == worker) {
+              processedMessages[i] = process(batch[i])
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private fun keepProcessedRecords(
+    batch: MessageBatch,
+    from: Int,
+    to: Int,
+    kept: Int,
+  ): Int {
+    // kept never exceeds from, so this never overwrites a message that has not been processed yet.
+    var newKept = kept
+    for (i in from until to) {
+      processedMessages[i]?.let { batch[newKept++] = it }
+      processedMessages[i] = null
+    }
+    return newKept
+  }
+
+  private fun process(message: AirbyteMessage): AirbyteMessage? =
+    replicationWorkerHelper
+      .processMessageFromSource(message)
+      .orElse(null)
+      ?.takeIf { it.type == Type.RECORD || it.type == Type.STATE }
+
+  private fun partitionOf(
+    record: AirbyteRecordMessage,
+    position: Int,
+  ): Int {
+    val streamHash = 31 * (record.namespace?.hashCode() ?: 0) + (record.stream?.hashCode() ?: 0)
+    val hash =
+      when (partitioning) {
+        ProcessorPartitioning.STREAM -> streamHash
+        ProcessorPartitioning.STREAM_AND_POSITION -> streamHash + position
+      }
+    return Math.floorMod(hash, parallelism)
+  }
+}
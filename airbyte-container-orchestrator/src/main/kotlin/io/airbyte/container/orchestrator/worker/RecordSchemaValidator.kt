@@ -6,23 +6,94 @@ package io.airbyte.container.orchestrator.worker
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.node.ObjectNode
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.protocol.serde.LazyAirbyteRecordMessage
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
 import io.airbyte.validation.json.JsonSchemaValidator
+import io.github.oshai.kotlinlogging.KotlinLogging
 import java.io.Closeable
 import java.io.IOException
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.LongAdder
+
+private val logger = KotlinLogging.logger {}
+
+private const val SKIP_REASON_ATTRIBUTE = "skip_reason"
+private const val RECORD_FIELD = "record"
+private const val DATA_FIELD = "data"
+
+const val DEFAULT_SCHEMA_VALIDATION_SAMPLE_RATE = 1.0
+const val DEFAULT_SCHEMA_VALIDATION_COPY_SAMPLE_RATE = 0.1
+const val DEFAULT_SCHEMA_VALIDATION_ERROR_BUDGET_PER_STREAM = 1_000
+const val DEFAULT_SCHEMA_VALIDATION_MAX_BACKLOG = 1_000
+const val DEFAULT_SCHEMA_VALIDATION_BATCH_SIZE = 100
+
+/**
+ * Bounds the work and the memory spent on validating records, see [RecordSchemaValidator].
+ *
+ * @param sampleRate fraction of the records that are validated, between 0 and 1.
+ * @param copySampleRate fraction of the sampled records that are validated when their data is no longer available
+ * serialized, between 0 and 1: their data then has to be copied on the calling thread.
+ * @param errorBudgetPerStream number of invalid records after which the records of a stream are no longer validated.
+ * @param maxBacklog number of records that can wait to be validated. Records are validated on the calling thread
+ * when it is 0.
+ * @param batchSize maximum number of records validated in one go by the validation thread.
+ */
+data class SchemaValidationConfiguration(
+  val sampleRate: Double = DEFAULT_SCHEMA_VALIDATION_SAMPLE_RATE,
+  val copySampleRate: Double = DEFAULT_SCHEMA_VALIDATION_COPY_SAMPLE_RATE,
+  val errorBudgetPerStream: Int = DEFAULT_SCHEMA_VALIDATION_ERROR_BUDGET_PER_STREAM,
+  val maxBacklog: Int = DEFAULT_SCHEMA_VALIDATION_MAX_BACKLOG,
+  val batchSize: Int = DEFAULT_SCHEMA_VALIDATION_BATCH_SIZE,
+)
 
 /**
  * Validates that [AirbyteRecordMessage] data conforms to the JSON schema defined by the source's
  * configured catalog.
+ * <p />
+ * Validation never slows down or holds on to the records of the sync: the data of the records is handed over to a
+ * single task running on [schemaValidationExecutorService] through a queue bounded by
+ * [SchemaValidationConfiguration.maxBacklog], and records are not validated when that queue is full. The task parses
+ * the data from the line the record was read from, as the record itself is rewritten in place once submitted. Only a
+ * sample of the records is validated, and the records of a stream are no longer validated once the stream has used its
+ * error budget.
+ * <p />
+ * The data of the records that are no longer available serialized, e.g. because fields were removed from them, has to
+ * be copied on the calling thread instead, so only [SchemaValidationConfiguration.copySampleRate] of them are validated.
  */
 class RecordSchemaValidator(
   private val jsonSchemaValidator: JsonSchemaValidator,
   private val schemaValidationExecutorService: ExecutorService,
   private val streamNamesToSchemas: MutableMap<AirbyteStreamNameNamespacePair, JsonNode?>,
+  private val configuration: SchemaValidationConfiguration = SchemaValidationConfiguration(),
 ) : Closeable {
+  private class PendingValidation(
+    val stream: AirbyteStreamNameNamespacePair,
+    val data: () -> JsonNode?,
+    val validationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<MutableSet<String>, Int>?>?,
+    val uncountedValidationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>>?,
+  )
+
+  private val backlog: ArrayBlockingQueue<PendingValidation>? =
+    if (configuration.maxBacklog > 0) ArrayBlockingQueue(configuration.maxBacklog) else null
+  private val validationTaskStarted = AtomicBoolean()
+  private val invalidRecordsByStream = ConcurrentHashMap<AirbyteStreamNameNamespacePair, AtomicInteger>()
+
+  private val validatedRecords = LongAdder()
+  private val notSampledRecords = LongAdder()
+  private val overBudgetRecords = LongAdder()
+  private val backlogFullRecords = LongAdder()
+
   fun initializeSchemaValidator() {
     // initialize schema validator to avoid creating validators each time.
     streamNamesToSchemas.keys.forEach { stream ->
@@ -43,37 +114,134 @@ class RecordSchemaValidator(
   /**
    * Takes an [AirbyteRecordMessage] and uses the [JsonSchemaValidator] to validate that its data conforms
    * to the stream's schema. If it does not, an error is added to the [validationErrors] map.
+   * <p />
+   * The [rawLine] the record was read from, if it still matches the record, is parsed to validate its data.
    */
   fun validateSchema(
     message: AirbyteRecordMessage,
     airbyteStream: AirbyteStreamNameNamespacePair,
     validationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, Pair<MutableSet<String>, Int>?>,
+    rawLine: String? = null,
   ) {
-    schemaValidationExecutorService.execute {
-      val errorMessages = jsonSchemaValidator.validateInitializedSchema(airbyteStream.toString(), message.getData())
-      if (errorMessages.isNotEmpty()) {
-        updateValidationErrors(errorMessages.toMutableSet(), airbyteStream, validationErrors)
-      }
-    }
+    submit(airbyteStream, message, rawLine) { data -> PendingValidation(airbyteStream, data, validationErrors, null) }
   }
 
   /**
    * Takes an [AirbyteRecordMessage] and uses the [JsonSchemaValidator] to validate that its data conforms
    * to the stream's schema. If it does not, an error is added to the [validationErrors] map.
+   * <p />
+   * The [rawLine] the record was read from, if it still matches the record, is parsed to validate its data.
    */
   fun validateSchemaWithoutCounting(
     message: AirbyteRecordMessage,
     airbyteStream: AirbyteStreamNameNamespacePair,
     validationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>>,
+    rawLine: String? = null,
+  ) {
+    submit(airbyteStream, message, rawLine) { data -> PendingValidation(airbyteStream, data, null, validationErrors) }
+  }
+
+  /**
+   * Reports the number of records validated, skipped and waiting to be validated as gauges.
+   */
+  fun registerMetrics(metricClient: MetricClient) {
+    metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_BACKLOG, this, { it.backlogSize().toDouble() })
+    metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_RECORDS_VALIDATED, validatedRecords, { it.sum().toDouble() })
+    mapOf("not_sampled" to notSampledRecords, "error_budget_exhausted" to overBudgetRecords, "backlog_full" to backlogFullRecords)
+      .forEach { (reason, counter) ->
+        metricClient.gauge(
+          OssMetricsRegistry.SCHEMA_VALIDATION_RECORDS_SKIPPED,
+          counter,
+          { it.sum().toDouble() },
+          MetricAttribute(SKIP_REASON_ATTRIBUTE, reason),
+        )
+      }
+  }
+
+  fun backlogSize(): Int = backlog?.size ?: 0
+
+  private fun submit(
+    stream: AirbyteStreamNameNamespacePair,
+    message: AirbyteRecordMessage,
+    rawLine: String?,
+    pendingValidation: (() -> JsonNode?) -> PendingValidation,
   ) {
-    schemaValidationExecutorService.execute {
-      val errorMessages = jsonSchemaValidator.validateInitializedSchema(airbyteStream.toString(), message.data)
-      if (errorMessages.isNotEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream) { k: AirbyteStreamNameNamespacePair -> HashSet() }.addAll(errorMessages)
+    if (configuration.sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= configuration.sampleRate) {
+      notSampledRecords.increment()
+      return
+    }
+    if (invalidRecords(stream).get() >= configuration.errorBudgetPerStream) {
+      overBudgetRecords.increment()
+      return
+    }
+
+    if (backlog == null) {
+      validate(pendingValidation { message.data })
+      return
+    }
+    if (backlog.remainingCapacity() == 0) {
+      backlogFullRecords.increment()
+      return
+    }
+
+    // The mappers rewrite the record in place once it is submitted, so the validation thread parses the data from the
+    // line the record was read from. Copying the data on the calling thread instead is the last resort.
+    val data =
+      (message as? LazyAirbyteRecordMessage)?.rawDataParser()
+        ?: rawLine?.let { line -> { Jsons.deserializeExact(line, 0, line.length).path(RECORD_FIELD).get(DATA_FIELD) } }
+        ?: copyData(message)
+        ?: return
+    if (!backlog.offer(pendingValidation(data))) {
+      backlogFullRecords.increment()
+      return
+    }
+    if (!validationTaskStarted.get() && validationTaskStarted.compareAndSet(false, true)) {
+      schemaValidationExecutorService.execute { validateBacklog(backlog) }
+    }
+  }
+
+  private fun copyData(message: AirbyteRecordMessage): (() -> JsonNode?)? {
+    if (configuration.copySampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= configuration.copySampleRate) {
+      notSampledRecords.increment()
+      return null
+    }
+    val data = message.data?.deepCopy<JsonNode>()
+    return { data }
+  }
+
+  private fun validateBacklog(backlog: ArrayBlockingQueue<PendingValidation>) {
+    val batch = ArrayList<PendingValidation>(configuration.batchSize)
+    try {
+      while (!Thread.currentThread().isInterrupted) {
+        batch.add(backlog.take())
+        backlog.drainTo(batch, configuration.batchSize - 1)
+        batch.forEach { validate(it) }
+        batch.clear()
+      }
+    } catch (_: InterruptedException) {
+      Thread.currentThread().interrupt()
+    }
+  }
+
+  private fun validate(pending: PendingValidation) {
+    val errorMessages =
+      try {
+        jsonSchemaValidator.validateInitializedSchema(pending.stream.toString(), pending.data())
+      } catch (e: Exception) {
+        logger.debug(e) { "Unable to validate a record of stream ${pending.stream}" }
+        return
       }
+    validatedRecords.increment()
+    if (errorMessages.isNotEmpty()) {
+      invalidRecords(pending.stream).incrementAndGet()
+      pending.validationErrors?.let { updateValidationErrors(errorMessages.toMutableSet(), pending.stream, it) }
+      pending.uncountedValidationErrors?.computeIfAbsent(pending.stream) { _ -> ConcurrentHashMap.newKeySet() }?.addAll(errorMessages)
     }
   }
 
+  private fun invalidRecords(stream: AirbyteStreamNameNamespacePair): AtomicInteger =
+    invalidRecordsByStream.computeIfAbsent(stream) { AtomicInteger() }
+
   private fun updateValidationErrors(
     errorMessages: MutableSet<String>,
     airbyteStream: AirbyteStreamNameNamespacePair,
@@ -96,6 +264,12 @@ class RecordSchemaValidator(
   @Throws(IOException::class)
   override fun close() {
     schemaValidationExecutorService.shutdownNow()
+    logger.info {
+      "Schema validation validated ${validatedRecords.sum()} records and skipped ${notSampledRecords.sum()} not sampled, " +
+        "${overBudgetRecords.sum()} over the error budget and ${backlogFullRecords.sum()} with a full backlog, " +
+        "${backlogSize()} were left unvalidated."
+    }
+    backlog?.clear()
   }
 
   /**
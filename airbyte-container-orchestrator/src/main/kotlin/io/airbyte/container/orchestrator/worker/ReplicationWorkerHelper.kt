@@ -9,12 +9,10 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.google.common.annotations.VisibleForTesting
 import io.airbyte.commons.io.LineGobbler
 import io.airbyte.config.FailureReason
-import io.airbyte.config.MapperConfig
 import io.airbyte.config.PerformanceMetrics
 import io.airbyte.config.ReplicationAttemptSummary
 import io.airbyte.config.ReplicationOutput
 import io.airbyte.config.StandardSyncSummary.ReplicationStatus
-import io.airbyte.config.StreamDescriptor
 import io.airbyte.config.StreamSyncStats
 import io.airbyte.config.SyncStats
 import io.airbyte.config.WorkerDestinationConfig
@@ -36,6 +34,7 @@ import io.airbyte.container.orchestrator.worker.io.AirbyteSource
 import io.airbyte.container.orchestrator.worker.model.adapter.AirbyteJsonRecordAdapter
 import io.airbyte.container.orchestrator.worker.model.attachIdToStateMessageFromSource
 import io.airbyte.container.orchestrator.worker.util.BytesSizeHelper.byteCountToDisplaySize
+import io.airbyte.mappers.application.MapperPlan
 import io.airbyte.mappers.application.RecordMapper
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator
 import io.airbyte.metrics.MetricAttribute
@@ -47,16 +46,19 @@ import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type.RECORD
 import io.airbyte.protocol.models.v0.AirbyteMessage.Type.STATE
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteTraceMessage
 import io.airbyte.workers.WorkerUtils
 import io.airbyte.workers.exception.WorkerException
 import io.airbyte.workers.helper.ResumableFullRefreshStatsHelper
 import io.airbyte.workers.internal.AirbyteMapper
+import io.airbyte.workers.internal.RawLineAirbyteMessage
 import io.github.oshai.kotlinlogging.KotlinLogging
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import java.nio.file.Path
 import java.util.Optional
+import java.util.concurrent.atomic.AtomicLong
 
 private val logger = KotlinLogging.logger {}
 
@@ -77,7 +79,8 @@ class ReplicationWorkerHelper(
   destinationCatalogGenerator: DestinationCatalogGenerator,
   private val metricClient: MetricClient,
 ) {
-  private val streamMappers: Map<StreamDescriptor, List<MapperConfig>>
+  // Compiled once per stream, by namespace then name, so that looking up the plan of a record allocates nothing.
+  private val streamMappers: Map<String?, Map<String?, MapperPlan>>
   private val destinationConfig: WorkerDestinationConfig
   private val mappersConfigured: Boolean
   private val metricAttrs: MutableList<MetricAttribute> = mutableListOf()
@@ -115,13 +118,20 @@ class ReplicationWorkerHelper(
     }
 
     streamStatusCompletionTracker.startTracking(context.configuredCatalog, context.supportRefreshes)
+    syncStatsTracker.registerStreams(context.configuredCatalog)
 
     if (context.configuredCatalog.streams.isEmpty()) {
       metricClient.count(metric = OssMetricsRegistry.SYNC_WITH_EMPTY_CATALOG, attributes = metricAttrs.toTypedArray())
     }
 
     val catalogWithoutInvalidMappers = destinationCatalogGenerator.generateDestinationCatalog(context.configuredCatalog)
-    streamMappers = catalogWithoutInvalidMappers.catalog.streams.associate { stream -> stream.streamDescriptor to stream.mappers }
+    streamMappers =
+      catalogWithoutInvalidMappers.catalog.streams
+        .filter { stream -> stream.mappers.isNotEmpty() }
+        .groupBy { stream -> stream.streamDescriptor.namespace }
+        .mapValues { (_, streams) ->
+          streams.associate { stream -> stream.streamDescriptor.name to recordMapper.compile(stream.mappers) }
+        }
     destinationConfig =
       WorkerUtils.syncToWorkerDestinationConfig(context.replicationInput).apply {
         catalog = mapper?.mapCatalog(catalog) ?: catalog
@@ -131,8 +141,9 @@ class ReplicationWorkerHelper(
     timeTracker.trackReplicationStartTime()
   }
 
-  private var recordsRead: Long = 0
-  private var totalRecordsRead: Long = 0
+  // Records can be processed by several workers, see ParallelBatchedMessageProcessor.
+  private val totalRecordsRead = AtomicLong()
+  private val recordAdapters = ThreadLocal<AirbyteJsonRecordAdapter>()
 
   fun initialize(jobRoot: Path) {
     ApmTraceUtils.addTagsToTrace(
@@ -283,8 +294,9 @@ class ReplicationWorkerHelper(
 
   private fun processRecordMessage(sourceRawMessage: AirbyteMessage): AirbyteMessage? {
     if (mappersConfigured) {
-      val adapter = AirbyteJsonRecordAdapter(sourceRawMessage)
-      applyTransformationMappers(adapter)
+      val plan = mapperPlanOf(sourceRawMessage.record) ?: return sourceRawMessage
+      val adapter = recordAdapters.get()?.reset(sourceRawMessage) ?: AirbyteJsonRecordAdapter(sourceRawMessage).also { recordAdapters.set(it) }
+      applyTransformationMappers(adapter, plan)
       return if (!adapter.shouldInclude()) {
         syncStatsTracker.updateFilteredOutRecordsStats(sourceRawMessage.record)
         null
@@ -324,11 +336,19 @@ class ReplicationWorkerHelper(
       ?.let { Optional.of(it) } ?: Optional.empty()
 
   internal fun applyTransformationMappers(message: AirbyteJsonRecordAdapter) {
-    streamMappers[message.streamDescriptor]?.takeIf { it.isNotEmpty() }?.let { mappers ->
-      recordMapper.applyMappers(message, mappers)
-    }
+    mapperPlanOf(message.asProtocol.record)?.let { plan -> applyTransformationMappers(message, plan) }
+  }
+
+  private fun applyTransformationMappers(
+    message: AirbyteJsonRecordAdapter,
+    plan: MapperPlan,
+  ) {
+    recordMapper.applyMappers(message, plan)
+    (message.asProtocol as? RawLineAirbyteMessage)?.discardRawLine()
   }
 
+  private fun mapperPlanOf(record: AirbyteRecordMessage): MapperPlan? = streamMappers[record.namespace]?.get(record.stream)
+
   private fun getTotalStats(
     streamStats: List<StreamSyncStats>,
     timeTracker: ThreadedTimeTracker,
@@ -370,15 +390,13 @@ class ReplicationWorkerHelper(
     }
 
   private fun updateRecordsCount() {
-    recordsRead++
+    val recordsRead = totalRecordsRead.incrementAndGet()
 
-    if (recordsRead == 5000L) {
-      totalRecordsRead += recordsRead
+    if (recordsRead % 5000L == 0L) {
       logger.info {
         val bytes = byteCountToDisplaySize(syncStatsTracker.getStats().values.sumOf { it.bytesEmitted })
-        "Records read: $totalRecordsRead ($bytes)"
+        "Records read: $recordsRead ($bytes)"
       }
-      recordsRead = 0
     }
   }
 }
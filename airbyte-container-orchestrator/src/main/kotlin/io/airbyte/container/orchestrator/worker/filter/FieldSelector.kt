@@ -16,6 +16,7 @@ import io.airbyte.persistence.job.models.ReplicationInput
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
+import io.airbyte.workers.internal.RawLineAirbyteMessage
 import io.github.oshai.kotlinlogging.KotlinLogging
 import java.util.UUID
 import java.util.concurrent.ConcurrentHashMap
@@ -69,7 +70,7 @@ class FieldSelector(
   private val uncountedValidationErrors: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>> = ConcurrentHashMap()
   private val streamToSelectedFields = mutableMapOf<AirbyteStreamNameNamespacePair, List<String>>()
   private val streamToAllFields = mutableMapOf<AirbyteStreamNameNamespacePair, Set<String>>()
-  private val unexpectedFields = mutableMapOf<AirbyteStreamNameNamespacePair, MutableSet<String>>()
+  private val unexpectedFields: ConcurrentMap<AirbyteStreamNameNamespacePair, MutableSet<String>> = ConcurrentHashMap()
 
   /**
    * Initialize the FieldSelector instance with the fields from the catalog.
@@ -116,7 +117,11 @@ class FieldSelector(
     val selectedFields = streamToSelectedFields.getOrDefault(messageStream, emptyList())
     val data = record.data
     if (data.isObject) {
-      (data as ObjectNode).retain(selectedFields)
+      val fieldCount = data.size()
+      // The raw line still matches the record when all of its fields are selected.
+      if ((data as ObjectNode).retain(selectedFields).size() != fieldCount) {
+        (airbyteMessage as? RawLineAirbyteMessage)?.discardRawLine()
+      }
     } else {
       throw RuntimeException("Unexpected data in record: $data")
     }
@@ -200,7 +205,7 @@ class FieldSelector(
     val record = message.record
     val messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record)
 
-    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors)
+    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors, rawLineOf(message))
     val unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.getOrDefault(messageStream, emptySet()))
     if (unexpectedFieldNames.isNotEmpty()) {
       unexpectedFields.computeIfAbsent(messageStream, { _ -> ConcurrentHashMap.newKeySet() }).addAll(unexpectedFieldNames)
@@ -217,14 +222,16 @@ class FieldSelector(
     // avoid noise by validating only if the stream has less than 10 records with validation errors
     val streamHasLessThenTenErrs = validationErrors[messageStream] == null || validationErrors[messageStream]?.second!! < 10
     if (streamHasLessThenTenErrs) {
-      recordSchemaValidator.validateSchema(record, messageStream, validationErrors)
+      recordSchemaValidator.validateSchema(record, messageStream, validationErrors, rawLineOf(message))
       val unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.getOrDefault(messageStream, emptySet()))
       if (!unexpectedFieldNames.isEmpty()) {
-        unexpectedFields.computeIfAbsent(messageStream, { _ -> mutableSetOf() }).addAll(unexpectedFieldNames)
+        unexpectedFields.computeIfAbsent(messageStream, { _ -> ConcurrentHashMap.newKeySet() }).addAll(unexpectedFieldNames)
       }
     }
   }
 
+  private fun rawLineOf(message: AirbyteMessage): String? = (message as? RawLineAirbyteMessage)?.rawLine
+
   /**
    * Removes JSON Schema escape character (<code>$</code>) from field names in order to ensure that
    * the field name will map the property name in a record.
@@ -8,6 +8,7 @@ import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator
 import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer
 import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.workers.internal.RawLineAirbyteMessage
 import java.io.BufferedWriter
 import java.io.IOException
 import java.util.Optional
@@ -15,6 +16,9 @@ import java.util.Optional
 /**
  * Write protocol objects in a specified version.
  *
+ * When [passthroughRawLines] is set, [RawLineAirbyteMessage]s that still hold their raw line are written as is
+ * instead of being serialized again. It must only be set when messages don't need to be downgraded.
+ *
  * @param <T> type of protocol object.
 </T> */
 class AirbyteMessageBufferedWriter<T : Any>(
@@ -22,9 +26,18 @@ class AirbyteMessageBufferedWriter<T : Any>(
   private val serializer: AirbyteMessageSerializer<T>,
   private val migrator: AirbyteMessageVersionedMigrator<T>,
   private val configuredAirbyteCatalog: Optional<ConfiguredAirbyteCatalog>,
+  private val passthroughRawLines: Boolean = false,
 ) {
   @Throws(IOException::class)
   fun write(message: AirbyteMessage) {
+    if (passthroughRawLines && message is RawLineAirbyteMessage) {
+      val rawLine = message.rawLine
+      if (rawLine != null) {
+        writer.write(rawLine)
+        writer.newLine()
+        return
+      }
+    }
     val downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog)
     writer.write(serializer.serialize(downgradedMessage))
     writer.newLine()
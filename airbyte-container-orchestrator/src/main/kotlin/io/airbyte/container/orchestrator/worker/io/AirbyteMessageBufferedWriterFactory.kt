@@ -41,6 +41,7 @@ class AirbyteMessageBufferedWriterFactory(
       serDeProvider.getSerializer(protocolVersion) ?: throw IllegalStateException("Serializer not found for version $protocolVersion"),
       migratorFactory.getAirbyteMessageMigrator(protocolVersion),
       Optional.ofNullable(configuredAirbyteCatalog),
+      passthroughRawLines = !needMigration,
     )
   }
 }
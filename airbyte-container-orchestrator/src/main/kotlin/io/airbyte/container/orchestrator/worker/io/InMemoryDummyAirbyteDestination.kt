@@ -14,11 +14,22 @@ import java.util.concurrent.atomic.AtomicLong
 
 private val logger = KotlinLogging.logger { }
 
-class InMemoryDummyAirbyteDestination : AirbyteDestination {
+/**
+ * [AirbyteDestination] discarding the messages it receives, counterpart of [InMemoryDummyAirbyteSource].
+ * <p />
+ * Messages are serialized with [Jsons] by default so that the cost of writing to a real destination is accounted for.
+ * When a [messageWriter] is provided, messages go through it instead, which exercises the same code path as
+ * [LocalContainerAirbyteDestination].
+ */
+class InMemoryDummyAirbyteDestination(
+  private val maxRecords: Long = MAX_RECORDS.toLong(),
+  private val messageWriter: AirbyteMessageBufferedWriter<*>? = null,
+) : AirbyteDestination {
   private var size: Long = 0
   val counter = AtomicLong(0)
 
   override fun close() {
+    messageWriter?.flush()
     logger.info { "TOTAL SIZE {$size}" }
   }
 
@@ -30,15 +41,20 @@ class InMemoryDummyAirbyteDestination : AirbyteDestination {
 
   override fun accept(message: AirbyteMessage) {
     counter.incrementAndGet()
-    val serialize = Jsons.serialize(message)
-    size += serialize.length
+    if (messageWriter != null) {
+      messageWriter.write(message)
+    } else {
+      val serialize = Jsons.serialize(message)
+      size += serialize.length
+    }
   }
 
   override fun notifyEndOfInput() {
+    messageWriter?.flush()
   }
 
   override val isFinished: Boolean
-    get() = counter.get() > MAX_RECORDS
+    get() = counter.get() > maxRecords
 
   override val exitValue: Int
     get() = 0
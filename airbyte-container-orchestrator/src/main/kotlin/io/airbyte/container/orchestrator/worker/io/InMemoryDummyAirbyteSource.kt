@@ -24,11 +24,20 @@ const val FIELD_5 = "field5"
 
 private const val STREAM = "stream1"
 
-class InMemoryDummyAirbyteSource : AirbyteSource {
+/**
+ * [AirbyteSource] emitting messages generated in memory, used to measure the platform overhead without any connector.
+ * <p />
+ * By default, [MAX_RECORDS] records with five string fields are emitted on a single stream. [maxRecords] and
+ * [messageGenerator], which is given the index of the message to emit, allow to shape the workload.
+ */
+class InMemoryDummyAirbyteSource(
+  private val maxRecords: Long = MAX_RECORDS.toLong(),
+  private val messageGenerator: (Long) -> AirbyteMessage = { dummyRecord() },
+) : AirbyteSource {
   val counter = AtomicLong(0)
 
   override fun close() {
-    counter.set(50_000_001)
+    counter.set(maxRecords + 1)
   }
 
   override fun start(
@@ -39,38 +48,41 @@ class InMemoryDummyAirbyteSource : AirbyteSource {
   }
 
   override val isFinished: Boolean
-    get() = counter.get() > MAX_RECORDS
+    get() = counter.get() > maxRecords
 
   override val exitValue: Int
     get() = 0
 
   override fun attemptRead(): Optional<AirbyteMessage> {
-    while (counter.getAndIncrement() <= MAX_RECORDS) {
-      val data =
-        mutableMapOf(
-          FIELD_1 to STRING_VALUE,
-          FIELD_2 to STRING_VALUE,
-          FIELD_3 to STRING_VALUE,
-          FIELD_4 to STRING_VALUE,
-          FIELD_5 to STRING_VALUE,
-        )
-
-      return Optional.of(
-        AirbyteMessage()
-          .withType(AirbyteMessage.Type.RECORD)
-          .withRecord(
-            AirbyteRecordMessage()
-              .withStream(STREAM)
-              .withEmittedAt(Instant.now().millis)
-              .withData(Jsons.jsonNode(data)),
-          ),
-      )
+    val index = counter.getAndIncrement()
+    if (index <= maxRecords) {
+      return Optional.of(messageGenerator(index))
     }
 
     return Optional.empty()
   }
 
   override fun cancel() {
-    counter.set(50_000_001)
+    counter.set(maxRecords + 1)
   }
 }
+
+private fun dummyRecord(): AirbyteMessage {
+  val data =
+    mutableMapOf(
+      FIELD_1 to STRING_VALUE,
+      FIELD_2 to STRING_VALUE,
+      FIELD_3 to STRING_VALUE,
+      FIELD_4 to STRING_VALUE,
+      FIELD_5 to STRING_VALUE,
+    )
+
+  return AirbyteMessage()
+    .withType(AirbyteMessage.Type.RECORD)
+    .withRecord(
+      AirbyteRecordMessage()
+        .withStream(STREAM)
+        .withEmittedAt(Instant.now().millis)
+        .withData(Jsons.jsonNode(data)),
+    )
+}
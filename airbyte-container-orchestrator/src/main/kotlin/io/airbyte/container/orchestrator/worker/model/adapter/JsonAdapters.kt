@@ -16,6 +16,7 @@ import io.airbyte.mappers.adapters.Value
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessageMeta
 import io.airbyte.protocol.models.v0.AirbyteRecordMessageMetaChange
+import java.math.BigDecimal
 
 class JsonValueAdapter(
   private val node: JsonNode,
@@ -25,19 +26,46 @@ class JsonValueAdapter(
   override fun asNumber(): Number = node.asDouble()
 
   override fun asString(): String = node.asText()
+
+  override fun asLong(): Long = node.asLong()
+
+  override fun asBigDecimal(): BigDecimal = node.decimalValue()
+
+  override fun type(): Value.Type =
+    when {
+      node.isBoolean -> Value.Type.BOOLEAN
+      node.isIntegralNumber && node.canConvertToLong() -> Value.Type.INTEGER
+      node.isDouble -> Value.Type.NUMBER
+      node.isNumber -> Value.Type.DECIMAL
+      node.isTextual -> Value.Type.STRING
+      else -> Value.Type.OTHER
+    }
 }
 
+/**
+ * Adapts a RECORD message for the mappers. An adapter can be reused for another record with [reset], which saves an
+ * allocation per record on the replication hot path.
+ */
 data class AirbyteJsonRecordAdapter(
-  private val message: AirbyteMessage,
+  private var message: AirbyteMessage,
 ) : AirbyteRecord {
-  val asProtocol: AirbyteMessage = message
-  val streamDescriptor: StreamDescriptor =
-    StreamDescriptor()
-      .withNamespace(message.record.namespace)
-      .withName(message.record.stream)
-  private val data: ObjectNode = message.record.data as ObjectNode
+  val asProtocol: AirbyteMessage
+    get() = message
+  val streamDescriptor: StreamDescriptor
+    get() =
+      StreamDescriptor()
+        .withNamespace(message.record.namespace)
+        .withName(message.record.stream)
+  private var data: ObjectNode = message.record.data as ObjectNode
   private var shouldInclude = true
 
+  fun reset(message: AirbyteMessage): AirbyteJsonRecordAdapter {
+    this.message = message
+    data = message.record.data as ObjectNode
+    shouldInclude = true
+    return this
+  }
+
   override fun has(fieldName: String): Boolean = data.has(fieldName)
 
   override fun get(fieldName: String): Value = JsonValueAdapter(data[fieldName])
@@ -4,22 +4,177 @@
 
 package io.airbyte.container.orchestrator.worker.util
 
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
 import kotlinx.coroutines.channels.Channel
+import java.util.concurrent.ConcurrentLinkedDeque
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 
+/**
+ * Channel backed queue used to move messages between replication tasks.
+ * <p />
+ * The queue is always bounded by [capacity] elements. When [maxBytes] is greater than 0, it is additionally bounded
+ * by the estimated size of the elements it holds, as computed by [sizeEstimator]: a producer suspends while adding
+ * an element would go over [maxBytes]. An element larger than [maxBytes] is still accepted when the queue is empty, so
+ * that a single oversized element can never dead-lock the pipeline.
+ * <p />
+ * The estimated size of the elements is tracked in FIFO order and assumes a single producer, which is how the
+ * replication tasks use the queue.
+ */
 class ClosableChannelQueue<T>(
   capacity: Int,
+  private val maxBytes: Long = 0L,
+  private val sizeEstimator: (T) -> Long = { 0L },
 ) {
   private val channel = Channel<T>(capacity)
+  private val bytesReleased = Channel<Unit>(Channel.CONFLATED)
+  private val pendingSizes = ConcurrentLinkedDeque<Long>()
+  private val currentBytes = AtomicLong()
+  private val currentDepth = AtomicInteger()
+  private val producerBlockedNanos = AtomicLong()
+  private val consumerBlockedNanos = AtomicLong()
 
-  suspend fun receive(): T? = channel.receiveCatching().getOrNull()
+  suspend fun receive(): T? {
+    val immediate = channel.tryReceive()
+    val e =
+      if (immediate.isSuccess) {
+        immediate.getOrNull()
+      } else if (immediate.isClosed) {
+        return null
+      } else {
+        val start = System.nanoTime()
+        val received = channel.receiveCatching().getOrNull()
+        consumerBlockedNanos.addAndGet(System.nanoTime() - start)
+        received
+      }
+    if (e != null) {
+      onReceived()
+    }
+    return e
+  }
 
-  suspend fun send(e: T) = channel.send(e)
+  suspend fun send(e: T) {
+    val size =
+      if (isByteBounded()) {
+        sizeEstimator(e).also {
+          awaitBytes(it)
+          currentBytes.addAndGet(it)
+          pendingSizes.add(it)
+        }
+      } else {
+        0L
+      }
+    currentDepth.incrementAndGet()
+    if (channel.trySend(e).isSuccess) {
+      return
+    }
+    val start = System.nanoTime()
+    try {
+      channel.send(e)
+    } catch (t: Throwable) {
+      // The element never made it to the queue, e.g. because it was closed.
+      onNotSent(size)
+      throw t
+    } finally {
+      producerBlockedNanos.addAndGet(System.nanoTime() - start)
+    }
+  }
 
   fun close() {
     channel.close()
+    // Wake up a producer waiting for bytes so that it notices the queue is closed.
+    bytesReleased.trySend(Unit)
   }
 
   fun isClosedForSending(): Boolean = channel.isClosedForSend
 
   fun isClosedForReceiving(): Boolean = channel.isClosedForReceive
+
+  /**
+   * Estimated size in bytes of the elements currently in the queue. Always 0 when the queue is not byte bounded.
+   */
+  fun currentBytes(): Long = currentBytes.get()
+
+  /**
+   * Number of elements currently in the queue.
+   */
+  fun depth(): Int = currentDepth.get()
+
+  /**
+   * Cumulative time producers spent suspended because the queue was full.
+   */
+  fun producerBlockedMillis(): Long = TimeUnit.NANOSECONDS.toMillis(producerBlockedNanos.get())
+
+  /**
+   * Cumulative time consumers spent suspended because the queue was empty.
+   */
+  fun consumerBlockedMillis(): Long = TimeUnit.NANOSECONDS.toMillis(consumerBlockedNanos.get())
+
+  /**
+   * Registers the bytes, depth and blocked time of this queue as gauges, tagged with [queueName].
+   */
+  fun registerMetrics(
+    metricClient: MetricClient,
+    queueName: String,
+  ) {
+    val attribute = MetricAttribute(QUEUE_NAME_ATTRIBUTE, queueName)
+    metricClient.gauge(OssMetricsRegistry.REPLICATION_QUEUE_BYTES, this, { it.currentBytes().toDouble() }, attribute)
+    metricClient.gauge(OssMetricsRegistry.REPLICATION_QUEUE_DEPTH, this, { it.depth().toDouble() }, attribute)
+    metricClient.gauge(
+      OssMetricsRegistry.REPLICATION_QUEUE_PRODUCER_BLOCKED_TIME_MS,
+      this,
+      { it.producerBlockedMillis().toDouble() },
+      attribute,
+    )
+    metricClient.gauge(
+      OssMetricsRegistry.REPLICATION_QUEUE_CONSUMER_BLOCKED_TIME_MS,
+      this,
+      { it.consumerBlockedMillis().toDouble() },
+      attribute,
+    )
+  }
+
+  private fun isByteBounded(): Boolean = maxBytes > 0
+
+  private fun onReceived() {
+    currentDepth.decrementAndGet()
+    if (isByteBounded()) {
+      currentBytes.addAndGet(-(pendingSizes.poll() ?: 0L))
+      bytesReleased.trySend(Unit)
+    }
+  }
+
+  private fun onNotSent(size: Long) {
+    currentDepth.decrementAndGet()
+    if (isByteBounded()) {
+      // With a single producer, the size of the element is the last one added, consumers only poll the first ones.
+      pendingSizes.removeLastOccurrence(size)
+      currentBytes.addAndGet(-size)
+      bytesReleased.trySend(Unit)
+    }
+  }
+
+  private suspend fun awaitBytes(size: Long) {
+    var start = 0L
+    while (!channel.isClosedForSend) {
+      val inFlight = currentBytes.get()
+      if (inFlight == 0L || inFlight + size <= maxBytes) {
+        break
+      }
+      if (start == 0L) {
+        start = System.nanoTime()
+      }
+      bytesReleased.receive()
+    }
+    if (start != 0L) {
+      producerBlockedNanos.addAndGet(System.nanoTime() - start)
+    }
+  }
+
+  companion object {
+    const val QUEUE_NAME_ATTRIBUTE = "queue"
+  }
 }
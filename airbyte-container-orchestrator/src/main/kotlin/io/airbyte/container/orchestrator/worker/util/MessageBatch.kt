@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import java.util.concurrent.ArrayBlockingQueue
+
+/**
+ * An ordered, reusable group of [AirbyteMessage]s that is moved between replication tasks as a single unit.
+ * <p />
+ * A batch is owned by exactly one task at a time: it is filled by the source reader, compacted in place by the
+ * message processor and drained by the destination writer, which hands it back to the [MessageBatchPool].
+ * Message order within a batch is the order in which the messages were read from the source.
+ */
+class MessageBatch(
+  capacity: Int,
+) {
+  private val messages = ArrayList<AirbyteMessage>(capacity)
+
+  /**
+   * Estimated size in bytes of the messages currently held by the batch.
+   */
+  var estimatedBytes: Long = 0L
+    private set
+
+  /**
+   * [System.nanoTime] at which the first message was added to the batch, or 0 if the batch is empty.
+   */
+  var firstMessageNanos: Long = 0L
+    private set
+
+  val size: Int
+    get() = messages.size
+
+  fun isEmpty(): Boolean = messages.isEmpty()
+
+  fun isNotEmpty(): Boolean = messages.isNotEmpty()
+
+  operator fun get(index: Int): AirbyteMessage = messages[index]
+
+  fun add(
+    message: AirbyteMessage,
+    estimatedBytes: Long = 0L,
+  ) {
+    if (messages.isEmpty()) {
+      firstMessageNanos = System.nanoTime()
+    }
+    messages.add(message)
+    this.estimatedBytes += estimatedBytes
+  }
+
+  /**
+   * Replaces the message at [index]. Used to compact a batch in place once messages have been processed.
+   */
+  operator fun set(
+    index: Int,
+    message: AirbyteMessage,
+  ) {
+    messages[index] = message
+  }
+
+  /**
+   * Drops every message at or after [newSize], keeping the first [newSize] messages in order.
+   */
+  fun truncate(newSize: Int) {
+    if (newSize < messages.size) {
+      messages.subList(newSize, messages.size).clear()
+    }
+  }
+
+  fun clear() {
+    messages.clear()
+    estimatedBytes = 0L
+    firstMessageNanos = 0L
+  }
+}
+
+/**
+ * Bounded pool of [MessageBatch]es so that the batched replication pipeline does not allocate a new batch for
+ * every group of messages read from the source.
+ */
+class MessageBatchPool(
+  private val batchCapacity: Int,
+  poolSize: Int,
+) {
+  private val batches = ArrayBlockingQueue<MessageBatch>(poolSize.coerceAtLeast(1))
+
+  fun acquire(): MessageBatch = batches.poll() ?: MessageBatch(batchCapacity)
+
+  fun release(batch: MessageBatch) {
+    batch.clear()
+    batches.offer(batch)
+  }
+}
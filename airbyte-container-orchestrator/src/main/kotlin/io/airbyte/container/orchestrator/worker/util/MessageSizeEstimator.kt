@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.commons.protocol.serde.LazyAirbyteRecordMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+
+/**
+ * Estimates the in-memory weight of [AirbyteMessage]s for byte bounded buffering.
+ * <p />
+ * Records are sized by [estimateRecord], which [io.airbyte.container.orchestrator.bookkeeping.StreamStatsTracker]
+ * also uses, so that buffer sizes and byte stats are comparable. Other message types are small and rare compared to records and
+ * are given a flat size, with the exception of states which can carry large cursors.
+ */
+object MessageSizeEstimator {
+  const val NON_RECORD_MESSAGE_BYTES = 1_024L
+
+  fun estimate(message: AirbyteMessage): Long =
+    when (message.type) {
+      AirbyteMessage.Type.RECORD -> estimateRecord(message.record)
+      AirbyteMessage.Type.STATE -> Jsons.serialize(message.state).length.toLong()
+      else -> NON_RECORD_MESSAGE_BYTES
+    }
+
+  /**
+   * Size of the data of a record. This is also what is reported as the bytes of a record in the stream stats.
+   */
+  fun estimateRecord(record: AirbyteRecordMessage): Long =
+    if (record is LazyAirbyteRecordMessage) {
+      // Sizing a lazy record from its raw data avoids materializing it.
+      record.rawDataLength().toLong()
+    } else {
+      Jsons.getEstimatedByteSize(record.data).toLong()
+    }
+}
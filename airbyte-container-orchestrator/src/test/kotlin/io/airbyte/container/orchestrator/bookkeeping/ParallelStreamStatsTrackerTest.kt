@@ -9,7 +9,11 @@ import io.airbyte.analytics.TrackingIdentity
 import io.airbyte.analytics.TrackingIdentityFetcher
 import io.airbyte.api.client.model.generated.DeploymentMetadataRead
 import io.airbyte.commons.json.Jsons
+import io.airbyte.config.AirbyteStream
+import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.config.ConfiguredAirbyteStream
 import io.airbyte.config.StreamSyncStats
+import io.airbyte.config.SyncMode
 import io.airbyte.config.SyncStats
 import io.airbyte.container.orchestrator.worker.context.ReplicationInputFeatureFlagReader
 import io.airbyte.container.orchestrator.worker.exception.InvalidChecksumException
@@ -226,6 +230,49 @@ class ParallelStreamStatsTrackerTest {
     assertStreamSyncStatsCoreStatsEquals(expectedStreamSyncStats, actualStreamSyncStats)
   }
 
+  @Test
+  fun `registered and unregistered streams are tracked the same way`() {
+    statsTracker.registerStreams(
+      ConfiguredAirbyteCatalog().withStreams(
+        listOf(
+          ConfiguredAirbyteStream(
+            stream =
+              AirbyteStream(
+                name = STREAM1_NAME,
+                jsonSchema = Jsons.deserialize("""{"properties": {}}"""),
+                supportedSyncModes = listOf(SyncMode.FULL_REFRESH),
+              ),
+          ),
+        ),
+      ),
+    )
+
+    statsTracker.updateStats(stream1Message1)
+    statsTracker.updateStats(stream1Message2)
+    val s1State1 = createStreamState(STREAM1_NAME, 2)
+    statsTracker.updateSourceStatesStats(s1State1)
+    statsTracker.updateDestinationStateStats(s1State1)
+    statsTracker.updateStats(stream1Message3)
+
+    statsTracker.updateStats(stream2Message1)
+    statsTracker.updateStats(stream2Message2)
+    statsTracker.updateStats(stream2Message3)
+
+    assertEquals(setOf(stream1, stream2), statsTracker.getStats().keys)
+    assertSyncStatsCoreStatsEquals(buildSyncStats(6L, 2L), statsTracker.getTotalStats(false))
+    assertStreamSyncStatsCoreStatsEquals(
+      listOf(
+        StreamSyncStats()
+          .withStreamName(STREAM1_NAME)
+          .withStats(buildSyncStats(3L, 2L)),
+        StreamSyncStats()
+          .withStreamName(STREAM2_NAME)
+          .withStats(buildSyncStats(3L, 0L)),
+      ),
+      statsTracker.getPerStreamStats(false),
+    )
+  }
+
   @Test
   fun testSerialStreamStatsTrackingOnSingleStream() {
     val s1State1 = createStreamState(STREAM1_NAME, 1)
@@ -105,7 +105,7 @@ class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertEquals(fileReferenceSize, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertEquals(fileReferenceSize, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 
   @Test
@@ -129,7 +129,7 @@ class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertEquals(size, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 
   @Test
@@ -152,6 +152,6 @@ class StatsTrackerTest {
 
     streamStatsTracker.trackRecord(record)
 
-    assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.get())
+    assertNotEquals(size, streamStatsTracker.streamStats.emittedBytesCount.sum())
   }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.bookkeeping
+
+import io.airbyte.commons.json.Jsons
+import io.airbyte.config.AirbyteStream
+import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.config.ConfiguredAirbyteStream
+import io.airbyte.config.SyncMode
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+internal class StreamIndexTest {
+  @Test
+  fun `streams are assigned dense ids in catalog order`() {
+    val index = StreamIndex(catalog("users" to null, "users" to "public", "orders" to "public"))
+
+    assertEquals(3, index.size)
+    assertEquals(0, index.idOf(null, "users"))
+    assertEquals(1, index.idOf("public", "users"))
+    assertEquals(2, index.idOf("public", "orders"))
+  }
+
+  @Test
+  fun `unknown streams are not indexed`() {
+    val index = StreamIndex(catalog("users" to "public"))
+
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.idOf(null, "users"))
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.idOf("other", "users"))
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.idOf("public", "orders"))
+    assertEquals(StreamIndex.UNKNOWN_STREAM, index.idOf("public", null))
+  }
+
+  @Test
+  fun `duplicated streams share the same id`() {
+    val index = StreamIndex(catalog("users" to "public", "users" to "public", "orders" to "public"))
+
+    assertEquals(2, index.size)
+    assertEquals(0, index.idOf("public", "users"))
+    assertEquals(1, index.idOf("public", "orders"))
+  }
+
+  private fun catalog(vararg streams: Pair<String, String?>): ConfiguredAirbyteCatalog =
+    ConfiguredAirbyteCatalog().withStreams(
+      streams.map { (name, namespace) ->
+        ConfiguredAirbyteStream(
+          stream =
+            AirbyteStream(
+              name = name,
+              jsonSchema = Jsons.deserialize("""{"properties": {}}"""),
+              supportedSyncModes = listOf(SyncMode.FULL_REFRESH),
+            ).withNamespace(namespace),
+        )
+      },
+    )
+}
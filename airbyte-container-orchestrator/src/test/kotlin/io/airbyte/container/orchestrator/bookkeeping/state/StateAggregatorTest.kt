@@ -156,6 +156,43 @@ internal class StateAggregatorTest {
     )
   }
 
+  @Test
+  fun testStreamStateChangesOnlyIncludeUnacknowledgedStates() {
+    assertEquals(null, stateAggregator.getChanges())
+
+    stateAggregator.ingest(getStreamMessage("a", 1))
+    stateAggregator.ingest(getStreamMessage("b", 1))
+    assertEquals(
+      listOf(getStreamMessage("a", 1).withData(null), getStreamMessage("b", 1).withData(null)),
+      getStateMessages(stateAggregator.getChanges()!!),
+    )
+    stateAggregator.acknowledge()
+    stateAggregator.clear()
+
+    // Stream a is checkpointed again with the state that was already acknowledged
+    stateAggregator.ingest(getStreamMessage("a", 1))
+    stateAggregator.ingest(getStreamMessage("b", 2))
+    assertEquals(listOf(getStreamMessage("b", 2).withData(null)), getStateMessages(stateAggregator.getChanges()!!))
+
+    // Changes that are not acknowledged are returned again
+    stateAggregator.clear()
+    stateAggregator.ingest(getStreamMessage("a", 1))
+    stateAggregator.ingest(getStreamMessage("b", 2))
+    assertEquals(listOf(getStreamMessage("b", 2).withData(null)), getStateMessages(stateAggregator.getChanges()!!))
+    stateAggregator.acknowledge()
+
+    assertEquals(null, stateAggregator.getChanges())
+    assertFalse(stateAggregator.isEmpty())
+  }
+
+  @Test
+  fun testSingleStateChangesAreTheAggregatedState() {
+    stateAggregator.ingest(getGlobalMessage(1))
+    assertEquals(stateAggregator.getAggregated(), stateAggregator.getChanges())
+    stateAggregator.acknowledge()
+    assertEquals(stateAggregator.getAggregated(), stateAggregator.getChanges())
+  }
+
   @Test
   fun testIngestFromAnotherStateAggregatorSingleState() {
     val stateG1 = getGlobalMessage(1)
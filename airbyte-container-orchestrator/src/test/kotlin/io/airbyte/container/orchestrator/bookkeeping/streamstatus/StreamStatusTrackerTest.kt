@@ -313,6 +313,16 @@ class StreamStatusTrackerTest {
     verify(exactly = 1) { store.markStreamNotEmpty(Fixtures.key1) }
   }
 
+  @Test
+  fun skipsStoreUpdatesForRecordOfRunningStream() {
+    every { store.get(Fixtures.key1) } returns StreamStatusValue(runState = ApiEnum.RUNNING, streamEmpty = false)
+
+    tracker.track(Fixtures.recordMsg())
+
+    verify(exactly = 0) { store.setRunState(any(), any()) }
+    verify(exactly = 0) { store.markStreamNotEmpty(any()) }
+  }
+
   @Test
   fun setsMetadataToNullIfRateLimited() {
     every { store.isRateLimited(any()) } returns true
@@ -166,6 +166,29 @@ internal class SyncPersistenceImplTest {
     verify(exactly = 0) { executorService.scheduleAtFixedRate(any(), any(), any(), any()) }
   }
 
+  @Test
+  @Throws(IOException::class)
+  fun testOnlyChangedStreamStatesAreFlushed() {
+    syncPersistence.accept(connectionId, getStreamState("A", 1))
+    syncPersistence.accept(connectionId, getStreamState("B", 1))
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(getStreamState("A", 1), getStreamState("B", 1)))
+    clearInvocations(listOf(stateApiClient))
+
+    // Only B progressed since the previous flush
+    syncPersistence.accept(connectionId, getStreamState("A", 1))
+    syncPersistence.accept(connectionId, getStreamState("B", 2))
+    actualFlushMethod.captured.run()
+    verifyStateUpdateApiCall(listOf(getStreamState("B", 2)))
+    clearInvocations(listOf(stateApiClient))
+
+    // Nothing progressed since the previous flush
+    syncPersistence.accept(connectionId, getStreamState("A", 1))
+    syncPersistence.accept(connectionId, getStreamState("B", 2))
+    actualFlushMethod.captured.run()
+    verify(exactly = 0) { stateApiClient.createOrUpdateState(any()) }
+  }
+
   @Test
   @Throws(IOException::class)
   fun testFlushWithApiFailures() {
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker
+
+import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
+import io.airbyte.container.orchestrator.worker.io.AirbyteDestination
+import io.airbyte.container.orchestrator.worker.io.AirbyteSource
+import io.airbyte.container.orchestrator.worker.util.ClosableChannelQueue
+import io.airbyte.container.orchestrator.worker.util.MessageBatch
+import io.airbyte.container.orchestrator.worker.util.MessageBatchPool
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.protocol.models.v0.AirbyteMessage.Type
+import io.airbyte.protocol.models.v0.AirbyteRecordMessage
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.mockk.verifyOrder
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.Optional
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class BatchedReplicationTaskTest {
+  private lateinit var mockSource: AirbyteSource
+  private lateinit var mockDestination: AirbyteDestination
+  private lateinit var mockReplicationWorkerState: ReplicationWorkerState
+  private lateinit var mockStreamStatusCompletionTracker: StreamStatusCompletionTracker
+  private lateinit var mockReplicationWorkerHelper: ReplicationWorkerHelper
+  private lateinit var batchPool: MessageBatchPool
+
+  @BeforeEach
+  fun setup() {
+    mockSource = mockk(relaxed = true)
+    mockDestination = mockk(relaxed = true)
+    mockReplicationWorkerState = mockk(relaxed = true)
+    mockStreamStatusCompletionTracker = mockk(relaxed = true)
+    mockReplicationWorkerHelper = mockk(relaxed = true)
+    batchPool = MessageBatchPool(batchCapacity = 2, poolSize = 10)
+
+    every { mockReplicationWorkerState.shouldAbort } returns false
+    every { mockSource.exitValue } returns 0
+  }
+
+  @Test
+  fun `source reader groups messages into batches and flushes on state`() =
+    runTest {
+      val record1 = AirbyteMessage().withType(Type.RECORD)
+      val record2 = AirbyteMessage().withType(Type.RECORD)
+      val state = AirbyteMessage().withType(Type.STATE)
+      val record3 = AirbyteMessage().withType(Type.RECORD)
+
+      every { mockSource.attemptRead() } returnsMany
+        listOf(Optional.of(record1), Optional.of(record2), Optional.of(state), Optional.of(record3))
+      every { mockSource.isFinished } returnsMany listOf(false, false, false, false, true)
+
+      val queue = ClosableChannelQueue<MessageBatch>(10)
+      BatchedSourceReader(
+        source = mockSource,
+        replicationWorkerState = mockReplicationWorkerState,
+        streamStatusCompletionTracker = mockStreamStatusCompletionTracker,
+        replicationWorkerHelper = mockReplicationWorkerHelper,
+        messagesFromSourceQueue = queue,
+        batchPool = batchPool,
+        bufferConfiguration = BufferConfiguration(batchMaxMessages = 2, batchFlushIntervalMillis = Long.MAX_VALUE),
+      ).run()
+
+      // Full batch, then the state on its own, then the remainder once the source is finished.
+      assertEquals(listOf(record1, record2), queue.receive()!!.toList())
+      assertEquals(listOf(state), queue.receive()!!.toList())
+      assertEquals(listOf(record3), queue.receive()!!.toList())
+      assertTrue(queue.isClosedForReceiving())
+      verify(exactly = 1) { mockReplicationWorkerHelper.endOfSource() }
+    }
+
+  @Test
+  fun `source reader flushes a partial batch when the source is idle`() =
+    runTest {
+      val record = AirbyteMessage().withType(Type.RECORD)
+
+      every { mockSource.attemptRead() } returnsMany listOf(Optional.of(record), Optional.empty())
+      every { mockSource.isFinished } returnsMany listOf(false, false, true)
+
+      val queue = ClosableChannelQueue<MessageBatch>(10)
+      BatchedSourceReader(
+        source = mockSource,
+        replicationWorkerState = mockReplicationWorkerState,
+        streamStatusCompletionTracker = mockStreamStatusCompletionTracker,
+        replicationWorkerHelper = mockReplicationWorkerHelper,
+        messagesFromSourceQueue = queue,
+        batchPool = batchPool,
+        bufferConfiguration = BufferConfiguration(batchMaxMessages = 100, batchFlushIntervalMillis = Long.MAX_VALUE),
+      ).run()
+
+      assertEquals(listOf(record), queue.receive()!!.toList())
+    }
+
+  @Test
+  fun `message processor keeps only processed records and states in order`() =
+    runTest {
+      val record = AirbyteMessage().withType(Type.RECORD)
+      val mappedRecord = AirbyteMessage().withType(Type.RECORD)
+      val trace = AirbyteMessage().withType(Type.TRACE)
+      val filtered = AirbyteMessage().withType(Type.RECORD)
+      val state = AirbyteMessage().withType(Type.STATE)
+
+      every { mockReplicationWorkerHelper.processMessageFromSource(record) } returns Optional.of(mappedRecord)
+      every { mockReplicationWorkerHelper.processMessageFromSource(trace) } returns Optional.of(trace)
+      every { mockReplicationWorkerHelper.processMessageFromSource(filtered) } returns Optional.empty()
+      every { mockReplicationWorkerHelper.processMessageFromSource(state) } returns Optional.of(state)
+
+      val sourceQueue = ClosableChannelQueue<MessageBatch>(10)
+      val destinationQueue = ClosableChannelQueue<MessageBatch>(10)
+      sourceQueue.send(batchOf(record, trace, filtered, state))
+      sourceQueue.close()
+
+      BatchedMessageProcessor(
+        replicationWorkerState = mockReplicationWorkerState,
+        replicationWorkerHelper = mockReplicationWorkerHelper,
+        sourceQueue = sourceQueue,
+        batchPool = batchPool,
+        destinationQueue = destinationQueue,
+      ).run()
+
+      assertEquals(listOf(mappedRecord, state), destinationQueue.receive()!!.toList())
+      verifyOrder {
+        mockReplicationWorkerHelper.processMessageFromSource(record)
+        mockReplicationWorkerHelper.processMessageFromSource(trace)
+        mockReplicationWorkerHelper.processMessageFromSource(filtered)
+        mockReplicationWorkerHelper.processMessageFromSource(state)
+      }
+    }
+
+  @Test
+  fun `parallel message processor keeps the order of the batch and processes states after the records before them`() =
+    runTest {
+      for (partitioning in ProcessorPartitioning.entries) {
+        val recordsBeforeState = (0 until 200).map { recordOf("stream${it % 3}") }
+        val state = AirbyteMessage().withType(Type.STATE)
+        val filtered = recordOf("stream0")
+        val recordsAfterState = (0 until 100).map { recordOf("stream${it % 3}") }
+
+        val processedRecords = AtomicInteger()
+        var processedRecordsAtState = -1
+        every { mockReplicationWorkerHelper.processMessageFromSource(any()) } answers {
+          val message = firstArg<AirbyteMessage>()
+          when {
+            message === state -> processedRecordsAtState = processedRecords.get()
+            message === filtered -> return@answers Optional.empty()
+            else -> processedRecords.incrementAndGet()
+          }
+          Optional.of(message)
+        }
+
+        val sourceQueue = ClosableChannelQueue<MessageBatch>(10)
+        val destinationQueue = ClosableChannelQueue<MessageBatch>(10)
+        sourceQueue.send(batchOf(*(recordsBeforeState + state + filtered + recordsAfterState).toTypedArray()))
+        sourceQueue.close()
+
+        ParallelBatchedMessageProcessor(
+          replicationWorkerState = mockReplicationWorkerState,
+          replicationWorkerHelper = mockReplicationWorkerHelper,
+          sourceQueue = sourceQueue,
+          batchPool = batchPool,
+          destinationQueue = destinationQueue,
+          parallelism = 4,
+          partitioning = partitioning,
+          workerExecutor = Executors.newFixedThreadPool(4),
+        ).run()
+
+        assertEquals(recordsBeforeState + state + recordsAfterState, destinationQueue.receive()!!.toList())
+        assertEquals(recordsBeforeState.size, processedRecordsAtState)
+        assertEquals(recordsBeforeState.size + recordsAfterState.size, processedRecords.get())
+      }
+    }
+
+  @Test
+  fun `destination writer delivers every message of a batch in order`() =
+    runTest {
+      val record = AirbyteMessage().withType(Type.RECORD)
+      val state = AirbyteMessage().withType(Type.STATE)
+      every { mockReplicationWorkerHelper.getStreamStatusToSend(any()) } returns emptyList()
+
+      val destinationQueue = ClosableChannelQueue<MessageBatch>(10)
+      destinationQueue.send(batchOf(record, state))
+      destinationQueue.close()
+
+      BatchedDestinationWriter(
+        source = mockSource,
+        destination = mockDestination,
+        replicationWorkerState = mockReplicationWorkerState,
+        replicationWorkerHelper = mockReplicationWorkerHelper,
+        destinationQueue = destinationQueue,
+        batchPool = batchPool,
+      ).run()
+
+      verifyOrder {
+        mockDestination.accept(record)
+        mockDestination.accept(state)
+        mockDestination.notifyEndOfInput()
+      }
+    }
+
+  private fun recordOf(stream: String): AirbyteMessage =
+    AirbyteMessage().withType(Type.RECORD).withRecord(AirbyteRecordMessage().withStream(stream))
+
+  private fun batchOf(vararg messages: AirbyteMessage): MessageBatch = MessageBatch(messages.size).apply { messages.forEach { add(it) } }
+
+  private fun MessageBatch.toList(): List<AirbyteMessage> = (0 until size).map { this[it] }
+}
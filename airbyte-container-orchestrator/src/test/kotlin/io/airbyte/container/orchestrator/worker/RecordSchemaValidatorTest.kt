@@ -4,10 +4,11 @@
 
 package io.airbyte.container.orchestrator.worker
 
+import com.fasterxml.jackson.databind.node.ObjectNode
+import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.resources.Resources
 import io.airbyte.config.StandardSync
 import io.airbyte.persistence.job.models.ReplicationInput
-import io.airbyte.protocol.models.Jsons
 import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteStream
 import io.airbyte.protocol.models.v0.AirbyteStreamNameNamespacePair
@@ -15,12 +16,16 @@ import io.airbyte.validation.json.JsonSchemaValidator
 import io.airbyte.workers.WorkerUtils
 import io.airbyte.workers.testutils.AirbyteMessageUtils
 import io.airbyte.workers.testutils.TestConfigHelpers.createReplicationConfig
+import io.mockk.mockk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import java.io.IOException
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 import java.util.function.Consumer
@@ -88,6 +93,7 @@ internal class RecordSchemaValidatorTest {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = executorService,
         streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(copySampleRate = 1.0),
       )
     recordSchemaValidator.initializeSchemaValidator()
     val messagesToValidate: MutableList<AirbyteMessage> = mutableListOf(INVALID_RECORD_1, INVALID_RECORD_2, VALID_RECORD)
@@ -115,6 +121,7 @@ internal class RecordSchemaValidatorTest {
         jsonSchemaValidator = JsonSchemaValidator(),
         schemaValidationExecutorService = executorService,
         streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(copySampleRate = 1.0),
       )
     recordSchemaValidator.initializeSchemaValidator()
     val messagesToValidate: MutableList<AirbyteMessage> = mutableListOf(INVALID_RECORD_1, INVALID_RECORD_2, VALID_RECORD)
@@ -134,6 +141,131 @@ internal class RecordSchemaValidatorTest {
     assertEquals(2, uncountedValidationErrors[AIRBYTE_STREAM_NAME_NAMESPACE_PAIR]!!.size)
   }
 
+  @Test
+  fun testStopsValidatingStreamOnceErrorBudgetIsUsed() {
+    val recordSchemaValidator =
+      RecordSchemaValidator(
+        jsonSchemaValidator = JsonSchemaValidator(),
+        schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
+        streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(errorBudgetPerStream = 1, maxBacklog = 0),
+      )
+    recordSchemaValidator.initializeSchemaValidator()
+
+    recordSchemaValidator.use {
+      listOf(INVALID_RECORD_1, INVALID_RECORD_2).forEach { message ->
+        it.validateSchema(message.record, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors)
+      }
+    }
+
+    assertEquals(1, validationErrors[AIRBYTE_STREAM_NAME_NAMESPACE_PAIR]?.second)
+  }
+
+  @Test
+  fun testOnlyValidatesSampledRecords() {
+    val recordSchemaValidator =
+      RecordSchemaValidator(
+        jsonSchemaValidator = JsonSchemaValidator(),
+        schemaValidationExecutorService = Executors.newSingleThreadExecutor(),
+        streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(sampleRate = 0.0, maxBacklog = 0),
+      )
+    recordSchemaValidator.initializeSchemaValidator()
+
+    recordSchemaValidator.use {
+      it.validateSchemaWithoutCounting(INVALID_RECORD_1.record, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, uncountedValidationErrors)
+    }
+
+    assertEquals(0, uncountedValidationErrors.size)
+  }
+
+  @Test
+  fun testDoesNotQueueRecordsBeyondMaxBacklog() {
+    // The validation task never runs, so records stay in the backlog.
+    val executorService = mockk<ExecutorService>(relaxed = true)
+    val recordSchemaValidator =
+      RecordSchemaValidator(
+        jsonSchemaValidator = JsonSchemaValidator(),
+        schemaValidationExecutorService = executorService,
+        streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(copySampleRate = 1.0, maxBacklog = 2),
+      )
+
+    repeat(5) { recordSchemaValidator.validateSchema(INVALID_RECORD_1.record, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors) }
+
+    assertEquals(2, recordSchemaValidator.backlogSize())
+    verify(exactly = 1) { executorService.execute(any()) }
+  }
+
+  @Test
+  fun testValidatesTheDataOfTheRawLine() {
+    val executorService = Executors.newSingleThreadExecutor()
+    val validationStarted = CountDownLatch(1)
+    // Holds the validation task back until the record has been rewritten, as the mappers do after submitting it.
+    executorService.execute { validationStarted.await(3, TimeUnit.SECONDS) }
+    val recordSchemaValidator =
+      RecordSchemaValidator(
+        jsonSchemaValidator = JsonSchemaValidator(),
+        schemaValidationExecutorService = executorService,
+        streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(copySampleRate = 0.0),
+      )
+    recordSchemaValidator.initializeSchemaValidator()
+    val message = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, 3)
+
+    recordSchemaValidator.validateSchema(message.record, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors, Jsons.serialize(message))
+    (message.record.data as ObjectNode).put(FIELD_NAME, "blue")
+    validationStarted.countDown()
+
+    executorService.awaitTermination(3, TimeUnit.SECONDS)
+    assertEquals(1, validationErrors[AIRBYTE_STREAM_NAME_NAMESPACE_PAIR]?.second)
+  }
+
+  @Test
+  fun testValidatesACopyOfTheDataWithoutRawLine() {
+    val executorService = Executors.newSingleThreadExecutor()
+    val validationStarted = CountDownLatch(1)
+    executorService.execute { validationStarted.await(3, TimeUnit.SECONDS) }
+    val recordSchemaValidator =
+      RecordSchemaValidator(
+        jsonSchemaValidator = JsonSchemaValidator(),
+        schemaValidationExecutorService = executorService,
+        streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(copySampleRate = 1.0),
+      )
+    recordSchemaValidator.initializeSchemaValidator()
+    val record = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, 3).record
+
+    recordSchemaValidator.validateSchema(record, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors)
+    (record.data as ObjectNode).put(FIELD_NAME, "blue")
+    validationStarted.countDown()
+
+    executorService.awaitTermination(3, TimeUnit.SECONDS)
+    assertEquals(1, validationErrors[AIRBYTE_STREAM_NAME_NAMESPACE_PAIR]?.second)
+  }
+
+  @Test
+  fun testOnlyCopiesTheDataOfSampledRecords() {
+    val executorService = mockk<ExecutorService>(relaxed = true)
+    val recordSchemaValidator =
+      RecordSchemaValidator(
+        jsonSchemaValidator = JsonSchemaValidator(),
+        schemaValidationExecutorService = executorService,
+        streamNamesToSchemas = WorkerUtils.mapStreamNamesToSchemas(replicationInput.catalog),
+        configuration = SchemaValidationConfiguration(copySampleRate = 0.0),
+      )
+
+    recordSchemaValidator.validateSchema(INVALID_RECORD_1.record, AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors)
+    recordSchemaValidator.validateSchema(
+      INVALID_RECORD_1.record,
+      AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+      validationErrors,
+      Jsons.serialize(INVALID_RECORD_1),
+    )
+
+    assertEquals(1, recordSchemaValidator.backlogSize())
+  }
+
   @Test
   @Throws(InterruptedException::class, IOException::class)
   fun testMigrationOfIdPropertyToEscapedVersion() {
@@ -20,6 +20,7 @@ import io.airbyte.container.orchestrator.tracker.StreamStatusCompletionTracker
 import io.airbyte.container.orchestrator.tracker.ThreadedTimeTracker
 import io.airbyte.container.orchestrator.worker.filter.FieldSelector
 import io.airbyte.container.orchestrator.worker.model.adapter.AirbyteJsonRecordAdapter
+import io.airbyte.mappers.application.MapperPlan
 import io.airbyte.mappers.application.RecordMapper
 import io.airbyte.mappers.transformations.DestinationCatalogGenerator
 import io.airbyte.metrics.MetricClient
@@ -220,7 +221,28 @@ class ReplicationWorkerHelperTest {
           .withRecord(AirbyteRecordMessage().withStream("s").withData(ObjectMapper().createObjectNode())),
       )
     helper.applyTransformationMappers(adapter)
-    verify(exactly = 0) { recordMapper.applyMappers(any(), any<List<MapperConfig>>()) }
+    verify(exactly = 0) { recordMapper.applyMappers(any(), any<MapperPlan>()) }
+  }
+
+  @Test
+  fun `streams without mappers are not compiled`() {
+    val configuredStream = mockk<ConfiguredAirbyteStream>(relaxed = true)
+    every { configuredStream.streamDescriptor } returns StreamDescriptor().withName("s")
+    every { configuredStream.mappers } returns emptyList()
+    every { context.configuredCatalog.streams } returns listOf(configuredStream)
+    every { destinationCatalogGenerator.generateDestinationCatalog(any()) } answers {
+      DestinationCatalogGenerator.CatalogGenerationResult(context.configuredCatalog, emptyMap())
+    }
+    helper = newHelper()
+
+    val message =
+      AirbyteMessage()
+        .withType(RECORD)
+        .withRecord(AirbyteRecordMessage().withStream("s").withData(ObjectMapper().createObjectNode()))
+    helper.internalProcessMessageFromSource(message)
+
+    verify(exactly = 0) { recordMapper.compile(any<List<MapperConfig>>()) }
+    verify(exactly = 0) { recordMapper.applyMappers(any(), any<MapperPlan>()) }
   }
 
   @Test
@@ -245,26 +267,9 @@ class ReplicationWorkerHelperTest {
     every { destinationCatalogGenerator.generateDestinationCatalog(any()) } answers {
       DestinationCatalogGenerator.CatalogGenerationResult(context.configuredCatalog, emptyMap())
     }
-    helper =
-      spyk(
-        ReplicationWorkerHelper(
-          fieldSelector,
-          mapper,
-          messageTracker,
-          eventPublisher,
-          timeTracker,
-          analyticsTracker,
-          streamStatusCompletionTracker,
-          syncStatsTracker,
-          streamStatusTracker,
-          recordMapper,
-          replicationWorkerState,
-          context,
-          destinationCatalogGenerator,
-          metricClient,
-        ),
-        recordPrivateCalls = true,
-      )
+    val plan = mockk<MapperPlan>()
+    every { recordMapper.compile(listOf(mapperConfig)) } returns plan
+    helper = newHelper()
 
     val adapter =
       AirbyteJsonRecordAdapter(
@@ -273,7 +278,30 @@ class ReplicationWorkerHelperTest {
           .withRecord(AirbyteRecordMessage().withStream("s").withData(ObjectMapper().createObjectNode())),
       )
     helper.applyTransformationMappers(adapter)
+    helper.applyTransformationMappers(adapter)
 
-    verify(exactly = 1) { recordMapper.applyMappers(adapter, listOf(mapperConfig)) }
+    verify(exactly = 1) { recordMapper.compile(listOf(mapperConfig)) }
+    verify(exactly = 2) { recordMapper.applyMappers(adapter, plan) }
   }
+
+  private fun newHelper() =
+    spyk(
+      ReplicationWorkerHelper(
+        fieldSelector,
+        mapper,
+        messageTracker,
+        eventPublisher,
+        timeTracker,
+        analyticsTracker,
+        streamStatusCompletionTracker,
+        syncStatsTracker,
+        streamStatusTracker,
+        recordMapper,
+        replicationWorkerState,
+        context,
+        destinationCatalogGenerator,
+        metricClient,
+      ),
+      recordPrivateCalls = true,
+    )
 }
@@ -206,6 +206,87 @@ class ReplicationWorkerIntegrationTest {
 //        replicationWorkerInfo.replicationOutput.failures.map { it.internalMessage },
 //      )
     }
+
+  @Test
+  fun batchedSourcePreservesMessageOrder() =
+    runTest {
+      val catalog =
+        ConfiguredAirbyteCatalog().withStreams(
+          listOf(
+            ConfiguredAirbyteStream(
+              stream =
+                AirbyteStream(
+                  name = "test_stream",
+                  jsonSchema = Jsons.deserialize("""{"properties": {"id": {"type": "integer"}}}"""),
+                  supportedSyncModes = listOf(SyncMode.FULL_REFRESH, SyncMode.INCREMENTAL),
+                ),
+            ),
+          ),
+        )
+      val source =
+        StaticMessageListSource(
+          sequence {
+            for (i in 1..1000) {
+              yield(
+                AirbyteMessage()
+                  .withType(AirbyteMessage.Type.RECORD)
+                  .withRecord(
+                    AirbyteRecordMessage()
+                      .withStream("test_stream")
+                      .withEmittedAt(1234)
+                      .withData(Jsons.deserialize("""{"id": $i}""")),
+                  ),
+              )
+              if (i % 150 == 0) {
+                yield(
+                  AirbyteMessage()
+                    .withType(AirbyteMessage.Type.STATE)
+                    .withState(
+                      AirbyteStateMessage()
+                        .withType(AirbyteStateMessage.AirbyteStateType.STREAM)
+                        .withStream(
+                          AirbyteStreamState()
+                            .withStreamDescriptor(StreamDescriptor().withName("test_stream"))
+                            .withStreamState(Jsons.deserialize("""{"cursor": $i}""")),
+                        ),
+                    ),
+                )
+              }
+            }
+          },
+        )
+      val destination = CapturingDestination()
+
+      val replicationWorkerInfo =
+        ReplicationWorkerIntegrationTestUtil.runSync(
+          catalog,
+          source,
+          destination,
+          bufferConfiguration = BufferConfiguration(batchMaxMessages = 64),
+        )
+
+      val received = destination.getMessages()
+      assertEquals(1000, received.count { it.type == AirbyteMessage.Type.RECORD })
+      assertEquals(
+        (1..1000).toList(),
+        received.filter { it.type == AirbyteMessage.Type.RECORD }.map { it.record.data["id"].asInt() },
+      )
+      // Each state must be delivered right after the record that preceded it in the source.
+      received.forEachIndexed { index, message ->
+        if (message.type == AirbyteMessage.Type.STATE) {
+          assertEquals(
+            message.state.stream.streamState["cursor"].asInt(),
+            received[index - 1].record.data["id"].asInt(),
+          )
+        }
+      }
+      assertEquals(
+        1000L,
+        replicationWorkerInfo.replicationOutput.replicationAttemptSummary.streamStats
+          .first { it.streamName == "test_stream" }
+          .stats.recordsEmitted,
+      )
+    }
 }
 
 /**
@@ -229,6 +310,7 @@ object ReplicationWorkerIntegrationTestUtil {
         namespaceFormat = null,
         streamPrefix = null,
       ),
+    bufferConfiguration: BufferConfiguration = BufferConfiguration(),
   ): ReplicationWorkerInfo {
     val jobRoot =
       Files
@@ -238,7 +320,6 @@ object ReplicationWorkerIntegrationTestUtil {
     val replicationWorkerDispatcher = Executors.newFixedThreadPool(4)
     val stateFlushExecutorService = Executors.newSingleThreadScheduledExecutor()
 
-    val bufferConfiguration = BufferConfiguration()
     val streamStatusCompletionTracker = StreamStatusCompletionTracker(Clock.systemUTC())
     val replicationWorkerState = ReplicationWorkerState()
     val connectionId = UUID.randomUUID()
@@ -315,7 +396,7 @@ object ReplicationWorkerIntegrationTestUtil {
         fieldSelector =
           FieldSelector(
             mockk<RecordSchemaValidator> {
-              every { validateSchema(any(), any(), any()) } just Runs
+              every { validateSchema(any(), any(), any(), any()) } just Runs
             },
             mockk<ReplicationMetricReporter>(),
             replicationInput,
@@ -371,6 +452,8 @@ object ReplicationWorkerIntegrationTestUtil {
         source,
         ClosableChannelQueue(bufferConfiguration.sourceMaxBufferSize),
         streamStatusCompletionTracker,
+        bufferConfiguration,
+        metricClient,
       )
     val replicationWorker =
       ReplicationWorker(
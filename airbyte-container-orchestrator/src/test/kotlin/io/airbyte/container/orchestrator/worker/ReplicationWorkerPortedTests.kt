@@ -279,8 +279,8 @@ class ReplicationWorkerPortedTests {
     verify { source.start(any(), any(), any()) }
     verify { destination.start(any(), any()) }
     verify { onReplicationRunning.call() }
-    verify { recordSchemaValidator.validateSchema(RECORD_MESSAGE1.record, any(), any()) }
-    verify { recordSchemaValidator.validateSchema(RECORD_MESSAGE2.record, any(), any()) }
+    verify { recordSchemaValidator.validateSchema(RECORD_MESSAGE1.record, any(), any(), any()) }
+    verify { recordSchemaValidator.validateSchema(RECORD_MESSAGE2.record, any(), any(), any()) }
     verify { source.close() }
     verify { destination.close() }
     assertEquals(ReplicationStatus.COMPLETED, out.replicationAttemptSummary.status)
@@ -19,6 +19,7 @@ import io.airbyte.protocol.models.v0.AirbyteMessage
 import io.airbyte.protocol.models.v0.AirbyteRecordMessage
 import io.airbyte.validation.json.JsonSchemaValidator
 import io.airbyte.workers.WorkerUtils
+import io.airbyte.workers.internal.RawLineAirbyteMessage
 import io.mockk.every
 import io.mockk.mockk
 import org.junit.jupiter.api.Assertions
@@ -217,6 +218,34 @@ internal class FieldSelectorTest {
     Assertions.assertEquals(expectedMessage, message)
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = [true, false])
+  internal fun `test that the raw line is only discarded when fields are removed`(hasExtraFields: Boolean) {
+    val configuredCatalog =
+      ConfiguredAirbyteCatalog()
+        .withStreams(
+          listOf(
+            ConfiguredAirbyteStream(
+              stream = AirbyteStream(STREAM_NAME, Jsons.deserialize(SCHEMA), listOf(SyncMode.INCREMENTAL)),
+              syncMode = SyncMode.INCREMENTAL,
+              destinationSyncMode = DestinationSyncMode.APPEND,
+            ),
+          ),
+        )
+    val replicationInput =
+      mockk<ReplicationInput> {
+        every { workspaceId } returns UUID.randomUUID()
+      }
+
+    val fieldSelector = createFieldSelector(configuredCatalog = configuredCatalog, fieldSelectionEnabled = true, replicationInput = replicationInput)
+
+    val record = if (hasExtraFields) RECORD_WITH_EXTRA else RECORD_WITHOUT_EXTRA
+    val message = RawLineAirbyteMessage(rawLine = record, message = createRecord(record))
+    fieldSelector.filterSelectedFields(message)
+
+    Assertions.assertEquals(if (hasExtraFields) null else record, message.rawLine)
+  }
+
   private fun createFieldSelector(
     configuredCatalog: ConfiguredAirbyteCatalog,
     replicationInput: ReplicationInput,
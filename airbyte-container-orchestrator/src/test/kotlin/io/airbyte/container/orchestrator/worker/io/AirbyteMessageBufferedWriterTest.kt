@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.io
+
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer
+import io.airbyte.protocol.models.v0.AirbyteMessage
+import io.airbyte.workers.internal.RawLineAirbyteMessage
+import io.airbyte.workers.testutils.AirbyteMessageUtils
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.io.BufferedWriter
+import java.io.StringWriter
+import java.util.Optional
+
+private const val RAW_LINE = """{"type":"RECORD","record":{"stream":"stream","data":{"field":"raw"},"emitted_at":1}}"""
+private const val SERIALIZED_LINE = "serialized"
+
+internal class AirbyteMessageBufferedWriterTest {
+  private lateinit var output: StringWriter
+  private lateinit var serializer: AirbyteMessageSerializer<AirbyteMessage>
+  private lateinit var migrator: AirbyteMessageVersionedMigrator<AirbyteMessage>
+
+  @BeforeEach
+  fun setup() {
+    output = StringWriter()
+    serializer =
+      mockk {
+        every { serialize(any()) } returns SERIALIZED_LINE
+      }
+    migrator =
+      mockk {
+        every { downgrade(any(), any()) } answers { firstArg() }
+      }
+  }
+
+  @Test
+  fun `raw lines are written as is when passthrough is enabled`() {
+    val writer = createWriter(passthroughRawLines = true)
+    val message = RawLineAirbyteMessage(RAW_LINE, AirbyteMessageUtils.createRecordMessage("stream", "field", "parsed"))
+
+    writer.write(message)
+    writer.flush()
+
+    assertEquals(RAW_LINE + System.lineSeparator(), output.toString())
+    verify(exactly = 0) { serializer.serialize(any()) }
+  }
+
+  @Test
+  fun `discarded raw lines are serialized`() {
+    val writer = createWriter(passthroughRawLines = true)
+    val message = RawLineAirbyteMessage(RAW_LINE, AirbyteMessageUtils.createRecordMessage("stream", "field", "parsed"))
+    message.discardRawLine()
+
+    writer.write(message)
+    writer.flush()
+
+    assertEquals(SERIALIZED_LINE + System.lineSeparator(), output.toString())
+  }
+
+  @Test
+  fun `raw lines are serialized when passthrough is disabled`() {
+    val writer = createWriter(passthroughRawLines = false)
+    val message = RawLineAirbyteMessage(RAW_LINE, AirbyteMessageUtils.createRecordMessage("stream", "field", "parsed"))
+
+    writer.write(message)
+    writer.flush()
+
+    assertEquals(SERIALIZED_LINE + System.lineSeparator(), output.toString())
+    verify(exactly = 1) { migrator.downgrade(message, any()) }
+  }
+
+  private fun createWriter(passthroughRawLines: Boolean) =
+    AirbyteMessageBufferedWriter(
+      writer = BufferedWriter(output),
+      serializer = serializer,
+      migrator = migrator,
+      configuredAirbyteCatalog = Optional.empty(),
+      passthroughRawLines = passthroughRawLines,
+    )
+}
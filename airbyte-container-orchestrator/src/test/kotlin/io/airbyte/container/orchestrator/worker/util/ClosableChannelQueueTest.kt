@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.container.orchestrator.worker.util
+
+import kotlinx.coroutines.async
+import kotlinx.coroutines.channels.ClosedSendChannelException
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+internal class ClosableChannelQueueTest {
+  @Test
+  fun `tracks depth of a count bounded queue`() =
+    runTest {
+      val queue = ClosableChannelQueue<String>(capacity = 10)
+
+      queue.send("a")
+      queue.send("b")
+      assertEquals(2, queue.depth())
+      assertEquals(0L, queue.currentBytes())
+
+      assertEquals("a", queue.receive())
+      assertEquals(1, queue.depth())
+    }
+
+  @Test
+  fun `producer is suspended while the byte budget is exhausted`() =
+    runTest {
+      val queue = ClosableChannelQueue<String>(capacity = 10, maxBytes = 10L, sizeEstimator = { it.length.toLong() })
+
+      queue.send("123456")
+      assertEquals(6L, queue.currentBytes())
+
+      val pendingSend = async { queue.send("7890123") }
+      runCurrent()
+      assertFalse(pendingSend.isCompleted)
+      assertEquals(1, queue.depth())
+
+      assertEquals("123456", queue.receive())
+      runCurrent()
+      assertTrue(pendingSend.isCompleted)
+      assertEquals(7L, queue.currentBytes())
+      assertEquals("7890123", queue.receive())
+      assertEquals(0L, queue.currentBytes())
+    }
+
+  @Test
+  fun `an element larger than the byte budget is accepted by an empty queue`() =
+    runTest {
+      val queue = ClosableChannelQueue<String>(capacity = 10, maxBytes = 2L, sizeEstimator = { it.length.toLong() })
+
+      queue.send("larger than the budget")
+
+      assertEquals(1, queue.depth())
+      assertEquals("larger than the budget", queue.receive())
+    }
+
+  @Test
+  fun `closing the queue drains remaining elements then returns null`() =
+    runTest {
+      val queue = ClosableChannelQueue<String>(capacity = 10, maxBytes = 100L, sizeEstimator = { it.length.toLong() })
+
+      queue.send("a")
+      queue.close()
+
+      assertTrue(queue.isClosedForSending())
+      assertEquals("a", queue.receive())
+      assertNull(queue.receive())
+      assertTrue(queue.isClosedForReceiving())
+    }
+
+  @Test
+  fun `elements sent to a closed queue are not counted`() =
+    runTest {
+      val queue = ClosableChannelQueue<String>(capacity = 10, maxBytes = 100L, sizeEstimator = { it.length.toLong() })
+
+      queue.send("a")
+      queue.close()
+
+      assertThrows<ClosedSendChannelException> { queue.send("bc") }
+      assertEquals(1, queue.depth())
+      assertEquals(1L, queue.currentBytes())
+      assertEquals("a", queue.receive())
+      assertEquals(0, queue.depth())
+      assertEquals(0L, queue.currentBytes())
+    }
+}
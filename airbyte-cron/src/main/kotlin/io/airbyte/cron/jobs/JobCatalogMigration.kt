@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.cron.jobs
+
+import datadog.trace.api.Trace
+import io.airbyte.cron.SCHEDULED_TRACE_OPERATION_NAME
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
+import io.airbyte.persistence.job.JobPersistence
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import io.micronaut.scheduling.annotation.Scheduled
+import jakarta.inject.Singleton
+
+private val log = KotlinLogging.logger {}
+
+/**
+ * Moves the catalogs still embedded in the config of the jobs created before the job_catalogs table to that table, a
+ * batch of jobs at a time, until none is left.
+ */
+@Singleton
+@Requires(property = "airbyte.cron.job-catalog-migration.enabled", value = "true")
+class JobCatalogMigration(
+  private val jobPersistence: JobPersistence,
+  private val metricClient: MetricClient,
+  @Value("\${airbyte.cron.job-catalog-migration.batch-size:500}") private val batchSize: Int,
+) {
+  // Set once no job is left to migrate, jobs created since then having their catalog in job_catalogs already.
+  private var done = false
+
+  init {
+    log.info { "Creating job catalog migration" }
+  }
+
+  @Trace(operationName = SCHEDULED_TRACE_OPERATION_NAME)
+  @Scheduled(fixedDelay = "1m", initialDelay = "5m")
+  fun migrateJobCatalogs() {
+    if (done) {
+      return
+    }
+    metricClient.count(
+      metric = OssMetricsRegistry.CRON_JOB_RUN_BY_CRON_TYPE,
+      attributes = arrayOf(MetricAttribute(MetricTags.CRON_TYPE, "job_catalog_migration")),
+    )
+    if (jobPersistence.migrateJobCatalogs(batchSize) == null) {
+      done = true
+      log.info { "Done migrating job catalogs" }
+    }
+  }
+}
@@ -5,6 +5,7 @@
 package io.airbyte.cron.jobs
 
 import datadog.trace.api.Trace
+import io.airbyte.featureflag.CanArchiveWorkloads
 import io.airbyte.featureflag.CanCleanWorkloadQueue
 import io.airbyte.featureflag.Empty
 import io.airbyte.featureflag.FeatureFlagClient
@@ -18,6 +19,7 @@ import io.airbyte.workload.api.client.WorkloadApiClient
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadArchiveRequest
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
 import io.airbyte.workload.api.domain.WorkloadQueueCleanLimit
 import io.airbyte.workload.api.domain.WorkloadStatus
@@ -43,6 +45,7 @@ open class WorkloadMonitor(
   private val timeProvider: Optional<(ZoneId) -> OffsetDateTime>,
   @Property(name = "airbyte.workload.queue.deletion-batch-size") private val deletionBatchSizeLimit: Int,
   private val featureFlagClient: FeatureFlagClient,
+  @Property(name = "airbyte.workload.archive.batch-size") private val archiveBatchSize: Int,
 ) {
   companion object {
     const val CHECK_CLAIMS = "workload-monitor-claim"
@@ -208,6 +211,16 @@ open class WorkloadMonitor(
     }
   }
 
+  @Scheduled(cron = "\${airbyte.workload.archive.cron}")
+  open fun archiveWorkloads() {
+    val canArchiveWorkloads = featureFlagClient.boolVariation(CanArchiveWorkloads, Empty)
+    if (canArchiveWorkloads) {
+      logger.info { "Archiving ended workloads. With a batch size of $archiveBatchSize" }
+      workloadApiClient.workloadArchive(req = WorkloadArchiveRequest(archiveBatchSize))
+      logger.info { "Ended workloads archived." }
+    }
+  }
+
   private fun failWorkloads(
     workloads: List<Workload>,
     reason: String,
@@ -5,6 +5,8 @@
 package io.airbyte.cron.jobs
 
 import io.airbyte.config.WorkloadType
+import io.airbyte.featureflag.CanArchiveWorkloads
+import io.airbyte.featureflag.Empty
 import io.airbyte.featureflag.FeatureFlagClient
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
@@ -13,6 +15,7 @@ import io.airbyte.metrics.lib.MetricTags
 import io.airbyte.workload.api.client.WorkloadApiClient
 import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadArchiveRequest
 import io.airbyte.workload.api.domain.WorkloadListResponse
 import io.airbyte.workload.api.domain.WorkloadStatus
 import io.micrometer.core.instrument.Counter
@@ -57,6 +60,7 @@ class WorkloadMonitorTest {
         timeProvider = Optional.of { _: ZoneId -> currentTime },
         deletionBatchSizeLimit = 100,
         featureFlagClient = featureFlagClient,
+        archiveBatchSize = 200,
       )
   }
 
@@ -266,6 +270,25 @@ class WorkloadMonitorTest {
     }
   }
 
+  @Test
+  fun `test archive workloads`() {
+    every { featureFlagClient.boolVariation(CanArchiveWorkloads, Empty) } returns true
+    every { workloadApiClient.workloadArchive(any()) } returns Unit
+
+    workloadMonitor.archiveWorkloads()
+
+    verify(exactly = 1) { workloadApiClient.workloadArchive(WorkloadArchiveRequest(200)) }
+  }
+
+  @Test
+  fun `test archive workloads is disabled by the flag`() {
+    every { featureFlagClient.boolVariation(CanArchiveWorkloads, Empty) } returns false
+
+    workloadMonitor.archiveWorkloads()
+
+    verify(exactly = 0) { workloadApiClient.workloadArchive(any()) }
+  }
+
   fun getWorkload(id: String): Workload =
     mockkClass(Workload::class).also {
       every { it.id } returns id
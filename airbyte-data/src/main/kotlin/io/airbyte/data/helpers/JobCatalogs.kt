@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.data.helpers
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.ObjectNode
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import io.airbyte.commons.json.Jsons
+import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.config.JobConfig
+import io.airbyte.config.JobConfig.ConfigType
+import java.security.MessageDigest
+
+/**
+ * Total number of streams of the catalogs kept by a [JobCatalogCache], the size of a catalog being roughly proportional
+ * to its number of streams.
+ */
+const val DEFAULT_JOB_CATALOG_CACHE_MAX_STREAMS = 100_000L
+
+private const val CONFIGURED_CATALOG_FIELD = "configuredAirbyteCatalog"
+
+/**
+ * The configured catalogs of replication jobs are stored once in the job_catalogs table, keyed by the hash of their
+ * canonical JSON, rather than in the config of every job. The jobs reference their catalog through their catalog_hash
+ * column, jobs without one still having their catalog in their config.
+ */
+object JobCatalogs {
+  /**
+   * Removes the configured catalog from [config], the JSON of a [JobConfig] of type [configType], and returns it.
+   * Returns null if the config has no catalog.
+   */
+  fun detachCatalog(
+    configType: ConfigType,
+    config: ObjectNode,
+  ): JsonNode? {
+    val typedConfig = typedConfigField(configType)?.let { config.get(it) } as? ObjectNode ?: return null
+    return typedConfig.remove(CONFIGURED_CATALOG_FIELD)?.takeUnless { it.isNull }
+  }
+
+  /**
+   * Sets a copy of [catalog] as the catalog of [config], as it was before the catalog was detached. The catalog can be
+   * shared with other jobs, such as the catalogs of a [JobCatalogCache], while the copy belongs to the job.
+   */
+  fun attachCatalog(
+    config: JobConfig,
+    catalog: ConfiguredAirbyteCatalog,
+  ) {
+    when (config.configType) {
+      ConfigType.SYNC -> config.sync?.configuredAirbyteCatalog = Jsons.clone(catalog)
+      ConfigType.RESET_CONNECTION -> config.resetConnection?.configuredAirbyteCatalog = Jsons.clone(catalog)
+      ConfigType.REFRESH -> config.refresh?.configuredAirbyteCatalog = Jsons.clone(catalog)
+      else -> {}
+    }
+  }
+
+  /**
+   * SHA-256 of the canonical JSON of the catalog, so that equal catalogs have the same hash whatever the order of their
+   * properties. Unlike the hash of actor catalogs, it is the only key of the catalog and must not collide.
+   */
+  fun hash(catalog: JsonNode): String {
+    val digest = MessageDigest.getInstance("SHA-256").digest(Jsons.canonicalJsonSerialize(catalog).toByteArray(Charsets.UTF_8))
+    return digest.joinToString("") { "%02x".format(it) }
+  }
+
+  private fun typedConfigField(configType: ConfigType): String? =
+    when (configType) {
+      ConfigType.SYNC -> "sync"
+      ConfigType.RESET_CONNECTION -> "resetConnection"
+      ConfigType.REFRESH -> "refresh"
+      else -> null
+    }
+}
+
+/**
+ * Bounded cache of deserialized job catalogs, keyed by hash.
+ * <p />
+ * Catalogs are immutable once stored, so a cached catalog never gets stale. The catalogs returned are the cached ones
+ * and must not be modified: [JobCatalogs.attachCatalog] gives each job its own copy.
+ */
+class JobCatalogCache(
+  maxStreams: Long = DEFAULT_JOB_CATALOG_CACHE_MAX_STREAMS,
+) {
+  private val catalogs: Cache<String, ConfiguredAirbyteCatalog> =
+    CacheBuilder
+      .newBuilder()
+      .maximumWeight(maxStreams)
+      .weigher<String, ConfiguredAirbyteCatalog> { _, catalog -> catalog.streams.size + 1 }
+      .build()
+
+  /**
+   * Returns the catalogs with the given [hashes], loading the ones that are not cached with a single call to [load].
+   */
+  fun getAll(
+    hashes: Set<String>,
+    load: (Set<String>) -> Map<String, ConfiguredAirbyteCatalog>,
+  ): Map<String, ConfiguredAirbyteCatalog> {
+    if (hashes.isEmpty()) {
+      return mapOf()
+    }
+    val found = HashMap(catalogs.getAllPresent(hashes))
+    val missing = hashes - found.keys
+    if (missing.isNotEmpty()) {
+      load(missing).forEach { (hash, catalog) ->
+        catalogs.put(hash, catalog)
+        found[hash] = catalog
+      }
+    }
+    return found
+  }
+}
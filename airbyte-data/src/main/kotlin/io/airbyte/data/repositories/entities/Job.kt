@@ -49,6 +49,7 @@ open class Job(
   @DateUpdated
   var updatedAt: java.time.OffsetDateTime,
   var isScheduled: Boolean,
+  var catalogHash: String? = null,
 )
 
 @MappedEntity("jobs")
@@ -62,6 +63,7 @@ class JobWithAttempts(
   createdAt: java.time.OffsetDateTime,
   updatedAt: java.time.OffsetDateTime,
   isScheduled: Boolean,
+  catalogHash: String? = null,
   @Relation(
     value = Relation.Kind.ONE_TO_MANY,
     mappedBy = "job",
@@ -77,4 +79,5 @@ class JobWithAttempts(
     createdAt = createdAt,
     updatedAt = updatedAt,
     isScheduled = isScheduled,
+    catalogHash = catalogHash,
   )
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.data.repositories.entities
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.micronaut.data.annotation.DateCreated
+import io.micronaut.data.annotation.Id
+import io.micronaut.data.annotation.MappedEntity
+import io.micronaut.data.annotation.TypeDef
+import io.micronaut.data.model.DataType
+
+@MappedEntity("job_catalogs")
+data class JobCatalog(
+  @field:Id
+  val hash: String,
+  @field:TypeDef(type = DataType.JSON)
+  val catalog: JsonNode,
+  @DateCreated
+  val createdAt: java.time.OffsetDateTime? = null,
+)
@@ -4,14 +4,20 @@
 
 package io.airbyte.data.services.impls.data
 
+import io.airbyte.commons.json.Jsons
 import io.airbyte.commons.logging.LogUtils
+import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.config.Job
 import io.airbyte.config.JobConfig
 import io.airbyte.config.JobStatus
+import io.airbyte.data.helpers.JobCatalogCache
+import io.airbyte.data.helpers.JobCatalogs
+import io.airbyte.data.repositories.JobCatalogsRepository
 import io.airbyte.data.repositories.JobsRepository
 import io.airbyte.data.repositories.JobsWithAttemptsRepository
 import io.airbyte.data.repositories.Specifications
 import io.airbyte.data.services.JobService
+import io.airbyte.data.services.impls.data.mappers.EntityJob
 import io.airbyte.data.services.impls.data.mappers.toConfigModel
 import io.airbyte.data.services.impls.data.mappers.toEntity
 import io.airbyte.db.instance.jobs.jooq.generated.enums.JobConfigType
@@ -31,9 +37,12 @@ const val DEFAULT_SORT_FIELD = "createdAt"
 class JobServiceDataImpl(
   private val jobsWithAttemptsRepository: JobsWithAttemptsRepository,
   private val jobsRepository: JobsRepository,
+  private val jobCatalogsRepository: JobCatalogsRepository,
   private val logUtils: LogUtils,
 ) : JobService {
-  override fun findById(id: Long): Job? = jobsRepository.findById(id).getOrNull()?.toConfigModel()
+  private val catalogCache = JobCatalogCache()
+
+  override fun findById(id: Long): Job? = jobsRepository.findById(id).getOrNull()?.let { withCatalogs(listOf(it to it.toConfigModel())).single() }
 
   override fun listJobs(
     configTypes: Set<JobConfig.ConfigType>,
@@ -62,8 +71,8 @@ class JobServiceDataImpl(
         ),
         pageable,
       ).toList()
-      .map { it.toConfigModel() }
-      .toList()
+      .map { it to it.toConfigModel() }
+      .let { withCatalogs(it) }
   }
 
   override fun findLatestJobPerScope(
@@ -78,16 +87,18 @@ class JobServiceDataImpl(
         createdAtStart,
       ).mapNotNull {
         try {
-          it.toConfigModel()
+          it to it.toConfigModel()
         } catch (e: Exception) {
           logger.info(e) { "Failed to convert job to config model id=${it.id} configType=${it.configType} scope=${it.scope}" }
           null
         }
-      }
+      }.let { withCatalogs(it) }
 
-  override fun firstSuccessfulJobForScope(scope: String): Job? = jobsRepository.firstSuccessfulJobForScope(scope)?.toConfigModel()
+  override fun firstSuccessfulJobForScope(scope: String): Job? =
+    jobsRepository.firstSuccessfulJobForScope(scope)?.let { withCatalogs(listOf(it to it.toConfigModel())).single() }
 
-  override fun lastSuccessfulJobForScope(scope: String): Job? = jobsRepository.lastSuccessfulJobForScope(scope)?.toConfigModel()
+  override fun lastSuccessfulJobForScope(scope: String): Job? =
+    jobsRepository.lastSuccessfulJobForScope(scope)?.let { withCatalogs(listOf(it to it.toConfigModel())).single() }
 
   override fun countFailedJobsSinceLastSuccessForScope(scope: String): Int = jobsRepository.countFailedJobsSinceLastSuccessForScope(scope)
 
@@ -95,7 +106,26 @@ class JobServiceDataImpl(
     scope: String,
     jobId: Long,
     status: JobStatus,
-  ): Job? = jobsRepository.getPriorJobWithStatusForScopeAndJobId(scope, jobId, status.toEntity())?.toConfigModel()
+  ): Job? =
+    jobsRepository
+      .getPriorJobWithStatusForScopeAndJobId(scope, jobId, status.toEntity())
+      ?.let { withCatalogs(listOf(it to it.toConfigModel())).single() }
+
+  /**
+   * Sets the catalogs of the jobs whose catalog is stored in the job_catalogs table rather than in their config.
+   */
+  private fun withCatalogs(jobs: List<Pair<EntityJob, Job>>): List<Job> {
+    val catalogs =
+      catalogCache.getAll(jobs.mapNotNullTo(HashSet()) { it.first.catalogHash }) { hashes ->
+        jobCatalogsRepository.findByHashIn(hashes).associate { it.hash to Jsons.`object`(it.catalog, ConfiguredAirbyteCatalog::class.java) }
+      }
+    return jobs.map { (entity, job) ->
+      entity.catalogHash?.let { hash ->
+        JobCatalogs.attachCatalog(job.config, checkNotNull(catalogs[hash]) { "Missing catalog $hash of job ${entity.id}" })
+      }
+      job
+    }
+  }
 
   private fun buildPageable(
     limit: Int,
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.configs.migrations
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import org.flywaydb.core.api.migration.BaseJavaMigration
+import org.flywaydb.core.api.migration.Context
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+
+private val log = KotlinLogging.logger {}
+
+/**
+ * Adds the workload_archive table, which the workloads are moved to some time after they end so that the workload table
+ * only holds the recent ones. It is partitioned by month of archival, and whole partitions are dropped once past the
+ * retention period instead of deleting archived workloads row by row.
+ * <p />
+ * The partitions are created ahead of time by the workload archival job rather than by this migration.
+ */
+@Suppress("ktlint:standard:class-naming")
+class V1_6_0_025__AddWorkloadArchiveTable : BaseJavaMigration() {
+  override fun migrate(context: Context) {
+    log.info { "Running migration: ${javaClass.simpleName}" }
+
+    val ctx = DSL.using(context.connection)
+    createWorkloadArchiveTable(ctx)
+    createIndices(ctx)
+
+    log.info { "Completed migration: ${javaClass.simpleName}" }
+  }
+
+  companion object {
+    private fun createWorkloadArchiveTable(ctx: DSLContext) {
+      // The labels are kept as a json object rather than in a separate table, archived workloads are only ever read whole.
+      ctx
+        .query(
+          "CREATE TABLE IF NOT EXISTS workload_archive (" +
+            "LIKE workload INCLUDING DEFAULTS, " +
+            "labels jsonb, " +
+            "archived_at timestamp with time zone NOT NULL DEFAULT current_timestamp, " +
+            "PRIMARY KEY (id, archived_at)" +
+            ") PARTITION BY RANGE (archived_at)",
+        ).execute()
+    }
+
+    private fun createIndices(ctx: DSLContext) {
+      // Used to find the workloads to archive.
+      ctx
+        .query(
+          "CREATE INDEX IF NOT EXISTS terminal_workload_updated_at_idx " +
+            "ON workload(updated_at) " +
+            "WHERE status IN ('success', 'failure', 'cancelled')",
+        ).execute()
+
+      // Used to find the workloads running for too long, without going through the ended ones.
+      ctx
+        .query(
+          "CREATE INDEX IF NOT EXISTS active_workload_by_type_created_at_idx " +
+            "ON workload(type, created_at) " +
+            "WHERE status IN ('pending', 'claimed', 'launched', 'running')",
+        ).execute()
+    }
+  }
+}
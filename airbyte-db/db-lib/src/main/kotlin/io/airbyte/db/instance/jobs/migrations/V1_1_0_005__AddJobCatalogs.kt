@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.jobs.migrations
+
+import io.github.oshai.kotlinlogging.KotlinLogging
+import org.flywaydb.core.api.migration.BaseJavaMigration
+import org.flywaydb.core.api.migration.Context
+import org.jooq.DSLContext
+import org.jooq.impl.DSL
+import org.jooq.impl.SQLDataType
+
+private val log = KotlinLogging.logger {}
+
+/**
+ * Adds the job_catalogs table, which stores each configured catalog used by jobs once, and the column referencing it
+ * from the jobs. The catalogs of the existing jobs are moved to the new table in the background, outside of this
+ * migration, so it doesn't rewrite the jobs table. The jobs left to move are indexed, so that moving them doesn't
+ * rescan the ones already moved.
+ */
+@Suppress("ktlint:standard:class-naming")
+class V1_1_0_005__AddJobCatalogs : BaseJavaMigration() {
+  override fun migrate(context: Context) {
+    log.info { "Running migration: ${javaClass.simpleName}" }
+
+    // Warning: please do not use any jOOQ generated code to write a migration.
+    // As database schema changes, the generated jOOQ code can be deprecated. So
+    // old migration may not compile if there is any generated code.
+    val ctx: DSLContext = DSL.using(context.connection)
+    createJobCatalogsTable(ctx)
+    addCatalogHashToJobs(ctx)
+    addJobCatalogsToMigrateIndex(ctx)
+  }
+
+  private fun createJobCatalogsTable(ctx: DSLContext) {
+    val hash = DSL.field("hash", SQLDataType.VARCHAR(64).nullable(false))
+    val catalog = DSL.field("catalog", SQLDataType.JSONB.nullable(false))
+    val createdAt = DSL.field("created_at", SQLDataType.TIMESTAMPWITHTIMEZONE.nullable(false).defaultValue(DSL.currentOffsetDateTime()))
+
+    ctx
+      .createTableIfNotExists(JOB_CATALOGS_TABLE)
+      .columns(hash, catalog, createdAt)
+      .constraints(DSL.primaryKey(hash))
+      .execute()
+  }
+
+  // No foreign key: validating it would scan the whole jobs table, and catalogs are never deleted.
+  private fun addCatalogHashToJobs(ctx: DSLContext) {
+    ctx
+      .alterTable("jobs")
+      .addColumnIfNotExists(DSL.field("catalog_hash", SQLDataType.VARCHAR(64).nullable(true)))
+      .execute()
+  }
+
+  // New jobs reference their catalog from the start, so the index only holds the jobs created before this migration and
+  // the few jobs without any catalog.
+  private fun addJobCatalogsToMigrateIndex(ctx: DSLContext) {
+    ctx
+      .query("CREATE INDEX CONCURRENTLY IF NOT EXISTS $JOBS_CATALOG_TO_MIGRATE_INDEX ON jobs(id) WHERE catalog_hash IS NULL")
+      .execute()
+  }
+
+  // This prevents flyway from automatically wrapping the migration in a transaction.
+  // This is important because indexes cannot be created concurrently (i.e. without locking) from within a transaction.
+  override fun canExecuteInTransaction(): Boolean = false
+}
+
+private const val JOB_CATALOGS_TABLE = "job_catalogs"
+private const val JOBS_CATALOG_TO_MIGRATE_INDEX = "jobs_catalog_to_migrate_idx"
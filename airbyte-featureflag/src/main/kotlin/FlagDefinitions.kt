@@ -157,6 +157,20 @@ object LogStateMsgs : Temporary<Boolean>(key = "platform.log-state-msgs", defaul
 
 object ReplicationBufferOverride : Temporary<Int>(key = "platform.replication-buffer-override", default = 0)
 
+object ReplicationBatchMaxMessages : Temporary<Int>(key = "platform.replication-batch-max-messages", default = 0)
+
+object ReplicationBatchMaxBytes : Temporary<Int>(key = "platform.replication-batch-max-bytes", default = 0)
+
+object ReplicationBufferMaxMegabytes : Temporary<Int>(key = "platform.replication-buffer-max-megabytes", default = 0)
+
+object ReplicationProcessorParallelism : Temporary<Int>(key = "platform.replication-processor-parallelism", default = 0)
+
+object ReplicationProcessorPartitionByPosition : Temporary<Boolean>(key = "platform.replication-processor-partition-by-position", default = false)
+
+object ReplicationRawRecordPassthrough : Temporary<Boolean>(key = "platform.replication-raw-record-passthrough", default = false)
+
+object ReplicationStreamingDeserializer : Temporary<Boolean>(key = "platform.replication-streaming-deserializer", default = false)
+
 object NodeSelectorOverride : Temporary<String>(key = "platform.node-selector-override", default = "")
 
 object ReportConnectorDiskUsage : Temporary<Boolean>(key = "platform.report-connector-disk-usage", default = false)
@@ -189,6 +203,10 @@ object LLMSyncJobFailureExplanation : Temporary<Boolean>(key = "platform.llm-syn
 
 object WorkloadPollerUsesJitter : Temporary<Boolean>(key = "platform.workload-poller-uses-jitter", default = false)
 
+object WorkloadPollerUsesLongPoll : Temporary<Boolean>(key = "platform.workload-poller-uses-long-poll", default = false)
+
+object WorkloadPollerUsesBatchClaim : Temporary<Boolean>(key = "platform.workload-poller-uses-batch-claim", default = false)
+
 object PersistSecretConfigsAndReferences : Temporary<Boolean>(key = "platform.persist-secret-configs-and-references", default = false)
 
 object ReadSecretReferenceIdsInConfigs : Temporary<Boolean>(key = "platform.read-secret-reference-ids-in-configs", default = false)
@@ -201,6 +219,8 @@ object CleanupDanglingSecretConfigs : Temporary<Boolean>(key = "platform.cleanup
 
 object CanCleanWorkloadQueue : Temporary<Boolean>(key = "platform.can-clean-workload-queue", default = false)
 
+object CanArchiveWorkloads : Temporary<Boolean>(key = "platform.can-archive-workloads", default = false)
+
 object StoreAuditLogs : Temporary<Boolean>(key = "platform.store-audit-logs", default = false)
 
 object EnableDestinationCatalogValidation : Temporary<Boolean>(key = "platform.enable-destination-catalog-validation", default = false)
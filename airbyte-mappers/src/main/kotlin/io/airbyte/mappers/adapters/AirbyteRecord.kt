@@ -4,6 +4,8 @@
 
 package io.airbyte.mappers.adapters
 
+import java.math.BigDecimal
+
 interface AirbyteRecord {
   enum class Change {
     NULLED,
@@ -42,9 +44,34 @@ interface AirbyteRecord {
 }
 
 interface Value {
+  /**
+   * Native type of a value, lets mappers compare values without converting them to strings.
+   */
+  enum class Type {
+    BOOLEAN,
+
+    // A number that fits in a long.
+    INTEGER,
+
+    // A double precision floating point number.
+    NUMBER,
+
+    // Any other number, which must be compared exactly, e.g. an arbitrary precision integer or decimal.
+    DECIMAL,
+    STRING,
+    OTHER,
+  }
+
   fun asBoolean(): Boolean
 
   fun asNumber(): Number
 
   fun asString(): String
+
+  fun asLong(): Long = asNumber().toLong()
+
+  fun asBigDecimal(): BigDecimal = BigDecimal(asNumber().toString())
+
+  // Values of an unknown type are compared as strings.
+  fun type(): Type = Type.STRING
 }
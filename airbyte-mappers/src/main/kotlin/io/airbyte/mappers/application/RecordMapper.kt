@@ -6,50 +6,109 @@ package io.airbyte.mappers.application
 
 import io.airbyte.config.MapperConfig
 import io.airbyte.mappers.adapters.AirbyteRecord
+import io.airbyte.mappers.transformations.CompiledMapper
 import io.airbyte.mappers.transformations.Mapper
 import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Value
 import jakarta.inject.Singleton
-import kotlin.time.DurationUnit
-import kotlin.time.measureTime
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
 
 private val log = KotlinLogging.logger {}
 
+/**
+ * Records for which the mappers are timed: one out of every this many on average.
+ */
+const val DEFAULT_STOPWATCH_SAMPLE_INTERVAL = 100
+
+// Records can be mapped concurrently, hence the adders.
+internal class MapperStopwatch(
+  val mapper: Mapper<out MapperConfig>,
+) {
+  val executionCount = LongAdder()
+
+  /**
+   * Sampled execution time, already scaled by the sampling interval.
+   */
+  val totalTimeNanos = LongAdder()
+}
+
+/**
+ * Mappers configured on a stream, resolved and compiled once by [RecordMapper.compile] and then applied to every record
+ * of the stream.
+ */
+class MapperPlan internal constructor(
+  internal val steps: List<Step>,
+) {
+  internal class Step(
+    val stopwatch: MapperStopwatch,
+    val mapper: CompiledMapper,
+  )
+
+  fun isEmpty(): Boolean = steps.isEmpty()
+}
+
 @Singleton
 class RecordMapper(
   mappers: List<Mapper<out MapperConfig>>,
+  @Value("\${airbyte.mappers.stopwatch-sample-interval:100}") stopwatchSampleInterval: Int = DEFAULT_STOPWATCH_SAMPLE_INTERVAL,
 ) {
-  private data class MapperStopwatch(
-    val mapper: Mapper<out MapperConfig>,
-    var executionCount: Int = 0,
-    var totalTimeMs: Long = 0L,
-  )
-
+  private val stopwatchSampleInterval = stopwatchSampleInterval.coerceAtLeast(1)
   private val mappersByName: Map<String, MapperStopwatch> = mappers.map { MapperStopwatch(mapper = it) }.associateBy { it.mapper.name }
 
+  /**
+   * Resolves and compiles [configuredMappers] so that they can be applied to many records. Configurations of unknown
+   * mappers are ignored.
+   */
   @Suppress("UNCHECKED_CAST")
+  fun <T : MapperConfig> compile(configuredMappers: List<T>): MapperPlan =
+    MapperPlan(
+      configuredMappers.mapNotNull { mapperConfig ->
+        mappersByName[mapperConfig.name()]?.let { stopwatch ->
+          MapperPlan.Step(stopwatch, (stopwatch.mapper as Mapper<T>).compile(mapperConfig))
+        }
+      },
+    )
+
+  /**
+   * Applies [configuredMappers] to a single record. Use [compile] and the [MapperPlan] overload to map many records.
+   */
   fun <T : MapperConfig> applyMappers(
     record: AirbyteRecord,
     configuredMappers: List<T>,
   ) {
+    applyMappers(record, compile(configuredMappers))
+  }
+
+  fun applyMappers(
+    record: AirbyteRecord,
+    plan: MapperPlan,
+  ) {
+    val timed = stopwatchSampleInterval == 1 || ThreadLocalRandom.current().nextInt(stopwatchSampleInterval) == 0
     try {
-      configuredMappers.fold(record) { acc, mapperConfig ->
-        mappersByName[mapperConfig.name()]?.let { stopwatch ->
-          stopwatch.executionCount++
-          stopwatch.totalTimeMs +=
-            measureTime {
-              (stopwatch.mapper as Mapper<T>).map(mapperConfig, acc)
-            }.toLong(DurationUnit.MILLISECONDS)
+      for (i in plan.steps.indices) {
+        val step = plan.steps[i]
+        step.stopwatch.executionCount.increment()
+        if (timed) {
+          val start = System.nanoTime()
+          step.mapper.map(record)
+          step.stopwatch.totalTimeNanos.add((System.nanoTime() - start) * stopwatchSampleInterval)
+        } else {
+          step.mapper.map(record)
         }
-        acc
       }
     } catch (e: Exception) {
       log.debug { "Error applying mappers: ${e.message}" }
     }
   }
 
+  /**
+   * Estimated time spent in each mapper that was applied, in milliseconds.
+   */
   fun collectStopwatches(): Map<String, Long> =
     mappersByName
-      .filterValues { it.executionCount > 0 }
-      .map { Pair(it.key, it.value.totalTimeMs) }
+      .filterValues { it.executionCount.sum() > 0 }
+      .map { Pair(it.key, TimeUnit.NANOSECONDS.toMillis(it.value.totalTimeNanos.sum())) }
       .toMap()
 }
@@ -51,6 +51,9 @@ class EncryptionMapper(
     override fun specType(): Class<*> = EncryptionMapperConfig::class.java
   }
 
+  // SecureRandom is thread safe and seeding a new one for every record is costly.
+  private val secureRandom = SecureRandom()
+
   override val name: String
     get() = MapperOperationName.ENCRYPTION
 
@@ -75,25 +78,76 @@ class EncryptionMapper(
     config: EncryptionMapperConfig,
     record: AirbyteRecord,
   ) {
-    if (record.has(config.config.targetField)) {
-      val outputFieldName = getOutputFieldName(config)
+    mapField(record, config.config.targetField, getOutputFieldName(config)) { data -> encrypt(data, config.config) }
+  }
+
+  override fun compileForNonDiscardedRecords(config: EncryptionMapperConfig): CompiledMapper {
+    val encryptor =
+      try {
+        compileEncryptor(config.config)
+      } catch (_: Exception) {
+        null
+      }
+    // Without a usable key every record fails the same way, the per record path reports it.
+    encryptor ?: return super.compileForNonDiscardedRecords(config)
+
+    val targetField = config.config.targetField
+    val outputFieldName = getOutputFieldName(config)
+    return CompiledMapper { record -> mapField(record, targetField, outputFieldName, encryptor) }
+  }
+
+  private inline fun mapField(
+    record: AirbyteRecord,
+    targetField: String,
+    outputFieldName: String,
+    encrypt: (ByteArray) -> String,
+  ) {
+    if (record.has(targetField)) {
       var failed = false
       try {
-        val data = record.get(config.config.targetField).asString()
-        val encryptedData = encrypt(data.toByteArray(Charsets.UTF_8), config.config)
+        val data = record.get(targetField).asString()
+        val encryptedData = encrypt(data.toByteArray(Charsets.UTF_8))
         record.set(outputFieldName, encryptedData)
       } catch (_: Exception) {
         // TODO We should use a more precise Reason once available in the protocol
         record.trackFieldError(outputFieldName, AirbyteRecord.Change.NULLED, AirbyteRecord.Reason.PLATFORM_SERIALIZATION_ERROR)
         failed = true
       } finally {
-        if (failed || outputFieldName != config.config.targetField) {
-          record.remove(config.config.targetField)
+        if (failed || outputFieldName != targetField) {
+          record.remove(targetField)
         }
       }
     }
   }
 
+  /**
+   * Resolves the key and checks the cipher once, returns null if the key hasn't been hydrated. Ciphers are not thread
+   * safe, so each thread gets its own.
+   */
+  @OptIn(ExperimentalStdlibApi::class)
+  private fun compileEncryptor(config: EncryptionConfig): ((ByteArray) -> String)? {
+    getCipher(config)
+    val ciphers = ThreadLocal.withInitial { getCipher(config) }
+    return when (config) {
+      is AesEncryptionConfig -> {
+        val key = config.key as? AirbyteSecret.Hydrated ?: return null
+        val keySpec = SecretKeySpec(key.value.hexToByteArray(), config.algorithm)
+        val encryptor: (ByteArray) -> String = { data -> encryptAES(data, ciphers.get(), keySpec) }
+        encryptor
+      }
+      is RsaEncryptionConfig -> {
+        val publicKey = KeyFactory.getInstance(config.algorithm).generatePublic(X509EncodedKeySpec(config.publicKey.hexToByteArray()))
+        val encryptor: (ByteArray) -> String =
+          { data ->
+            val cipher = ciphers.get()
+            cipher.init(Cipher.ENCRYPT_MODE, publicKey)
+            cipher.doFinal(data).toHexString()
+          }
+        encryptor
+      }
+    }
+  }
+
   private fun getOutputFieldName(config: EncryptionMapperConfig): String = "${config.config.targetField}${config.config.fieldNameSuffix ?: ""}"
 
   private fun encrypt(
@@ -133,10 +187,18 @@ class EncryptionMapper(
     config: AesEncryptionConfig,
   ): String {
     val key = config.key as? AirbyteSecret.Hydrated ?: throw MissingSecretValueException("key hasn't been hydrated")
-    val cipher = getCipher(config)
+    return encryptAES(data, getCipher(config), SecretKeySpec(key.value.hexToByteArray(), config.algorithm))
+  }
+
+  @OptIn(ExperimentalStdlibApi::class)
+  private fun encryptAES(
+    data: ByteArray,
+    cipher: Cipher,
+    keySpec: SecretKeySpec,
+  ): String {
     val iv = ByteArray(16)
-    SecureRandom().nextBytes(iv)
-    cipher.init(Cipher.ENCRYPT_MODE, SecretKeySpec(key.value.hexToByteArray(), config.algorithm), IvParameterSpec(iv))
+    secureRandom.nextBytes(iv)
+    cipher.init(Cipher.ENCRYPT_MODE, keySpec, IvParameterSpec(iv))
     val encryptedData = cipher.doFinal(data)
     return (iv + encryptedData).toHexString()
   }
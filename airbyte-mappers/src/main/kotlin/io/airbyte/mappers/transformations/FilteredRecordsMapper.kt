@@ -18,8 +18,19 @@ abstract class FilteredRecordsMapper<T : MapperConfig> : Mapper<T> {
     mapForNonDiscardedRecords(config, record)
   }
 
+  final override fun compile(config: T): CompiledMapper {
+    val compiled = compileForNonDiscardedRecords(config)
+    return CompiledMapper { record ->
+      if (record.shouldInclude()) {
+        compiled.map(record)
+      }
+    }
+  }
+
   abstract fun mapForNonDiscardedRecords(
     config: T,
     record: AirbyteRecord,
   )
+
+  open fun compileForNonDiscardedRecords(config: T): CompiledMapper = CompiledMapper { record -> mapForNonDiscardedRecords(config, record) }
 }
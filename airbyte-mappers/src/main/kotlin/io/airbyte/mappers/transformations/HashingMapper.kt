@@ -35,6 +35,8 @@ class HashingMapper(
     const val SHA512 = "SHA-512"
 
     val supportedMethods = listOf(MD2, MD5, SHA1, SHA224, SHA256, SHA384, SHA512)
+
+    private val hexFormat = HexFormat.of()
   }
 
   private val hashingMapperSpec = HashingMapperSpec(objectMapper)
@@ -59,19 +61,45 @@ class HashingMapper(
     config: HashingMapperConfig,
     record: AirbyteRecord,
   ) {
-    val outputFieldName = "${config.config.targetField}${config.config.fieldNameSuffix}"
+    val method = config.config.method.value
+    mapField(record, config.config.targetField, "${config.config.targetField}${config.config.fieldNameSuffix}") { data ->
+      hashAndEncodeData(method, data)
+    }
+  }
+
+  override fun compileForNonDiscardedRecords(config: HashingMapperConfig): CompiledMapper {
+    val method = config.config.method.value
+    if (supportedMethods.contains(method).not()) {
+      // Every record fails the same way, the per record path reports it.
+      return super.compileForNonDiscardedRecords(config)
+    }
 
-    if (record.has(config.config.targetField)) {
+    val targetField = config.config.targetField
+    val outputFieldName = "$targetField${config.config.fieldNameSuffix}"
+    // MessageDigest is not thread safe, records can be mapped concurrently.
+    val digests = ThreadLocal.withInitial { MessageDigest.getInstance(method) }
+    return CompiledMapper { record ->
+      mapField(record, targetField, outputFieldName) { data -> hexFormat.formatHex(digests.get().digest(data)) }
+    }
+  }
+
+  private inline fun mapField(
+    record: AirbyteRecord,
+    targetField: String,
+    outputFieldName: String,
+    hash: (ByteArray) -> String,
+  ) {
+    if (record.has(targetField)) {
       try {
-        val data = record.get(config.config.targetField).asString().toByteArray()
+        val data = record.get(targetField).asString().toByteArray()
 
-        val hashedAndEncodeValue: String = hashAndEncodeData(config.config.method.value, data)
+        val hashedAndEncodeValue: String = hash(data)
         record.set(outputFieldName, hashedAndEncodeValue)
       } catch (_: Exception) {
         // TODO We should use a more precise Reason once available in the protocol
         record.trackFieldError(outputFieldName, AirbyteRecord.Change.NULLED, AirbyteRecord.Reason.PLATFORM_SERIALIZATION_ERROR)
       } finally {
-        record.remove(config.config.targetField)
+        record.remove(targetField)
       }
     }
   }
@@ -86,6 +114,6 @@ class HashingMapper(
 
     val hashedValue = MessageDigest.getInstance(method).digest(data)
 
-    return HexFormat.of().formatHex(hashedValue)
+    return hexFormat.formatHex(hashedValue)
   }
 }
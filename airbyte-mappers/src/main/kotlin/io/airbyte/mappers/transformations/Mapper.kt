@@ -7,6 +7,13 @@ package io.airbyte.mappers.transformations
 import io.airbyte.config.MapperConfig
 import io.airbyte.mappers.adapters.AirbyteRecord
 
+/**
+ * A mapper bound to one of its configurations, see [Mapper.compile].
+ */
+fun interface CompiledMapper {
+  fun map(record: AirbyteRecord)
+}
+
 interface Mapper<T : MapperConfig> {
   val name: String
 
@@ -21,4 +28,11 @@ interface Mapper<T : MapperConfig> {
     config: T,
     record: AirbyteRecord,
   )
+
+  /**
+   * Binds [config] to this mapper before the records of a stream are mapped. Mappers override it to do the work that
+   * only depends on the configuration once per stream rather than once per record. The returned mapper can be called
+   * from several threads.
+   */
+  fun compile(config: T): CompiledMapper = CompiledMapper { record -> map(config, record) }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.mappers.transformations
+
+import io.airbyte.config.mapper.configs.AndOperation
+import io.airbyte.config.mapper.configs.EqualOperation
+import io.airbyte.config.mapper.configs.NotOperation
+import io.airbyte.config.mapper.configs.Operation
+import io.airbyte.config.mapper.configs.OrOperation
+import io.airbyte.mappers.adapters.AirbyteRecord
+import io.airbyte.mappers.adapters.Value
+import java.math.BigDecimal
+
+/**
+ * The conditions of a [io.airbyte.config.mapper.configs.RowFilteringMapperConfig], compiled once so that they can be
+ * evaluated on many records.
+ * <p />
+ * Every field the conditions refer to is given an index, so that it is read from a record at most once however many
+ * conditions use it, and only if a condition needs it. The sub-conditions of AND, OR and NOT are reordered from the
+ * cheapest to the most expensive, which is safe as evaluating a condition has no side effect.
+ */
+internal class RowFilter(
+  conditions: Operation,
+) {
+  private val fieldIndexes = LinkedHashMap<String, Int>()
+  private val predicate: RowPredicate = compile(conditions)
+  private val fieldNames: Array<String> = fieldIndexes.keys.toTypedArray()
+
+  fun newFieldValues(): RecordFieldValues = RecordFieldValues(fieldNames)
+
+  fun test(
+    record: AirbyteRecord,
+    values: RecordFieldValues = newFieldValues(),
+  ): Boolean = predicate.test(values.reset(record))
+
+  private fun compile(operation: Operation): RowPredicate =
+    when (operation) {
+      is AndOperation -> RowPredicate.AllOf(compileAll(operation.conditions))
+      is OrOperation -> RowPredicate.AnyOf(compileAll(operation.conditions))
+      is NotOperation -> RowPredicate.Not(RowPredicate.AnyOf(compileAll(operation.conditions)))
+      is EqualOperation -> RowPredicate.FieldMatches(fieldIndexOf(operation.fieldName), EqualsMatcher(operation.comparisonValue))
+    }
+
+  private fun compileAll(operations: List<Operation>): Array<RowPredicate> = operations.map { compile(it) }.sortedBy { it.cost }.toTypedArray()
+
+  private fun fieldIndexOf(fieldName: String): Int = fieldIndexes.getOrPut(fieldName) { fieldIndexes.size }
+}
+
+/**
+ * Values of the fields read by a [RowFilter], fetched lazily from the record being evaluated. Instances are not thread
+ * safe and are meant to be reused, one per thread, across records.
+ */
+internal class RecordFieldValues(
+  private val fieldNames: Array<String>,
+) {
+  private val values = arrayOfNulls<Value>(fieldNames.size)
+  private val fetched = BooleanArray(fieldNames.size)
+  private var record: AirbyteRecord? = null
+
+  fun reset(record: AirbyteRecord): RecordFieldValues {
+    this.record = record
+    fetched.fill(false)
+    return this
+  }
+
+  /**
+   * The value of the field at [index], null if the record doesn't have it.
+   */
+  operator fun get(index: Int): Value? {
+    if (!fetched[index]) {
+      val record = checkNotNull(record)
+      val fieldName = fieldNames[index]
+      values[index] = if (record.has(fieldName)) record.get(fieldName) else null
+      fetched[index] = true
+    }
+    return values[index]
+  }
+}
+
+internal sealed class RowPredicate {
+  /**
+   * Relative cost of evaluating the predicate.
+   */
+  abstract val cost: Int
+
+  abstract fun test(values: RecordFieldValues): Boolean
+
+  class AllOf(
+    private val predicates: Array<RowPredicate>,
+  ) : RowPredicate() {
+    override val cost = predicates.sumOf { it.cost }
+
+    override fun test(values: RecordFieldValues): Boolean {
+      for (predicate in predicates) {
+        if (!predicate.test(values)) {
+          return false
+        }
+      }
+      return true
+    }
+  }
+
+  class AnyOf(
+    private val predicates: Array<RowPredicate>,
+  ) : RowPredicate() {
+    override val cost = predicates.sumOf { it.cost }
+
+    override fun test(values: RecordFieldValues): Boolean {
+      for (predicate in predicates) {
+        if (predicate.test(values)) {
+          return true
+        }
+      }
+      return false
+    }
+  }
+
+  class Not(
+    private val predicate: RowPredicate,
+  ) : RowPredicate() {
+    override val cost = predicate.cost
+
+    override fun test(values: RecordFieldValues): Boolean = !predicate.test(values)
+  }
+
+  /**
+   * Matches records that have the field at [field] and whose value is accepted by [matcher]. Operators on a single
+   * field, such as IN, ranges or prefixes, only need a new [ValueMatcher].
+   */
+  class FieldMatches(
+    private val field: Int,
+    private val matcher: ValueMatcher,
+  ) : RowPredicate() {
+    override val cost = matcher.cost
+
+    override fun test(values: RecordFieldValues): Boolean {
+      val value = values[field] ?: return false
+      return matcher.matches(value)
+    }
+  }
+}
+
+internal interface ValueMatcher {
+  /**
+   * Relative cost of [matches], 1 for a comparison of native values.
+   */
+  val cost: Int
+
+  fun matches(value: Value): Boolean
+}
+
+/**
+ * Compares values with the expected value in their native type: booleans and numbers are compared with the boolean or
+ * number the expected value represents, anything else with the expected value itself. Numbers that are neither longs
+ * nor doubles are compared as [BigDecimal], so that they don't lose their precision.
+ */
+internal class EqualsMatcher(
+  private val expected: String,
+) : ValueMatcher {
+  private val expectedBoolean =
+    when (expected) {
+      "true" -> true
+      "false" -> false
+      else -> null
+    }
+  private val expectedLong = expected.toLongOrNull()
+  private val expectedDouble = expected.toDoubleOrNull()
+  private val expectedDecimal = expected.toBigDecimalOrNull()
+
+  override val cost = if (expectedBoolean != null || expectedDouble != null) 1 else 2
+
+  override fun matches(value: Value): Boolean =
+    when (value.type()) {
+      Value.Type.BOOLEAN -> expectedBoolean != null && value.asBoolean() == expectedBoolean
+      Value.Type.INTEGER ->
+        if (expectedLong != null) {
+          value.asLong() == expectedLong
+        } else {
+          expectedDecimal != null && BigDecimal.valueOf(value.asLong()).compareTo(expectedDecimal) == 0
+        }
+      Value.Type.NUMBER -> expectedDouble != null && value.asNumber().toDouble() == expectedDouble
+      Value.Type.DECIMAL -> expectedDecimal != null && value.asBigDecimal().compareTo(expectedDecimal) == 0
+      Value.Type.STRING, Value.Type.OTHER -> value.asString() == expected
+    }
+}
@@ -16,6 +16,16 @@ class TestValueAdapter(
   override fun asNumber(): Number = value as Number
 
   override fun asString(): String = value.toString()
+
+  override fun type(): Value.Type =
+    when (value) {
+      is Boolean -> Value.Type.BOOLEAN
+      is Int, is Long -> Value.Type.INTEGER
+      is Double -> Value.Type.NUMBER
+      is Number -> Value.Type.DECIMAL
+      is String -> Value.Type.STRING
+      else -> Value.Type.OTHER
+    }
 }
 
 class TestRecordAdapter(
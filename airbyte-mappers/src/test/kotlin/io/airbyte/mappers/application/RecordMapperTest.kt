@@ -12,6 +12,7 @@ import io.airbyte.config.mapper.configs.TestEnums
 import io.airbyte.config.mapper.configs.TestMapperConfig
 import io.airbyte.mappers.mocks.TestMapper
 import io.mockk.spyk
+import io.mockk.verify
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Test
 
@@ -46,6 +47,35 @@ class RecordMapperTest {
     assertEquals(expectedRecord.data, testRecord.data)
   }
 
+  @Test
+  fun testCompiledPlan() {
+    val plan =
+      recordMapper.compile(
+        listOf(
+          TestMapperConfig(TEST_MAPPER_NAME, null, null, TestConfig("field1", TestEnums.ONE, "field2")),
+          TestMapperConfig("unknown", null, null, TestConfig("field1", TestEnums.ONE, "field2")),
+        ),
+      )
+
+    repeat(3) {
+      val testRecord = createRecord(mutableMapOf("field1" to "value$it"))
+      recordMapper.applyMappers(testRecord, plan)
+      assertEquals(mutableMapOf<String, Any>("field1_test" to "value$it"), testRecord.data)
+    }
+    verify(exactly = 1) { mapper.compile(any()) }
+  }
+
+  @Test
+  fun testStopwatchesOnlyReportAppliedMappers() {
+    val timedRecordMapper = RecordMapper(listOf(mapper), stopwatchSampleInterval = 1)
+    assertEquals(emptyMap<String, Long>(), timedRecordMapper.collectStopwatches())
+
+    val plan = timedRecordMapper.compile(listOf(TestMapperConfig(TEST_MAPPER_NAME, null, null, TestConfig("field1", TestEnums.ONE, "field2"))))
+    timedRecordMapper.applyMappers(sampleRecord.deepCopy(), plan)
+
+    assertEquals(setOf(TEST_MAPPER_NAME), timedRecordMapper.collectStopwatches().keys)
+  }
+
   fun TestRecordAdapter.deepCopy() = TestRecordAdapter(streamDescriptor = this.streamDescriptor, data = this.data)
 
   fun createRecord(data: MutableMap<String, Any>) =
@@ -203,6 +203,30 @@ class EncryptionMapperTest {
     }
   }
 
+  @Test
+  fun `compiled mapper nulls out fields when the cipher cannot be created`() {
+    val config =
+      EncryptionMapperConfig(
+        config =
+          AesEncryptionConfig(
+            algorithm = "something that will fail",
+            targetField = "nulltest",
+            fieldNameSuffix = null,
+            mode = AesMode.CBC,
+            padding = AesPadding.NoPadding,
+            key = AirbyteSecret.Hydrated("magic"),
+          ),
+      )
+
+    val testRecord = createRecord("nulltest", "nulltest")
+    encryptionMapper.compile(config).map(testRecord)
+
+    verifyRecordInvariant(testRecord).also {
+      assertFalse(it.has("nulltest"))
+      assertEquals("nulltest", (it as TestRecordAdapter).changes.first().fieldName)
+    }
+  }
+
   @Test
   fun `testing aes options`() {
     AesMode.entries.forEach { mode ->
@@ -355,6 +379,41 @@ class EncryptionMapperTest {
     }
   }
 
+  @Test
+  fun `compiled mapper encrypts every record`() {
+    val keyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+    val key = keyFactory.generateSecret(PBEKeySpec("my secret".toCharArray(), "salt".toByteArray(), 65536, 256))
+    val aesConfig =
+      AesEncryptionConfig(
+        algorithm = "AES",
+        targetField = "testField",
+        fieldNameSuffix = "_encrypted",
+        mode = AesMode.CBC,
+        padding = AesPadding.PKCS5Padding,
+        key = AirbyteSecret.Hydrated(key.encoded.toHexString()),
+      )
+    val keyPair = KeyPairGenerator.getInstance("RSA").apply { initialize(2048) }.generateKeyPair()
+    val rsaConfig =
+      RsaEncryptionConfig(
+        algorithm = "RSA",
+        targetField = "testField",
+        fieldNameSuffix = "_encrypted",
+        publicKey = keyPair.public.encoded.toHexString(),
+      )
+    val aes = encryptionMapper.compile(EncryptionMapperConfig(config = aesConfig))
+    val rsa = encryptionMapper.compile(EncryptionMapperConfig(config = rsaConfig))
+
+    listOf("first", "second").forEach { value ->
+      val aesRecord = createRecord("testField", value)
+      aes.map(aesRecord)
+      assertEquals(value, decryptAES(verifyRecordInvariant(aesRecord).get("testField_encrypted").asString(), aesConfig, key))
+
+      val rsaRecord = createRecord("testField", value)
+      rsa.map(rsaRecord)
+      assertEquals(value, decryptRSA(verifyRecordInvariant(rsaRecord).get("testField_encrypted").asString(), rsaConfig, keyPair.private))
+    }
+  }
+
   @Test
   fun `testing rsa encryption schema rejects config with invalid key`() {
     val rsaConfig =
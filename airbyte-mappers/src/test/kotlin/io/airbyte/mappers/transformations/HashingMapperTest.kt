@@ -102,6 +102,52 @@ class HashingMapperTest {
     assertEquals("value2", record.get("field2").asString())
   }
 
+  @Test
+  fun compiledMapperHashesLikeMap() {
+    val config =
+      HashingMapperConfig(
+        MAPPER_NAME,
+        null,
+        HashingConfig(
+          "field1",
+          HashingMethods.fromValue(HashingMapper.SHA256)!!,
+          "_hashed",
+        ),
+      )
+    val compiled = hashingMapper.compile(config)
+
+    repeat(2) {
+      val mapped = TestRecordAdapter(StreamDescriptor().withName("stream"), mutableMapOf("field1" to "value$it", "field2" to "value2"))
+      hashingMapper.map(config, mapped)
+      val compiledRecord = TestRecordAdapter(StreamDescriptor().withName("stream"), mutableMapOf("field1" to "value$it", "field2" to "value2"))
+      compiled.map(compiledRecord)
+
+      assertEquals(mapped.get("field1_hashed").asString(), compiledRecord.get("field1_hashed").asString())
+      assertFalse(compiledRecord.has("field1"))
+    }
+  }
+
+  @Test
+  fun compiledMapperSkipsExcludedRecords() {
+    val config =
+      HashingMapperConfig(
+        MAPPER_NAME,
+        null,
+        HashingConfig(
+          "field1",
+          HashingMethods.fromValue(HashingMapper.SHA256)!!,
+          "_hashed",
+        ),
+      )
+    val record = TestRecordAdapter(StreamDescriptor().withName("stream"), mutableMapOf("field1" to "value1"))
+    record.setInclude(false)
+
+    hashingMapper.compile(config).map(record)
+
+    assertTrue(record.has("field1"))
+    assertFalse(record.has("field1_hashed"))
+  }
+
   @Test
   fun testAllMethodAreSupported() {
     val messageDigestAlgorithms = Security.getAlgorithms("MessageDigest")
@@ -10,15 +10,23 @@ import com.fasterxml.jackson.module.kotlin.contains
 import io.airbyte.config.ConfiguredMapper
 import io.airbyte.config.StreamDescriptor
 import io.airbyte.config.adapters.TestRecordAdapter
+import io.airbyte.config.mapper.configs.AndOperation
+import io.airbyte.config.mapper.configs.EqualOperation
+import io.airbyte.config.mapper.configs.NotOperation
+import io.airbyte.config.mapper.configs.RowFilteringConfig
 import io.airbyte.config.mapper.configs.RowFilteringMapperConfig
 import io.airbyte.mappers.adapters.AirbyteRecord
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest
+import io.mockk.spyk
+import io.mockk.verify
 import jakarta.inject.Inject
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Disabled
 import org.junit.jupiter.api.Nested
 import org.junit.jupiter.api.Test
 import java.io.File
+import java.math.BigDecimal
+import java.math.BigInteger
 
 @MicronautTest
 class RowFilteringMapperTest {
@@ -142,6 +150,104 @@ class RowFilteringMapperTest {
     assertNoChangesMadeToRecord(recordToExclude, recordToExcludeData)
   }
 
+  @Test
+  fun `should compare numbers and booleans natively`() {
+    val record =
+      getRecord(
+        mutableMapOf(
+          "age" to 25,
+          "score" to 2.5,
+          "active" to true,
+          "name" to "25",
+        ),
+      )
+
+    fun matches(
+      fieldName: String,
+      comparisonValue: String,
+    ): Boolean {
+      mapper.compile(equalConfig(fieldName, comparisonValue)).map(record)
+      return record.shouldInclude().also { record.setInclude(true) }
+    }
+
+    Assertions.assertTrue(matches("age", "25"))
+    Assertions.assertTrue(matches("age", "25.0"))
+    Assertions.assertFalse(matches("age", "26"))
+    Assertions.assertTrue(matches("score", "2.50"))
+    Assertions.assertFalse(matches("score", "two"))
+    Assertions.assertTrue(matches("active", "true"))
+    Assertions.assertFalse(matches("active", "false"))
+    Assertions.assertTrue(matches("name", "25"))
+    Assertions.assertFalse(matches("name", "25.0"))
+    Assertions.assertFalse(matches("missing", "25"))
+  }
+
+  @Test
+  fun `should compare arbitrary precision numbers exactly`() {
+    val record =
+      getRecord(
+        mutableMapOf(
+          "long" to 9007199254740993L,
+          "big" to BigInteger("12345678901234567891"),
+          "precise" to BigDecimal("0.12345678901234567891"),
+        ),
+      )
+
+    fun matches(
+      fieldName: String,
+      comparisonValue: String,
+    ): Boolean {
+      mapper.compile(equalConfig(fieldName, comparisonValue)).map(record)
+      return record.shouldInclude().also { record.setInclude(true) }
+    }
+
+    Assertions.assertTrue(matches("long", "9007199254740993.0"))
+    Assertions.assertFalse(matches("long", "9007199254740992.0"))
+    Assertions.assertTrue(matches("big", "12345678901234567891"))
+    Assertions.assertFalse(matches("big", "12345678901234567890"))
+    Assertions.assertTrue(matches("precise", "0.123456789012345678910"))
+    Assertions.assertFalse(matches("precise", "0.1234567890123456789"))
+  }
+
+  @Test
+  fun `should read each field at most once and only when needed`() {
+    val config =
+      RowFilteringMapperConfig(
+        config =
+          RowFilteringConfig(
+            AndOperation(
+              conditions =
+                listOf(
+                  EqualOperation(fieldName = "name", comparisonValue = "bob"),
+                  EqualOperation(fieldName = "age", comparisonValue = "30"),
+                  NotOperation(conditions = listOf(EqualOperation(fieldName = "age", comparisonValue = "31"))),
+                ),
+            ),
+          ),
+      )
+    val compiled = mapper.compile(config)
+
+    val excluded = spyk(TestRecordAdapter(StreamDescriptor(), mutableMapOf("name" to "bob", "age" to 25)))
+    compiled.map(excluded)
+    Assertions.assertFalse(excluded.shouldInclude())
+    // The numeric comparison is cheaper, it is evaluated first and excludes the record.
+    verify(exactly = 0) { excluded.get("name") }
+    verify(exactly = 1) { excluded.get("age") }
+
+    val included = spyk(TestRecordAdapter(StreamDescriptor(), mutableMapOf("name" to "bob", "age" to 30)))
+    compiled.map(included)
+    Assertions.assertTrue(included.shouldInclude())
+    verify(exactly = 1) { included.get("name") }
+    verify(exactly = 1) { included.get("age") }
+  }
+
+  private fun equalConfig(
+    fieldName: String,
+    comparisonValue: String,
+  ) = RowFilteringMapperConfig(
+    config = RowFilteringConfig(EqualOperation(fieldName = fieldName, comparisonValue = comparisonValue)),
+  )
+
   @Test
   @Disabled("Disabled cause we are not exposing AND/OR operator to the end user for now, re-enable when making that change")
   fun `should handle logical condition with multiple comparisons`() {
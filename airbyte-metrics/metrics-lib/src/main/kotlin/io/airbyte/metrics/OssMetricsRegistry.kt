@@ -169,6 +169,18 @@ enum class OssMetricsRegistry(
     metricName = "breaking_change_detected",
     metricDescription = "a breaking schema change has been detected",
   ),
+  CLOUD_STORAGE_UPLOADER_BUFFER_BYTES(
+    metricName = "cloud_storage_uploader_buffer_bytes",
+    metricDescription = "the estimated size of the events buffered by the cloud storage uploaders, waiting to be uploaded",
+  ),
+  CLOUD_STORAGE_UPLOADER_EVENTS_DROPPED(
+    metricName = "cloud_storage_uploader_events_dropped",
+    metricDescription = "increments when events are dropped because the buffer of a cloud storage uploader is full",
+  ),
+  CLOUD_STORAGE_UPLOADER_UPLOAD_TIME_MS(
+    metricName = "cloud_storage_uploader_upload_time_ms",
+    metricDescription = "the amount of time spent uploading buffered events to cloud storage in milliseconds",
+  ),
   CRON_JOB_RUN_BY_CRON_TYPE(
     metricName = "cron_jobs_run",
     metricDescription = "number of cron runs by cron type",
@@ -319,6 +331,22 @@ enum class OssMetricsRegistry(
     metricName = "replication_records_synced",
     metricDescription = "number of records synced during replication",
   ),
+  REPLICATION_QUEUE_BYTES(
+    metricName = "replication_queue_bytes",
+    metricDescription = "estimated bytes currently held by a replication queue",
+  ),
+  REPLICATION_QUEUE_DEPTH(
+    metricName = "replication_queue_depth",
+    metricDescription = "number of elements currently held by a replication queue",
+  ),
+  REPLICATION_QUEUE_PRODUCER_BLOCKED_TIME_MS(
+    metricName = "replication_queue_producer_blocked_time_ms",
+    metricDescription = "cumulative time the producer of a replication queue was blocked because the queue was full",
+  ),
+  REPLICATION_QUEUE_CONSUMER_BLOCKED_TIME_MS(
+    metricName = "replication_queue_consumer_blocked_time_ms",
+    metricDescription = "cumulative time the consumer of a replication queue was blocked because the queue was empty",
+  ),
   REPLICATION_WORKER_CREATED(
     metricName = "replication_worker_created",
     metricDescription = "number of replication worker created",
@@ -335,6 +363,18 @@ enum class OssMetricsRegistry(
     metricName = "reset_request",
     metricDescription = "number of requested resets",
   ),
+  SCHEMA_VALIDATION_BACKLOG(
+    metricName = "schema_validation_backlog",
+    metricDescription = "number of records waiting for their schema to be validated",
+  ),
+  SCHEMA_VALIDATION_RECORDS_SKIPPED(
+    metricName = "schema_validation_records_skipped",
+    metricDescription = "cumulative number of records whose schema was not validated, by reason",
+  ),
+  SCHEMA_VALIDATION_RECORDS_VALIDATED(
+    metricName = "schema_validation_records_validated",
+    metricDescription = "cumulative number of records whose schema was validated",
+  ),
   SOURCE_HEARTBEAT_FAILURE(
     metricName = "source_hearbeat_failure",
     metricDescription = "Fail a replication because the source missed an heartbeat",
@@ -767,6 +807,10 @@ enum class OssMetricsRegistry(
     metricName = "workload_stage_duration",
     metricDescription = "a distribution of the duration of a workload stage",
   ),
+  WORKLOAD_STAGE_QUEUE_TIME(
+    metricName = "workload_stage_queue_time",
+    metricDescription = "a distribution of the time a workload waits before a workload stage starts",
+  ),
   WORKLOAD_TIME_TO_TRANSITION_FROM_CREATE(
     metricName = "workload_time_to_transition_from_create",
     metricDescription = "time for a workload to transition to a given state",
@@ -4,6 +4,8 @@
 
 package io.airbyte.persistence.job
 
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.node.ObjectNode
 import com.google.common.annotations.VisibleForTesting
 import com.google.common.collect.Lists
 import datadog.trace.api.Trace
@@ -21,6 +23,7 @@ import io.airbyte.config.AttemptStatus
 import io.airbyte.config.AttemptSyncConfig
 import io.airbyte.config.AttemptWithJobInfo
 import io.airbyte.config.AttemptWithJobInfo.Companion.fromJob
+import io.airbyte.config.ConfiguredAirbyteCatalog
 import io.airbyte.config.Job
 import io.airbyte.config.JobConfig
 import io.airbyte.config.JobConfig.ConfigType
@@ -30,6 +33,8 @@ import io.airbyte.config.JobStatusSummary
 import io.airbyte.config.StreamSyncStats
 import io.airbyte.config.SyncStats
 import io.airbyte.config.persistence.PersistenceHelpers
+import io.airbyte.data.helpers.JobCatalogCache
+import io.airbyte.data.helpers.JobCatalogs
 import io.airbyte.db.Database
 import io.airbyte.db.ExceptionWrappingDatabase
 import io.airbyte.db.instance.jobs.jooq.generated.Tables
@@ -81,6 +86,8 @@ class DefaultJobPersistence
 
     constructor(jobDatabase: Database?) : this(jobDatabase, Supplier<Instant> { Instant.now() })
 
+    private val catalogCache = JobCatalogCache()
+
     private val currentTime: LocalDateTime
       get() = LocalDateTime.ofInstant(timeSupplier.get(), ZoneId.systemDefault())
 
@@ -133,12 +140,20 @@ class DefaultJobPersistence
           ""
         }
 
+      // The catalog is stored once in job_catalogs rather than in the config of every job using it.
+      val config = Jsons.jsonNode(jobConfig) as ObjectNode
+      val catalog = JobCatalogs.detachCatalog(jobConfig.configType, config)
+      val catalogHash = catalog?.let { JobCatalogs.hash(it) }
+
       return jobDatabase
-        .query { ctx: DSLContext ->
+        .transaction { ctx: DSLContext ->
+          if (catalogHash != null) {
+            saveJobCatalogs(ctx, mapOf(catalogHash to catalog))
+          }
           ctx.fetch(
             (
-              "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config, is_scheduled) " +
-                "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB), ? " +
+              "INSERT INTO jobs(config_type, scope, created_at, updated_at, status, config, is_scheduled, catalog_hash) " +
+                "SELECT CAST(? AS JOB_CONFIG_TYPE), ?, ?, ?, CAST(? AS JOB_STATUS), CAST(? as JSONB), ?, ? " +
                 queueingRequest +
                 "RETURNING id "
             ),
@@ -147,8 +162,9 @@ class DefaultJobPersistence
             now,
             now,
             toSqlName(JobStatus.PENDING),
-            Jsons.serialize(jobConfig),
+            Jsons.serialize(config),
             isScheduled,
+            catalogHash,
           )
         }.stream()
         .findFirst()
@@ -523,11 +539,18 @@ class DefaultJobPersistence
     @Throws(IOException::class)
     override fun getJob(jobId: Long): Job = jobDatabase.query { ctx: DSLContext -> getJob(ctx, jobId) }
 
+    @Throws(IOException::class)
+    override fun getJob(
+      jobId: Long,
+      projection: JobProjection,
+    ): Job = jobDatabase.query { ctx: DSLContext -> getJob(ctx, jobId, projection) }
+
     private fun getJob(
       ctx: DSLContext,
       jobId: Long,
+      projection: JobProjection = JobProjection.FULL,
     ): Job =
-      getJobOptional(ctx, jobId).orElseThrow {
+      getJobOptional(ctx, jobId, projection).orElseThrow {
         RuntimeException(
           "Could not find job with id: $jobId",
         )
@@ -536,7 +559,11 @@ class DefaultJobPersistence
     private fun getJobOptional(
       ctx: DSLContext,
       jobId: Long,
-    ): Optional<Job> = getJobFromResult(ctx.fetch(BASE_JOB_SELECT_AND_JOIN + "WHERE jobs.id = ?", jobId))
+      projection: JobProjection = JobProjection.FULL,
+    ): Optional<Job> =
+      Optional.ofNullable(
+        toJobs(ctx, ctx.fetch(jobSelectAndJoin("jobs", projection) + "WHERE jobs.id = ?", jobId), projection).firstOrNull(),
+      )
 
     @Throws(IOException::class)
     override fun getJobCount(
@@ -591,6 +618,7 @@ class DefaultJobPersistence
       configId: String?,
       pagesize: Int,
       orderByString: String,
+      projection: JobProjection,
     ): Result<Record> =
       jobDatabase.query<Result<Record>> { ctx: DSLContext ->
         val jobsSubquery =
@@ -615,7 +643,7 @@ class DefaultJobPersistence
                 Tables.JOBS.ID.desc(),
               ).limit(pagesize)
               .getSQL(ParamType.INLINED) + ") AS jobs"
-        ctx.fetch(jobSelectAndJoin(jobsSubquery) + orderByString)
+        ctx.fetch(jobSelectAndJoin(jobsSubquery, projection) + orderByString)
       }
 
     @Throws(IOException::class)
@@ -631,6 +659,7 @@ class DefaultJobPersistence
       updatedAtEnd: OffsetDateTime?,
       orderByField: String?,
       orderByMethod: String?,
+      projection: JobProjection,
     ): Result<Record> {
       val orderBy = getJobOrderBy(orderByField, orderByMethod)
       return jobDatabase.query<Result<Record>> { ctx: DSLContext ->
@@ -701,7 +730,7 @@ class DefaultJobPersistence
               .limit(limit)
               .offset(offset)
               .getSQL(ParamType.INLINED) + ") AS jobs"
-        val fullQuery = jobSelectAndJoin(jobsSubquery) + getJobOrderBySql(orderBy)
+        val fullQuery = jobSelectAndJoin(jobsSubquery, projection) + getJobOrderBySql(orderBy)
         log.debug { "jobs query: $fullQuery" }
         ctx.fetch(fullQuery)
       }
@@ -720,6 +749,7 @@ class DefaultJobPersistence
       updatedAtEnd: OffsetDateTime?,
       orderByField: String?,
       orderByMethod: String?,
+      projection: JobProjection,
     ): Result<Record> {
       val orderBy = getJobOrderBy(orderByField, orderByMethod)
       return jobDatabase.query<Result<Record>> { ctx: DSLContext ->
@@ -797,7 +827,7 @@ class DefaultJobPersistence
               .limit(limit)
               .offset(offset)
               .getSQL(ParamType.INLINED) + ") AS jobs"
-        val fullQuery = jobSelectAndJoin(jobsSubquery) + getJobOrderBySql(orderBy)
+        val fullQuery = jobSelectAndJoin(jobsSubquery, projection) + getJobOrderBySql(orderBy)
         log.debug { "jobs query: $fullQuery" }
         ctx.fetch(fullQuery)
       }
@@ -808,7 +838,7 @@ class DefaultJobPersistence
       configTypes: Set<ConfigType>,
       configId: String?,
       pagesize: Int,
-    ): List<Job> = getJobsFromResult(listJobsQuery(configTypes, configId, pagesize, ORDER_BY_JOB_TIME_ATTEMPT_TIME))
+    ): List<Job> = toJobs(null, listJobsQuery(configTypes, configId, pagesize, ORDER_BY_JOB_TIME_ATTEMPT_TIME, JobProjection.FULL))
 
     @Throws(IOException::class)
     override fun listJobs(
@@ -854,7 +884,7 @@ class DefaultJobPersistence
                 Tables.JOBS.ID.desc(),
               ).limit(pagesize)
               .getSQL(ParamType.INLINED) + ") AS jobs"
-        getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME))
+        toJobs(ctx, ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME))
       }
 
     @VisibleForTesting
@@ -871,81 +901,89 @@ class DefaultJobPersistence
       updatedAtEnd: OffsetDateTime?,
       orderByField: String?,
       orderByMethod: String?,
-    ): List<Job> {
-      val orderBy = getJobOrderBy(orderByField, orderByMethod)
-      return jobDatabase.query { ctx: DSLContext ->
-        val jobsSubquery =
-          "(" +
-            ctx
-              .select(DSL.asterisk())
-              .from(Tables.JOBS)
-              .where(
-                Tables.JOBS.CONFIG_TYPE.`in`(
-                  configTypeSqlNames(
-                    configTypes,
-                  ),
-                ),
-              ).and(
-                if (configId == null) {
-                  DSL.noCondition()
-                } else {
-                  Tables.JOBS.SCOPE.eq(configId)
-                },
-              ).and(
-                if (statuses == null) {
-                  DSL.noCondition()
-                } else {
-                  Tables.JOBS.STATUS.`in`(
-                    statuses
-                      .stream()
-                      .map { status: JobStatus ->
-                        io.airbyte.db.instance.jobs.jooq.generated.enums.JobStatus.lookupLiteral(
-                          toSqlName(status),
-                        )
-                      }.collect(Collectors.toList()),
-                  )
-                },
-              ).and(
-                if (createdAtStart == null) {
-                  DSL.noCondition()
-                } else {
-                  Tables.JOBS.CREATED_AT.ge(
-                    createdAtStart,
-                  )
-                },
-              ).and(
-                if (createdAtEnd == null) {
-                  DSL.noCondition()
-                } else {
-                  Tables.JOBS.CREATED_AT.le(
-                    createdAtEnd,
-                  )
-                },
-              ).and(
-                if (updatedAtStart == null) {
-                  DSL.noCondition()
-                } else {
-                  Tables.JOBS.UPDATED_AT.ge(
-                    updatedAtStart,
-                  )
-                },
-              ).and(
-                if (updatedAtEnd == null) {
-                  DSL.noCondition()
-                } else {
-                  Tables.JOBS.UPDATED_AT.le(
-                    updatedAtEnd,
-                  )
-                },
-              ).orderBy(orderBy)
-              .limit(limit)
-              .offset(offset)
-              .getSQL(ParamType.INLINED) + ") AS jobs"
-        val fullQuery = jobSelectAndJoin(jobsSubquery) + getJobOrderBySql(orderBy)
-        log.debug { "jobs query: $fullQuery" }
-        getJobsFromResult(ctx.fetch(fullQuery))
-      }
-    }
+    ): List<Job> =
+      listJobs(
+        configTypes,
+        configId,
+        limit,
+        offset,
+        statuses,
+        createdAtStart,
+        createdAtEnd,
+        updatedAtStart,
+        updatedAtEnd,
+        orderByField,
+        orderByMethod,
+        JobProjection.FULL,
+      )
+
+    @Throws(IOException::class)
+    override fun listJobs(
+      configTypes: Set<ConfigType>,
+      configId: String?,
+      limit: Int,
+      offset: Int,
+      statuses: List<JobStatus>?,
+      createdAtStart: OffsetDateTime?,
+      createdAtEnd: OffsetDateTime?,
+      updatedAtStart: OffsetDateTime?,
+      updatedAtEnd: OffsetDateTime?,
+      orderByField: String?,
+      orderByMethod: String?,
+      projection: JobProjection,
+    ): List<Job> =
+      toJobs(
+        null,
+        listJobsQuery(
+          configTypes,
+          configId,
+          limit,
+          offset,
+          statuses,
+          createdAtStart,
+          createdAtEnd,
+          updatedAtStart,
+          updatedAtEnd,
+          orderByField,
+          orderByMethod,
+          projection,
+        ),
+        projection,
+      )
+
+    @Throws(IOException::class)
+    override fun listJobs(
+      configTypes: Set<ConfigType>,
+      workspaceIds: List<UUID>,
+      limit: Int,
+      offset: Int,
+      statuses: List<JobStatus>?,
+      createdAtStart: OffsetDateTime?,
+      createdAtEnd: OffsetDateTime?,
+      updatedAtStart: OffsetDateTime?,
+      updatedAtEnd: OffsetDateTime?,
+      orderByField: String?,
+      orderByMethod: String?,
+      projection: JobProjection,
+    ): List<Job> =
+      toJobs(
+        null,
+        listJobsQuery(
+          configTypes,
+          workspaceIds,
+          limit,
+          offset,
+          statuses,
+          createdAtStart,
+          createdAtEnd,
+          updatedAtStart,
+          updatedAtEnd,
+          orderByField,
+          orderByMethod,
+          projection,
+        ),
+        projection,
+      )
 
     @VisibleForTesting
     @Throws(IOException::class)
@@ -957,7 +995,8 @@ class DefaultJobPersistence
       // https://github.com/airbytehq/airbyte-platform-internal/issues/10815
       val timeConvertedIntoLocalDateTime = convertInstantToLocalDataTime(attemptEndedAtTimestamp)
       return jobDatabase.query { ctx: DSLContext ->
-        getJobsFromResult(
+        toJobs(
+          ctx,
           ctx
             .fetch(
               (
@@ -1024,11 +1063,17 @@ class DefaultJobPersistence
               ).getSQL(ParamType.INLINED) + ") AS jobs"
         val fullQuery = jobSelectAndJoin(jobsSubquery)
         log.debug { "jobs query: $fullQuery" }
-        getJobsFromResult(ctx.fetch(fullQuery))
+        toJobs(ctx, ctx.fetch(fullQuery))
       }
 
     @Throws(IOException::class)
-    override fun listJobsLight(jobIds: Set<Long>): List<Job> =
+    override fun listJobsLight(jobIds: Set<Long>): List<Job> = listJobs(jobIds, JobProjection.LIGHT)
+
+    @Throws(IOException::class)
+    override fun listJobs(
+      jobIds: Set<Long>,
+      projection: JobProjection,
+    ): List<Job> =
       jobDatabase.query { ctx: DSLContext ->
         val jobsSubquery =
           "(" +
@@ -1040,7 +1085,7 @@ class DefaultJobPersistence
                 Tables.JOBS.CREATED_AT.desc(),
                 Tables.JOBS.ID.desc(),
               ).getSQL(ParamType.INLINED) + ") AS jobs"
-        getJobsFromResultLight(ctx.fetch(jobSelectAndJoin(jobsSubquery)))
+        toJobs(ctx, ctx.fetch(jobSelectAndJoin(jobsSubquery, projection)), projection)
       }
 
     @Throws(IOException::class)
@@ -1048,7 +1093,12 @@ class DefaultJobPersistence
       configTypes: Set<ConfigType>,
       configId: String?,
       pagesize: Int,
-    ): List<Job> = getJobsFromResultLight(listJobsQuery(configTypes, configId, pagesize, ORDER_BY_JOB_TIME_ATTEMPT_TIME))
+    ): List<Job> =
+      toJobs(
+        null,
+        listJobsQuery(configTypes, configId, pagesize, ORDER_BY_JOB_TIME_ATTEMPT_TIME, JobProjection.LIGHT),
+        JobProjection.LIGHT,
+      )
 
     @Throws(IOException::class)
     override fun listJobsLight(
@@ -1064,20 +1114,19 @@ class DefaultJobPersistence
       orderByField: String?,
       orderByMethod: String?,
     ): List<Job> =
-      getJobsFromResultLight(
-        listJobsQuery(
-          configTypes,
-          configId,
-          limit,
-          offset,
-          statuses,
-          createdAtStart,
-          createdAtEnd,
-          updatedAtStart,
-          updatedAtEnd,
-          orderByField,
-          orderByMethod,
-        ),
+      listJobs(
+        configTypes,
+        configId,
+        limit,
+        offset,
+        statuses,
+        createdAtStart,
+        createdAtEnd,
+        updatedAtStart,
+        updatedAtEnd,
+        orderByField,
+        orderByMethod,
+        JobProjection.LIGHT,
       )
 
     @Throws(IOException::class)
@@ -1094,22 +1143,29 @@ class DefaultJobPersistence
       orderByField: String?,
       orderByMethod: String?,
     ): List<Job> =
-      getJobsFromResultLight(
-        listJobsQuery(
-          configTypes,
-          workspaceIds,
-          limit,
-          offset,
-          statuses,
-          createdAtStart,
-          createdAtEnd,
-          updatedAtStart,
-          updatedAtEnd,
-          orderByField,
-          orderByMethod,
-        ),
+      listJobs(
+        configTypes,
+        workspaceIds,
+        limit,
+        offset,
+        statuses,
+        createdAtStart,
+        createdAtEnd,
+        updatedAtStart,
+        updatedAtEnd,
+        orderByField,
+        orderByMethod,
+        JobProjection.LIGHT,
       )
 
+    @Throws(IOException::class)
+    override fun listJobsIncludingId(
+      configTypes: Set<ConfigType>,
+      connectionId: String?,
+      includingJobId: Long,
+      pagesize: Int,
+    ): List<Job> = listJobsIncludingId(configTypes, connectionId, includingJobId, pagesize, JobProjection.FULL)
+
     @Trace
     @Throws(IOException::class)
     override fun listJobsIncludingId(
@@ -1117,6 +1173,7 @@ class DefaultJobPersistence
       connectionId: String?,
       includingJobId: Long,
       pagesize: Int,
+      projection: JobProjection,
     ): List<Job> {
       val includingJobCreatedAt =
         jobDatabase.query<Optional<OffsetDateTime>> { ctx: DSLContext ->
@@ -1175,7 +1232,11 @@ class DefaultJobPersistence
 
       // calculate the multiple of `pagesize` that includes the target job
       val pageSizeThatIncludesJob = (countIncludingJob / pagesize + 1) * pagesize
-      return listJobs(configTypes, connectionId, pageSizeThatIncludesJob)
+      return toJobs(
+        null,
+        listJobsQuery(configTypes, connectionId, pageSizeThatIncludesJob, ORDER_BY_JOB_TIME_ATTEMPT_TIME, projection),
+        projection,
+      )
     }
 
     @Throws(IOException::class)
@@ -1185,7 +1246,8 @@ class DefaultJobPersistence
       statuses: Set<JobStatus>,
     ): List<Job> =
       jobDatabase.query { ctx: DSLContext ->
-        getJobsFromResult(
+        toJobs(
+          ctx,
           ctx
             .fetch(
               (
@@ -1211,7 +1273,8 @@ class DefaultJobPersistence
       val timeConvertedIntoLocalDateTime = convertInstantToLocalDataTime(attemptEndedAtTimestamp)
 
       return jobDatabase.query { ctx: DSLContext ->
-        getAttemptsWithJobsFromResult(
+        toAttemptsWithJobs(
+          ctx,
           ctx.fetch(
             (
               BASE_JOB_SELECT_AND_JOIN + WHERE + "CAST(config_type AS VARCHAR) =  ? AND " + "scope = ? AND " +
@@ -1613,6 +1676,112 @@ class DefaultJobPersistence
       }
     }
 
+    @Throws(IOException::class)
+    override fun migrateJobCatalogs(limit: Int): Int? =
+      jobDatabase.transaction { ctx: DSLContext ->
+        // The oldest jobs left are migrated first, whether or not they were locked by a previous run.
+        val jobs =
+          ctx
+            .select(Tables.JOBS.ID, Tables.JOBS.CONFIG_TYPE, Tables.JOBS.CONFIG)
+            .from(Tables.JOBS)
+            .where(jobCatalogsToMigrate())
+            .orderBy(Tables.JOBS.ID)
+            .limit(limit)
+            .forUpdate()
+            .skipLocked()
+            .fetch()
+        if (jobs.isEmpty()) {
+          // Only done once no job is left, including the ones that are locked for now.
+          return@transaction if (ctx.fetchExists(Tables.JOBS, jobCatalogsToMigrate())) 0 else null
+        }
+
+        val catalogs = mutableMapOf<String, JsonNode>()
+        val updates =
+          jobs.mapNotNull { job ->
+            val config = Jsons.deserialize(job.value3().data()) as ObjectNode
+            val catalog =
+              JobCatalogs.detachCatalog(job.value2().literal.toEnum<ConfigType>()!!, config) ?: return@mapNotNull null
+            val catalogHash = JobCatalogs.hash(catalog)
+            catalogs[catalogHash] = catalog
+            ctx
+              .update(Tables.JOBS)
+              .set(Tables.JOBS.CONFIG, JSONB.valueOf(Jsons.serialize(config)))
+              .set(Tables.JOBS.CATALOG_HASH, catalogHash)
+              .where(Tables.JOBS.ID.eq(job.value1()))
+          }
+        if (updates.isNotEmpty()) {
+          saveJobCatalogs(ctx, catalogs)
+          ctx.batch(updates).execute()
+        }
+        log.info { "Moved the catalogs of ${updates.size} jobs to job_catalogs, ${catalogs.size} distinct catalogs" }
+        updates.size
+      }
+
+    /**
+     * Replication jobs that don't reference a catalog but still have one in their config. Jobs without any catalog are
+     * left out, as they would never stop matching.
+     * <p />
+     * The jobs that don't reference a catalog are read through the jobs_catalog_to_migrate_idx partial index, so that
+     * the jobs already migrated are neither scanned nor their configs read again.
+     */
+    private fun jobCatalogsToMigrate() =
+      Tables.JOBS.CATALOG_HASH.isNull
+        .and(Tables.JOBS.CONFIG_TYPE.`in`(configTypeSqlNames(Job.REPLICATION_TYPES)))
+        .and(
+          DSL.or(
+            listOf("sync", "resetConnection", "refresh").map { typedConfig ->
+              DSL.condition("jsonb_typeof({0} -> {1} -> 'configuredAirbyteCatalog') = 'object'", Tables.JOBS.CONFIG, DSL.inline(typedConfig))
+            },
+          ),
+        )
+
+    private fun saveJobCatalogs(
+      ctx: DSLContext,
+      catalogs: Map<String, JsonNode>,
+    ) {
+      var insert = ctx.insertInto(Tables.JOB_CATALOGS, Tables.JOB_CATALOGS.HASH, Tables.JOB_CATALOGS.CATALOG)
+      catalogs.forEach { (hash, catalog) -> insert = insert.values(hash, JSONB.valueOf(Jsons.serialize(catalog))) }
+      insert.onConflictDoNothing().execute()
+    }
+
+    /**
+     * Catalogs of the jobs of [result] that reference one, read from [ctx] if they are not cached. If [ctx] is null,
+     * a new connection is used.
+     */
+    private fun catalogsOf(
+      ctx: DSLContext?,
+      result: Result<Record>,
+    ): Map<String, ConfiguredAirbyteCatalog> =
+      catalogCache.getAll(result.mapNotNullTo(HashSet()) { it.get(CATALOG_HASH_FIELD, String::class.java) }) { hashes ->
+        if (ctx == null) {
+          jobDatabase.query { fetchJobCatalogs(it, hashes) }
+        } else {
+          fetchJobCatalogs(ctx, hashes)
+        }
+      }
+
+    private fun fetchJobCatalogs(
+      ctx: DSLContext,
+      hashes: Set<String>,
+    ): Map<String, ConfiguredAirbyteCatalog> =
+      ctx
+        .select(Tables.JOB_CATALOGS.HASH, Tables.JOB_CATALOGS.CATALOG)
+        .from(Tables.JOB_CATALOGS)
+        .where(Tables.JOB_CATALOGS.HASH.`in`(hashes))
+        .fetch()
+        .associate { it.value1() to Jsons.deserialize(it.value2().data(), ConfiguredAirbyteCatalog::class.java) }
+
+    private fun toJobs(
+      ctx: DSLContext?,
+      result: Result<Record>,
+      projection: JobProjection = JobProjection.FULL,
+    ): List<Job> = getJobsFromResult(result, if (JobField.CONFIG in projection) catalogsOf(ctx, result) else mapOf(), projection)
+
+    private fun toAttemptsWithJobs(
+      ctx: DSLContext?,
+      result: Result<Record>,
+    ): List<AttemptWithJobInfo> = getAttemptsWithJobsFromResult(result, catalogsOf(ctx, result))
+
     /**
      * Removes unsupported unicode characters (as defined by Postgresql) from the provided input string.
      *
@@ -1682,6 +1851,7 @@ class DefaultJobPersistence
       private const val ATTEMPT_FAILURE_SUMMARY_FIELD = "attempt_failure_summary"
       private const val ATTEMPT_NUMBER_FIELD = "attempt_number"
       private const val JOB_ID = "job_id"
+      private const val CATALOG_HASH_FIELD = "catalog_hash"
       private const val WHERE = "WHERE "
       private const val AND = " AND "
       private const val SCOPE_CLAUSE = "scope = ? AND "
@@ -1702,39 +1872,42 @@ class DefaultJobPersistence
             .map { value: String -> Names.singleQuote(value) }
             .collect(Collectors.joining(",")),
         )
-      private val ATTEMPT_FIELDS =
-        """
-        attempts.attempt_number AS attempt_number,
-        attempts.attempt_sync_config AS attempt_sync_config,
-        attempts.log_path AS log_path,
-        attempts.output AS attempt_output,
-        attempts.status AS attempt_status,
-        attempts.processing_task_queue AS processing_task_queue,
-        attempts.failure_summary AS attempt_failure_summary,
-        attempts.created_at AS attempt_created_at,
-        attempts.updated_at AS attempt_updated_at,
-        attempts.ended_at AS attempt_ended_at
-        
-        """.trimIndent()
-
       @JvmField
       @VisibleForTesting
       val BASE_JOB_SELECT_AND_JOIN: String = jobSelectAndJoin("jobs")
-      private val ATTEMPT_SELECT = "SELECT job_id," + ATTEMPT_FIELDS + "FROM attempts WHERE job_id = ? AND attempt_number = ?"
-
-      private fun jobSelectAndJoin(jobsSubquery: String): String =
+      private val ATTEMPT_SELECT = "SELECT job_id," + attemptFields(JobProjection.FULL) + "FROM attempts WHERE job_id = ? AND attempt_number = ?"
+
+      private fun attemptFields(projection: JobProjection): String =
+        listOfNotNull(
+          "attempts.attempt_number AS attempt_number",
+          "attempts.attempt_sync_config AS attempt_sync_config".takeIf { JobField.ATTEMPT_SYNC_CONFIG in projection },
+          "attempts.log_path AS log_path",
+          "attempts.output AS attempt_output".takeIf { JobField.ATTEMPT_OUTPUT in projection },
+          "attempts.status AS attempt_status",
+          "attempts.processing_task_queue AS processing_task_queue",
+          "attempts.failure_summary AS attempt_failure_summary".takeIf { JobField.ATTEMPT_FAILURE_SUMMARY in projection },
+          "attempts.created_at AS attempt_created_at",
+          "attempts.updated_at AS attempt_updated_at",
+          "attempts.ended_at AS attempt_ended_at",
+        ).joinToString(",\n", postfix = "\n")
+
+      // Only the columns of the parts of the jobs in the projection are selected, so that the others are not read.
+      private fun jobSelectAndJoin(
+        jobsSubquery: String,
+        projection: JobProjection = JobProjection.FULL,
+      ): String =
         """
         SELECT
           jobs.id AS job_id,
           jobs.config_type AS config_type,
           jobs.scope AS scope,
-          jobs.config AS config,
+          ${if (JobField.CONFIG in projection) "jobs.config AS config, jobs.catalog_hash AS catalog_hash," else ""}
           jobs.status AS job_status,
           jobs.started_at AS job_started_at,
           jobs.created_at AS job_created_at,
           jobs.updated_at AS job_updated_at,
           jobs.is_scheduled AS is_scheduled,
-          ${ATTEMPT_FIELDS}
+          ${attemptFields(projection)}
         FROM $jobsSubquery LEFT OUTER JOIN attempts ON jobs.id = attempts.job_id """
 
       private fun saveToSyncStatsTable(
@@ -2129,12 +2302,17 @@ class DefaultJobPersistence
           }
 
       // Retrieves only Job information from the record, without any attempt info
-      private fun getJobFromRecord(record: Record): Job =
-        Job(
+      private fun getJobFromRecord(
+        record: Record,
+        catalogs: Map<String, ConfiguredAirbyteCatalog>,
+        projection: JobProjection = JobProjection.FULL,
+      ): Job {
+        val configType = record.get("config_type", String::class.java).toEnum<ConfigType>()!!
+        return Job(
           record.get(JOB_ID, Long::class.java),
-          record.get("config_type", String::class.java).toEnum<ConfigType>()!!,
+          configType,
           record.get("scope", String::class.java),
-          parseJobConfigFromString(record.get("config", String::class.java)),
+          if (JobField.CONFIG in projection) parseJobConfigFromRecord(record, catalogs) else JobConfig().withConfigType(configType),
           ArrayList(),
           JobStatus.valueOf(record.get("job_status", String::class.java).uppercase(Locale.getDefault())),
           Optional
@@ -2149,71 +2327,44 @@ class DefaultJobPersistence
           getEpoch(record, "job_updated_at"),
           record.get("is_scheduled", Boolean::class.java),
         )
+      }
 
-      private fun parseJobConfigFromString(jobConfigString: String): JobConfig = Jsons.deserialize(jobConfigString, JobConfig::class.java)
-
-      private fun getAttemptFromRecord(record: Record): Attempt {
-        val attemptOutputString = record.get("attempt_output", String::class.java)
-        val attempt =
-          Attempt(
-            record.get(ATTEMPT_NUMBER_FIELD, Int::class.javaPrimitiveType),
-            record.get(JOB_ID, Long::class.java),
-            Path.of(record.get("log_path", String::class.java)),
-            if (record.get("attempt_sync_config", String::class.java) == null) {
-              null
-            } else {
-              Jsons.deserialize(
-                record.get("attempt_sync_config", String::class.java),
-                AttemptSyncConfig::class.java,
-              )
-            },
-            if (attemptOutputString == null) null else parseJobOutputFromString(attemptOutputString),
-            record.get("attempt_status", String::class.java).toEnum<AttemptStatus>()!!,
-            record.get("processing_task_queue", String::class.java),
-            if (record.get(ATTEMPT_FAILURE_SUMMARY_FIELD, String::class.java) == null) {
-              null
-            } else {
-              Jsons.deserialize(
-                record.get(
-                  ATTEMPT_FAILURE_SUMMARY_FIELD,
-                  String::class.java,
-                ),
-                AttemptFailureSummary::class.java,
-              )
-            },
-            getEpoch(record, "attempt_created_at"),
-            getEpoch(record, "attempt_updated_at"),
-            Optional
-              .ofNullable(record[ATTEMPT_ENDED_AT_FIELD])
-              .map { value: Any? ->
-                getEpoch(
-                  record,
-                  ATTEMPT_ENDED_AT_FIELD,
-                )
-              }.orElse(null),
-          )
-        return attempt
+      private fun parseJobConfigFromRecord(
+        record: Record,
+        catalogs: Map<String, ConfiguredAirbyteCatalog>,
+      ): JobConfig {
+        val config = Jsons.deserialize(record.get("config", String::class.java), JobConfig::class.java)
+        record.get(CATALOG_HASH_FIELD, String::class.java)?.let { catalogHash ->
+          val catalog = checkNotNull(catalogs[catalogHash]) { "Missing catalog $catalogHash of job ${record.get(JOB_ID, Long::class.java)}" }
+          JobCatalogs.attachCatalog(config, catalog)
+        }
+        return config
       }
 
-      private fun getAttemptFromRecordLight(record: Record): Attempt =
+      private fun getAttemptFromRecord(
+        record: Record,
+        projection: JobProjection = JobProjection.FULL,
+      ): Attempt =
         Attempt(
           record.get(ATTEMPT_NUMBER_FIELD, Int::class.javaPrimitiveType),
           record.get(JOB_ID, Long::class.java),
           Path.of(record.get("log_path", String::class.java)),
-          AttemptSyncConfig(),
-          JobOutput(),
+          if (JobField.ATTEMPT_SYNC_CONFIG in projection) {
+            record.get("attempt_sync_config", String::class.java)?.let { Jsons.deserialize(it, AttemptSyncConfig::class.java) }
+          } else {
+            AttemptSyncConfig()
+          },
+          if (JobField.ATTEMPT_OUTPUT in projection) {
+            record.get("attempt_output", String::class.java)?.let { parseJobOutputFromString(it) }
+          } else {
+            JobOutput()
+          },
           record.get("attempt_status", String::class.java).toEnum<AttemptStatus>()!!,
           record.get("processing_task_queue", String::class.java),
-          if (record.get(ATTEMPT_FAILURE_SUMMARY_FIELD, String::class.java) == null) {
-            null
+          if (JobField.ATTEMPT_FAILURE_SUMMARY in projection) {
+            record.get(ATTEMPT_FAILURE_SUMMARY_FIELD, String::class.java)?.let { Jsons.deserialize(it, AttemptFailureSummary::class.java) }
           } else {
-            Jsons.deserialize(
-              record.get(
-                ATTEMPT_FAILURE_SUMMARY_FIELD,
-                String::class.java,
-              ),
-              AttemptFailureSummary::class.java,
-            )
+            null
           },
           getEpoch(record, "attempt_created_at"),
           getEpoch(record, "attempt_updated_at"),
@@ -2229,14 +2380,21 @@ class DefaultJobPersistence
 
       private fun parseJobOutputFromString(jobOutputString: String): JobOutput = Jsons.deserialize(jobOutputString, JobOutput::class.java)
 
-      private fun getAttemptsWithJobsFromResult(result: Result<Record>): List<AttemptWithJobInfo> =
+      private fun getAttemptsWithJobsFromResult(
+        result: Result<Record>,
+        catalogs: Map<String, ConfiguredAirbyteCatalog>,
+      ): List<AttemptWithJobInfo> =
         result
           .stream()
           .filter { record: Record -> record.getValue(ATTEMPT_NUMBER_FIELD) != null }
-          .map { record: Record -> fromJob(getAttemptFromRecord(record), getJobFromRecord(record)) }
+          .map { record: Record -> fromJob(getAttemptFromRecord(record), getJobFromRecord(record, catalogs)) }
           .collect(Collectors.toList())
 
-      private fun getJobsFromResult(result: Result<Record>): List<Job> {
+      private fun getJobsFromResult(
+        result: Result<Record>,
+        catalogs: Map<String, ConfiguredAirbyteCatalog>,
+        projection: JobProjection = JobProjection.FULL,
+      ): List<Job> {
         // keeps results strictly in order so the sql query controls the sort
         val jobs: MutableList<Job> = mutableListOf()
         var currentJob: Job? = null
@@ -2245,13 +2403,13 @@ class DefaultJobPersistence
         for (entry in result) {
           if (currentJob == null || currentJob.id != entry.get(JOB_ID, Long::class.java)) {
             jobStopwatch.start().use { ignored ->
-              currentJob = getJobFromRecord(entry)
+              currentJob = getJobFromRecord(entry, catalogs, projection)
             }
             jobs.add(currentJob!!)
           }
           if (entry.getValue(ATTEMPT_NUMBER_FIELD) != null) {
             attemptStopwatch.start().use { ignored ->
-              currentJob = addAttemptToJob(currentJob!!, getAttemptFromRecord(entry))
+              currentJob = addAttemptToJob(currentJob!!, getAttemptFromRecord(entry, projection))
               // the last job in the list is the current one, so pop it off and replace it with updated one.
               jobs.removeLast()
               jobs.add(currentJob!!)
@@ -2280,29 +2438,6 @@ class DefaultJobPersistence
           isScheduled = job.isScheduled,
         )
 
-      /**
-       * Gets jobs from results but without catalog data for attempts. For now we can't exclude catalog
-       * data for jobs because we need sync mode from the catalog for stat aggregation.
-       */
-      private fun getJobsFromResultLight(result: Result<Record>): List<Job> {
-        // keeps results strictly in order so the sql query controls the sort
-        val jobs: MutableList<Job> = ArrayList()
-        var currentJob: Job? = null
-        for (entry in result) {
-          if (currentJob == null || currentJob.id != entry.get(JOB_ID, Long::class.java)) {
-            currentJob = getJobFromRecord(entry)
-            jobs.add(currentJob)
-          }
-          if (entry.getValue(ATTEMPT_NUMBER_FIELD) != null) {
-            currentJob = addAttemptToJob(currentJob, getAttemptFromRecordLight(entry))
-            // the last job in the list is the current one, so pop it off and replace it with updated one.
-            jobs.removeLast()
-            jobs.add(currentJob!!)
-          }
-        }
-        return jobs
-      }
-
       /**
        * Generate a string fragment that can be put in the IN clause of a SQL statement. eg. column IN
        * (value1, value2)
@@ -2327,7 +2462,10 @@ class DefaultJobPersistence
 
       @VisibleForTesting
       @JvmStatic
-      fun getJobFromResult(result: Result<Record>): Optional<Job> = getJobsFromResult(result).stream().findFirst()
+      fun getJobFromResult(
+        result: Result<Record>,
+        catalogs: Map<String, ConfiguredAirbyteCatalog> = mapOf(),
+      ): Optional<Job> = getJobsFromResult(result, catalogs).stream().findFirst()
 
       private fun getEpoch(
         record: Record,
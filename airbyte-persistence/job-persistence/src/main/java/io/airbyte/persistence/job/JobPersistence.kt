@@ -84,6 +84,15 @@ interface JobPersistence {
   @Throws(IOException::class)
   fun getJob(jobId: Long): Job
 
+  /**
+   * Retrieves a job, only reading the parts of it in [projection].
+   */
+  @Throws(IOException::class)
+  fun getJob(
+    jobId: Long,
+    projection: JobProjection,
+  ): Job
+
   /**
    * Enqueue a new job. Its initial status will be pending.
    *
@@ -306,6 +315,15 @@ interface JobPersistence {
   @Throws(IOException::class)
   fun listJobsLight(jobIds: Set<Long>): List<Job>
 
+  /**
+   * List jobs based on job IDs, only reading the parts of the jobs in [projection].
+   */
+  @Throws(IOException::class)
+  fun listJobs(
+    jobIds: Set<Long>,
+    projection: JobProjection,
+  ): List<Job>
+
   @Throws(IOException::class)
   fun listJobsLight(
     configTypes: Set<ConfigType>,
@@ -343,6 +361,45 @@ interface JobPersistence {
     orderByMethod: String?,
   ): List<Job>
 
+  /**
+   * Lists a page of the jobs of a connection, only reading the parts of the jobs in [projection]. The light variant
+   * reads them with [JobProjection.LIGHT].
+   */
+  @Throws(IOException::class)
+  fun listJobs(
+    configTypes: Set<ConfigType>,
+    configId: String?,
+    limit: Int,
+    offset: Int,
+    statuses: List<JobStatus>?,
+    createdAtStart: OffsetDateTime?,
+    createdAtEnd: OffsetDateTime?,
+    updatedAtStart: OffsetDateTime?,
+    updatedAtEnd: OffsetDateTime?,
+    orderByField: String?,
+    orderByMethod: String?,
+    projection: JobProjection,
+  ): List<Job>
+
+  /**
+   * Lists a page of the jobs of workspaces, only reading the parts of the jobs in [projection].
+   */
+  @Throws(IOException::class)
+  fun listJobs(
+    configTypes: Set<ConfigType>,
+    workspaceIds: List<UUID>,
+    limit: Int,
+    offset: Int,
+    statuses: List<JobStatus>?,
+    createdAtStart: OffsetDateTime?,
+    createdAtEnd: OffsetDateTime?,
+    updatedAtStart: OffsetDateTime?,
+    updatedAtEnd: OffsetDateTime?,
+    orderByField: String?,
+    orderByMethod: String?,
+    projection: JobProjection,
+  ): List<Job>
+
   /**
    * List jobs with id.
    *
@@ -364,6 +421,18 @@ interface JobPersistence {
     pagesize: Int,
   ): List<Job>
 
+  /**
+   * Same as [listJobsIncludingId], only reading the parts of the jobs in [projection].
+   */
+  @Throws(IOException::class)
+  fun listJobsIncludingId(
+    configTypes: Set<ConfigType>,
+    connectionId: String?,
+    includingJobId: Long,
+    pagesize: Int,
+    projection: JobProjection,
+  ): List<Job>
+
   @Throws(IOException::class)
   fun listJobsForConnectionWithStatuses(
     connectionId: UUID,
@@ -439,6 +508,15 @@ interface JobPersistence {
   @Throws(IOException::class)
   fun setDeployment(uuid: UUID)
 
+  /**
+   * Moves the configured catalogs of up to [limit] replication jobs, oldest first, from their config to the
+   * job_catalogs table. Jobs locked by another transaction are skipped, and left for a later call.
+   *
+   * @return the number of jobs migrated, or null if there was no job left to migrate.
+   */
+  @Throws(IOException::class)
+  fun migrateJobCatalogs(limit: Int): Int?
+
   // a deployment references a setup of airbyte. it is created the first time the docker compose or
   // K8s is ready.
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job
+
+import io.airbyte.config.Attempt
+import io.airbyte.config.AttemptSyncConfig
+import io.airbyte.config.Job
+import io.airbyte.config.JobConfig
+import io.airbyte.config.JobOutput
+import java.util.EnumSet
+
+/**
+ * Parts of a [Job] and its attempts that are stored as JSON, and are only fetched and parsed when asked for. The ids,
+ * statuses, timestamps and log paths are always read.
+ */
+enum class JobField {
+  /**
+   * [Job.config], with its catalog. Without it, the config only has its [JobConfig.configType].
+   */
+  CONFIG,
+
+  /**
+   * [Attempt.syncConfig]. Without it, it is an empty [AttemptSyncConfig].
+   */
+  ATTEMPT_SYNC_CONFIG,
+
+  /**
+   * [Attempt.output], with the stats of the attempt. Without it, it is an empty [JobOutput].
+   */
+  ATTEMPT_OUTPUT,
+
+  /**
+   * [Attempt.failureSummary]. Without it, it is null.
+   */
+  ATTEMPT_FAILURE_SUMMARY,
+}
+
+/**
+ * The parts of the jobs a caller of [JobPersistence] needs. The columns of the other parts are neither fetched nor
+ * parsed, which matters when listing many jobs as the configs and outputs can be large.
+ */
+data class JobProjection(
+  val fields: Set<JobField>,
+) {
+  operator fun contains(field: JobField): Boolean = fields.contains(field)
+
+  companion object {
+    @JvmField
+    val FULL = JobProjection(EnumSet.allOf(JobField::class.java))
+
+    /**
+     * What job lists show: the config, to tell which streams a job synced, and the failures of the attempts.
+     */
+    @JvmField
+    val LIGHT = JobProjection(EnumSet.of(JobField.CONFIG, JobField.ATTEMPT_FAILURE_SUMMARY))
+
+    /**
+     * Only the statuses and timestamps of the jobs and their attempts.
+     */
+    @JvmField
+    val STATUS = JobProjection(EnumSet.noneOf(JobField::class.java))
+  }
+}
@@ -16,6 +16,9 @@ import io.airbyte.config.Attempt
 import io.airbyte.config.AttemptFailureSummary
 import io.airbyte.config.AttemptStatus
 import io.airbyte.config.AttemptSyncConfig
+import io.airbyte.config.ConfiguredAirbyteCatalog
+import io.airbyte.config.ConfiguredAirbyteStream
+import io.airbyte.config.DestinationSyncMode
 import io.airbyte.config.FailureReason
 import io.airbyte.config.Job
 import io.airbyte.config.JobConfig
@@ -29,7 +32,9 @@ import io.airbyte.config.StandardSyncOutput
 import io.airbyte.config.StandardSyncSummary
 import io.airbyte.config.State
 import io.airbyte.config.StreamSyncStats
+import io.airbyte.config.SyncMode
 import io.airbyte.config.SyncStats
+import io.airbyte.config.helpers.CatalogHelpers.Companion.createAirbyteStream
 import io.airbyte.db.ContextQueryFunction
 import io.airbyte.db.Database
 import io.airbyte.db.factory.DSLContextFactory
@@ -43,8 +48,11 @@ import io.airbyte.db.instance.jobs.jooq.generated.tables.records.StreamAttemptMe
 import io.airbyte.db.instance.jobs.jooq.generated.tables.records.SyncStatsRecord
 import io.airbyte.db.instance.test.TestDatabaseProviders
 import io.airbyte.persistence.job.JobPersistence.JobAttemptPair
+import io.airbyte.protocol.models.JsonSchemaType
+import io.airbyte.protocol.models.v0.Field
 import io.airbyte.test.utils.Databases
 import org.jooq.DSLContext
+import org.jooq.JSONB
 import org.jooq.Record
 import org.jooq.Result
 import org.jooq.SQLDialect
@@ -136,6 +144,7 @@ internal class DefaultJobPersistenceTest {
         )
       },
     )
+    jobDatabase.query<Int?>(ContextQueryFunction { ctx: DSLContext? -> ctx!!.truncateTable(Tables.JOB_CATALOGS).execute() })
   }
 
   @Throws(SQLException::class)
@@ -1786,6 +1795,77 @@ internal class DefaultJobPersistenceTest {
       val expected = createJob(jobId2.get(), SYNC_JOB_CONFIG, JobStatus.PENDING, emptyList<Attempt>(), NOW.getEpochSecond())
       Assertions.assertEquals(expected, actual)
     }
+
+    @Test
+    @DisplayName("Should store the catalog shared by jobs once")
+    @Throws(IOException::class)
+    fun testJobsShareTheirCatalog() {
+      val jobConfig = syncJobConfigWithCatalog()
+      val jobId1 = jobPersistence!!.enqueueJob(SCOPE, jobConfig, true).orElseThrow()
+      jobPersistence!!.failJob(jobId1)
+      val jobId2 = jobPersistence!!.enqueueJob(SCOPE, jobConfig, true).orElseThrow()
+
+      Assertions.assertEquals(1, jobDatabase.query { ctx: DSLContext -> ctx.fetchCount(Tables.JOB_CATALOGS) })
+      Assertions.assertFalse(readJobConfig(jobId2).contains("configuredAirbyteCatalog"))
+      Assertions.assertEquals(jobConfig, jobPersistence!!.getJob(jobId1).config)
+      Assertions.assertEquals(jobConfig, jobPersistence!!.getJob(jobId2).config)
+      // Each job gets its own copy of the shared catalog, which can be modified without affecting the other jobs.
+      Assertions.assertNotSame(
+        jobPersistence!!.getJob(jobId1).config.sync.configuredAirbyteCatalog,
+        jobPersistence!!.getJob(jobId2).config.sync.configuredAirbyteCatalog,
+      )
+    }
+
+    @Test
+    @DisplayName("Should move the catalog embedded in the config of existing jobs")
+    @Throws(IOException::class)
+    fun testMigrateJobCatalogs() {
+      val jobConfig = syncJobConfigWithCatalog()
+      val jobId = jobPersistence!!.enqueueJob(SCOPE, jobConfig, true).orElseThrow()
+      // Jobs created before the job_catalogs table have their catalog in their config.
+      jobDatabase.query { ctx: DSLContext ->
+        ctx
+          .update(Tables.JOBS)
+          .set(Tables.JOBS.CONFIG, JSONB.valueOf(canonicalJsonSerialize(jobConfig)))
+          .set(Tables.JOBS.CATALOG_HASH, null as String?)
+          .where(Tables.JOBS.ID.eq(jobId))
+          .execute()
+      }
+      Assertions.assertEquals(jobConfig, jobPersistence!!.getJob(jobId).config)
+
+      Assertions.assertEquals(1, jobPersistence!!.migrateJobCatalogs(10))
+      Assertions.assertNull(jobPersistence!!.migrateJobCatalogs(10))
+      Assertions.assertFalse(readJobConfig(jobId).contains("configuredAirbyteCatalog"))
+      Assertions.assertEquals(jobConfig, jobPersistence!!.getJob(jobId).config)
+    }
+
+    private fun syncJobConfigWithCatalog(): JobConfig =
+      JobConfig()
+        .withConfigType(ConfigType.SYNC)
+        .withSync(
+          JobSyncConfig().withConfiguredAirbyteCatalog(
+            ConfiguredAirbyteCatalog().withStreams(
+              listOf(
+                ConfiguredAirbyteStream(
+                  createAirbyteStream("users", Field.of("id", JsonSchemaType.STRING)),
+                  SyncMode.FULL_REFRESH,
+                  DestinationSyncMode.OVERWRITE,
+                ),
+              ),
+            ),
+          ),
+        )
+
+    private fun readJobConfig(jobId: Long): String =
+      jobDatabase.query { ctx: DSLContext ->
+        ctx
+          .select(Tables.JOBS.CONFIG)
+          .from(Tables.JOBS)
+          .where(Tables.JOBS.ID.eq(jobId))
+          .fetchOne()!!
+          .value1()
+          .data()
+      }
   }
 
   @Nested
@@ -2554,6 +2634,37 @@ internal class DefaultJobPersistenceTest {
       Assertions.assertEquals(expected, actual)
     }
 
+    @Test
+    @DisplayName("Should only read the parts of the jobs in the projection")
+    @Throws(IOException::class)
+    fun testListJobsWithProjection() {
+      val jobId = jobPersistence!!.enqueueJob(SCOPE, SPEC_JOB_CONFIG, true).orElseThrow()
+      val attemptNumber = jobPersistence!!.createAttempt(jobId, LOG_PATH)
+      val jobOutput = JobOutput().withOutputType(JobOutput.OutputType.SYNC).withSync(StandardSyncOutput())
+      jobPersistence!!.writeOutput(jobId, attemptNumber, jobOutput)
+      val failureSummary =
+        AttemptFailureSummary().withFailures(listOf(FailureReason().withFailureOrigin(FailureReason.FailureOrigin.SOURCE)))
+      jobPersistence!!.writeAttemptFailureSummary(jobId, attemptNumber, failureSummary)
+      jobPersistence!!.failAttempt(jobId, attemptNumber)
+
+      val statusOnly = jobPersistence!!.listJobs(setOf(jobId), JobProjection.STATUS).single()
+      Assertions.assertEquals(JobConfig().withConfigType(SPEC_JOB_CONFIG.configType), statusOnly.config)
+      Assertions.assertEquals(JobStatus.INCOMPLETE, statusOnly.status)
+      Assertions.assertEquals(AttemptStatus.FAILED, statusOnly.attempts.single().status)
+      Assertions.assertEquals(LOG_PATH, statusOnly.attempts.single().logPath)
+      Assertions.assertEquals(JobOutput(), statusOnly.attempts.single().output)
+      Assertions.assertNull(statusOnly.attempts.single().failureSummary)
+
+      val light = jobPersistence!!.getJob(jobId, JobProjection.LIGHT)
+      Assertions.assertEquals(SPEC_JOB_CONFIG, light.config)
+      Assertions.assertEquals(JobOutput(), light.attempts.single().output)
+      Assertions.assertEquals(failureSummary, light.attempts.single().failureSummary)
+
+      val full = jobPersistence!!.getJob(jobId, JobProjection.FULL)
+      Assertions.assertEquals(jobPersistence!!.getJob(jobId), full)
+      Assertions.assertEquals(jobOutput, full.attempts.single().output)
+    }
+
     @Test
     @DisplayName("Should list all jobs with all attempts in descending order")
     @Throws(IOException::class)
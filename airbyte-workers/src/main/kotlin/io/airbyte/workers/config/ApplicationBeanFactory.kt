@@ -12,7 +12,14 @@ import io.airbyte.featureflag.LogConnectorMessages
 import io.airbyte.featureflag.LogStateMsgs
 import io.airbyte.featureflag.PrintLongRecordPks
 import io.airbyte.featureflag.RemoveValidationLimit
+import io.airbyte.featureflag.ReplicationBatchMaxBytes
+import io.airbyte.featureflag.ReplicationBatchMaxMessages
+import io.airbyte.featureflag.ReplicationBufferMaxMegabytes
 import io.airbyte.featureflag.ReplicationBufferOverride
+import io.airbyte.featureflag.ReplicationProcessorParallelism
+import io.airbyte.featureflag.ReplicationProcessorPartitionByPosition
+import io.airbyte.featureflag.ReplicationRawRecordPassthrough
+import io.airbyte.featureflag.ReplicationStreamingDeserializer
 import io.airbyte.featureflag.ShouldFailSyncIfHeartbeatFailure
 import io.airbyte.featureflag.ShouldFailSyncOnDestinationTimeout
 import io.airbyte.featureflag.WorkloadHeartbeatRate
@@ -54,7 +61,14 @@ class ApplicationBeanFactory {
         LogStateMsgs,
         PrintLongRecordPks,
         RemoveValidationLimit,
+        ReplicationBatchMaxBytes,
+        ReplicationBatchMaxMessages,
+        ReplicationBufferMaxMegabytes,
         ReplicationBufferOverride,
+        ReplicationProcessorParallelism,
+        ReplicationProcessorPartitionByPosition,
+        ReplicationRawRecordPassthrough,
+        ReplicationStreamingDeserializer,
         ShouldFailSyncIfHeartbeatFailure,
         ShouldFailSyncOnDestinationTimeout,
         WorkloadHeartbeatRate,
@@ -20,6 +20,7 @@ dependencies {
   implementation(libs.bundles.micronaut)
   implementation(libs.bundles.micronaut.data.jdbc)
   implementation(libs.bundles.micronaut.kotlin)
+  implementation(libs.micronaut.cache.caffeine)
   implementation(libs.micronaut.http)
   implementation(libs.jakarta.transaction.api)
   implementation(libs.bundles.micronaut.jaxrs)
@@ -16,16 +16,21 @@ import io.airbyte.workload.api.domain.ExpiredDeadlineWorkloadListRequest
 import io.airbyte.workload.api.domain.KnownExceptionInfo
 import io.airbyte.workload.api.domain.LongRunningWorkloadRequest
 import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.api.domain.WorkloadArchiveRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
 import io.airbyte.workload.api.domain.WorkloadDepthResponse
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchResponse
 import io.airbyte.workload.api.domain.WorkloadHeartbeatRequest
 import io.airbyte.workload.api.domain.WorkloadLaunchedRequest
 import io.airbyte.workload.api.domain.WorkloadListRequest
 import io.airbyte.workload.api.domain.WorkloadListResponse
+import io.airbyte.workload.api.domain.WorkloadQueueClaimRequest
 import io.airbyte.workload.api.domain.WorkloadQueueCleanLimit
+import io.airbyte.workload.api.domain.WorkloadQueueLongPollRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
 import io.airbyte.workload.api.domain.WorkloadQueueQueryRequest
 import io.airbyte.workload.api.domain.WorkloadQueueStatsResponse
@@ -33,7 +38,12 @@ import io.airbyte.workload.api.domain.WorkloadRunningRequest
 import io.airbyte.workload.api.domain.WorkloadSuccessRequest
 import io.airbyte.workload.common.DefaultDeadlineValues
 import io.airbyte.workload.common.WorkloadQueueService
+import io.airbyte.workload.errors.InvalidStatusTransitionException
+import io.airbyte.workload.errors.NotFoundException
+import io.airbyte.workload.handler.WorkloadArchiver
 import io.airbyte.workload.handler.WorkloadHandler
+import io.airbyte.workload.handler.WorkloadHeartbeatCoalescer
+import io.airbyte.workload.handler.WorkloadQueueLongPoller
 import io.micronaut.http.HttpResponse
 import io.micronaut.http.HttpStatus
 import io.micronaut.http.annotation.Body
@@ -56,7 +66,10 @@ import jakarta.ws.rs.PUT
 import jakarta.ws.rs.Path
 import jakarta.ws.rs.PathParam
 import jakarta.ws.rs.Produces
+import java.time.Duration
+import java.time.OffsetDateTime
 import java.util.UUID
+import java.util.concurrent.CompletableFuture
 
 @Controller("/api/v1/workload")
 @Secured(SecurityRule.IS_AUTHENTICATED)
@@ -68,6 +81,9 @@ open class WorkloadApi(
   private val roleResolver: RoleResolver,
   private val dataplaneService: DataplaneService,
   private val dataplaneGroupService: DataplaneGroupService,
+  private val workloadQueueLongPoller: WorkloadQueueLongPoller,
+  private val workloadHeartbeatCoalescer: WorkloadHeartbeatCoalescer,
+  private val workloadArchiver: WorkloadArchiver,
 ) {
   @POST
   @Path("/create")
@@ -392,7 +408,6 @@ open class WorkloadApi(
 
   @PUT
   @Path("/heartbeat")
-  @Status(HttpStatus.NO_CONTENT)
   @Consumes("application/json")
   @Produces("application/json")
   @Operation(summary = "Heartbeat from a workload", tags = ["workload"])
@@ -418,10 +433,53 @@ open class WorkloadApi(
     @RequestBody(
       content = [Content(schema = Schema(implementation = WorkloadHeartbeatRequest::class))],
     ) @Body workloadHeartbeatRequest: WorkloadHeartbeatRequest,
-  ) {
+  ): CompletableFuture<HttpResponse<Unit>> {
     ApmTraceUtils.addTagsToTrace(mutableMapOf(MetricTags.WORKLOAD_ID_TAG to workloadHeartbeatRequest.workloadId))
-    authorize(workloadId = workloadHeartbeatRequest.workloadId)
-    workloadHandler.heartbeat(workloadHeartbeatRequest.workloadId, workloadHeartbeatRequest.deadline ?: defaultDeadlineValues.heartbeatDeadline())
+    // The organization is cached, so that heartbeats don't read the workload they are coalesced to avoid writing.
+    authorize(orgId = workloadHandler.getWorkloadOrganizationId(workloadHeartbeatRequest.workloadId))
+    val deadline = workloadHeartbeatRequest.deadline ?: defaultDeadlineValues.heartbeatDeadline()
+    // Completed by hand rather than with thenApply, which would wrap the errors in a CompletionException hiding them from
+    // the exception handlers.
+    val response = CompletableFuture<HttpResponse<Unit>>()
+    workloadHeartbeatCoalescer.heartbeat(workloadHeartbeatRequest.workloadId, deadline).whenComplete { _, e ->
+      if (e == null) response.complete(HttpResponse.status(HttpStatus.NO_CONTENT)) else response.completeExceptionally(e)
+    }
+    return response
+  }
+
+  @PUT
+  @Path("/heartbeat/batch")
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Operation(summary = "Heartbeat from many workloads", tags = ["workload"])
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description = "The workloads that should stop, the others were heartbeated.",
+        content = [Content(schema = Schema(implementation = WorkloadHeartbeatBatchResponse::class))],
+      ),
+    ],
+  )
+  fun workloadHeartbeatBatch(
+    @RequestBody(
+      content = [Content(schema = Schema(implementation = WorkloadHeartbeatBatchRequest::class))],
+    ) @Body workloadHeartbeatBatchRequest: WorkloadHeartbeatBatchRequest,
+  ): WorkloadHeartbeatBatchResponse {
+    val heartbeats = workloadHeartbeatBatchRequest.heartbeats
+    authorize(workloadIds = heartbeats.map { it.workloadId })
+    val defaultDeadline = defaultDeadlineValues.heartbeatDeadline()
+    val deadlines = mutableMapOf<String, OffsetDateTime>()
+    heartbeats.forEach { heartbeat ->
+      val deadline = heartbeat.deadline ?: defaultDeadline
+      deadlines.merge(heartbeat.workloadId, deadline) { a, b -> maxOf(a, b) }
+    }
+
+    val errors = workloadHandler.heartbeatAll(deadlines)
+    return WorkloadHeartbeatBatchResponse(
+      goneWorkloadIds = errors.filterValues { it is InvalidStatusTransitionException }.keys.toList(),
+      notFoundWorkloadIds = errors.filterValues { it is NotFoundException }.keys.toList(),
+    )
   }
 
   @POST
@@ -569,6 +627,73 @@ open class WorkloadApi(
     return WorkloadListResponse(workloads)
   }
 
+  @POST
+  @Path("/queue/long-poll")
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Operation(summary = "Poll for workloads to process, waiting for some to be enqueued if there is none", tags = ["workload"])
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description = "Success",
+        content = [Content(schema = Schema(implementation = WorkloadListResponse::class))],
+      ),
+    ],
+  )
+  fun longPollWorkloadQueue(
+    @RequestBody(
+      content = [Content(schema = Schema(implementation = WorkloadQueueLongPollRequest::class))],
+    ) @Body req: WorkloadQueueLongPollRequest,
+  ): CompletableFuture<WorkloadListResponse> {
+    ApmTraceUtils.addTagsToTrace(
+      mutableMapOf(
+        MetricTags.DATA_PLANE_GROUP_TAG to req.dataplaneGroup,
+      ),
+    )
+    authorize(dataplaneGroup = req.dataplaneGroup)
+    return workloadQueueLongPoller
+      .poll(req.dataplaneGroup, req.priority, req.quantity, Duration.ofSeconds(req.timeoutSeconds))
+      .thenApply { WorkloadListResponse(it) }
+  }
+
+  @POST
+  @Path("/queue/claim")
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Operation(summary = "Poll for workloads to process and claim them in a single transaction", tags = ["workload"])
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "200",
+        description = "Returns the workloads that were claimed.",
+        content = [Content(schema = Schema(implementation = WorkloadListResponse::class))],
+      ),
+    ],
+  )
+  fun claimWorkloadQueue(
+    @RequestBody(
+      content = [Content(schema = Schema(implementation = WorkloadQueueClaimRequest::class))],
+    ) @Body req: WorkloadQueueClaimRequest,
+  ): WorkloadListResponse {
+    ApmTraceUtils.addTagsToTrace(
+      mutableMapOf(
+        MetricTags.DATA_PLANE_GROUP_TAG to req.dataplaneGroup,
+        MetricTags.DATA_PLANE_ID_TAG to req.dataplaneId,
+      ),
+    )
+    authorize(dataplaneGroup = req.dataplaneGroup)
+    val workloads =
+      workloadHandler.pollAndClaimWorkloads(
+        req.dataplaneGroup,
+        req.priority,
+        req.dataplaneId,
+        req.quantity,
+        req.deadline ?: defaultDeadlineValues.claimStepDeadline(),
+      )
+    return WorkloadListResponse(workloads)
+  }
+
   @POST
   @Path("/queue/depth")
   @Consumes("application/json")
@@ -638,11 +763,33 @@ open class WorkloadApi(
     workloadHandler.cleanWorkloadQueue(req.limit)
   }
 
+  @POST
+  @Path("/archive")
+  @Consumes("application/json")
+  @Operation(summary = "Archive the workloads which ended a while ago up to a certain limit, and drop the expired archives", tags = ["workload"])
+  @ApiResponses(
+    value = [
+      ApiResponse(
+        responseCode = "204",
+        description = "Archiving workloads successful",
+      ),
+    ],
+  )
+  fun workloadArchive(
+    @RequestBody(
+      content = [Content(schema = Schema(implementation = WorkloadArchiveRequest::class))],
+    ) @Body req: WorkloadArchiveRequest,
+  ) {
+    authorize()
+    workloadArchiver.archive(req.limit)
+  }
+
   private fun authorize(
     orgId: UUID? = null,
     workloadId: String? = null,
     dataplaneGroup: String? = null,
     dataplanes: List<String>? = null,
+    workloadIds: List<String>? = null,
   ) {
     val req = roleResolver.newRequest().withCurrentAuthentication()
 
@@ -657,6 +804,10 @@ open class WorkloadApi(
       }
     }
 
+    if (workloadIds != null) {
+      workloadHandler.getWorkloadOrganizationIds(workloadIds).forEach { req.withOrg(it) }
+    }
+
     if (dataplaneGroup != null) {
       val orgId = dataplaneGroupService.getOrganizationIdFromDataplaneGroup(UUID.fromString(dataplaneGroup))
       req.withOrg(orgId)
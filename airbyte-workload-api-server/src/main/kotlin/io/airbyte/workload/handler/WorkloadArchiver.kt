@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.workload.repository.WorkloadRepository
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Property
+import jakarta.inject.Named
+import jakarta.inject.Singleton
+import org.jooq.DSLContext
+import java.time.Duration
+import java.time.OffsetDateTime
+import java.time.YearMonth
+import java.time.ZoneOffset
+
+private val logger = KotlinLogging.logger {}
+
+private const val ARCHIVE_TABLE = "workload_archive"
+private val PARTITION_NAME = Regex("${ARCHIVE_TABLE}_p(\\d{4})_(\\d{2})")
+
+/**
+ * Moves the workloads to the workload_archive table once they have ended for [archiveAfter], so that the workload table,
+ * and the queries of the workload monitor going through it, only hold the recent workloads.
+ * <p />
+ * The archive is partitioned by month of archival. The partitions are created a month ahead, and dropped whole once
+ * older than [retentionMonths], rather than deleting the archived workloads row by row.
+ */
+@Singleton
+class WorkloadArchiver(
+  private val workloadRepository: WorkloadRepository,
+  @Named("unwrappedConfig") private val dslContext: DSLContext,
+  @Property(name = "airbyte.workload-api.archive.archive-after") private val archiveAfter: Duration,
+  @Property(name = "airbyte.workload-api.archive.retention-months") private val retentionMonths: Long,
+) {
+  /**
+   * Archives up to [batchSize] workloads and drops the expired partitions of the archive. Returns the number of
+   * workloads archived.
+   */
+  fun archive(
+    batchSize: Int,
+    now: OffsetDateTime = OffsetDateTime.now(ZoneOffset.UTC),
+  ): Long {
+    val currentMonth = YearMonth.from(now.withOffsetSameInstant(ZoneOffset.UTC))
+    val partitions = workloadRepository.findArchivePartitions().mapNotNull { name -> partitionMonth(name)?.let { it to name } }.toMap()
+
+    listOf(currentMonth, currentMonth.plusMonths(1))
+      .filterNot { partitions.containsKey(it) }
+      .forEach { createPartition(it) }
+
+    val archived = workloadRepository.archiveEndedWorkloads(now.minus(archiveAfter), batchSize)
+    logger.info { "Archived $archived workloads." }
+
+    val oldestRetainedMonth = currentMonth.minusMonths(retentionMonths)
+    partitions
+      .filterKeys { it.isBefore(oldestRetainedMonth) }
+      .values
+      .forEach { dropPartition(it) }
+
+    return archived
+  }
+
+  private fun createPartition(month: YearMonth) {
+    val name = partitionName(month)
+    logger.info { "Creating workload archive partition $name." }
+    dslContext.execute(
+      "CREATE TABLE IF NOT EXISTS $name PARTITION OF $ARCHIVE_TABLE " +
+        "FOR VALUES FROM ('${month.atDay(1)} 00:00:00+00') TO ('${month.plusMonths(1).atDay(1)} 00:00:00+00')",
+    )
+  }
+
+  private fun dropPartition(name: String) {
+    logger.info { "Dropping workload archive partition $name." }
+    dslContext.execute("ALTER TABLE $ARCHIVE_TABLE DETACH PARTITION $name")
+    dslContext.execute("DROP TABLE IF EXISTS $name")
+  }
+
+  companion object {
+    internal fun partitionName(month: YearMonth): String = "%s_p%04d_%02d".format(ARCHIVE_TABLE, month.year, month.monthValue)
+
+    internal fun partitionMonth(name: String): YearMonth? =
+      PARTITION_NAME.matchEntire(name)?.let { match ->
+        YearMonth.of(match.groupValues[1].toInt(), match.groupValues[2].toInt())
+      }
+  }
+}
@@ -9,6 +9,7 @@ import io.airbyte.config.WorkloadType
 import io.airbyte.workload.api.domain.Workload
 import io.airbyte.workload.api.domain.WorkloadLabel
 import io.airbyte.workload.api.domain.WorkloadQueueStats
+import io.airbyte.workload.errors.KnownException
 import jakarta.transaction.Transactional
 import java.time.OffsetDateTime
 import java.util.UUID
@@ -86,6 +87,20 @@ interface WorkloadHandler {
     deadline: OffsetDateTime,
   )
 
+  /**
+   * Heartbeats many workloads at once, [deadlines] being keyed by workload id. Returns the error of each workload that
+   * couldn't be heartbeated, the same that [heartbeat] would have thrown.
+   */
+  fun heartbeatAll(deadlines: Map<String, OffsetDateTime>): Map<String, KnownException>
+
+  fun getWorkloadOrganizationIds(workloadIds: List<String>): List<UUID>
+
+  /**
+   * Returns the organization of a workload, null if it has none. As the organization of a workload never changes, it is
+   * cached rather than read for every heartbeat of the workload.
+   */
+  fun getWorkloadOrganizationId(workloadId: String): UUID?
+
   fun getWorkloadsRunningCreatedBefore(
     dataplaneId: List<String>?,
     workloadType: List<ApiWorkloadType>?,
@@ -98,6 +113,18 @@ interface WorkloadHandler {
     quantity: Int,
   ): List<Workload>
 
+  /**
+   * Polls up to [quantity] workloads from the queue and claims them for [dataplaneId] at once. Returns the claimed
+   * workloads.
+   */
+  fun pollAndClaimWorkloads(
+    dataplaneGroup: String?,
+    priority: WorkloadPriority?,
+    dataplaneId: String,
+    quantity: Int,
+    deadline: OffsetDateTime,
+  ): List<Workload>
+
   fun countWorkloadQueueDepth(
     dataplaneGroup: String?,
     priority: WorkloadPriority?,
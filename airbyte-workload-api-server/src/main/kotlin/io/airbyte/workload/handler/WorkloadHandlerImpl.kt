@@ -4,6 +4,8 @@
 
 package io.airbyte.workload.handler
 
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.config.WorkloadType
 import io.airbyte.featureflag.FeatureFlagClient
@@ -16,22 +18,28 @@ import io.airbyte.workload.api.domain.WorkloadLabel
 import io.airbyte.workload.api.domain.WorkloadQueueStats
 import io.airbyte.workload.errors.ConflictException
 import io.airbyte.workload.errors.InvalidStatusTransitionException
+import io.airbyte.workload.errors.KnownException
 import io.airbyte.workload.errors.NotFoundException
 import io.airbyte.workload.repository.WorkloadQueueRepository
 import io.airbyte.workload.repository.WorkloadRepository
 import io.airbyte.workload.repository.domain.WorkloadStatus
 import io.airbyte.workload.services.WorkloadService
+import io.airbyte.workload.services.WorkloadServiceException
 import io.airbyte.workload.signal.SignalSender
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Property
 import jakarta.inject.Singleton
 import java.time.Duration
 import java.time.OffsetDateTime
+import java.util.Optional
 import java.util.UUID
 import io.airbyte.workload.repository.domain.Workload as DomainWorkload
 
 private val logger = KotlinLogging.logger {}
 
+private const val ORGANIZATION_ID_CACHE_SIZE = 100_000L
+private val ORGANIZATION_ID_CACHE_EXPIRY = Duration.ofHours(1)
+
 /**
  * Interface layer between the API and Persistence layers.
  */
@@ -45,6 +53,14 @@ class WorkloadHandlerImpl(
   private val featureFlagClient: FeatureFlagClient,
   @Property(name = "airbyte.workload-api.workload-redelivery-window") private val workloadRedeliveryWindow: Duration,
 ) : WorkloadHandler {
+  // Workloads that are not found are not cached, so that their lookups keep failing.
+  private val organizationIds: Cache<String, Optional<UUID>> =
+    Caffeine
+      .newBuilder()
+      .maximumSize(ORGANIZATION_ID_CACHE_SIZE)
+      .expireAfterAccess(ORGANIZATION_ID_CACHE_EXPIRY)
+      .build()
+
   override fun getWorkload(workloadId: String): ApiWorkload = getDomainWorkload(workloadId).toApi()
 
   private fun getDomainWorkload(workloadId: String): DomainWorkload =
@@ -170,6 +186,15 @@ class WorkloadHandlerImpl(
     }
   }
 
+  override fun heartbeatAll(deadlines: Map<String, OffsetDateTime>): Map<String, KnownException> =
+    workloadService.heartbeatWorkloads(deadlines).mapValues { it.value.toKnownException() }
+
+  override fun getWorkloadOrganizationIds(workloadIds: List<String>): List<UUID> =
+    if (workloadIds.isEmpty()) listOf() else workloadRepository.findOrganizationIds(workloadIds)
+
+  override fun getWorkloadOrganizationId(workloadId: String): UUID? =
+    organizationIds.get(workloadId) { Optional.ofNullable(getDomainWorkload(it).organizationId) }.orElse(null)
+
   fun offsetDateTime(): OffsetDateTime = OffsetDateTime.now()
 
   override fun getWorkloadsRunningCreatedBefore(
@@ -204,6 +229,27 @@ class WorkloadHandlerImpl(
     return domainWorkloads.map { it.toApi() }
   }
 
+  override fun pollAndClaimWorkloads(
+    dataplaneGroup: String?,
+    priority: WorkloadPriority?,
+    dataplaneId: String,
+    quantity: Int,
+    deadline: OffsetDateTime,
+  ): List<Workload> {
+    val claimed =
+      workloadQueueRepository.pollAndClaimWorkloads(
+        dataplaneGroup,
+        priority?.toInt(),
+        dataplaneId,
+        deadline,
+        quantity,
+        redeliveryWindowSecs = workloadRedeliveryWindow.seconds.toInt(),
+      )
+    claimed.forEach { emitTimeToTransitionMetric(it, WorkloadStatus.CLAIMED) }
+
+    return claimed.map { it.toApi() }
+  }
+
   override fun countWorkloadQueueDepth(
     dataplaneGroup: String?,
     priority: WorkloadPriority?,
@@ -261,12 +307,15 @@ class WorkloadHandlerImpl(
   private fun <T> withWorkloadServiceExceptionConverter(f: () -> T): T {
     try {
       return f()
-    } catch (e: io.airbyte.workload.services.ConflictException) {
-      throw ConflictException(e.message)
-    } catch (e: io.airbyte.workload.services.InvalidStatusTransitionException) {
-      throw InvalidStatusTransitionException(e.message)
-    } catch (e: io.airbyte.workload.services.NotFoundException) {
-      throw NotFoundException(e.message)
+    } catch (e: WorkloadServiceException) {
+      throw e.toKnownException()
     }
   }
+
+  private fun WorkloadServiceException.toKnownException(): KnownException =
+    when (this) {
+      is io.airbyte.workload.services.ConflictException -> ConflictException(message)
+      is io.airbyte.workload.services.InvalidStatusTransitionException -> InvalidStatusTransitionException(message)
+      is io.airbyte.workload.services.NotFoundException -> NotFoundException(message)
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.micronaut.context.annotation.Property
+import io.micronaut.scheduling.TaskExecutors
+import jakarta.inject.Named
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.time.OffsetDateTime
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Buffers the heartbeats received during [window], and applies them with a single update through
+ * [WorkloadHandler.heartbeatAll], rather than with an update per heartbeat.
+ * <p />
+ * A batch is applied as soon as it holds [maxBatchSize] workloads. The heartbeats of a workload received in the same
+ * window are applied once, with the latest deadline. Each heartbeat completes with the outcome of its workload, so the
+ * callers still learn which workloads are gone.
+ */
+@Singleton
+class WorkloadHeartbeatCoalescer(
+  private val workloadHandler: WorkloadHandler,
+  @Named(TaskExecutors.IO) private val executor: ExecutorService,
+  @Property(name = "airbyte.workload-api.heartbeat-batch.window") window: Duration,
+  @Property(name = "airbyte.workload-api.heartbeat-batch.max-size") private val maxBatchSize: Int,
+) {
+  private class PendingHeartbeat(
+    var deadline: OffsetDateTime,
+  ) {
+    val callers = mutableListOf<CompletableFuture<Unit>>()
+  }
+
+  private val delayedExecutor: Executor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, executor)
+  private val lock = Any()
+  private var pending = LinkedHashMap<String, PendingHeartbeat>()
+  private var flushScheduled = false
+
+  fun heartbeat(
+    workloadId: String,
+    deadline: OffsetDateTime,
+  ): CompletableFuture<Unit> {
+    val result = CompletableFuture<Unit>()
+    var fullBatch: Map<String, PendingHeartbeat>? = null
+    var scheduleFlush = false
+    synchronized(lock) {
+      val heartbeat = pending.getOrPut(workloadId) { PendingHeartbeat(deadline) }
+      if (deadline.isAfter(heartbeat.deadline)) {
+        heartbeat.deadline = deadline
+      }
+      heartbeat.callers.add(result)
+
+      if (pending.size >= maxBatchSize) {
+        fullBatch = pending
+        pending = LinkedHashMap()
+      } else if (!flushScheduled) {
+        flushScheduled = true
+        scheduleFlush = true
+      }
+    }
+
+    fullBatch?.let { batch -> executor.execute { apply(batch) } }
+    if (scheduleFlush) {
+      delayedExecutor.execute { flushPending() }
+    }
+    return result
+  }
+
+  private fun flushPending() {
+    val batch =
+      synchronized(lock) {
+        flushScheduled = false
+        pending.also { pending = LinkedHashMap() }
+      }
+    apply(batch)
+  }
+
+  private fun apply(batch: Map<String, PendingHeartbeat>) {
+    if (batch.isEmpty()) {
+      return
+    }
+
+    val errors =
+      try {
+        workloadHandler.heartbeatAll(batch.mapValues { it.value.deadline })
+      } catch (e: Throwable) {
+        batch.values.forEach { heartbeat -> heartbeat.callers.forEach { it.completeExceptionally(e) } }
+        return
+      }
+
+    batch.forEach { (workloadId, heartbeat) ->
+      val error = errors[workloadId]
+      heartbeat.callers.forEach { if (error == null) it.complete(Unit) else it.completeExceptionally(error) }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.config.WorkloadPriority
+import io.airbyte.workload.api.domain.Workload
+import io.airbyte.workload.common.WorkloadQueueSignal
+import io.micronaut.context.annotation.Property
+import io.micronaut.scheduling.TaskExecutors
+import jakarta.inject.Named
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeUnit
+
+/**
+ * Polls the workload queue, waiting for workloads to be enqueued when there is none to poll.
+ * <p />
+ * The queue is polled again as soon as this instance enqueues a matching workload, and every [recheckInterval] to see
+ * the workloads enqueued by other instances and the ones to redeliver. No thread is held while waiting: the io executor
+ * is sized to the database pool and must not be blocked by idle polls.
+ */
+@Singleton
+class WorkloadQueueLongPoller(
+  private val workloadHandler: WorkloadHandler,
+  private val workloadQueueSignal: WorkloadQueueSignal,
+  @Named(TaskExecutors.IO) private val executor: ExecutorService,
+  @Property(name = "airbyte.workload-api.queue-long-poll.recheck-interval") private val recheckInterval: Duration,
+  @Property(name = "airbyte.workload-api.queue-long-poll.max-timeout") private val maxTimeout: Duration,
+) {
+  /**
+   * Returns the polled workloads once there are some, or an empty list after [timeout], capped to the max timeout.
+   */
+  fun poll(
+    dataplaneGroup: String?,
+    priority: WorkloadPriority?,
+    quantity: Int,
+    timeout: Duration,
+  ): CompletableFuture<List<Workload>> {
+    val deadline = System.nanoTime() + minOf(timeout, maxTimeout).toNanos()
+    return pollUntil(dataplaneGroup, priority, quantity, deadline)
+  }
+
+  private fun pollUntil(
+    dataplaneGroup: String?,
+    priority: WorkloadPriority?,
+    quantity: Int,
+    deadline: Long,
+  ): CompletableFuture<List<Workload>> {
+    // Subscribed to before polling, so that a workload enqueued in between isn't missed.
+    val enqueued = workloadQueueSignal.nextEnqueue(dataplaneGroup, priority)
+    val workloads =
+      try {
+        workloadHandler.pollWorkloadQueue(dataplaneGroup, priority, quantity)
+      } catch (e: Exception) {
+        enqueued.cancel(false)
+        return CompletableFuture.failedFuture(e)
+      }
+
+    val remaining = deadline - System.nanoTime()
+    if (workloads.isNotEmpty() || remaining <= 0) {
+      enqueued.cancel(false)
+      return CompletableFuture.completedFuture(workloads)
+    }
+
+    return enqueued
+      .completeOnTimeout(Unit, minOf(remaining, recheckInterval.toNanos()), TimeUnit.NANOSECONDS)
+      .thenComposeAsync({ pollUntil(dataplaneGroup, priority, quantity, deadline) }, executor)
+  }
+}
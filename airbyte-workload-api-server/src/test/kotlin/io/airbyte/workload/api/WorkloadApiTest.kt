@@ -10,12 +10,17 @@ import io.airbyte.commons.server.authorization.RoleResolver
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.data.services.DataplaneGroupService
 import io.airbyte.workload.api.domain.KnownExceptionInfo
+import io.airbyte.workload.api.domain.WorkloadArchiveRequest
 import io.airbyte.workload.api.domain.WorkloadCancelRequest
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadCreateRequest
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchRequest
+import io.airbyte.workload.api.domain.WorkloadHeartbeatBatchResponse
 import io.airbyte.workload.api.domain.WorkloadHeartbeatRequest
 import io.airbyte.workload.api.domain.WorkloadListRequest
+import io.airbyte.workload.api.domain.WorkloadQueueClaimRequest
+import io.airbyte.workload.api.domain.WorkloadQueueLongPollRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
 import io.airbyte.workload.api.domain.WorkloadQueueQueryRequest
 import io.airbyte.workload.api.domain.WorkloadRunningRequest
@@ -24,6 +29,7 @@ import io.airbyte.workload.common.WorkloadQueueService
 import io.airbyte.workload.errors.InvalidStatusTransitionException
 import io.airbyte.workload.errors.NotFoundException
 import io.airbyte.workload.handler.ApiWorkload
+import io.airbyte.workload.handler.WorkloadArchiver
 import io.airbyte.workload.handler.WorkloadHandler
 import io.airbyte.workload.handler.WorkloadHandlerImpl
 import io.micrometer.core.instrument.MeterRegistry
@@ -87,6 +93,12 @@ class WorkloadApiTest(
   @Replaces(DataplaneGroupService::class)
   fun dataplaneGroupService(): DataplaneGroupService = dataplaneGroupService
 
+  private val workloadArchiver = mockk<WorkloadArchiver>()
+
+  @MockBean(WorkloadArchiver::class)
+  @Replaces(WorkloadArchiver::class)
+  fun workloadArchiver(): WorkloadArchiver = workloadArchiver
+
   @Test
   fun `test create success`() {
     every { workloadHandler.workloadAlreadyExists(any()) } returns false
@@ -156,16 +168,16 @@ class WorkloadApiTest(
 
   @Test
   fun `test heartbeat success`() {
-    every { workloadHandler.heartbeat(any(), any()) }.returns(Unit)
-    every { workloadHandler.getWorkload(any()) } returns ApiWorkload()
+    every { workloadHandler.heartbeatAll(any()) }.returns(mapOf())
+    every { workloadHandler.getWorkloadOrganizationId(any()) } returns null
     testEndpointStatus(HttpRequest.PUT("/api/v1/workload/heartbeat", Jsons.serialize(WorkloadHeartbeatRequest())), HttpStatus.NO_CONTENT)
   }
 
   @Test
   fun `test heartbeat workload id not found`() {
     val exceptionMessage = "workload id not found"
-    every { workloadHandler.heartbeat(any(), any()) } throws NotFoundException(exceptionMessage)
-    every { workloadHandler.getWorkload(any()) } returns ApiWorkload()
+    every { workloadHandler.heartbeatAll(any()) } returns mapOf("" to NotFoundException(exceptionMessage))
+    every { workloadHandler.getWorkloadOrganizationId(any()) } returns null
     testErrorEndpointResponse(
       HttpRequest.PUT("/api/v1/workload/heartbeat", WorkloadHeartbeatRequest()),
       HttpStatus.NOT_FOUND,
@@ -176,8 +188,8 @@ class WorkloadApiTest(
   @Test
   fun `test heartbeat workload in invalid status`() {
     val exceptionMessage = "workload in invalid status"
-    every { workloadHandler.heartbeat(any(), any()) } throws InvalidStatusTransitionException(exceptionMessage)
-    every { workloadHandler.getWorkload(any()) } returns ApiWorkload()
+    every { workloadHandler.heartbeatAll(any()) } returns mapOf("" to InvalidStatusTransitionException(exceptionMessage))
+    every { workloadHandler.getWorkloadOrganizationId(any()) } returns null
     testErrorEndpointResponse(
       HttpRequest.PUT("/api/v1/workload/heartbeat", WorkloadHeartbeatRequest()),
       HttpStatus.GONE,
@@ -185,6 +197,37 @@ class WorkloadApiTest(
     )
   }
 
+  @Test
+  fun `test heartbeat batch reports the workloads to stop`() {
+    every { workloadHandler.getWorkloadOrganizationIds(any()) } returns listOf(UUID.randomUUID())
+    every { workloadHandler.heartbeatAll(any()) } returns
+      mapOf(
+        "gone" to InvalidStatusTransitionException("gone"),
+        "unknown" to NotFoundException("unknown"),
+      )
+
+    val response =
+      client
+        .toBlocking()
+        .retrieve(
+          HttpRequest.PUT(
+            "/api/v1/workload/heartbeat/batch",
+            WorkloadHeartbeatBatchRequest(
+              listOf(
+                WorkloadHeartbeatRequest("running"),
+                WorkloadHeartbeatRequest("gone"),
+                WorkloadHeartbeatRequest("unknown"),
+              ),
+            ),
+          ),
+          WorkloadHeartbeatBatchResponse::class.java,
+        )
+
+    assertEquals(listOf("gone"), response.goneWorkloadIds)
+    assertEquals(listOf("unknown"), response.notFoundWorkloadIds)
+    verify(exactly = 1) { workloadHandler.heartbeatAll(match { it.keys == setOf("running", "gone", "unknown") }) }
+  }
+
   @Test
   fun `test list success`() {
     every { workloadHandler.getWorkloads(any(), any(), any()) }.returns(emptyList())
@@ -329,6 +372,36 @@ class WorkloadApiTest(
     testEndpointStatus(HttpRequest.POST("/api/v1/workload/queue/poll", req), HttpStatus.OK)
   }
 
+  @Test
+  fun `long poll workloads happy path`() {
+    val req =
+      WorkloadQueueLongPollRequest(
+        dataplaneGroup = UUID.randomUUID().toString(),
+        priority = WorkloadPriority.DEFAULT,
+        quantity = 10,
+        timeoutSeconds = 0,
+      )
+
+    every { dataplaneGroupService.getOrganizationIdFromDataplaneGroup(any()) } returns UUID.randomUUID()
+    every { workloadHandler.pollWorkloadQueue(req.dataplaneGroup, req.priority, 10) }.returns(emptyList())
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/queue/long-poll", req), HttpStatus.OK)
+  }
+
+  @Test
+  fun `claim workloads from the queue happy path`() {
+    val req =
+      WorkloadQueueClaimRequest(
+        dataplaneGroup = UUID.randomUUID().toString(),
+        priority = WorkloadPriority.DEFAULT,
+        dataplaneId = "dataplane-id",
+        quantity = 10,
+      )
+
+    every { dataplaneGroupService.getOrganizationIdFromDataplaneGroup(any()) } returns UUID.randomUUID()
+    every { workloadHandler.pollAndClaimWorkloads(req.dataplaneGroup, req.priority, "dataplane-id", 10, any()) }.returns(emptyList())
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/queue/claim", req), HttpStatus.OK)
+  }
+
   @Test
   fun `count queue depth happy path`() {
     val req =
@@ -348,6 +421,13 @@ class WorkloadApiTest(
     testEndpointStatus(HttpRequest.GET("/api/v1/workload/queue/stats"), HttpStatus.OK)
   }
 
+  @Test
+  fun `archive workloads happy path`() {
+    every { workloadArchiver.archive(500, any()) } returns 10
+    testEndpointStatus(HttpRequest.POST("/api/v1/workload/archive", WorkloadArchiveRequest(500)), HttpStatus.OK)
+    verify(exactly = 1) { workloadArchiver.archive(500, any()) }
+  }
+
   private fun testEndpointStatus(
     request: HttpRequest<Any>,
     expectedStatus: HttpStatus,
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.workload.repository.WorkloadRepository
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.jooq.DSLContext
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.time.OffsetDateTime
+import java.time.YearMonth
+import java.time.ZoneOffset
+
+class WorkloadArchiverTest {
+  private val workloadRepository: WorkloadRepository = mockk()
+  private val dslContext: DSLContext = mockk()
+  private val statements = mutableListOf<String>()
+
+  private val archiver = WorkloadArchiver(workloadRepository, dslContext, Duration.ofDays(7), 3)
+
+  init {
+    every { dslContext.execute(any<String>()) } answers {
+      statements.add(firstArg())
+      0
+    }
+  }
+
+  @Test
+  fun `archives the workloads that ended before the archive delay`() {
+    every { workloadRepository.findArchivePartitions() } returns listOf("workload_archive_p2026_10", "workload_archive_p2026_11")
+    every { workloadRepository.archiveEndedWorkloads(NOW.minusDays(7), 100) } returns 42
+
+    assertEquals(42, archiver.archive(100, NOW))
+
+    verify(exactly = 1) { workloadRepository.archiveEndedWorkloads(NOW.minusDays(7), 100) }
+    assertEquals(emptyList<String>(), statements)
+  }
+
+  @Test
+  fun `creates the missing partitions of this month and the next one`() {
+    every { workloadRepository.findArchivePartitions() } returns listOf("workload_archive_p2026_10")
+    every { workloadRepository.archiveEndedWorkloads(any(), any()) } returns 0
+
+    archiver.archive(100, NOW)
+
+    assertEquals(
+      listOf(
+        "CREATE TABLE IF NOT EXISTS workload_archive_p2026_11 PARTITION OF workload_archive " +
+          "FOR VALUES FROM ('2026-11-01 00:00:00+00') TO ('2026-12-01 00:00:00+00')",
+      ),
+      statements,
+    )
+  }
+
+  @Test
+  fun `drops the partitions older than the retention`() {
+    every { workloadRepository.findArchivePartitions() } returns
+      listOf(
+        "workload_archive_p2026_06",
+        "workload_archive_p2026_07",
+        "workload_archive_p2026_10",
+        "workload_archive_p2026_11",
+        "workload_archive_default",
+      )
+    every { workloadRepository.archiveEndedWorkloads(any(), any()) } returns 0
+
+    archiver.archive(100, NOW)
+
+    assertEquals(
+      listOf(
+        "ALTER TABLE workload_archive DETACH PARTITION workload_archive_p2026_06",
+        "DROP TABLE IF EXISTS workload_archive_p2026_06",
+      ),
+      statements,
+    )
+  }
+
+  @Test
+  fun `partition names map to their month`() {
+    assertEquals("workload_archive_p2026_01", WorkloadArchiver.partitionName(YearMonth.of(2026, 1)))
+    assertEquals(YearMonth.of(2026, 1), WorkloadArchiver.partitionMonth("workload_archive_p2026_01"))
+    assertNull(WorkloadArchiver.partitionMonth("workload_archive_default"))
+  }
+
+  companion object {
+    private val NOW = OffsetDateTime.of(2026, 10, 18, 12, 0, 0, 0, ZoneOffset.UTC)
+  }
+}
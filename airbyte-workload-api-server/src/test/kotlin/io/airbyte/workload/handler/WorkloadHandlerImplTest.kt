@@ -110,6 +110,42 @@ class WorkloadHandlerImplTest {
     assertThrows<NotFoundException> { workloadHandler.getWorkload(WORKLOAD_ID) }
   }
 
+  @Test
+  fun `getWorkloadOrganizationId only reads the workload once`() {
+    // The handler is shared across tests, so use a workload id no other test caches.
+    val workloadId = UUID.randomUUID().toString()
+    val organizationId = UUID.randomUUID()
+    val domainWorkload =
+      Workload(
+        id = workloadId,
+        dataplaneId = null,
+        status = WorkloadStatus.RUNNING,
+        workloadLabels = null,
+        inputPayload = "",
+        workspaceId = UUID.randomUUID(),
+        organizationId = organizationId,
+        logPath = "/",
+        mutexKey = null,
+        type = WorkloadType.SYNC,
+        autoId = UUID.randomUUID(),
+        signalInput = "",
+      )
+
+    every { workloadRepository.findById(workloadId) }.returns(Optional.of(domainWorkload))
+    assertEquals(organizationId, workloadHandler.getWorkloadOrganizationId(workloadId))
+    assertEquals(organizationId, workloadHandler.getWorkloadOrganizationId(workloadId))
+    verify(exactly = 1) { workloadRepository.findById(workloadId) }
+  }
+
+  @Test
+  fun `getWorkloadOrganizationId doesn't cache missing workloads`() {
+    val workloadId = UUID.randomUUID().toString()
+    every { workloadRepository.findById(workloadId) }.returns(Optional.empty())
+    assertThrows<NotFoundException> { workloadHandler.getWorkloadOrganizationId(workloadId) }
+    assertThrows<NotFoundException> { workloadHandler.getWorkloadOrganizationId(workloadId) }
+    verify(exactly = 2) { workloadRepository.findById(workloadId) }
+  }
+
   @Test
   fun `createWorkload saves the expected workload`() {
     val workloadLabel1 = WorkloadLabel("key1", "value1")
@@ -280,6 +316,21 @@ class WorkloadHandlerImplTest {
     assertThrows<InvalidStatusTransitionException> { workloadHandler.heartbeat(WORKLOAD_ID, now) }
   }
 
+  @Test
+  fun `verify batch heartbeat failure exceptions are converted`() {
+    every { workloadService.heartbeatWorkloads(any()) } returns
+      mapOf(
+        "gone" to io.airbyte.workload.services.InvalidStatusTransitionException("gone"),
+        "unknown" to io.airbyte.workload.services.NotFoundException("unknown"),
+      )
+
+    val errors = workloadHandler.heartbeatAll(mapOf(WORKLOAD_ID to now, "gone" to now, "unknown" to now))
+
+    assertEquals(2, errors.size)
+    assertTrue(errors["gone"] is InvalidStatusTransitionException)
+    assertTrue(errors["unknown"] is NotFoundException)
+  }
+
   @Test
   fun `claiming a workload unsuccesfully returns false`() {
     every { workloadRepository.claim(WORKLOAD_ID, any(), any()) }.returns(null)
@@ -416,6 +467,21 @@ class WorkloadHandlerImplTest {
     assertEquals(expected, result)
   }
 
+  @ParameterizedTest
+  @MethodSource("pendingWorkloadMatrix")
+  fun `poll and claim workloads returns the claimed workloads`(
+    group: String,
+    priority: Int,
+    domainWorkloads: List<Workload>,
+  ) {
+    val deadline = OffsetDateTime.now()
+    every { workloadQueueRepository.pollAndClaimWorkloads(group, priority, DATAPLANE_ID, deadline, 10, any()) }.returns(domainWorkloads)
+    val result = workloadHandler.pollAndClaimWorkloads(group, WorkloadPriority.fromInt(priority), DATAPLANE_ID, 10, deadline)
+    val expected = domainWorkloads.map { it.toApi() }
+
+    assertEquals(expected, result)
+  }
+
   @ParameterizedTest
   @MethodSource("countPendingWorkloadMatrix")
   fun `count workload queue depth returns count of enqueued workloads (separate table enabled)`(
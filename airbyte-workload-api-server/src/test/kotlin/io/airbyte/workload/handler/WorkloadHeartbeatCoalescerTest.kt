@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.workload.errors.InvalidStatusTransitionException
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.time.Duration
+import java.time.OffsetDateTime
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class WorkloadHeartbeatCoalescerTest {
+  private val workloadHandler: WorkloadHandler = mockk()
+  private val executor = Executors.newFixedThreadPool(2)
+  private val now = OffsetDateTime.now()
+
+  @AfterEach
+  fun tearDown() {
+    executor.shutdownNow()
+  }
+
+  @Test
+  fun `applies the heartbeats of a window together`() {
+    every { workloadHandler.heartbeatAll(any()) } returns mapOf()
+    val coalescer = WorkloadHeartbeatCoalescer(workloadHandler, executor, Duration.ofMillis(100), 100)
+
+    val heartbeats =
+      listOf(
+        coalescer.heartbeat("workload-1", now.plusMinutes(1)),
+        coalescer.heartbeat("workload-2", now.plusMinutes(1)),
+        coalescer.heartbeat("workload-1", now.plusMinutes(2)),
+      )
+    heartbeats.forEach { it.get(5, TimeUnit.SECONDS) }
+
+    verify(exactly = 1) {
+      workloadHandler.heartbeatAll(mapOf("workload-1" to now.plusMinutes(2), "workload-2" to now.plusMinutes(1)))
+    }
+  }
+
+  @Test
+  fun `applies a full batch without waiting for the window`() {
+    every { workloadHandler.heartbeatAll(any()) } returns mapOf()
+    val coalescer = WorkloadHeartbeatCoalescer(workloadHandler, executor, Duration.ofHours(1), 2)
+
+    val heartbeats = listOf(coalescer.heartbeat("workload-1", now), coalescer.heartbeat("workload-2", now))
+    heartbeats.forEach { it.get(5, TimeUnit.SECONDS) }
+
+    verify(exactly = 1) { workloadHandler.heartbeatAll(mapOf("workload-1" to now, "workload-2" to now)) }
+  }
+
+  @Test
+  fun `fails the heartbeats of the workloads that can't be heartbeated`() {
+    every { workloadHandler.heartbeatAll(any()) } returns mapOf("gone" to InvalidStatusTransitionException("gone"))
+    val coalescer = WorkloadHeartbeatCoalescer(workloadHandler, executor, Duration.ofMillis(10), 100)
+
+    val running = coalescer.heartbeat("running", now)
+    val gone = coalescer.heartbeat("gone", now)
+
+    running.get(5, TimeUnit.SECONDS)
+    val e = assertThrows<ExecutionException> { gone.get(5, TimeUnit.SECONDS) }
+    assertTrue(e.cause is InvalidStatusTransitionException)
+  }
+
+  @Test
+  fun `fails all the heartbeats of a batch that couldn't be applied`() {
+    every { workloadHandler.heartbeatAll(any()) } throws IllegalStateException("db down")
+    val coalescer = WorkloadHeartbeatCoalescer(workloadHandler, executor, Duration.ofMillis(10), 100)
+
+    val heartbeats = listOf(coalescer.heartbeat("workload-1", now), coalescer.heartbeat("workload-2", now))
+
+    heartbeats.forEach {
+      val e = assertThrows<ExecutionException> { it.get(5, TimeUnit.SECONDS) }
+      assertEquals("db down", e.cause?.message)
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.handler
+
+import io.airbyte.config.WorkloadPriority
+import io.airbyte.workload.common.WorkloadQueueSignal
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class WorkloadQueueLongPollerTest {
+  private val workloadHandler: WorkloadHandler = mockk()
+  private val workloadQueueSignal = WorkloadQueueSignal()
+  private val executor = Executors.newSingleThreadExecutor()
+
+  private val workloads = listOf(ApiWorkload(id = "workload-1"))
+
+  @AfterEach
+  fun tearDown() {
+    executor.shutdownNow()
+  }
+
+  @Test
+  fun `returns the polled workloads without waiting`() {
+    every { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) } returns workloads
+
+    val result = longPoller(recheckInterval = Duration.ofHours(1)).poll(GROUP, PRIORITY, QUANTITY, Duration.ofHours(1))
+
+    assertEquals(workloads, result.get(0, TimeUnit.SECONDS))
+  }
+
+  @Test
+  fun `polls again when a workload is enqueued`() {
+    every { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) } returns emptyList() andThen workloads
+
+    val result = longPoller(recheckInterval = Duration.ofHours(1)).poll(GROUP, PRIORITY, QUANTITY, Duration.ofHours(1))
+    assertFalse(result.isDone)
+
+    workloadQueueSignal.signal(GROUP, PRIORITY)
+
+    assertEquals(workloads, result.get(5, TimeUnit.SECONDS))
+    verify(exactly = 2) { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) }
+  }
+
+  @Test
+  fun `polls again after the recheck interval`() {
+    every { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) } returns emptyList() andThen emptyList() andThen workloads
+
+    val result = longPoller(recheckInterval = Duration.ofMillis(10)).poll(GROUP, PRIORITY, QUANTITY, Duration.ofHours(1))
+
+    assertEquals(workloads, result.get(5, TimeUnit.SECONDS))
+    verify(exactly = 3) { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) }
+  }
+
+  @Test
+  fun `returns nothing after the timeout`() {
+    every { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) } returns emptyList()
+
+    val result = longPoller(recheckInterval = Duration.ofHours(1)).poll(GROUP, PRIORITY, QUANTITY, Duration.ofMillis(50))
+
+    assertTrue(result.get(5, TimeUnit.SECONDS).isEmpty())
+    assertEquals(0, workloadQueueSignal.waiterCount())
+  }
+
+  @Test
+  fun `caps the timeout`() {
+    every { workloadHandler.pollWorkloadQueue(GROUP, PRIORITY, QUANTITY) } returns emptyList()
+
+    val result =
+      longPoller(recheckInterval = Duration.ofHours(1), maxTimeout = Duration.ofMillis(50))
+        .poll(GROUP, PRIORITY, QUANTITY, Duration.ofHours(1))
+
+    assertTrue(result.get(5, TimeUnit.SECONDS).isEmpty())
+  }
+
+  private fun longPoller(
+    recheckInterval: Duration,
+    maxTimeout: Duration = Duration.ofHours(1),
+  ) = WorkloadQueueLongPoller(workloadHandler, workloadQueueSignal, executor, recheckInterval, maxTimeout)
+
+  companion object {
+    private const val GROUP = "dataplane-group"
+    private const val QUANTITY = 10
+    private val PRIORITY = WorkloadPriority.DEFAULT
+  }
+}
@@ -10,12 +10,12 @@ import dev.failsafe.function.CheckedSupplier
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.workload.launcher.pods.JobPodInformer
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.KUBECTL_COMPLETED_VALUE
 import io.airbyte.workload.launcher.pods.KubePodLauncher.Constants.KUBECTL_RUNNING_VALUE
 import io.airbyte.workload.launcher.pods.PodLabeler.LabelKeys.SWEEPER_LABEL_KEY
 import io.airbyte.workload.launcher.pods.PodLabeler.LabelKeys.SWEEPER_LABEL_VALUE
 import io.fabric8.kubernetes.api.model.Pod
-import io.fabric8.kubernetes.api.model.PodList
 import io.fabric8.kubernetes.client.KubernetesClient
 import io.github.oshai.kotlinlogging.KotlinLogging
 import io.micronaut.context.annotation.Value
@@ -36,6 +36,7 @@ import kotlin.time.toJavaDuration
  * @param runningTtl If non-null, running pods older than now - runningTtl will be deleted
  * @param succeededTtl If non-null, succeeded pods older than now - succeededTtl will be deleted
  * @param unsuccessfulTtl If non-null, failed/unknown pods older than now - unsuccessfulTtl will be deleted
+ * @param jobPodInformer If non-null, the pods are read from its cache rather than listed on each cycle
  */
 private val logger = KotlinLogging.logger {}
 private const val DELETE_TIMEOUT_MINUTES = 1L
@@ -50,6 +51,7 @@ class PodSweeper(
   @Value("\${airbyte.pod-sweeper.runningTtl}") private val runningTtl: Long? = null,
   @Value("\${airbyte.pod-sweeper.succeededTtl}") private val succeededTtl: Long? = null,
   @Value("\${airbyte.pod-sweeper.unsuccessfulTtl}") private val unsuccessfulTtl: Long? = null,
+  private val jobPodInformer: JobPodInformer? = null,
 ) {
   @Scheduled(fixedRate = "\${airbyte.pod-sweeper.rate}")
   fun sweepPods() {
@@ -71,14 +73,16 @@ class PodSweeper(
     }
 
     // List pods labeled 'airbyte=job-pod'
-    val podList: PodList =
-      kubernetesClient
-        .pods()
-        .inNamespace(namespace)
-        .withLabel(SWEEPER_LABEL_KEY, SWEEPER_LABEL_VALUE)
-        .list()
-
-    for (pod in podList.items) {
+    val pods: List<Pod> =
+      jobPodInformer?.pods()
+        ?: kubernetesClient
+          .pods()
+          .inNamespace(namespace)
+          .withLabel(SWEEPER_LABEL_KEY, SWEEPER_LABEL_VALUE)
+          .list()
+          .items
+
+    for (pod in pods) {
       val phase = pod.status?.phase
       if (phase == null) {
         // If there's no status or phase, skip
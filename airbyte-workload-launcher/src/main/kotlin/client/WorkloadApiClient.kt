@@ -12,6 +12,8 @@ import io.airbyte.workload.api.domain.Workload
 import io.airbyte.workload.api.domain.WorkloadClaimRequest
 import io.airbyte.workload.api.domain.WorkloadFailureRequest
 import io.airbyte.workload.api.domain.WorkloadLaunchedRequest
+import io.airbyte.workload.api.domain.WorkloadQueueClaimRequest
+import io.airbyte.workload.api.domain.WorkloadQueueLongPollRequest
 import io.airbyte.workload.api.domain.WorkloadQueuePollRequest
 import io.airbyte.workload.launcher.authn.DataplaneIdentityService
 import io.github.oshai.kotlinlogging.KotlinLogging
@@ -102,4 +104,47 @@ class WorkloadApiClient(
 
     return resp.workloads
   }
+
+  /**
+   * Like [pollQueue], but waits up to [timeoutSeconds] for workloads to be enqueued when there is none.
+   */
+  fun longPollQueue(
+    groupId: String?,
+    priority: WorkloadPriority?,
+    pollSizeItems: Int,
+    timeoutSeconds: Long,
+  ): List<Workload> {
+    val req =
+      WorkloadQueueLongPollRequest(
+        quantity = pollSizeItems,
+        dataplaneGroup = groupId,
+        priority = priority,
+        timeoutSeconds = timeoutSeconds,
+      )
+
+    val resp = workloadApiClient.longPollWorkloadQueue(req)
+
+    return resp.workloads
+  }
+
+  /**
+   * Polls up to [quantity] workloads and claims them for this dataplane in a single call. Returns the claimed workloads.
+   */
+  fun claimFromQueue(
+    groupId: String?,
+    priority: WorkloadPriority?,
+    quantity: Int,
+  ): List<Workload> {
+    val req =
+      WorkloadQueueClaimRequest(
+        dataplaneGroup = groupId,
+        priority = priority,
+        dataplaneId = identityService.getDataplaneId(),
+        quantity = quantity,
+      )
+
+    val resp = workloadApiClient.claimWorkloadQueue(req)
+
+    return resp.workloads
+  }
 }
@@ -8,12 +8,15 @@ import dev.failsafe.RetryPolicy
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.workload.launcher.metrics.ReactorMetricsWrapper
 import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
 import io.micronaut.context.annotation.Factory
 import io.micronaut.context.annotation.Value
 import jakarta.inject.Named
 import jakarta.inject.Singleton
 import okhttp3.internal.http2.StreamResetException
+import reactor.core.scheduler.Scheduler
+import reactor.core.scheduler.Schedulers
 import java.io.IOException
 import java.net.SocketTimeoutException
 import java.time.Duration
@@ -90,6 +93,21 @@ class ApplicationBeanFactory {
       .withMaxRetries(maxRetries)
       .build()
 
+  /**
+   * Runs the stages of the launch pipeline that block on the Kube api, so that a slow pod start doesn't hold the
+   * threads the workloads of the queues are consumed on.
+   */
+  @Singleton
+  @Named("kubeStageScheduler")
+  fun kubeStageScheduler(
+    reactorMetricsWrapper: ReactorMetricsWrapper,
+    @Value("\${airbyte.workload-launcher.parallelism.kube-stages}") parallelism: Int,
+  ): Scheduler =
+    reactorMetricsWrapper.asTimedScheduler(
+      scheduler = Schedulers.newBoundedElastic(parallelism, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, KUBE_STAGE_SCHEDULER_NAME),
+      metricPrefix = KUBE_STAGE_SCHEDULER_METRIC_PREFIX,
+    )
+
   @Singleton
   @Named("claimedProcessorBackoffDuration")
   fun claimedProcessorBackoffDuration() = 5.seconds.toJavaDuration()
@@ -97,4 +115,9 @@ class ApplicationBeanFactory {
   @Singleton
   @Named("claimedProcessorBackoffMaxDelay")
   fun claimedProcessorBackoffMaxDelay() = 60.seconds.toJavaDuration()
+
+  companion object {
+    const val KUBE_STAGE_SCHEDULER_NAME = "kube-stages"
+    const val KUBE_STAGE_SCHEDULER_METRIC_PREFIX = "workload_launcher_kube_stages"
+  }
 }
@@ -24,6 +24,8 @@ class WorkloadApiQueueBeanFactory {
     featureFlagClient: FeatureFlagClient,
     @Value("\${airbyte.workload-launcher.consumer.high-priority-queue.poll-size-items}") pollSizeItems: Int,
     @Value("\${airbyte.workload-launcher.consumer.high-priority-queue.poll-interval-seconds}") pollIntervalSeconds: Long,
+    @Value("\${airbyte.workload-launcher.consumer.high-priority-queue.long-poll-timeout-seconds}") longPollTimeoutSeconds: Long,
+    @Value("\${airbyte.workload-launcher.parallelism.high-priority-queue}") parallelism: Int,
   ): WorkloadApiQueuePoller =
     WorkloadApiQueuePoller(
       workloadApiClient,
@@ -32,6 +34,9 @@ class WorkloadApiQueueBeanFactory {
       pollSizeItems,
       pollIntervalSeconds,
       WorkloadPriority.HIGH,
+      longPollTimeoutSeconds,
+      // Claims no more workloads than the queue launches at once, so they don't wait for long once claimed.
+      parallelism,
     )
 
   @Singleton
@@ -42,6 +47,8 @@ class WorkloadApiQueueBeanFactory {
     featureFlagClient: FeatureFlagClient,
     @Value("\${airbyte.workload-launcher.consumer.default-queue.poll-size-items}") pollSizeItems: Int,
     @Value("\${airbyte.workload-launcher.consumer.default-queue.poll-interval-seconds}") pollIntervalSeconds: Long,
+    @Value("\${airbyte.workload-launcher.consumer.default-queue.long-poll-timeout-seconds}") longPollTimeoutSeconds: Long,
+    @Value("\${airbyte.workload-launcher.parallelism.default-queue}") parallelism: Int,
   ): WorkloadApiQueuePoller =
     WorkloadApiQueuePoller(
       workloadApiClient,
@@ -50,5 +57,8 @@ class WorkloadApiQueueBeanFactory {
       pollSizeItems,
       pollIntervalSeconds,
       WorkloadPriority.DEFAULT,
+      longPollTimeoutSeconds,
+      // Claims no more workloads than the queue launches at once, so they don't wait for long once claimed.
+      parallelism,
     )
 }
@@ -5,6 +5,10 @@
 package io.airbyte.workload.launcher.pipeline
 
 import datadog.trace.api.Trace
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
 import io.airbyte.workload.launcher.metrics.MeterFilterFactory.Companion.LAUNCH_PIPELINE_OPERATION_NAME
 import io.airbyte.workload.launcher.pipeline.consumer.LauncherInput
 import io.airbyte.workload.launcher.pipeline.handlers.FailureHandler
@@ -15,9 +19,19 @@ import jakarta.inject.Named
 import jakarta.inject.Singleton
 import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
+import reactor.core.scheduler.Scheduler
 import reactor.core.scheduler.Schedulers
 import reactor.kotlin.core.publisher.toMono
+import kotlin.time.TimeSource
+import kotlin.time.toJavaDuration
 
+/**
+ * Runs the stages launching a workload.
+ * <p />
+ * The stages blocking on the Kube api (check, mutex and launch) run on the [kubeStageScheduler], so that they don't hold
+ * the threads of the queue the workload was consumed from. The time a workload waits before each stage starts and the
+ * time the stage takes are both recorded, to tell apart the stages that are slow from the ones waiting for a thread.
+ */
 @Singleton
 class LaunchPipeline(
   @Named("build") private val build: LaunchStage,
@@ -30,11 +44,14 @@ class LaunchPipeline(
   private val successHandler: SuccessHandler,
   private val failureHandler: FailureHandler,
   private val ingressAdapter: PipelineIngressAdapter,
+  private val metricClient: MetricClient,
+  @Named("kubeStageScheduler") private val kubeStageScheduler: Scheduler,
 ) {
   @Trace(operationName = LAUNCH_PIPELINE_OPERATION_NAME)
   fun accept(input: LauncherInput) {
+    // The whole pipeline runs on the calling thread, as it is disposed of as soon as it is subscribed to.
     val disposable =
-      buildPipeline(input)
+      buildPipeline(input, Schedulers.immediate())
         .subscribeOn(Schedulers.immediate())
         .subscribe()
 
@@ -44,35 +61,79 @@ class LaunchPipeline(
   /*
    * Builds an executable pipeline instance from a single input.
    */
-  fun buildPipeline(input: LauncherInput): Mono<LaunchStageIO> {
+  fun buildPipeline(input: LauncherInput): Mono<LaunchStageIO> = buildPipeline(input, kubeStageScheduler)
+
+  private fun buildPipeline(
+    input: LauncherInput,
+    kubeScheduler: Scheduler,
+  ): Mono<LaunchStageIO> {
     val io = ingressAdapter.apply(input)
 
     return io
       .toMono()
-      .flatMap(build)
-      .flatMap(claim)
-      .flatMap(loadShed)
-      .flatMap(check)
-      .flatMap(mutex)
-      .flatMap(architecture)
-      .flatMap(launch)
+      .flatMap { runStage(build, it, io.receivedAt ?: TimeSource.Monotonic.markNow()) }
+      .flatMap { runStage(claim, it) }
+      .flatMap { runStage(loadShed, it) }
+      .flatMap { runStage(check, it, scheduler = kubeScheduler) }
+      .flatMap { runStage(mutex, it, scheduler = kubeScheduler) }
+      .flatMap { runStage(architecture, it) }
+      .flatMap { runStage(launch, it, scheduler = kubeScheduler) }
       .onErrorResume { e -> failureHandler.accept(e, io) }
       .doOnNext(successHandler::accept)
   }
 
+  /*
+   * Applies the pipeline to a queue of inputs, launching at most [parallelism] workloads at once. The stages that don't
+   * block on the Kube api run on [scheduler]. [onDone] is called once the pipeline is done with an input, whatever the
+   * outcome.
+   */
+  fun consume(
+    publisher: Flux<LauncherInput>,
+    parallelism: Int,
+    scheduler: Scheduler,
+    onDone: (LauncherInput) -> Unit = {},
+  ): Flux<LaunchStageIO> =
+    publisher
+      .flatMap({ input -> buildPipeline(input).subscribeOn(scheduler).doFinally { onDone(input) } }, parallelism)
+
   /*
    * Applies the pipeline to a stream of inputs.
    */
   fun apply(publisher: Flux<LauncherInput>): Flux<LaunchStageIO> =
     publisher
       .map(ingressAdapter::apply)
-      .flatMap(build)
-      .flatMap(claim)
-      .flatMap(loadShed)
-      .flatMap(check)
-      .flatMap(mutex)
-      .flatMap(architecture)
-      .flatMap(launch)
+      .flatMap { runStage(build, it, it.receivedAt ?: TimeSource.Monotonic.markNow()) }
+      .flatMap { runStage(claim, it) }
+      .flatMap { runStage(loadShed, it) }
+      .flatMap { runStage(check, it, scheduler = kubeStageScheduler) }
+      .flatMap { runStage(mutex, it, scheduler = kubeStageScheduler) }
+      .flatMap { runStage(architecture, it) }
+      .flatMap { runStage(launch, it, scheduler = kubeStageScheduler) }
       .onErrorContinue(failureHandler::accept)
       .doOnNext(successHandler::accept)
+
+  /**
+   * Runs [stage] on [scheduler] if any, recording how long the workload waited for it since [readyAt].
+   */
+  private fun runStage(
+    stage: LaunchStage,
+    io: LaunchStageIO,
+    readyAt: TimeSource.Monotonic.ValueTimeMark = TimeSource.Monotonic.markNow(),
+    scheduler: Scheduler? = null,
+  ): Mono<LaunchStageIO> {
+    val run =
+      Mono.defer {
+        metricClient
+          .timer(
+            metric = OssMetricsRegistry.WORKLOAD_STAGE_QUEUE_TIME,
+            attributes =
+              stage.getMetricAttrs(io).toTypedArray() +
+                MetricAttribute(MetricTags.STAGE_NAME_TAG, stage.getStageName().toString()),
+          )?.record(readyAt.elapsedNow().toJavaDuration())
+        stage.apply(io)
+      }
+
+    // Skipped stages return right away, there is no need to switch threads for them.
+    return if (scheduler == null || stage.skipStage(io)) run else run.subscribeOn(scheduler)
+  }
 }
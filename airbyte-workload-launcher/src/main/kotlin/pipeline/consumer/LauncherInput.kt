@@ -16,4 +16,6 @@ data class LauncherInput(
   val workloadType: WorkloadType,
   val startTimeMs: Long? = null,
   val autoId: UUID,
+  // Whether the workload was claimed when it was polled, so the pipeline doesn't need to claim it.
+  val claimed: Boolean = false,
 )
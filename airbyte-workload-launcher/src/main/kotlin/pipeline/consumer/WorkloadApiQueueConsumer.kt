@@ -55,27 +55,23 @@ class WorkloadApiQueueConsumer(
         MetricAttribute(MetricTags.PRIORITY_TAG, HIGH_PRIORITY_NAME),
       )
 
-    val defaultPriorityQueuePollerFlux =
-      defaultPriorityQueuePoller
-        .initialize(dataplaneGroupId)
-        .flux
-        .parallel(defaultPriorityParallelism)
-        .runOn(defaultPriorityThreadPool)
+    // Each queue launches up to its parallelism of workloads at once, taking the next one as soon as any is done rather
+    // than queueing them behind a given thread.
+    pipeline
+      .consume(
+        highPriorityQueuePoller.initialize(dataplaneGroupId).flux,
+        highPriorityParallelism,
+        highPriorityThreadPool,
+        highPriorityQueuePoller::release,
+      ).subscribe()
 
-    val highPriorityQueuePollerFlux =
-      highPriorityQueuePoller
-        .initialize(dataplaneGroupId)
-        .flux
-        .parallel(highPriorityParallelism)
-        .runOn(highPriorityThreadPool)
-
-    highPriorityQueuePollerFlux
-      .flatMap(pipeline::buildPipeline)
-      .subscribe()
-
-    defaultPriorityQueuePollerFlux
-      .flatMap(pipeline::buildPipeline)
-      .subscribe()
+    pipeline
+      .consume(
+        defaultPriorityQueuePoller.initialize(dataplaneGroupId).flux,
+        defaultPriorityParallelism,
+        defaultPriorityThreadPool,
+        defaultPriorityQueuePoller::release,
+      ).subscribe()
   }
 
   fun suspendPolling() {
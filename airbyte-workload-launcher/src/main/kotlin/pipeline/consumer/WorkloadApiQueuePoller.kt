@@ -7,7 +7,9 @@ package io.airbyte.workload.launcher.pipeline.consumer
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.featureflag.DataplaneGroup
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.WorkloadPollerUsesBatchClaim
 import io.airbyte.featureflag.WorkloadPollerUsesJitter
+import io.airbyte.featureflag.WorkloadPollerUsesLongPoll
 import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
@@ -18,7 +20,9 @@ import io.airbyte.workload.launcher.model.toLauncherInput
 import io.github.oshai.kotlinlogging.KotlinLogging
 import reactor.core.publisher.Flux
 import reactor.core.publisher.Mono
+import reactor.core.scheduler.Schedulers
 import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.concurrent.Volatile
 import kotlin.random.Random
 import kotlin.time.Duration.Companion.milliseconds
@@ -30,6 +34,13 @@ private val logger = KotlinLogging.logger {}
  * Polls the workload api backed queue with given configuration.
  * Emits a Flux<LauncherInput> for consumption by the pipeline.
  *
+ * Polls back to back while there are workloads to launch, and at the configured interval otherwise. When long polling
+ * is enabled, the workload api holds each poll until workloads are enqueued or the long poll timeout elapses.
+ *
+ * When batch claims are enabled, the polled workloads are claimed by the same call. As claimed workloads must be
+ * launched before their claim deadline, no more than [claimCapacity] claimed workloads are held at once: the workloads
+ * launching and the ones buffered until the pipeline has room for them. They are released by [release].
+ *
  * Starts in a suspended state until #resumePolling is called.
  */
 class WorkloadApiQueuePoller(
@@ -39,9 +50,14 @@ class WorkloadApiQueuePoller(
   private val pollSizeItems: Int,
   private val pollIntervalSeconds: Long,
   private val priority: WorkloadPriority,
+  private val longPollTimeoutSeconds: Long,
+  private val claimCapacity: Int,
 ) {
   @Volatile
   private var suspended = true
+  private val pollInterval = Duration.ofSeconds(pollIntervalSeconds)
+  private var nextPollDelay = pollInterval
+  private val claimedInFlight = AtomicInteger(0)
   private var initialized = false
   private lateinit var groupId: String
   lateinit var flux: Flux<LauncherInput>
@@ -71,45 +87,106 @@ class WorkloadApiQueuePoller(
 
   fun isSuspended(): Boolean = suspended
 
-  private fun buildInputFlux(): Flux<LauncherInput> {
-    val interval =
-      if (useJitter()) {
-        Flux
-          .interval(Duration.ofSeconds(pollIntervalSeconds))
-          .onBackpressureDrop()
-          .delayUntil { Mono.delay(Random.nextInt(0, 100).milliseconds.toJavaDuration()) }
-      } else {
-        Flux.interval(Duration.ofSeconds(pollIntervalSeconds)).onBackpressureDrop()
-      }
+  /**
+   * Called once the pipeline is done with [input], to free its claim capacity.
+   */
+  fun release(input: LauncherInput) {
+    if (input.claimed) {
+      claimedInFlight.decrementAndGet()
+    }
+  }
 
-    val pollFlux: Flux<Workload> =
-      Flux.create { sink ->
-        val results = workloadApiClient.pollQueue(groupId, priority, pollSizeItems)
+  /**
+   * Polls one batch at a time. The next poll is immediate when the last one was full, as there are likely more workloads
+   * waiting, or when long polling, as the workload api then waits for workloads to be enqueued. Otherwise, it is
+   * scheduled after the poll interval. A batch is only polled once the previous one has been requested downstream, so
+   * polls slow down rather than pile up when the pipeline is saturated.
+   */
+  private fun buildInputFlux(): Flux<LauncherInput> =
+    Mono
+      .defer { Mono.delay(nextPollDelay).then(Mono.defer { poll() }) }
+      .repeat()
+      .flatMapIterable({ it }, 1)
+
+  private fun poll(): Mono<List<LauncherInput>> {
+    if (isSuspended()) {
+      nextPollDelay = pollInterval
+      return Mono.just(emptyList())
+    }
+
+    if (useBatchClaim()) {
+      return claim()
+    }
+
+    val longPoll = useLongPoll()
+    return Mono
+      .fromCallable {
+        if (longPoll) {
+          workloadApiClient.longPollQueue(groupId, priority, pollSizeItems, longPollTimeoutSeconds)
+        } else {
+          workloadApiClient.pollQueue(groupId, priority, pollSizeItems)
+        }
+      }
+      // Long polls block for a while, so they must not run on the timer threads.
+      .subscribeOn(Schedulers.boundedElastic())
+      .map { results -> results.map(Workload::toLauncherInput) }
+      .doOnNext { results ->
         metricClient.count(
           OssMetricsRegistry.WORKLOAD_QUEUE_MESSAGES_POLLED,
           results.size.toLong(),
           MetricAttribute(MetricTags.DATA_PLANE_GROUP_TAG, groupId),
           MetricAttribute(MetricTags.PRIORITY_TAG, priority.toString()),
         )
-        results.forEach(sink::next)
-        sink.complete()
+        nextPollDelay =
+          when {
+            results.size >= pollSizeItems || longPoll -> Duration.ZERO
+            useJitter() -> pollInterval.plus(Random.nextInt(0, 100).milliseconds.toJavaDuration())
+            else -> pollInterval
+          }
+      }.onErrorResume { e ->
+        handlePollError(e)
+        nextPollDelay = pollInterval
+        Mono.just(emptyList())
       }
+  }
 
-    return interval
-      .filter { !isSuspended() }
-      .flatMap { pollFlux }
-      .map(Workload::toLauncherInput)
-      .onErrorContinue(this::handlePollError)
+  private fun claim(): Mono<List<LauncherInput>> {
+    val quantity = minOf(pollSizeItems, claimCapacity - claimedInFlight.get())
+    if (quantity <= 0) {
+      // The pipeline is full, the next claim waits for some of the claimed workloads to be launched.
+      nextPollDelay = pollInterval
+      return Mono.just(emptyList())
+    }
+
+    return Mono
+      .fromCallable { workloadApiClient.claimFromQueue(groupId, priority, quantity) }
+      .subscribeOn(Schedulers.boundedElastic())
+      .map { results ->
+        claimedInFlight.addAndGet(results.size)
+        results.map { it.toLauncherInput(claimed = true) }
+      }.doOnNext { results ->
+        metricClient.count(
+          OssMetricsRegistry.WORKLOAD_QUEUE_MESSAGES_POLLED,
+          results.size.toLong(),
+          MetricAttribute(MetricTags.DATA_PLANE_GROUP_TAG, groupId),
+          MetricAttribute(MetricTags.PRIORITY_TAG, priority.toString()),
+        )
+        nextPollDelay = if (results.size >= quantity) Duration.ZERO else pollInterval
+      }.onErrorResume { e ->
+        handlePollError(e)
+        nextPollDelay = pollInterval
+        Mono.just(emptyList())
+      }
   }
 
+  private fun useBatchClaim(): Boolean = featureFlagClient.boolVariation(WorkloadPollerUsesBatchClaim, DataplaneGroup(groupId))
+
   private fun useJitter(): Boolean = featureFlagClient.boolVariation(WorkloadPollerUsesJitter, DataplaneGroup(groupId))
 
-  private fun handlePollError(
-    e: Throwable,
-    _input: Any?,
-  ): Mono<LauncherInput> {
+  private fun useLongPoll(): Boolean = featureFlagClient.boolVariation(WorkloadPollerUsesLongPoll, DataplaneGroup(groupId))
+
+  private fun handlePollError(e: Throwable) {
     metricClient.count(OssMetricsRegistry.WORKLOAD_QUEUE_CONSUMER_FAILURE, 1)
     logger.warn { "Error encountered in poller: $e\n Ignoring..." }
-    return Mono.empty()
   }
 }
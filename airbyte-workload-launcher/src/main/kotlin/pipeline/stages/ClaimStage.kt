@@ -42,7 +42,8 @@ open class ClaimStage(
   override fun apply(input: LaunchStageIO): Mono<LaunchStageIO> = super.apply(input)
 
   override fun applyStage(input: LaunchStageIO): LaunchStageIO {
-    val claimed = apiClient.claim(input.msg.workloadId)
+    // Workloads polled with a batch claim are already claimed by this launcher.
+    val claimed = input.msg.claimed || apiClient.claim(input.msg.workloadId)
 
     if (!claimed) {
       metricClient.count(
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pods
+
+import io.airbyte.workload.launcher.pods.PodLabeler.LabelKeys.SWEEPER_LABEL_KEY
+import io.airbyte.workload.launcher.pods.PodLabeler.LabelKeys.SWEEPER_LABEL_VALUE
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer
+import io.fabric8.kubernetes.client.informers.cache.Cache
+import io.github.oshai.kotlinlogging.KotlinLogging
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.annotation.Value
+import jakarta.annotation.PostConstruct
+import jakarta.annotation.PreDestroy
+import jakarta.inject.Singleton
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.function.Function
+
+private val logger = KotlinLogging.logger {}
+
+/**
+ * Labels the cached job pods are indexed by, to look up the pods of a workload, mutex or launch without scanning the
+ * whole cache.
+ */
+internal val INDEXED_LABEL_KEYS = listOf(WORKLOAD_ID, MUTEX_KEY, AUTO_ID)
+
+/**
+ * Shared cache of the job pods (labeled airbyte=job-pod) of the namespace, kept up to date by a single watch.
+ * <p />
+ * Lookups and waits read from the cache instead of listing or watching the pods on the Kube api: waits are re-evaluated
+ * on each event of the informer, rather than each opening its own watch.
+ */
+@Singleton
+@Requires(property = "airbyte.workload-launcher.pod-informer.enabled", value = "true")
+class JobPodInformer(
+  private val kubernetesClient: KubernetesClient,
+  @Value("\${airbyte.worker.job.kube.namespace}") private val namespace: String?,
+  @Value("\${airbyte.workload-launcher.pod-informer.resync-period}") private val resyncPeriod: Duration,
+) {
+  private val waiters = ConcurrentHashMap.newKeySet<() -> Unit>()
+  private lateinit var informer: SharedIndexInformer<Pod>
+
+  /**
+   * Starts watching the job pods, returning once the cache holds all of them.
+   */
+  @PostConstruct
+  fun start() {
+    informer =
+      kubernetesClient
+        .pods()
+        .inNamespace(namespace)
+        .withLabel(SWEEPER_LABEL_KEY, SWEEPER_LABEL_VALUE)
+        .runnableInformer(resyncPeriod.toMillis())
+    informer.addIndexers(
+      INDEXED_LABEL_KEYS.associateWith { key -> Function<Pod, List<String>> { pod -> listOfNotNull(pod.metadata?.labels?.get(key)) } },
+    )
+    informer.addEventHandler(
+      object : ResourceEventHandler<Pod> {
+        override fun onAdd(pod: Pod) = notifyWaiters()
+
+        override fun onUpdate(
+          oldPod: Pod,
+          newPod: Pod,
+        ) = notifyWaiters()
+
+        override fun onDelete(
+          pod: Pod,
+          deletedFinalStateUnknown: Boolean,
+        ) = notifyWaiters()
+      },
+    )
+    informer.run()
+    logger.info { "Job pod informer started in namespace [$namespace] with ${informer.store.list().size} pods." }
+  }
+
+  @PreDestroy
+  fun stop() {
+    informer.close()
+  }
+
+  /**
+   * Returns the cached job pods that have all the given [labels].
+   */
+  fun pods(labels: Map<String, String> = emptyMap()): List<Pod> {
+    val indexed = INDEXED_LABEL_KEYS.firstOrNull { labels.containsKey(it) }
+    val candidates =
+      indexed?.let { informer.indexer.byIndex(it, labels.getValue(it)) }
+        ?: informer.store.list()
+    return candidates.filter { pod -> labels.all { (key, value) -> pod.metadata?.labels?.get(key) == value } }
+  }
+
+  /**
+   * Returns the cached state of [pod], or null if it doesn't exist.
+   */
+  fun get(pod: Pod): Pod? = informer.store.getByKey(Cache.metaNamespaceKeyFunc(pod))
+
+  /**
+   * Waits for the cached state of [pod] to meet [condition], which is given null while the pod doesn't exist. Returns
+   * the state that met it, or throws a [KubernetesClientTimeoutException] after [timeout], like a watch would.
+   */
+  fun waitUntilCondition(
+    pod: Pod,
+    timeout: Duration,
+    condition: (Pod?) -> Boolean,
+  ): Pod? {
+    val result = CompletableFuture<Pod?>()
+    return await(result, timeout, { KubernetesClientTimeoutException(pod, timeout.toMillis(), TimeUnit.MILLISECONDS) }) {
+      val current = get(pod)
+      if (condition(current)) {
+        result.complete(current)
+      }
+    }
+  }
+
+  /**
+   * Waits for none of the cached pods with the given [labels] to match [filter], throwing a [TimeoutException] after
+   * [timeout].
+   */
+  fun waitUntilNone(
+    labels: Map<String, String>,
+    timeout: Duration,
+    filter: (Pod) -> Boolean,
+  ) {
+    val result = CompletableFuture<Unit>()
+    await(result, timeout, { TimeoutException("Pods with labels $labels still exist after $timeout.") }) {
+      if (pods(labels).none(filter)) {
+        result.complete(Unit)
+      }
+    }
+  }
+
+  private fun <T> await(
+    result: CompletableFuture<T>,
+    timeout: Duration,
+    timeoutException: () -> Exception,
+    check: () -> Unit,
+  ): T {
+    val waiter: () -> Unit = {
+      try {
+        check()
+      } catch (e: Exception) {
+        result.completeExceptionally(e)
+      }
+    }
+    // Registered before the first check, so that an event in between isn't missed.
+    waiters.add(waiter)
+    try {
+      waiter()
+      return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS)
+    } catch (e: TimeoutException) {
+      throw timeoutException()
+    } catch (e: ExecutionException) {
+      throw e.cause ?: e
+    } finally {
+      waiters.remove(waiter)
+    }
+  }
+
+  private fun notifyWaiters() {
+    waiters.forEach { it() }
+  }
+}
@@ -40,6 +40,9 @@ private val logger = KotlinLogging.logger {}
 
 /**
  * Atomic operations on the raw Kube api. Domain level information should be opaque to this layer.
+ * <p />
+ * When the [JobPodInformer] is enabled, waits and lookups of pods read from its cache instead of issuing their own
+ * watch or list calls.
  */
 @Singleton
 class KubePodLauncher(
@@ -47,6 +50,7 @@ class KubePodLauncher(
   private val metricClient: MetricClient,
   @Value("\${airbyte.worker.job.kube.namespace}") private val namespace: String?,
   @Named("kubernetesClientRetryPolicy") private val kubernetesClientRetryPolicy: RetryPolicy<Any>,
+  private val jobPodInformer: JobPodInformer? = null,
 ) {
   fun create(pod: Pod): Pod =
     runKubeCommand(
@@ -72,19 +76,13 @@ class KubePodLauncher(
     val initializedPod =
       runKubeCommand(
         {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod? ->
-                p?.let {
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0]
-                      .state.terminated != null
-                } ?: false
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
-            )
+          waitUntilCondition(pod, waitDuration) { p: Pod? ->
+            p?.let {
+              p.status.initContainerStatuses.isNotEmpty() &&
+                p.status.initContainerStatuses[0]
+                  .state.terminated != null
+            } ?: false
+          }
         },
         "wait",
       )
@@ -129,19 +127,13 @@ class KubePodLauncher(
     val initializedPod =
       runKubeCommand(
         {
-          kubernetesClient
-            .resource(pod)
-            .waitUntilCondition(
-              { p: Pod ->
-                (
-                  p.status.initContainerStatuses.isNotEmpty() &&
-                    p.status.initContainerStatuses[0]
-                      .state.waiting == null
-                )
-              },
-              waitDuration.toMinutes(),
-              TimeUnit.MINUTES,
-            )
+          waitUntilCondition(pod, waitDuration) { p: Pod? ->
+            p?.let {
+              p.status.initContainerStatuses.isNotEmpty() &&
+                p.status.initContainerStatuses[0]
+                  .state.waiting == null
+            } ?: false
+          }
         },
         "wait",
       )
@@ -189,16 +181,10 @@ class KubePodLauncher(
   ) {
     runKubeCommand(
       {
-        kubernetesClient
-          .resource(pod)
-          .waitUntilCondition(
-            { p: Pod? ->
-              Objects.nonNull(p) &&
-                (Readiness.getInstance().isReady(p) || isTerminal(p))
-            },
-            waitDuration.toMinutes(),
-            TimeUnit.MINUTES,
-          )
+        waitUntilCondition(pod, waitDuration) { p: Pod? ->
+          Objects.nonNull(p) &&
+            (Readiness.getInstance().isReady(p) || isTerminal(p))
+        }
       },
       "wait",
     )
@@ -208,16 +194,8 @@ class KubePodLauncher(
     try {
       return runKubeCommand(
         {
-          kubernetesClient
-            .pods()
-            .inNamespace(namespace)
-            .withLabels(labels)
-            .list()
-            .items
-            .stream()
-            .filter { kubePod: Pod -> !isTerminal(kubePod) && !PodStatusUtil.isInitializing(kubePod) }
-            .findAny()
-            .isPresent
+          listPods(labels)
+            .any { kubePod: Pod -> !isTerminal(kubePod) && !PodStatusUtil.isInitializing(kubePod) }
         },
         "list",
       )
@@ -231,9 +209,7 @@ class KubePodLauncher(
     return runKubeCommand(
       {
         val statuses =
-          listActivePods(labels)
-            .list()
-            .items
+          (jobPodInformer?.pods(labels)?.filter(::isActive) ?: listActivePods(labels).list().items)
             .flatMap { p ->
               kubernetesClient
                 .pods()
@@ -247,8 +223,12 @@ class KubePodLauncher(
           return@runKubeCommand statuses
         }
 
-        listActivePods(labels)
-          .waitUntilCondition(Objects::isNull, MAX_DELETION_TIMEOUT, TimeUnit.SECONDS)
+        if (jobPodInformer != null) {
+          jobPodInformer.waitUntilNone(labels, Duration.ofSeconds(MAX_DELETION_TIMEOUT), ::isActive)
+        } else {
+          listActivePods(labels)
+            .waitUntilCondition(Objects::isNull, MAX_DELETION_TIMEOUT, TimeUnit.SECONDS)
+        }
 
         statuses
       },
@@ -256,6 +236,34 @@ class KubePodLauncher(
     )
   }
 
+  private fun waitUntilCondition(
+    pod: Pod,
+    waitDuration: Duration,
+    condition: (Pod?) -> Boolean,
+  ): Pod =
+    if (jobPodInformer != null) {
+      // The condition is never met by a missing pod, so the cached pod is never null here.
+      checkNotNull(jobPodInformer.waitUntilCondition(pod, waitDuration, condition))
+    } else {
+      kubernetesClient
+        .resource(pod)
+        .waitUntilCondition({ p: Pod? -> condition(p) }, waitDuration.toMinutes(), TimeUnit.MINUTES)
+    }
+
+  private fun listPods(labels: Map<String, String>): List<Pod> =
+    jobPodInformer?.pods(labels)
+      ?: kubernetesClient
+        .pods()
+        .inNamespace(namespace)
+        .withLabels(labels)
+        .list()
+        .items
+
+  /**
+   * Mirrors the field selector of [listActivePods] for the cached pods.
+   */
+  private fun isActive(pod: Pod): Boolean = pod.status?.phase != KUBECTL_COMPLETED_VALUE
+
   /**
    * Checks that the pod's main container(s) are in a terminal state.
    */
@@ -5,6 +5,7 @@
 import dev.failsafe.RetryPolicy
 import io.airbyte.metrics.MetricClient
 import io.airbyte.workload.launcher.PodSweeper
+import io.airbyte.workload.launcher.pods.JobPodInformer
 import io.fabric8.kubernetes.api.model.Pod
 import io.fabric8.kubernetes.api.model.PodBuilder
 import io.fabric8.kubernetes.client.KubernetesClient
@@ -303,10 +304,52 @@ class PodSweeperTest {
     assertNotNull(malformedDatePodCheck, "Pod with malformed date should remain since we cannot parse TTL")
   }
 
+  @Test
+  fun `test pods are read from the informer cache when enabled`() {
+    val twoHoursAgo =
+      DateTimeFormatter.ISO_OFFSET_DATE_TIME
+        .withZone(ZoneOffset.UTC)
+        .format(Instant.now().minus(Duration.ofHours(2)))
+    val runningPod: Pod =
+      PodBuilder()
+        .withNewMetadata()
+        .withName("cached-running-pod")
+        .addToLabels("airbyte", "job-pod")
+        .endMetadata()
+        .withNewStatus()
+        .withPhase("Running")
+        .withStartTime(twoHoursAgo)
+        .endStatus()
+        .build()
+    client
+      .pods()
+      .inNamespace("default")
+      .resource(runningPod)
+      .create()
+
+    val jobPodInformer = JobPodInformer(client, "default", Duration.ofMinutes(10))
+    jobPodInformer.start()
+    try {
+      podSweeper(60, null, null, jobPodInformer).sweepPods()
+    } finally {
+      jobPodInformer.stop()
+    }
+
+    assertNull(
+      client
+        .pods()
+        .inNamespace("default")
+        .withName("cached-running-pod")
+        .get(),
+      "Pod should have been deleted",
+    )
+  }
+
   private fun podSweeper(
     runningTtL: Long?,
     succeededTtl: Long?,
     unSucceededTtl: Long?,
+    jobPodInformer: JobPodInformer? = null,
   ): PodSweeper =
     PodSweeper(
       client,
@@ -317,5 +360,6 @@ class PodSweeperTest {
       runningTtL,
       succeededTtl,
       unSucceededTtl,
+      jobPodInformer,
     )
 }
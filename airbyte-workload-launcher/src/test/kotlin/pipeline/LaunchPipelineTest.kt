@@ -5,8 +5,13 @@
 package pipeline
 
 import fixtures.RecordFixtures.launcherInput
+import io.airbyte.metrics.MetricAttribute
+import io.airbyte.metrics.MetricClient
+import io.airbyte.metrics.OssMetricsRegistry
+import io.airbyte.metrics.lib.MetricTags
 import io.airbyte.workload.launcher.pipeline.LaunchPipeline
 import io.airbyte.workload.launcher.pipeline.PipelineIngressAdapter
+import io.airbyte.workload.launcher.pipeline.consumer.LauncherInput
 import io.airbyte.workload.launcher.pipeline.handlers.FailureHandler
 import io.airbyte.workload.launcher.pipeline.handlers.SuccessHandler
 import io.airbyte.workload.launcher.pipeline.stages.StageName
@@ -17,12 +22,19 @@ import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
 import io.mockk.mockk
 import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
 import reactor.core.publisher.Flux
+import reactor.core.scheduler.Schedulers
 import reactor.test.StepVerifier
 import java.lang.RuntimeException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @ExtendWith(MockKExtension::class)
 class LaunchPipelineTest {
@@ -35,6 +47,9 @@ class LaunchPipelineTest {
   @MockK(relaxed = true)
   private lateinit var ingressAdapter: PipelineIngressAdapter
 
+  @MockK(relaxed = true)
+  private lateinit var metricClient: MetricClient
+
   private lateinit var pipeline: LaunchPipeline
 
   @BeforeEach
@@ -53,6 +68,8 @@ class LaunchPipelineTest {
         successHandler = successHandler,
         failureHandler = failureHandler,
         ingressAdapter = ingressAdapter,
+        metricClient = metricClient,
+        kubeStageScheduler = Schedulers.immediate(),
       )
   }
 
@@ -111,6 +128,8 @@ class LaunchPipelineTest {
         successHandler = successHandler,
         failureHandler = failureHandler,
         ingressAdapter = ingressAdapter,
+        metricClient = metricClient,
+        kubeStageScheduler = Schedulers.immediate(),
       )
 
     val appliedPipe = pipeline.apply(inputFlux)
@@ -126,6 +145,110 @@ class LaunchPipelineTest {
     verify { successHandler.accept(LaunchStageIO(msg = workload3)) }
   }
 
+  @Test
+  fun `the queue time of each stage is recorded`() {
+    val workload1 = launcherInput("workload-1")
+
+    StepVerifier
+      .create(pipeline.apply(Flux.just(workload1)))
+      .expectNext(LaunchStageIO(msg = workload1))
+      .verifyComplete()
+
+    StageName.entries.forEach { stageName ->
+      verify {
+        metricClient.timer(
+          OssMetricsRegistry.WORKLOAD_STAGE_QUEUE_TIME,
+          *varargAny { it == MetricAttribute(MetricTags.STAGE_NAME_TAG, stageName.toString()) },
+        )
+      }
+    }
+  }
+
+  @Test
+  fun `the kube stages run on the kube stage scheduler`() {
+    val workload1 = launcherInput("workload-1")
+    val kubeStageScheduler = Schedulers.newSingle("kube-stages-test")
+    val queueScheduler = Schedulers.newSingle("queue-test")
+    val threads = ConcurrentHashMap<StageName, String>()
+    val recordThread = { name: StageName -> { io: LaunchStageIO -> io.also { threads[name] = Thread.currentThread().name } } }
+
+    pipeline =
+      LaunchPipeline(
+        build = MockStage(StageName.BUILD, recordThread(StageName.BUILD)),
+        claim = MockStage(StageName.CLAIM),
+        loadShed = MockStage(StageName.LOAD_SHED),
+        check = MockStage(StageName.CHECK_STATUS),
+        mutex = MockStage(StageName.MUTEX),
+        architecture = MockStage(StageName.ARCHITECTURE),
+        launch = MockStage(StageName.LAUNCH, recordThread(StageName.LAUNCH)),
+        successHandler = successHandler,
+        failureHandler = failureHandler,
+        ingressAdapter = ingressAdapter,
+        metricClient = metricClient,
+        kubeStageScheduler = kubeStageScheduler,
+      )
+
+    try {
+      StepVerifier
+        .create(pipeline.consume(Flux.just(workload1), 1, queueScheduler))
+        .expectNext(LaunchStageIO(msg = workload1))
+        .verifyComplete()
+    } finally {
+      kubeStageScheduler.dispose()
+      queueScheduler.dispose()
+    }
+
+    assertTrue(threads.getValue(StageName.BUILD).startsWith("queue-test"))
+    assertTrue(threads.getValue(StageName.LAUNCH).startsWith("kube-stages-test"))
+  }
+
+  @Test
+  fun `at most the given parallelism of workloads are launched at once`() {
+    val parallelism = 2
+    val inputs = (1..5).map { launcherInput("workload-$it") }
+    val bothLaunching = CountDownLatch(parallelism)
+    val launching = AtomicInteger()
+    val maxLaunching = AtomicInteger()
+
+    pipeline =
+      LaunchPipeline(
+        build = MockStage(StageName.BUILD),
+        claim = MockStage(StageName.CLAIM),
+        loadShed = MockStage(StageName.LOAD_SHED),
+        check = MockStage(StageName.CHECK_STATUS),
+        mutex = MockStage(StageName.MUTEX),
+        architecture = MockStage(StageName.ARCHITECTURE),
+        launch =
+          MockStage(StageName.LAUNCH) {
+            maxLaunching.accumulateAndGet(launching.incrementAndGet(), ::maxOf)
+            bothLaunching.countDown()
+            bothLaunching.await(5, TimeUnit.SECONDS)
+            launching.decrementAndGet()
+            it
+          },
+        successHandler = successHandler,
+        failureHandler = failureHandler,
+        ingressAdapter = ingressAdapter,
+        metricClient = metricClient,
+        kubeStageScheduler = Schedulers.boundedElastic(),
+      )
+
+    val done = ConcurrentHashMap.newKeySet<LauncherInput>()
+    val allDone = CountDownLatch(inputs.size)
+    val launched =
+      pipeline
+        .consume(Flux.fromIterable(inputs), parallelism, Schedulers.boundedElastic()) {
+          done.add(it)
+          allDone.countDown()
+        }.collectList()
+        .block()
+
+    assertEquals(inputs.toSet(), launched!!.map { it.msg }.toSet())
+    assertEquals(parallelism, maxLaunching.get())
+    assertTrue(allDone.await(5, TimeUnit.SECONDS))
+    assertEquals(inputs.toSet(), done)
+  }
+
   // Manually mock as using mockk w/ inheritance and Reactor gets complicated
   class MockStage(
     val name: StageName,
@@ -7,6 +7,8 @@ package io.airbyte.workload.launcher.pipeline.consumer
 import io.airbyte.config.WorkloadPriority
 import io.airbyte.config.WorkloadType
 import io.airbyte.featureflag.FeatureFlagClient
+import io.airbyte.featureflag.WorkloadPollerUsesBatchClaim
+import io.airbyte.featureflag.WorkloadPollerUsesLongPoll
 import io.airbyte.metrics.MetricClient
 import io.airbyte.workload.api.domain.Workload
 import io.airbyte.workload.api.domain.WorkloadLabel
@@ -46,6 +48,10 @@ class WorkloadApiQueuePollerTest {
 
   private val priority: WorkloadPriority = WorkloadPriority.DEFAULT
 
+  private val longPollTimeoutSeconds: Long = 20
+
+  private val claimCapacity: Int = 20
+
   lateinit var poller: WorkloadApiQueuePoller
 
   @BeforeEach
@@ -58,6 +64,8 @@ class WorkloadApiQueuePollerTest {
         pollSizeItems,
         pollIntervalSeconds,
         priority,
+        longPollTimeoutSeconds,
+        claimCapacity,
       )
   }
 
@@ -156,6 +164,107 @@ class WorkloadApiQueuePollerTest {
     verify(exactly = 3) { workloadApiClient.pollQueue(groupId, priority, pollSizeItems) }
   }
 
+  @Test
+  fun `polls again without waiting when a poll is full`() {
+    every { workloadApiClient.pollQueue(groupId, priority, 2) } returns
+      listOf(
+        workload1,
+        workload2,
+      ) andThen
+      listOf(
+        workload3,
+      )
+
+    poller =
+      WorkloadApiQueuePoller(
+        workloadApiClient,
+        metricClient,
+        featureFlagClient,
+        2,
+        pollIntervalSeconds,
+        priority,
+        longPollTimeoutSeconds,
+        claimCapacity,
+      )
+
+    StepVerifier
+      .withVirtualTime {
+        poller.initialize(groupId)
+        poller.resumePolling()
+        poller.flux.take(3)
+      }.thenAwait(Duration.ofSeconds(pollIntervalSeconds))
+      .expectNext(workload1.toLauncherInput())
+      .expectNext(workload2.toLauncherInput())
+      .expectNext(workload3.toLauncherInput())
+      .verifyComplete()
+
+    verify(exactly = 2) { workloadApiClient.pollQueue(groupId, priority, 2) }
+  }
+
+  @Test
+  fun `long polls back to back when enabled`() {
+    every { featureFlagClient.boolVariation(WorkloadPollerUsesLongPoll, any()) } returns true
+    every { workloadApiClient.longPollQueue(groupId, priority, pollSizeItems, longPollTimeoutSeconds) } returns
+      listOf(
+        workload1,
+      ) andThen
+      listOf() andThen
+      listOf(
+        workload2,
+      )
+
+    StepVerifier
+      .withVirtualTime {
+        poller.initialize(groupId)
+        poller.resumePolling()
+        poller.flux.take(2)
+      }.thenAwait(Duration.ofSeconds(pollIntervalSeconds))
+      .expectNext(workload1.toLauncherInput())
+      .expectNext(workload2.toLauncherInput())
+      .verifyComplete()
+
+    verify(exactly = 3) { workloadApiClient.longPollQueue(groupId, priority, pollSizeItems, longPollTimeoutSeconds) }
+    verify(exactly = 0) { workloadApiClient.pollQueue(any(), any(), any()) }
+  }
+
+  @Test
+  fun `batch claims no more workloads than the claim capacity`() {
+    every { featureFlagClient.boolVariation(WorkloadPollerUsesBatchClaim, any()) } returns true
+    every { workloadApiClient.claimFromQueue(groupId, priority, 3) } returns listOf(workload1, workload2, workload3)
+    every { workloadApiClient.claimFromQueue(groupId, priority, 1) } returns listOf(workload4)
+
+    poller =
+      WorkloadApiQueuePoller(
+        workloadApiClient,
+        metricClient,
+        featureFlagClient,
+        pollSizeItems,
+        pollIntervalSeconds,
+        priority,
+        longPollTimeoutSeconds,
+        3,
+      )
+
+    StepVerifier
+      .withVirtualTime {
+        poller.initialize(groupId)
+        poller.resumePolling()
+        poller.flux.take(4)
+      }.thenAwait(Duration.ofSeconds(pollIntervalSeconds))
+      .expectNext(workload1.toLauncherInput(claimed = true))
+      .expectNext(workload2.toLauncherInput(claimed = true))
+      .expectNext(workload3.toLauncherInput(claimed = true))
+      .expectNoEvent(Duration.ofSeconds(pollIntervalSeconds * 2))
+      .then { poller.release(workload1.toLauncherInput(claimed = true)) }
+      .thenAwait(Duration.ofSeconds(pollIntervalSeconds))
+      .expectNext(workload4.toLauncherInput(claimed = true))
+      .verifyComplete()
+
+    verify(exactly = 1) { workloadApiClient.claimFromQueue(groupId, priority, 3) }
+    verify(exactly = 1) { workloadApiClient.claimFromQueue(groupId, priority, 1) }
+    verify(exactly = 0) { workloadApiClient.pollQueue(any(), any(), any()) }
+  }
+
   object Fixtures {
     val groupId = "dataplane-group-1"
 
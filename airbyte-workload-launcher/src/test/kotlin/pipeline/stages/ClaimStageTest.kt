@@ -55,4 +55,23 @@ class ClaimStageTest {
 
     assert(outputFromClaimStage.skip) { "Skip Launch flag should be true but it's false" }
   }
+
+  @Test
+  fun `does not claim workloads already claimed by the poller`() {
+    val workloadId = "1"
+
+    val workloadApiClient: WorkloadApiClient = mockk()
+    val metricClient: MetricClient = mockk(relaxed = true)
+
+    val claimStage = ClaimStage(workloadApiClient, metricClient)
+    val originalInput =
+      LaunchStageIO(
+        RecordFixtures.launcherInput(workloadId, "{}", mapOf("label_key" to "label_value"), "/log/path").copy(claimed = true),
+      )
+    val outputFromClaimStage = claimStage.applyStage(originalInput)
+
+    verify(exactly = 0) { workloadApiClient.claim(any()) }
+
+    assert(!outputFromClaimStage.skip) { "Skip Launch flag should be false but it's true" }
+  }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020-2025 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workload.launcher.pods
+
+import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
+import io.fabric8.kubernetes.client.KubernetesClient
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+@EnableKubernetesMockClient(crud = true)
+class JobPodInformerTest {
+  private lateinit var client: KubernetesClient
+
+  private lateinit var informer: JobPodInformer
+
+  @BeforeEach
+  fun setup() {
+    informer = JobPodInformer(client, NAMESPACE, Duration.ofMinutes(10))
+  }
+
+  @AfterEach
+  fun teardown() {
+    informer.stop()
+  }
+
+  @Test
+  fun `pods are looked up by labels from the cache`() {
+    create(pod("pod-1", mapOf(WORKLOAD_ID to "workload-1", MUTEX_KEY to "mutex-1")))
+    create(pod("pod-2", mapOf(WORKLOAD_ID to "workload-2", MUTEX_KEY to "mutex-1")))
+    create(pod("other-pod", mapOf(WORKLOAD_ID to "workload-3"), jobPod = false))
+    informer.start()
+
+    assertEquals(setOf("pod-1", "pod-2"), informer.pods().names())
+    assertEquals(setOf("pod-1"), informer.pods(mapOf(WORKLOAD_ID to "workload-1")).names())
+    assertEquals(setOf("pod-1", "pod-2"), informer.pods(mapOf(MUTEX_KEY to "mutex-1")).names())
+    assertEquals(setOf("pod-2"), informer.pods(mapOf(MUTEX_KEY to "mutex-1", WORKLOAD_ID to "workload-2")).names())
+    assertEquals(emptySet<String>(), informer.pods(mapOf(WORKLOAD_ID to "workload-3")).names())
+  }
+
+  @Test
+  fun `waitUntilCondition returns once an event meets the condition`() {
+    informer.start()
+    val pod = pod("pod-1", mapOf(WORKLOAD_ID to "workload-1"))
+
+    val ready =
+      CompletableFuture.supplyAsync {
+        informer.waitUntilCondition(pod, Duration.ofSeconds(30)) { it?.status?.phase == "Running" }
+      }
+    create(pod)
+    create(pod("pod-1", mapOf(WORKLOAD_ID to "workload-1"), phase = "Running"))
+
+    assertEquals("Running", ready.get(30, TimeUnit.SECONDS)?.status?.phase)
+  }
+
+  @Test
+  fun `waitUntilCondition times out like a watch`() {
+    informer.start()
+
+    assertThrows<KubernetesClientTimeoutException> {
+      informer.waitUntilCondition(pod("pod-1", mapOf()), Duration.ofMillis(100)) { it != null }
+    }
+  }
+
+  @Test
+  fun `waitUntilNone returns once the pods are deleted`() {
+    val pod = pod("pod-1", mapOf(MUTEX_KEY to "mutex-1"))
+    create(pod)
+    informer.start()
+    assertNotNull(informer.get(pod))
+
+    assertThrows<TimeoutException> {
+      informer.waitUntilNone(mapOf(MUTEX_KEY to "mutex-1"), Duration.ofMillis(100)) { true }
+    }
+
+    val deleted = CompletableFuture.runAsync { informer.waitUntilNone(mapOf(MUTEX_KEY to "mutex-1"), Duration.ofSeconds(30)) { true } }
+    client
+      .pods()
+      .inNamespace(NAMESPACE)
+      .resource(pod)
+      .delete()
+
+    deleted.get(30, TimeUnit.SECONDS)
+    assertNull(informer.get(pod))
+  }
+
+  private fun create(pod: Pod) {
+    client
+      .pods()
+      .inNamespace(NAMESPACE)
+      .resource(pod)
+      .createOr { it.update() }
+  }
+
+  private fun pod(
+    name: String,
+    labels: Map<String, String>,
+    jobPod: Boolean = true,
+    phase: String = "Pending",
+  ): Pod =
+    PodBuilder()
+      .withNewMetadata()
+      .withName(name)
+      .withNamespace(NAMESPACE)
+      .addToLabels(labels)
+      .apply { if (jobPod) addToLabels(PodLabeler.LabelKeys.SWEEPER_LABEL_KEY, PodLabeler.LabelKeys.SWEEPER_LABEL_VALUE) }
+      .endMetadata()
+      .withNewStatus()
+      .withPhase(phase)
+      .endStatus()
+      .build()
+
+  private fun List<Pod>.names(): Set<String> = map { it.metadata.name }.toSet()
+
+  companion object {
+    private const val NAMESPACE = "default"
+  }
+}
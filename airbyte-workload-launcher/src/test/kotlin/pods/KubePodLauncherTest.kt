@@ -9,10 +9,13 @@ import io.airbyte.metrics.MetricAttribute
 import io.airbyte.metrics.MetricClient
 import io.airbyte.metrics.OssMetricsRegistry
 import io.airbyte.workload.launcher.config.ApplicationBeanFactory
+import io.fabric8.kubernetes.api.model.DeletionPropagation
 import io.fabric8.kubernetes.api.model.HasMetadata
 import io.fabric8.kubernetes.api.model.ObjectMeta
 import io.fabric8.kubernetes.api.model.Pod
+import io.fabric8.kubernetes.api.model.PodBuilder
 import io.fabric8.kubernetes.api.model.PodList
+import io.fabric8.kubernetes.api.model.StatusDetails
 import io.fabric8.kubernetes.client.KubernetesClient
 import io.fabric8.kubernetes.client.KubernetesClientException
 import io.fabric8.kubernetes.client.KubernetesClientTimeoutException
@@ -30,6 +33,7 @@ import okhttp3.internal.http2.ErrorCode
 import okhttp3.internal.http2.StreamResetException
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
@@ -320,6 +324,60 @@ class KubePodLauncherTest {
     assertEquals(0, counter.get())
   }
 
+  @Test
+  fun `pods are looked up and waited for on the informer cache when enabled`() {
+    val jobPodInformer: JobPodInformer = mockk()
+    val launcher = KubePodLauncher(kubernetesClient, metricClient, "namespace", kubernetesClientRetryPolicy, jobPodInformer)
+    val labels = mapOf(MUTEX_KEY to "mutex")
+    val pod = pod("running-pod", "Running")
+    every { jobPodInformer.pods(labels) } returns listOf(pod)
+    every { jobPodInformer.waitUntilCondition(pod, Duration.ofMinutes(2), any()) } returns pod
+
+    assertTrue(launcher.podsRunning(labels))
+    launcher.waitForPodReadyOrTerminalByPod(pod, Duration.ofMinutes(2))
+
+    verify { jobPodInformer.waitUntilCondition(pod, Duration.ofMinutes(2), any()) }
+    verify(exactly = 0) { kubernetesClient.pods() }
+    verify(exactly = 0) { kubernetesClient.resource(any<Pod>()) }
+  }
+
+  @Test
+  fun `active pods are deleted from the informer cache when enabled`() {
+    val jobPodInformer: JobPodInformer = mockk()
+    val launcher = KubePodLauncher(kubernetesClient, metricClient, "namespace", kubernetesClientRetryPolicy, jobPodInformer)
+    val labels = mapOf(MUTEX_KEY to "mutex")
+    val runningPod = pod("running-pod", "Running")
+    val succeededPod = pod("succeeded-pod", KubePodLauncher.Constants.KUBECTL_COMPLETED_VALUE)
+    val pods: MixedOperation<Pod, PodList, PodResource> = mockk()
+    val namespaced: NonNamespaceOperation<Pod, PodList, PodResource> = mockk()
+    val podResource: PodResource = mockk()
+    val status = StatusDetails()
+    every { jobPodInformer.pods(labels) } returns listOf(runningPod, succeededPod)
+    every { jobPodInformer.waitUntilNone(labels, any(), any()) } returns Unit
+    every { kubernetesClient.pods() } returns pods
+    every { pods.inNamespace("namespace") } returns namespaced
+    every { namespaced.resource(runningPod) } returns podResource
+    every { podResource.withPropagationPolicy(DeletionPropagation.FOREGROUND).delete() } returns listOf(status)
+
+    assertEquals(listOf(status), launcher.deleteActivePods(labels))
+
+    verify(exactly = 0) { namespaced.resource(succeededPod) }
+    verify { jobPodInformer.waitUntilNone(labels, Duration.ofSeconds(KubePodLauncher.Constants.MAX_DELETION_TIMEOUT), any()) }
+  }
+
+  private fun pod(
+    name: String,
+    phase: String,
+  ): Pod =
+    PodBuilder()
+      .withNewMetadata()
+      .withName(name)
+      .endMetadata()
+      .withNewStatus()
+      .withPhase(phase)
+      .endStatus()
+      .build()
+
   private fun checkMetricSend(tag: String) {
     val attributes: List<MetricAttribute> = listOf(MetricAttribute("operation", tag))
     val attributesArray = attributes.toTypedArray<MetricAttribute>()
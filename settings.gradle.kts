@@ -135,6 +135,7 @@ include(":oss:airbyte-notification")
 include(":oss:airbyte-persistence:job-persistence")
 include(":oss:airbyte-worker-models")
 
+include(":oss:airbyte-benchmarks")
 include(":oss:airbyte-bootloader")
 include(":oss:airbyte-commons-auth")
 include(":oss:airbyte-commons-entitlements")
@@ -214,6 +215,7 @@ project(":oss:airbyte-notification").projectDir = file("airbyte-notification")
 project(":oss:airbyte-persistence").projectDir = file("airbyte-persistence")
 project(":oss:airbyte-persistence:job-persistence").projectDir = file("airbyte-persistence/job-persistence")
 project(":oss:airbyte-worker-models").projectDir = file("airbyte-worker-models")
+project(":oss:airbyte-benchmarks").projectDir = file("airbyte-benchmarks")
 project(":oss:airbyte-bootloader").projectDir = file("airbyte-bootloader")
 project(":oss:airbyte-commons-auth").projectDir = file("airbyte-commons-auth")
 project(":oss:airbyte-commons-entitlements").projectDir = file("airbyte-commons-entitlements")